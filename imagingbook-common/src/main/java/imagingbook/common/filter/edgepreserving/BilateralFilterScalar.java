@@ -49,6 +49,11 @@ public class BilateralFilterScalar extends GenericFilterScalar implements Bilate
 		this.sigmaR2 = sqr(params.sigmaR);
 	}
 	
+	@Override
+	protected int getSupportRadius() {
+		return K;
+	}
+	
 	@Override
 	protected float doPixel(PixelSlice plane, int u, int v) {
 		float S = 0;			// sum of weighted pixel values
@@ -67,6 +72,27 @@ public class BilateralFilterScalar extends GenericFilterScalar implements Bilate
 		return S / W;
 	}
 	
+	@Override
+	protected float doPixelInterior(PixelSlice plane, int u, int v) {
+		final float[] source = plane.getArray();
+		final int width = plane.getWidth();
+		float S = 0;			// sum of weighted pixel values
+		float W = 0;			// sum of weights
+		final int ic = v * width + u;
+		final float a = source[ic]; // value of the current center pixel
+		for (int m = -K; m <= K; m++) {
+			for (int n = -K; n <= K; n++) {
+				float b = source[ic + n * width + m];
+				float wd = Hd[m + K][n + K];		// domain weight
+				float wr = gauss(a - b, sigmaR2);	// range weight
+				float w = wd * wr;
+				S = S + w * b;
+				W = W + w;
+			}
+		}
+		return S / W;
+	}
+	
 	private float gauss(double x, double sigma2) {
 		return (float) Math.exp(-(x * x) / (2 * sigma2));
 	}
@@ -56,6 +56,11 @@ public class BilateralFilterVector extends GenericFilterVector {
 		this.colorScale2 = sqr(colorNorm.getScale(3));
 	}
 	
+	@Override
+	protected int getSupportRadius() {
+		return K;
+	}
+	
 	@Override
 	protected float[] doPixel(PixelPack pack, int u, int v) {
 		float[] S = new float[3]; 	// sum of weighted RGB values
@@ -80,6 +85,37 @@ public class BilateralFilterVector extends GenericFilterVector {
  		return S;
  	}
 	
+	@Override
+	protected float[] doPixelInterior(PixelPack pack, int u, int v) {
+		final float[][] source = pack.getData();
+		final int width = pack.getWidth();
+		float[] S = new float[3]; 	// sum of weighted RGB values
+		float W = 0;				// sum of weights
+		final int ic = v * width + u;
+		final float[] a = {source[0][ic], source[1][ic], source[2][ic]};	// value of the current center pixel
+		final float[] b = new float[3];
+		
+		for (int m = -K; m <= K; m++) {
+			for (int n = -K; n <= K; n++) {
+				final int i = ic + n * width + m;
+				b[0] = source[0][i];
+				b[1] = source[1][i];
+				b[2] = source[2][i];
+				float wd = Hd[m + K][n + K];				// domain weight
+				float wr = similarityGauss(a, b);			// range weight
+				float w = wd * wr;
+				S[0] = S[0] + w * b[0];
+				S[1] = S[1] + w * b[1];
+				S[2] = S[2] + w * b[2];
+				W = W + w;
+			}
+		}
+		S[0] = S[0] / W;
+		S[1] = S[1] / W;
+		S[2] = S[2] / W;
+ 		return S;
+ 	}
+	
 	// ------------------------------------------------------
 	
 	// This returns the weights for a Gaussian range kernel (color vector version):
@@ -54,9 +54,17 @@ public class KuwaharaFilterVector extends GenericFilterVector implements Kuwahar
 	
 	// ------------------------------------------------------
 
-	private final float[] Amin = new float[3];
-	private final float[] rgb = new float[3];
+	private float[] Amin = new float[3];
+	private float[] rgb = new float[3];
 	private float Smin;		// min. variance
+	
+	@Override
+	protected KuwaharaFilterVector createWorker() {
+		KuwaharaFilterVector worker = (KuwaharaFilterVector) super.createWorker();
+		worker.Amin = new float[3];
+		worker.rgb = new float[3];
+		return worker;
+	}
 
 	@Override
 	protected float[] doPixel(PixelPack pack, int u, int v)  {
@@ -34,8 +34,8 @@ public class NagaoMatsuyamaFilterVector extends GenericFilterVector implements N
 	
 	private final float varThreshold;
 	private float minVariance;
-	private final float[] rgb = new float[3];
-	private final float[] minMean = new float[3];
+	private float[] rgb = new float[3];
+	private float[] minMean = new float[3];
 	
 	public NagaoMatsuyamaFilterVector() {
 		this(new Parameters());
@@ -45,6 +45,14 @@ public class NagaoMatsuyamaFilterVector extends GenericFilterVector implements N
 		this.varThreshold = (float) params.varThreshold;
 	}
 	
+	@Override
+	protected NagaoMatsuyamaFilterVector createWorker() {
+		NagaoMatsuyamaFilterVector worker = (NagaoMatsuyamaFilterVector) super.createWorker();
+		worker.rgb = new float[3];
+		worker.minMean = new float[3];
+		return worker;
+	}
+	
 	// ------------------------------------------------------
 	
 	@Override
@@ -36,7 +36,7 @@ public class PeronaMalikFilterScalar extends GenericFilterScalar implements Pero
 	private final int iterations; 		// number of iterations
 	private final float alpha;
 	private final ConductanceFunction g;
-	private final float[] A = new float[4];			// tmp array for neighbor values
+	private float[] A = new float[4];			// tmp array for neighbor values
 	
 	// constructor - using default parameters
 	public PeronaMalikFilterScalar () {
@@ -50,6 +50,13 @@ public class PeronaMalikFilterScalar extends GenericFilterScalar implements Pero
 		this.g = ConductanceFunction.get(params.conductanceFunType, (float)params.kappa);
 	}
 	
+	@Override
+	protected PeronaMalikFilterScalar createWorker() {
+		PeronaMalikFilterScalar worker = (PeronaMalikFilterScalar) super.createWorker();
+		worker.A = new float[4];
+		return worker;
+	}
+	
 	// ------------------------------------------------------
 	
 	@Override
@@ -87,6 +87,11 @@ public class TschumperleDericheFilter extends GenericFilter implements Tschumper
 		this.gradientBlurFilter = new GaussianFilterSeparable(params.sigmaD);	
 		this.structureBlurFilter = new GaussianFilterSeparable(params.sigmaM);
 		
+		// the auxiliary filters inherit this filter's parallelism setting:
+		for (GenericFilter f : new GenericFilter[] {filterDx, filterDy, gradientBlurFilter, structureBlurFilter}) {
+			f.setParallelism(getParallelism());
+		}
+		
 		this.G = new PixelPack(M, N, 3, null);	// structure matrix as (u,v) with 3 elements	
 	}
 	
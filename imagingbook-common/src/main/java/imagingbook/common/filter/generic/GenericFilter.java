@@ -20,6 +20,16 @@ import imagingbook.common.image.PixelPack.PixelSlice;
 import imagingbook.common.util.progress.ProgressMonitor;
 import imagingbook.common.util.progress.ProgressReporter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
 /**
  * <p>
  * This is the (abstract) root class of the generic filter hierarchy. Generic filters are designed to work with all
@@ -66,11 +76,16 @@ import imagingbook.common.util.progress.ProgressReporter;
  * During execution of the filter, the {@link IjProgressBarMonitor} instance queries the filter periodically (in a
  * separate thread) for its progress status and updates ImageJ's progress bar.
  * </p>
+ * <p>
+ * By default, filters are executed sequentially on the calling thread. Optionally, the image rows may be processed
+ * concurrently by multiple worker threads (see {@link #setParallelism(int)}). Each worker thread uses its own copy of
+ * the filter, created by {@link #createWorker()}, such that scratch variables used by {@code doPixel()} are not shared.
+ * </p>
  *
  * @author WB
  * @version 2012/01/12
  */
-public abstract class GenericFilter implements ProgressReporter {
+public abstract class GenericFilter implements ProgressReporter, Cloneable {
 	
 	private class AbortFilterException extends RuntimeException {
 		private static final long serialVersionUID = 1L;
@@ -79,6 +94,8 @@ public abstract class GenericFilter implements ProgressReporter {
 	private PixelPack source = null;
 	private PixelPack target = null;
 	private int pass = -1;
+	private int parallelism = 1;
+	private ExecutorService executor = null;
 	
 	public GenericFilter() {
 	}
@@ -126,6 +143,31 @@ public abstract class GenericFilter implements ProgressReporter {
 		return source.getDepth();
 	}
 	
+	/**
+	 * Sets the number of threads used for executing this filter. With the default setting (1), all pixels are processed
+	 * sequentially on the calling thread. With a value greater than 1, the rows of each image (slice) are processed
+	 * concurrently by the specified number of worker threads. If 0 is passed, the number of available processors is
+	 * used. Note that the results of parallel execution are identical to sequential execution, provided that the
+	 * filter's {@code doPixel()} method only reads the source data and keeps all mutable state in the filter instance
+	 * (see {@link #createWorker()}).
+	 *
+	 * @param parallelism the number of worker threads (&ge; 0)
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 0) {
+			throw new IllegalArgumentException("parallelism must not be negative: " + parallelism);
+		}
+		this.parallelism = (parallelism == 0) ? Runtime.getRuntime().availableProcessors() : parallelism;
+	}
+	
+	/**
+	 * Returns the number of threads used for executing this filter (see {@link #setParallelism(int)}).
+	 * @return the number of worker threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
 	// -----------------------------------------------------------------------------------
 	
 	/**
@@ -141,6 +183,9 @@ public abstract class GenericFilter implements ProgressReporter {
 	private void runFilter(PixelPack source, PixelPack target) {	// do we always want to copy back??
 		initFilter(source, target);
 		pass = 0;
+		if (parallelism > 1) {
+			executor = Executors.newFixedThreadPool(parallelism);
+		}
 		try {
 			while (pass < passesRequired()) {	// TODO: check return value of passesRequired()!
 				//IJ.log("****** starting pass " + pass);
@@ -149,7 +194,13 @@ public abstract class GenericFilter implements ProgressReporter {
 				target.copyTo(this.source); // copy target back to sources
 				pass++;
 			}
-		} catch (AbortFilterException e) {};
+		} catch (AbortFilterException e) {
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+				executor = null;
+			}
+		}
 		// the filter's result is to be found in 'source'
 		closeFilter();
 		this.source = null;
@@ -235,6 +286,21 @@ public abstract class GenericFilter implements ProgressReporter {
 		return 1;	// do exactly 1 pass
 	}
 	
+	/**
+	 * Returns the radius of this filter's support region, i.e., the maximum horizontal or vertical distance (in pixels)
+	 * from the current position at which {@code doPixel()} reads source values. The default implementation returns -1,
+	 * indicating that the support region is unknown and all pixels must be processed with out-of-bounds checking. If a
+	 * non-negative value r is returned, pixels whose r-neighborhood lies completely inside the image are processed by
+	 * the {@code doPixelInterior()} method instead, which the filter may override to read the source data without
+	 * out-of-bounds checks (see {@link GenericFilterScalar#doPixelInterior(PixelSlice, int, int)} and
+	 * {@link GenericFilterVector#doPixelInterior(PixelPack, int, int)}).
+	 *
+	 * @return the support radius or -1 if unknown
+	 */
+	protected int getSupportRadius() {
+		return -1;
+	}
+	
 	/**
 	 * This method can be called to abort the filter execution prematurely,
 	 * e.g. for debugging.
@@ -252,6 +318,80 @@ public abstract class GenericFilter implements ProgressReporter {
 	 */
 	protected abstract void runPass(PixelPack source, PixelPack target);
 	
+	// parallel execution ----------------------------------------------------------------
+	
+	/**
+	 * Creates a new instance of this filter to be used by a single worker thread during parallel execution (see
+	 * {@link #setParallelism(int)}). This method is called once per worker thread at the start of each parallel loop,
+	 * i.e., after {@link #initPass(PixelPack, PixelPack)} was called. The default implementation returns a shallow copy
+	 * of this filter, thus scratch variables of primitive type (e.g., a running minimum) are private to each worker,
+	 * but arrays and other objects are shared. Filters that use arrays or other mutable objects as scratch buffers
+	 * inside their {@code doPixel()} method must override this method and assign fresh buffers to the returned copy.
+	 *
+	 * @return a filter instance for exclusive use by a single worker thread
+	 */
+	protected GenericFilter createWorker() {
+		try {
+			return (GenericFilter) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);	// never happens, since this class is Cloneable
+		}
+	}
+	
+	/**
+	 * Invokes the specified row operation for all rows 0,...,height-1, either sequentially (on this filter) or in
+	 * parallel, depending on this filter's parallelism setting. In parallel mode, rows are handed out dynamically to the
+	 * worker threads, each working on its own filter instance obtained from {@link #createWorker()}. The supplied
+	 * function creates the row operation for a given filter instance. This method returns after all rows are done.
+	 *
+	 * @param height the number of rows to process
+	 * @param rowOp function creating the operation for a single row, given the filter instance to work on
+	 */
+	void runRows(int height, Function<GenericFilter, IntConsumer> rowOp) {
+		if (executor == null) {
+			IntConsumer op = rowOp.apply(this);
+			for (int v = 0; v < height; v++) {
+				op.accept(v);
+			}
+			return;
+		}
+		
+		final AtomicInteger nextRow = new AtomicInteger(0);
+		final List<Future<?>> futures = new ArrayList<>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			final IntConsumer op = rowOp.apply(createWorker());
+			futures.add(executor.submit(() -> {
+				try {
+					int v;
+					while ((v = nextRow.getAndIncrement()) < height) {
+						op.accept(v);
+					}
+				} catch (RuntimeException e) {
+					nextRow.set(height);	// stop all other workers too
+					throw e;
+				}
+			}));
+		}
+		
+		for (Future<?> f : futures) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;		// e.g., AbortFilterException
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+	
 	// progress reporting ----------------------------------------------------------------
 
 	@Override
@@ -11,6 +11,8 @@ package imagingbook.common.filter.generic;
 import imagingbook.common.image.PixelPack;
 import imagingbook.common.image.PixelPack.PixelSlice;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * <p>
  * This (abstract) class represents a filter which treats all pixel values as scalars. If the processed image has more
@@ -23,6 +25,11 @@ import imagingbook.common.image.PixelPack.PixelSlice;
  * remaining filter mechanics including multiple components, out-of-bounds coordinate handling, multiple passes and data
  * copying are handled by this class and its super-class (see {@link GenericFilter}).
  * </p>
+ * <p>
+ * Filters with a fixed support region may optionally declare its radius (see {@link #getSupportRadius()}) and
+ * override {@link #doPixelInterior(PixelSlice, int, int)}, which is then used for all pixels not close to the image
+ * border, reading directly from the underlying pixel array without out-of-bounds checks.
+ * </p>
  */
 public abstract class GenericFilterScalar extends GenericFilter {
 	
@@ -30,7 +37,7 @@ public abstract class GenericFilterScalar extends GenericFilter {
 	private int slice;
 	private int sliceMax = 1;
 	
-	private int iter;
+	private final AtomicInteger iter = new AtomicInteger(0);
 	private int iterMax = 1;
 	
 	// apply filter to a stack of pixel slices (1 pass)
@@ -48,15 +55,30 @@ public abstract class GenericFilterScalar extends GenericFilter {
 	private void runSlice(PixelSlice sourcePlane, PixelSlice targetPlane) {
 		final int width = sourcePlane.getWidth();
 		final int height = sourcePlane.getHeight();
+		final int r = getSupportRadius();
+		final float[] targetData = targetPlane.getArray();
 		this.iterMax = width * height;
-		this.iter = 0;
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				targetPlane.setVal(u, v, doPixel(sourcePlane, u, v));
-				this.iter++;
-			}
-		}
-		this.iter = 0;
+		this.iter.set(0);
+		runRows(height, filter -> {
+			final GenericFilterScalar worker = (GenericFilterScalar) filter;
+			return v -> {
+				// interior pixels of this row are u = uL,...,uR-1
+				final boolean interiorRow = r >= 0 && v >= r && v < height - r && width > 2 * r;
+				final int uL = interiorRow ? r : width;
+				final int uR = interiorRow ? width - r : width;
+				for (int u = 0; u < uL; u++) {
+					targetPlane.setVal(u, v, worker.doPixel(sourcePlane, u, v));
+				}
+				for (int u = uL; u < uR; u++) {
+					targetData[v * width + u] = worker.doPixelInterior(sourcePlane, u, v);
+				}
+				for (int u = uR; u < width; u++) {
+					targetPlane.setVal(u, v, worker.doPixel(sourcePlane, u, v));
+				}
+				this.iter.addAndGet(width);
+			};
+		});
+		this.iter.set(0);
 	}
 
 	// this method every scalar filter must implement
@@ -75,11 +97,28 @@ public abstract class GenericFilterScalar extends GenericFilter {
 	 */
 	protected abstract float doPixel(PixelSlice source, int u, int v);
 	
+	/**
+	 * Version of {@link #doPixel(PixelSlice, int, int)} used for pixels whose support region (see
+	 * {@link #getSupportRadius()}) is fully inside the image. Filters may override this method to read the raw
+	 * (row-major) pixel array (see {@link PixelSlice#getArray()}) without out-of-bounds checks, i.e., the value at
+	 * position (u,v) is {@code source.getArray()[v * source.getWidth() + u]}. Any implementation must produce the same
+	 * result as {@link #doPixel(PixelSlice, int, int)}. The default implementation simply calls
+	 * {@link #doPixel(PixelSlice, int, int)}.
+	 *
+	 * @param source the scalar-valued data for a single image component
+	 * @param u the current x-position
+	 * @param v the current y-position
+	 * @return the result of the filter calculation for this pixel
+	 */
+	protected float doPixelInterior(PixelSlice source, int u, int v) {
+		return doPixel(source, u, v);
+	}
+	
 	// -------------------------------------------------------------------
 
 	@Override
 	protected final double reportProgress(double subProgress) {
-		double loopProgress = (this.iter + subProgress) / this.iterMax;
+		double loopProgress = (this.iter.get() + subProgress) / this.iterMax;
 		//IJ.log("   loopProgress = " + loopProgress);
 		double sliceProgress = (this.slice + loopProgress) / this.sliceMax;
 		//IJ.log("   sliceProgress = " + sliceProgress);
@@ -11,6 +11,8 @@ package imagingbook.common.filter.generic;
 import imagingbook.common.image.PixelPack;
 import imagingbook.common.image.PixelPack.PixelSlice;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This (abstract) class represents a generic scalar filter whose pixel-operation is x/y-separable. It is similar to
  * {@link GenericFilterScalar} but requires two methods to be implemented by concrete sub-classes:
@@ -29,7 +31,7 @@ public abstract class GenericFilterScalarSeparable extends GenericFilter {
 	private int slice;
 	private int sliceMax = 1;
 	
-	private int iter = 0;
+	private final AtomicInteger iter = new AtomicInteger(0);
 	private int iterMax = 1;	// for progress reporting only
 	
 	
@@ -49,30 +51,36 @@ public abstract class GenericFilterScalarSeparable extends GenericFilter {
 		final int width = source.getWidth();
 		final int height = source.getHeight();
 		this.iterMax = width * height * 2;
-		this.iter = 0;
+		this.iter.set(0);
 		
 		if (doX) {
 			// IJ.log("doing X-part =============================== ");
-			for (int v = 0; v < height; v++) {
-				for (int u = 0; u < width; u++) {
-					target.setVal(u, v, doPixelX(source, u, v));
-					this.iter++;
-				}
-			}
+			runRows(height, filter -> {
+				final GenericFilterScalarSeparable worker = (GenericFilterScalarSeparable) filter;
+				return v -> {
+					for (int u = 0; u < width; u++) {
+						target.setVal(u, v, worker.doPixelX(source, u, v));
+					}
+					this.iter.addAndGet(width);
+				};
+			});
 			target.copyTo(source);
 		}
 		
 		if (doY) {
 			// IJ.log("doing Y-part =============================== ");
-			for (int v = 0; v < height; v++) {
-				for (int u = 0; u < width; u++) {
-					target.setVal(u, v, doPixelY(source, u, v));
-					this.iter++;
-				}
-			}
+			runRows(height, filter -> {
+				final GenericFilterScalarSeparable worker = (GenericFilterScalarSeparable) filter;
+				return v -> {
+					for (int u = 0; u < width; u++) {
+						target.setVal(u, v, worker.doPixelY(source, u, v));
+					}
+					this.iter.addAndGet(width);
+				};
+			});
 		}
 		
-		this.iter = 0;
+		this.iter.set(0);
 	}
 	
 	// ------------------------------------------------------------------------
@@ -115,7 +123,7 @@ public abstract class GenericFilterScalarSeparable extends GenericFilter {
 	
 	@Override
 	protected final double reportProgress(double subProgress) {
-		double loopProgress = (this.iter + subProgress) / this.iterMax;
+		double loopProgress = (this.iter.get() + subProgress) / this.iterMax;
 		//IJ.log("   loopProgress = " + loopProgress);
 		double sliceProgress = (this.slice + loopProgress) / this.sliceMax;
 		//IJ.log("   sliceProgress = " + sliceProgress);
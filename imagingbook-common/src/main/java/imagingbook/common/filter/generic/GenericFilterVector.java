@@ -10,6 +10,8 @@ package imagingbook.common.filter.generic;
 
 import imagingbook.common.image.PixelPack;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * <p>
  * This (abstract) class represents a filter which treats all pixel data as vectors. The filter calls the method
@@ -20,25 +22,44 @@ import imagingbook.common.image.PixelPack;
  * remaining filter mechanics including multiple components, out-of-bounds coordinate handling, multiple passes and data
  * copying are handled by this class and its super-class (see {@link GenericFilter}).
  * </p>
+ * <p>
+ * Filters with a fixed support region may optionally declare its radius (see {@link #getSupportRadius()}) and
+ * override {@link #doPixelInterior(PixelPack, int, int)}, which is then used for all pixels not close to the
+ * image border, reading directly from the underlying pixel arrays without out-of-bounds checks.
+ * </p>
  */
 public abstract class GenericFilterVector extends GenericFilter {
 
-	private int iter = 0;
+	private final AtomicInteger iter = new AtomicInteger(0);
 	private int iterMax = 1;	// for progress reporting only
 	
 	@Override 
 	protected void runPass(PixelPack sourcePack, PixelPack targetPack) {
 		final int width = sourcePack.getWidth();
 		final int height = sourcePack.getHeight();
+		final int r = getSupportRadius();
 		iterMax = width * height;
-		iter = 0;
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				targetPack.setPix(u, v, doPixel(sourcePack, u, v)); // single pixel operation
-				iter++;
-			}
-		}
-		iter = 0;
+		iter.set(0);
+		runRows(height, filter -> {
+			final GenericFilterVector worker = (GenericFilterVector) filter;
+			return v -> {
+				// interior pixels of this row are u = uL,...,uR-1
+				final boolean interiorRow = r >= 0 && v >= r && v < height - r && width > 2 * r;
+				final int uL = interiorRow ? r : width;
+				final int uR = interiorRow ? width - r : width;
+				for (int u = 0; u < uL; u++) {
+					targetPack.setPix(u, v, worker.doPixel(sourcePack, u, v)); // single pixel operation
+				}
+				for (int u = uL; u < uR; u++) {
+					targetPack.setPix(v * width + u, worker.doPixelInterior(sourcePack, u, v));
+				}
+				for (int u = uR; u < width; u++) {
+					targetPack.setPix(u, v, worker.doPixel(sourcePack, u, v));
+				}
+				iter.addAndGet(width);
+			};
+		});
+		iter.set(0);
 	}
 	
 	/**
@@ -59,11 +80,28 @@ public abstract class GenericFilterVector extends GenericFilter {
 	 */
 	protected abstract float[] doPixel(PixelPack source, int u, int v);
 	
+	/**
+	 * Version of {@link #doPixel(PixelPack, int, int)} used for pixels whose support region (see
+	 * {@link #getSupportRadius()}) is fully inside the image. Filters may override this method to read the raw pixel
+	 * arrays of all image components (see {@link PixelPack#getData()}) without out-of-bounds checks, i.e., the value
+	 * of component k at position (u,v) is {@code source.getData()[k][v * source.getWidth() + u]}. Any implementation
+	 * must produce the same result as {@link #doPixel(PixelPack, int, int)}. The default implementation simply calls
+	 * {@link #doPixel(PixelPack, int, int)}.
+	 *
+	 * @param source the vector-valued image data
+	 * @param u the current x-position
+	 * @param v the current y-position
+	 * @return the result of the filter calculation for this pixel
+	 */
+	protected float[] doPixelInterior(PixelPack source, int u, int v) {
+		return doPixel(source, u, v);
+	}
+	
 	// -----------------------------------------------------------------
 	
 	@Override
 	protected final double reportProgress(double subProgress) {
-		double localProgress = (double) iter /iterMax;
+		double localProgress = (double) iter.get() / iterMax;
 		//System.out.println("GenericFilterVector: reportProgress() - returning " + localProgress);
 		return super.reportProgress(localProgress);
 	}
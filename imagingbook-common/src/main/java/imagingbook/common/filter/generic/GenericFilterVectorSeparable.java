@@ -10,6 +10,8 @@ package imagingbook.common.filter.generic;
 
 import imagingbook.common.image.PixelPack;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This (abstract) class represents a generic vector filter whose pixel-operation is x/y-separable. It is similar to
  * {@link GenericFilterVector} but requires two methods to be implemented by concrete sub-classes:
@@ -20,7 +22,7 @@ import imagingbook.common.image.PixelPack;
  */
 public abstract class GenericFilterVectorSeparable extends GenericFilter { // GenericFilterVector
 	
-	private int iter = 0;
+	private final AtomicInteger iter = new AtomicInteger(0);
 	private int iterMax = 1;	// for progress reporting only
 	
 	@Override 
@@ -28,28 +30,34 @@ public abstract class GenericFilterVectorSeparable extends GenericFilter { // Ge
 		final int width = source.getWidth();
 		final int height = source.getHeight();
 		iterMax = width * height * 2;
-		iter = 0;
+		iter.set(0);
 		
 		// X-part
 		//IJ.log("X-part +++++++++++++++++++++++++++++++++");
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				target.setPix(u, v, doPixelX(source, u, v)); // single pixel operation
-				iter++;
-			}
-		}
+		runRows(height, filter -> {
+			final GenericFilterVectorSeparable worker = (GenericFilterVectorSeparable) filter;
+			return v -> {
+				for (int u = 0; u < width; u++) {
+					target.setPix(u, v, worker.doPixelX(source, u, v)); // single pixel operation
+				}
+				iter.addAndGet(width);
+			};
+		});
 		
 		target.copyTo(source);
 		
 		// Y-part
 		//IJ.log("Y-part +++++++++++++++++++++++++++++++++");
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				target.setPix(u, v, doPixelY(source, u, v)); // single pixel operation
-				iter++;
-			}
-		}
-		iter = 0;
+		runRows(height, filter -> {
+			final GenericFilterVectorSeparable worker = (GenericFilterVectorSeparable) filter;
+			return v -> {
+				for (int u = 0; u < width; u++) {
+					target.setPix(u, v, worker.doPixelY(source, u, v)); // single pixel operation
+				}
+				iter.addAndGet(width);
+			};
+		});
+		iter.set(0);
 	}
 	
 	// ------------------------------------------------------------------------
@@ -96,7 +104,7 @@ public abstract class GenericFilterVectorSeparable extends GenericFilter { // Ge
 
 	@Override
 	protected final double reportProgress(double subProgress) {
-		double localProgress = (double) iter /iterMax;
+		double localProgress = (double) iter.get() / iterMax;
 		//System.out.println("GenericFilterVector: reportProgress() - returning " + localProgress);
 		return super.reportProgress(localProgress);
 	}
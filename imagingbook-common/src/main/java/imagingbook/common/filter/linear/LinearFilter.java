@@ -23,6 +23,7 @@ public class LinearFilter extends GenericFilterScalar {
 
 	private final float[][] H;			// the kernel matrix, note H[y][x]!
 	private final int xc, yc;			// 'hot spot' coordinates
+	private final int radius;			// max. extent of the kernel from the hot spot
 	
 	/**
 	 * Constructor, only the 2D filter kernel needs to be specified.
@@ -33,6 +34,12 @@ public class LinearFilter extends GenericFilterScalar {
 		this.H = kernel.getH();
 		this.xc = kernel.getXc();
 		this.yc = kernel.getYc();
+		this.radius = Math.max(Math.max(xc, H[0].length - 1 - xc), Math.max(yc, H.length - 1 - yc));
+	}
+	
+	@Override
+	protected int getSupportRadius() {
+		return radius;
 	}
 
 	@Override
@@ -49,6 +56,20 @@ public class LinearFilter extends GenericFilterScalar {
 //		return convolve(source, H, u, v, xc, yc);
 	}
 	
+	@Override
+	protected float doPixelInterior(PixelSlice plane, int u, int v) {
+		final float[] source = plane.getArray();
+		final int width = plane.getWidth();
+		double sum = 0;
+		for (int j = 0; j < H.length; j++) {
+			final int i0 = (v + j - yc) * width + u - xc;	// array index of position (u - xc, v + j - yc)
+			for (int i = 0; i < H[j].length; i++) {
+				sum = sum + source[i0 + i] * H[j][i];
+			}
+		}
+		return (float)sum;
+	}
+	
 //	public static float convolve(PixelSlice plane, float[][] H, int u, int v, int xc, int yc) {
 //		double sum = 0;
 //		for (int j = 0; j < H.length; j++) {
@@ -41,7 +41,7 @@ public class ScalarMedianFilter extends GenericFilterScalar {
 	private final int maskCount;
 	private final int xc, yc;
 	private final byte[][] maskArray;
-	private final float[] supportRegion;
+	private float[] supportRegion;
 	private final int medianIndex;
 	
 	public ScalarMedianFilter() {
@@ -57,6 +57,18 @@ public class ScalarMedianFilter extends GenericFilterScalar {
 		this.supportRegion = new float[maskCount];
 		this.medianIndex = maskCount/2;
 	}
+	
+	@Override
+	protected int getSupportRadius() {
+		return Math.max(xc, yc);
+	}
+	
+	@Override
+	protected ScalarMedianFilter createWorker() {
+		ScalarMedianFilter worker = (ScalarMedianFilter) super.createWorker();
+		worker.supportRegion = new float[maskCount];
+		return worker;
+	}
 
 	//-------------------------------------------------------------------------------------
 	
@@ -76,4 +88,23 @@ public class ScalarMedianFilter extends GenericFilterScalar {
 		Arrays.sort(supportRegion);
 		return supportRegion[medianIndex];
 	}
+	
+	@Override
+	protected float doPixelInterior(PixelSlice plane, int u, int v) {
+		final float[] source = plane.getArray();
+		final int width = plane.getWidth();
+		int k = 0;
+		for (int i = 0; i < maskArray.length; i++) {
+			int ui = u + i - xc;
+			for (int j = 0; j < maskArray[0].length; j++) {
+				if (maskArray[i][j] != 0) {
+					int vj = v + j - yc;
+					supportRegion[k] = source[vj * width + ui];
+					k = k + 1;
+				}
+			}
+		}
+		Arrays.sort(supportRegion);
+		return supportRegion[medianIndex];
+	}
 }
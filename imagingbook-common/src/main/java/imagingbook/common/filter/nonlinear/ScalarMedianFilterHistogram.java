@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+
+package imagingbook.common.filter.nonlinear;
+
+import imagingbook.common.filter.mask.CircularMask;
+import imagingbook.common.image.PixelPack;
+import imagingbook.common.image.PixelPack.PixelSlice;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Scalar median filter using a sliding-window histogram (Huang's algorithm [1]), producing exactly the same results
+ * as {@link ScalarMedianFilter} with the same (circular) filter mask. Instead of sorting the complete support region
+ * at every pixel, the filter keeps a histogram of the values inside the mask, which is updated incrementally when
+ * the mask moves to the next pixel of the same row. Only the pixels entering and leaving at the left and right edge
+ * of each mask row are added and removed, i.e., the cost per pixel is O(r) instead of O(r<sup>2</sup> log r) for
+ * filter radius r. The median is tracked by a running pointer into the histogram.
+ * </p>
+ * <p>
+ * The histogram method is only applicable if all pixel values are integers in the range 0,...,65535, which is the
+ * case for 8- and 16-bit grayscale and RGB color images. This is checked at the start of each filter pass. Otherwise
+ * (e.g., for {@code float} images with arbitrary values) the filter resorts to the sorting method of
+ * {@link ScalarMedianFilter}.
+ * </p>
+ * <p>
+ * Note that the O(1) column-histogram method by Perreault and H&eacute;bert [2] applies only to rectangular
+ * windows. For the circular mask used here, the vertical extent of the mask is different for every mask column, thus
+ * column histograms cannot be shared between columns.
+ * </p>
+ * <p>
+ * [1] T. Huang, G. Yang, G. Tang. A fast two-dimensional median filtering algorithm. <em>IEEE Transactions on
+ * Acoustics, Speech, and Signal Processing</em> 27(1), 13&ndash;18 (1979).
+ * <br>
+ * [2] S. Perreault, P. H&eacute;bert. Median filtering in constant time. <em>IEEE Transactions on Image
+ * Processing</em> 16(9), 2389&ndash;2394 (2007).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see ScalarMedianFilter
+ */
+public class ScalarMedianFilterHistogram extends ScalarMedianFilter {
+
+	private static final int MaxBins = 65536;
+
+	private final int xc, yc;
+	private final int[] ext;		// ext[j] = horizontal half-extent of mask row j (-1 if row is empty)
+	private final int medianIndex;
+
+	private int nBins = 0;			// histogram size, 0 if histogram method is not applicable
+	private int[] H = null;			// the sliding-window histogram
+	private int med;				// current median value
+	private int ltMed;				// number of values in H less than med
+
+	private PixelSlice lastPlane = null;	// position of the most recent histogram update
+	private int lastU, lastV;
+
+	public ScalarMedianFilterHistogram() {
+		this(new Parameters());
+	}
+
+	public ScalarMedianFilterHistogram(Parameters params) {
+		super(params);
+		CircularMask mask = new CircularMask(params.radius);
+		byte[][] maskArray = mask.getByteArray();
+		this.xc = mask.getCenterX();
+		this.yc = mask.getCenterY();
+		this.medianIndex = mask.getElementCount() / 2;
+		this.ext = new int[maskArray[0].length];
+		Arrays.fill(ext, -1);
+		for (int i = 0; i < maskArray.length; i++) {
+			for (int j = 0; j < maskArray[0].length; j++) {
+				if (maskArray[i][j] != 0) {
+					ext[j] = Math.max(ext[j], Math.abs(i - xc));
+				}
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------
+
+	@Override
+	protected void initPass(PixelPack source, PixelPack target) {
+		this.nBins = getHistogramSize(source);
+		this.H = (nBins > 0) ? new int[nBins] : null;
+		this.lastPlane = null;
+	}
+
+	@Override
+	protected int getSupportRadius() {
+		// the histogram method processes every pixel with doPixel()
+		return (H != null) ? -1 : super.getSupportRadius();
+	}
+
+	@Override
+	protected ScalarMedianFilterHistogram createWorker() {
+		ScalarMedianFilterHistogram worker = (ScalarMedianFilterHistogram) super.createWorker();
+		worker.H = (nBins > 0) ? new int[nBins] : null;
+		worker.lastPlane = null;
+		return worker;
+	}
+
+	@Override
+	protected float doPixel(PixelSlice plane, int u, int v) {
+		if (H == null) {
+			return super.doPixel(plane, u, v);
+		}
+		if (plane == lastPlane && v == lastV && u == lastU + 1) {
+			slideHistogram(plane, u, v);
+		}
+		else {
+			initHistogram(plane, u, v);
+		}
+		lastPlane = plane;
+		lastU = u;
+		lastV = v;
+
+		// move the median pointer, such that ltMed <= medianIndex < ltMed + H[med]:
+		while (ltMed > medianIndex) {
+			med = med - 1;
+			ltMed = ltMed - H[med];
+		}
+		while (ltMed + H[med] <= medianIndex) {
+			ltMed = ltMed + H[med];
+			med = med + 1;
+		}
+		return med;
+	}
+
+	// builds the histogram for the mask centered at (u,v) from scratch
+	private void initHistogram(PixelSlice plane, int u, int v) {
+		Arrays.fill(H, 0);
+		for (int j = 0; j < ext.length; j++) {
+			final int a = ext[j];
+			final int vj = v + j - yc;
+			for (int i = -a; i <= a; i++) {
+				H[(int) plane.getVal(u + i, vj)]++;
+			}
+		}
+		med = 0;
+		ltMed = 0;
+	}
+
+	// updates the histogram when moving the mask from (u-1,v) to (u,v)
+	private void slideHistogram(PixelSlice plane, int u, int v) {
+		for (int j = 0; j < ext.length; j++) {
+			final int a = ext[j];
+			if (a < 0) {
+				continue;
+			}
+			final int vj = v + j - yc;
+			final int out = (int) plane.getVal(u - 1 - a, vj);
+			final int in = (int) plane.getVal(u + a, vj);
+			H[out]--;
+			if (out < med) {
+				ltMed--;
+			}
+			H[in]++;
+			if (in < med) {
+				ltMed++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the histogram size required for the given pixel data, i.e., 256 if all values are integers in
+	 * [0,255], 65536 if all values are integers in [0,65535], or 0 if the histogram method cannot be used.
+	 *
+	 * @param pack the pixel data
+	 * @return the histogram size or 0
+	 */
+	static int getHistogramSize(PixelPack pack) {
+		float maxVal = 0;
+		for (float[] slice : pack.getData()) {
+			for (float val : slice) {
+				if (!(val >= 0 && val < MaxBins) || val != (int) val) {	// also catches NaN
+					return 0;
+				}
+				maxVal = Math.max(maxVal, val);
+			}
+		}
+		return (maxVal < 256) ? 256 : MaxBins;
+	}
+}
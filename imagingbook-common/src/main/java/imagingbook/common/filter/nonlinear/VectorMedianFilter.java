@@ -40,9 +40,9 @@ public class VectorMedianFilter extends GenericFilterVector {
 	private final int maskCount;
 	private final byte[][] maskArray;
 	private final int xc, yc;
-	private final float[][] supportRegion;		// supportRegion[i][c] with index i, color component c
+	private float[][] supportRegion;		// supportRegion[i][c] with index i, color component c
 	private final VectorNorm vNorm;
-	private final float[] vals = new float[3];	// check, adapt to depth
+	private float[] vals = new float[3];	// check, adapt to depth
 	
 	//-------------------------------------------------------------------------------------
 	
@@ -60,6 +60,14 @@ public class VectorMedianFilter extends GenericFilterVector {
 		this.vNorm = params.distanceNorm.getInstance();
 	}
 	
+	@Override
+	protected VectorMedianFilter createWorker() {
+		VectorMedianFilter worker = (VectorMedianFilter) super.createWorker();
+		worker.supportRegion = new float[maskCount][3];
+		worker.vals = new float[3];
+		return worker;
+	}
+	
 	//-------------------------------------------------------------------------------------
 	
 	@Override
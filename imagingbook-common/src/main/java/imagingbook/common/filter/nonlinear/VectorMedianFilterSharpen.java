@@ -44,10 +44,10 @@ public class VectorMedianFilterSharpen extends GenericFilterVector {
 	private final int maskCount;
 	private final byte[][] maskArray;
 	private final int xc, yc;
-	private final float[][] supportRegion;		// supportRegion[i][c] with index i, color component c
+	private float[][] supportRegion;		// supportRegion[i][c] with index i, color component c
 	private final VectorNorm vNorm;
 	private final int a;						// a = 2,...,n
-	private final float[] vals = new float[3];	// check, adapt to depth
+	private float[] vals = new float[3];	// check, adapt to depth
 	
 	public VectorMedianFilterSharpen() {	
 		this(new Parameters());
@@ -65,6 +65,14 @@ public class VectorMedianFilterSharpen extends GenericFilterVector {
 		this.vNorm = params.distanceNorm.getInstance();
 	}
 	
+	@Override
+	protected VectorMedianFilterSharpen createWorker() {
+		VectorMedianFilterSharpen worker = (VectorMedianFilterSharpen) super.createWorker();
+		worker.supportRegion = new float[maskCount][3];
+		worker.vals = new float[3];
+		return worker;
+	}
+	
 	@Override
 	protected float[] doPixel(PixelPack pack, int u, int v) {
 		float[] pCtr = pack.getPix(u, v);
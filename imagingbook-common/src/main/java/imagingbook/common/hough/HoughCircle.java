@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.hough;
+
+import imagingbook.common.geometry.circle.GeometricCircle;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ * This class represents a circle detected by the Hough transform (see {@link HoughTransformCircles}). It inherits from
+ * {@link GeometricCircle} and adds a counter (count) for pixel votes. Instances are immutable.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+public class HoughCircle extends GeometricCircle implements Comparable<HoughCircle> {
+
+	private final int count;			// pixel votes for this circle
+
+	/**
+	 * Constructor, creates a new {@link HoughCircle} instance.
+	 *
+	 * @param xc center x-coordinate
+	 * @param yc center y-coordinate
+	 * @param r circle radius
+	 * @param count pixel votes for this circle
+	 */
+	public HoughCircle(double xc, double yc, double r, int count) {
+		super(xc, yc, r);
+		this.count = count;
+	}
+
+	/**
+	 * Returns the number of pixel votes for this circle.
+	 * @return the pixel count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Required by the {@link Comparable} interface, used for sorting circles by their point count (in descending order,
+	 * i.e., strong circles come first).
+	 *
+	 * @param other another {@link HoughCircle} instance.
+	 */
+	@Override
+	public int compareTo(HoughCircle other) {
+		return Integer.compare(other.count, this.count);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.US, "%s [xc=%f, yc=%f, r=%f, count=%d]",
+				this.getClass().getSimpleName(), xc, yc, r, count);
+	}
+
+}
@@ -0,0 +1,405 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.hough;
+
+import ij.process.ByteProcessor;
+import ij.process.FloatProcessor;
+import imagingbook.common.geometry.basic.Pnt2d;
+import imagingbook.common.geometry.circle.GeometricCircle;
+import imagingbook.common.util.ParameterBundle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * <p>
+ * This class implements the Hough Transform for circles, with parameters (xc, yc, r) for the circle center and radius.
+ * To keep memory bounded for large images and radius ranges, a coarse-to-fine strategy is used:
+ * </p>
+ * <ol>
+ * <li>All edge points vote into a coarse 3D accumulator, whose cells cover {@link Parameters#binSize} pixels in each
+ * dimension (x, y, r). The accumulator is filled and searched for local maxima in chunks of {@link #RadialChunkSize}
+ * radial bins, i.e., its memory requirement does not depend on the radius range.</li>
+ * <li>The strongest local maxima of the coarse accumulator are refined separately, each in a small 3D accumulator with
+ * unit resolution covering the neighborhood of the coarse cell. Here every edge point votes for all circles (with
+ * centers in this neighborhood) it lies on.</li>
+ * <li>Duplicate detections (with similar parameters) are removed and the remaining circles are returned as
+ * {@link HoughCircle} instances, ranked by their number of votes.</li>
+ * </ol>
+ * <p>
+ * If the edge orientation is known for each edge point (see
+ * {@link #HoughTransformCircles(ByteProcessor, FloatProcessor, Parameters)}), voting is directed by the local
+ * gradient: an edge point only votes for circle centers located (approximately) on the line along its gradient
+ * vector, i.e., within {@link Parameters#angTolerance} of the gradient direction. Otherwise every point votes for all
+ * centers on a circle around it, for each radius, which is considerably more costly. Voting and refinement are
+ * performed in parallel (see {@link Parameters#parallel}); the results do not depend on this setting. Detected circles
+ * are {@link GeometricCircle} instances and can thus be compared directly to the results of RANSAC circle detection.
+ * See Sec. 12.2 of [1] for additional details on the Hough transform.
+ * </p>
+ * <p>
+ * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
+ * (2022).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see HoughCircle
+ * @see imagingbook.common.ransac.RansacCircleDetector
+ */
+public class HoughTransformCircles {
+
+	/**
+	 * The number of coarse accumulator maxima (relative to the max. number of requested circles) which are refined
+	 * (see {@link #getCircles(int, int)}).
+	 */
+	public static final int CandidateFactor = 10;
+
+	/**
+	 * The number of radial bins of the coarse accumulator that are processed at a time (see {@link #getCircles(int, int)}).
+	 */
+	public static final int RadialChunkSize = 8;
+
+	public static class Parameters implements ParameterBundle<HoughTransformCircles> {
+		/** Minimum circle radius */
+		public int rMin = 10;
+		/** Maximum circle radius */
+		public int rMax = 100;
+		/** Size of the coarse accumulator cells (in pixels, in each dimension) */
+		public int binSize = 4;
+		/** Max. deviation (in radians) of the center direction from the edge orientation (gradient-directed voting only) */
+		public double angTolerance = 0.1;
+		/** Perform voting and refinement in parallel */
+		public boolean parallel = true;
+	}
+
+	private final int width, height;		// size of the image
+	private final int rMin, rMax;			// radius range
+	private final int bs;					// coarse bin size
+	private final double cosTolerance;		// cosine of the max. angular deviation
+	private final boolean parallel;
+
+	private final double[] xs, ys;			// edge point coordinates
+	private final double[] gxs, gys;		// unit gradient vectors (null if edge orientation is not used)
+
+	private final int gw, gh, gr;			// size of the coarse accumulator (x/y/r), cell (i, j, k) has index (k * gh + j) * gw + i
+
+	// -------------- public constructor(s) ------------------------
+
+	/**
+	 * Constructor, creates a new Hough transform from the binary image.
+	 *
+	 * @param I input image, relevant (edge) points have pixel values greater 0.
+	 * @param params parameter object.
+	 */
+	public HoughTransformCircles(ByteProcessor I, Parameters params) {
+		this(I, null, params);
+	}
+
+	/**
+	 * Constructor, creates a new Hough transform from the binary image, with gradient-directed voting. Edge
+	 * orientations are given as the angle of the gradient vector (as returned by
+	 * {@link imagingbook.common.edges.EdgeDetector#getEdgeOrientation()}). The sign of the gradient is ignored, i.e.,
+	 * circles may be brighter or darker than the background.
+	 *
+	 * @param I input image, relevant (edge) points have pixel values greater 0.
+	 * @param E_theta edge orientation image (angles in radians), of the same size as I (may be {@code null}).
+	 * @param params parameter object.
+	 */
+	public HoughTransformCircles(ByteProcessor I, FloatProcessor E_theta, Parameters params) {
+		this(I.getWidth(), I.getHeight(), collectPoints(I), E_theta, params);
+	}
+
+	/**
+	 * Constructor, creates a new Hough transform from a sequence of 2D points. Circle centers are restricted to the
+	 * specified image plane.
+	 *
+	 * @param points an array of 2D points.
+	 * @param width width of the corresponding image plane.
+	 * @param height height of the corresponding image plane.
+	 * @param params parameter object.
+	 */
+	public HoughTransformCircles(Pnt2d[] points, int width, int height, Parameters params) {
+		this(width, height, Arrays.stream(points).filter(Objects::nonNull).toArray(Pnt2d[]::new), null, params);
+	}
+
+	private HoughTransformCircles(int width, int height, Pnt2d[] points, FloatProcessor E_theta, Parameters params) {
+		if (params == null)
+			params = new Parameters();
+		if (params.rMin < 1 || params.rMax < params.rMin) {
+			throw new IllegalArgumentException("invalid radius range " + params.rMin + ".." + params.rMax);
+		}
+		if (params.binSize < 1) {
+			throw new IllegalArgumentException("bin size must be positive");
+		}
+		if (E_theta != null && (E_theta.getWidth() != width || E_theta.getHeight() != height)) {
+			throw new IllegalArgumentException("orientation image must be of the same size as the input image");
+		}
+		this.width = width;
+		this.height = height;
+		this.rMin = params.rMin;
+		this.rMax = params.rMax;
+		this.bs = params.binSize;
+		this.cosTolerance = Math.cos(Math.min(params.angTolerance, Math.PI / 2));
+		this.parallel = params.parallel;
+
+		final int n = points.length;
+		this.xs = new double[n];
+		this.ys = new double[n];
+		this.gxs = (E_theta != null) ? new double[n] : null;
+		this.gys = (E_theta != null) ? new double[n] : null;
+		for (int i = 0; i < n; i++) {
+			xs[i] = points[i].getX();
+			ys[i] = points[i].getY();
+			if (E_theta != null) {
+				double theta = E_theta.getf((int) xs[i], (int) ys[i]);
+				gxs[i] = Math.cos(theta);
+				gys[i] = Math.sin(theta);
+			}
+		}
+
+		this.gw = (width + bs - 1) / bs;
+		this.gh = (height + bs - 1) / bs;
+		this.gr = (rMax - rMin) / bs + 1;
+	}
+
+	// -------------- public methods ------------------------
+
+	/**
+	 * Finds and returns the strongest circles with a specified min. pixel count, sorted by decreasing count. All
+	 * objects in the returned array are valid, but the array may be empty.
+	 *
+	 * @param minCount the minimum number of votes for each circle.
+	 * @param maxCircles maximum number of (strongest) circles to extract.
+	 * @return a possibly empty array of {@link HoughCircle} objects.
+	 */
+	public HoughCircle[] getCircles(int minCount, int maxCircles) {
+		final int[] candidates = findCoarseMaxima(CandidateFactor * maxCircles);
+		IntStream cs = IntStream.range(0, candidates.length);
+		if (parallel) {
+			cs = cs.parallel();
+		}
+		// refine all candidates (the result list has the same order as the candidates):
+		List<HoughCircle> refined = cs.mapToObj(c -> refine(candidates[c])).collect(Collectors.toList());
+
+		// collect the strongest circles, skipping duplicates (stable sort preserves the candidate order):
+		refined.sort(Comparator.nullsLast(Comparator.naturalOrder()));
+		List<HoughCircle> circles = new ArrayList<>();
+		for (HoughCircle hc : refined) {
+			if (hc == null || hc.getCount() < minCount || circles.size() >= maxCircles) {
+				break;
+			}
+			if (circles.stream().noneMatch(other -> hc.equals(other, bs, bs, bs))) {
+				circles.add(hc);
+			}
+		}
+		return circles.toArray(new HoughCircle[0]);
+	}
+
+	/**
+	 * Returns the number of edge points used by this Hough transform.
+	 * @return the number of edge points
+	 */
+	public int getPointCount() {
+		return xs.length;
+	}
+
+	// -------------- nonpublic methods ------------------------
+
+	private static Pnt2d[] collectPoints(ByteProcessor I) {
+		List<Pnt2d> points = new ArrayList<>();
+		for (int v = 0; v < I.getHeight(); v++) {
+			for (int u = 0; u < I.getWidth(); u++) {
+				if (I.get(u, v) != 0) {
+					points.add(Pnt2d.PntInt.from(u, v));
+				}
+			}
+		}
+		return points.toArray(new Pnt2d[0]);
+	}
+
+	/**
+	 * Returns the indexes of the (at most) {@code maxCount} strongest local maxima in the coarse accumulator, sorted by
+	 * decreasing accumulator value. The accumulator is processed in chunks of {@link #RadialChunkSize} radial bins, using
+	 * a buffer that holds the bins of the current chunk plus one neighboring bin on either side. Only the strongest
+	 * maxima found so far are kept after each chunk.
+	 */
+	private int[] findCoarseMaxima(int maxCount) {
+		final int sliceSize = gw * gh;
+		final int[] acc = new int[(RadialChunkSize + 2) * sliceSize];	// radial bin k is in slice k - k0 + 1
+		// candidates are encoded as (-count, index), i.e., sorting orders by decreasing count, then increasing index:
+		long[] candidates = new long[0];
+		int kNext = 0;		// next radial bin to vote for
+		for (int k0 = 0; k0 < gr; k0 += RadialChunkSize) {
+			final int k1 = Math.min(k0 + RadialChunkSize, gr);	// current chunk is [k0, k1)
+			if (k0 > 0) {
+				// keep the slices of bins k0 - 1 and k0 (already voted) and clear the remaining slices
+				System.arraycopy(acc, RadialChunkSize * sliceSize, acc, 0, 2 * sliceSize);
+				Arrays.fill(acc, 2 * sliceSize, acc.length, 0);
+			}
+			final int kEnd = Math.min(k1 + 1, gr);
+			voteCoarse(acc, k0 - 1, kNext, kEnd);
+			kNext = kEnd;
+
+			List<Long> maxima = new ArrayList<>();
+			for (int k = k0; k < k1; k++) {
+				for (int j = 0; j < gh; j++) {
+					for (int i = 0; i < gw; i++) {
+						if (isLocalMax(acc, k0 - 1, i, j, k)) {
+							final int a = acc[((k - k0 + 1) * gh + j) * gw + i];
+							maxima.add(((long) -a << 32) | ((k * gh + j) * gw + i));
+						}
+					}
+				}
+			}
+			candidates = LongStream.concat(Arrays.stream(candidates), maxima.stream().mapToLong(Long::longValue))
+					.sorted()
+					.limit(maxCount)
+					.toArray();
+		}
+		return Arrays.stream(candidates).mapToInt(c -> (int) c).toArray();
+	}
+
+	/**
+	 * Fills the slices of the radial bins [ka, kb) in the accumulator buffer, where bin k is stored in slice k - kBase.
+	 * For parallel processing, the radial bins are voted separately, i.e., every accumulator cell is updated by a single
+	 * thread only.
+	 */
+	private void voteCoarse(int[] acc, int kBase, int ka, int kb) {
+		IntStream bins = IntStream.range(ka, kb);
+		if (parallel) {
+			bins = bins.parallel();
+		}
+		bins.forEach(k -> {
+			final int ra = rMin + k * bs;					// radius range of bin k
+			final int rb = Math.min(rMax, ra + bs - 1);
+			final int offset = (k - kBase) * gh * gw;
+			for (int r = ra; r <= rb; r++) {
+				if (gxs != null) {
+					// vote along the gradient line, in both directions
+					for (int i = 0; i < xs.length; i++) {
+						voteCoarse(acc, offset, xs[i] + r * gxs[i], ys[i] + r * gys[i]);
+						voteCoarse(acc, offset, xs[i] - r * gxs[i], ys[i] - r * gys[i]);
+					}
+				}
+				else if ((r - ra) % Math.max(1, bs / 2) == 0) {
+					// vote for all centers on a circle of radius r, sampled at half the bin size
+					final int m = (int) Math.ceil(4 * Math.PI * r / bs);
+					final double[] dx = new double[m];
+					final double[] dy = new double[m];
+					for (int j = 0; j < m; j++) {
+						dx[j] = r * Math.cos(2 * Math.PI * j / m);
+						dy[j] = r * Math.sin(2 * Math.PI * j / m);
+					}
+					for (int i = 0; i < xs.length; i++) {
+						for (int j = 0; j < m; j++) {
+							voteCoarse(acc, offset, xs[i] + dx[j], ys[i] + dy[j]);
+						}
+					}
+				}
+			}
+		});
+	}
+
+	private void voteCoarse(int[] acc, int offset, double xc, double yc) {
+		if (xc >= 0 && yc >= 0) {
+			final int i = (int) (xc / bs);
+			final int j = (int) (yc / bs);
+			if (i < gw && j < gh) {
+				acc[offset + j * gw + i]++;
+			}
+		}
+	}
+
+	private boolean isLocalMax(int[] acc, int kBase, int i, int j, int k) {
+		final int a = acc[((k - kBase) * gh + j) * gw + i];
+		if (a == 0) {
+			return false;
+		}
+		for (int kk = Math.max(k - 1, 0); kk <= Math.min(k + 1, gr - 1); kk++) {
+			for (int jj = Math.max(j - 1, 0); jj <= Math.min(j + 1, gh - 1); jj++) {
+				for (int ii = Math.max(i - 1, 0); ii <= Math.min(i + 1, gw - 1); ii++) {
+					if (acc[((kk - kBase) * gh + jj) * gw + ii] > a) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Refines the coarse accumulator cell with the specified index in a local accumulator with unit resolution,
+	 * covering the cell and its direct neighbors. Returns the strongest circle found or {@code null} if none.
+	 */
+	private HoughCircle refine(int idx) {
+		final int i = idx % gw;
+		final int j = (idx / gw) % gh;
+		final int k = idx / (gw * gh);
+		final int xa = Math.max(0, (i - 1) * bs);
+		final int xb = Math.min(width - 1, (i + 2) * bs - 1);
+		final int ya = Math.max(0, (j - 1) * bs);
+		final int yb = Math.min(height - 1, (j + 2) * bs - 1);
+		final int ra = Math.max(rMin, rMin + (k - 1) * bs);
+		final int rb = Math.min(rMax, rMin + (k + 2) * bs - 1);
+		final int nx = xb - xa + 1;
+		final int ny = yb - ya + 1;
+		final int nr = rb - ra + 1;
+		final int[] acc = new int[nx * ny * nr];	// cell (xc, yc, r) is at ((r - ra) * ny + (yc - ya)) * nx + (xc - xa)
+
+		// bounding circle of the local center region, used to skip points that cannot vote:
+		final double xm = 0.5 * (xa + xb);
+		final double ym = 0.5 * (ya + yb);
+		final double dm = 0.5 * Math.hypot(nx, ny) + 1;
+
+		for (int n = 0; n < xs.length; n++) {
+			final double x = xs[n];
+			final double y = ys[n];
+			final double d0 = Math.hypot(xm - x, ym - y);
+			if (d0 < ra - dm || d0 > rb + dm) {
+				continue;
+			}
+			for (int yc = ya; yc <= yb; yc++) {
+				for (int xc = xa; xc <= xb; xc++) {
+					final double dx = xc - x;
+					final double dy = yc - y;
+					final double d = Math.hypot(dx, dy);
+					final int r = (int) Math.round(d);
+					if (r < ra || r > rb) {
+						continue;
+					}
+					if (gxs != null && Math.abs(dx * gxs[n] + dy * gys[n]) < cosTolerance * d) {
+						continue;	// center direction deviates too much from the gradient direction
+					}
+					acc[((r - ra) * ny + (yc - ya)) * nx + (xc - xa)]++;
+				}
+			}
+		}
+
+		int best = -1;
+		for (int c = 0; c < acc.length; c++) {
+			if (acc[c] > 0 && (best < 0 || acc[c] > acc[best])) {
+				best = c;
+			}
+		}
+		if (best < 0) {
+			return null;
+		}
+		final int xc = xa + best % nx;
+		final int yc = ya + (best / nx) % ny;
+		final int r = ra + best / (nx * ny);
+		return new HoughCircle(xc, yc, r, acc[best]);
+	}
+
+}
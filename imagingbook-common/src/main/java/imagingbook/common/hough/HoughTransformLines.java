@@ -17,6 +17,8 @@ import imagingbook.common.util.progress.ProgressReporter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -27,12 +29,21 @@ import java.util.List;
  * [1] for additional details.
  * </p>
  * <p>
+ * Voting may be performed in parallel (see {@link Parameters#parallel}). In this case the angular range of the
+ * accumulator is split into disjoint parts, each processed by a separate thread over all edge points. Since every
+ * accumulator cell receives its votes in the same order as in sequential processing, the results are identical. If the
+ * edge orientation is known for each edge point (see {@link #HoughTransformLines(ByteProcessor, FloatProcessor,
+ * Parameters)}), every point votes only for the angles within a narrow window around its orientation (see
+ * {@link Parameters#angTolerance}), which reduces the processing cost and the number of spurious accumulator entries.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
  * (2022).
  * </p>
  *
  * @author WB
  * @version 2022/09/10 removed ImageJ progress reporting
+ * @version 2026/10/16 added parallel and orientation-guided voting
  */
 public class HoughTransformLines implements ProgressReporter {
 	
@@ -43,6 +54,10 @@ public class HoughTransformLines implements ProgressReporter {
 		public int nAng = 256;		
 		/** Number of radial steps in each pos/neg direction (accum. size = 2 * nRad + 1) */
 		public int nRad = 128;
+		/** Max. deviation (in radians) of line angles from the edge orientation (orientation-guided voting only) */
+		public double angTolerance = 0.1;
+		/** Perform accumulator voting in parallel */
+		public boolean parallel = true;
 	}
 
 	private final int nAng; // number of angular steps over [0, pi]
@@ -63,6 +78,9 @@ public class HoughTransformLines implements ProgressReporter {
 
 	private final double[] cosTable; // tabulated cosine values
 	private final double[] sinTable; // tabulated sine values
+	
+	private final double angTolerance; // max. angular deviation for orientation-guided voting
+	private final boolean parallel;
 
 	// -------------- public constructor(s) ------------------------
 
@@ -80,6 +98,24 @@ public class HoughTransformLines implements ProgressReporter {
 	public HoughTransformLines(ByteProcessor I) {
 		this(I, new Parameters());
 	}
+	
+	/**
+	 * Constructor, creates a new Hough transform from the binary image, with orientation-guided voting. Every edge point
+	 * only votes for line angles which deviate by no more than {@link Parameters#angTolerance} from its local edge
+	 * orientation. Edge orientations are given as the angle of the gradient vector (as returned by
+	 * {@link imagingbook.common.edges.EdgeDetector#getEdgeOrientation()}), i.e., the direction of the line's normal.
+	 *
+	 * @param I input image, relevant (edge) points have pixel values greater 0.
+	 * @param E_theta edge orientation image (angles in radians), of the same size as I.
+	 * @param params parameter object.
+	 */
+	public HoughTransformLines(ByteProcessor I, FloatProcessor E_theta, Parameters params) {
+		this(I.getWidth(), I.getHeight(), params);
+		if (E_theta.getWidth() != width || E_theta.getHeight() != height) {
+			throw new IllegalArgumentException("orientation image must be of the same size as the input image");
+		}
+		this.process(I, E_theta, accumulator);
+	}
 
 	/**
 	 * Constructor, creates a new Hough transform from a sequence of 2D points. Parameters M, N are only used to specify
@@ -117,6 +153,8 @@ public class HoughTransformLines implements ProgressReporter {
 		this.accumulatorMax = new float[accWidth][accHeight];
 		this.cosTable = makeCosTable();
 		this.sinTable = makeSinTable();
+		this.angTolerance = params.angTolerance;
+		this.parallel = params.parallel;
 	}
 
 	// -------------- public methods ------------------------
@@ -268,41 +306,128 @@ public class HoughTransformLines implements ProgressReporter {
 	}
 
 	private void process(ByteProcessor ip, float[][] acc) {
+		process(ip, null, acc);
+	}
+	
+	private void process(ByteProcessor ip, FloatProcessor E_theta, float[][] acc) {
+		// collect the edge points and their angular voting windows (if orientation is given):
+		final int n = countForegroundPixels(ip);
+		final double[] xs = new double[n];
+		final double[] ys = new double[n];
+		final int[] aMin = (E_theta != null) ? new int[n] : null;
+		final int[] aMax = (E_theta != null) ? new int[n] : null;
+		int i = 0;
 		for (int v = 0; v < height; v++) {
 			for (int u = 0; u < width; u++) {
 				if (ip.get(u, v) != 0) { // this is a foreground (edge) pixel - use ImageAccessor??
-					processPoint(u, v, acc);
+					xs[i] = u - xRef;
+					ys[i] = v - yRef;
+					if (E_theta != null) {
+						setAngleWindow(E_theta.getf(u, v), aMin, aMax, i);
+					}
+					i++;
 				}
 			}
 		}
+		vote(xs, ys, aMin, aMax, acc);
 	}
 
 	private void process(Pnt2d[] points, float[][] acc) {
-		for (int i = 0; i < points.length; i++) {
-			Pnt2d p = points[i];
+		int n = 0;
+		for (Pnt2d p : points) {
 			if (p != null) {
-				processPoint(p.getX(), p.getY(), acc);
+				n++;
 			}
 		}
+		final double[] xs = new double[n];
+		final double[] ys = new double[n];
+		int i = 0;
+		for (Pnt2d p : points) {
+			if (p != null) {
+				xs[i] = p.getX() - xRef;
+				ys[i] = p.getY() - yRef;
+				i++;
+			}
+		}
+		vote(xs, ys, null, null, acc);
 	}
-
-	private void processPoint(double u, double v, float[][] acc) {
-		final double x = u - xRef;
-		final double y = v - yRef;
-		for (int ai = 0; ai < accWidth; ai++) {
-//			double theta = dAng * ai;
-//			double r = x * Math.cos(theta) + y * Math.sin(theta);
-			double r = x * cosTable[ai] + y * sinTable[ai]; // sin/cos tables improve speed!
-			double ri = radiusToIndex(r);
-			// accumulated quantity (1.0) is distributed to 2 neighboring bins:
-			int r0 = (int) Math.floor(ri);	// lower radial bin index
-			int r1 = r0 + 1;				// upper radial bin index
-			if (r0 >= 0 && r1 < accHeight) {
-				double alpha = ri - r0;
-				acc[ai][r0] += (1.0 - alpha);
-				acc[ai][r1] += alpha;
+	
+	private int countForegroundPixels(ByteProcessor ip) {
+		final byte[] pixels = (byte[]) ip.getPixels();
+		int n = 0;
+		for (int i = 0; i < pixels.length; i++) {
+			if (pixels[i] != 0) {
+				n++;
 			}
 		}
+		return n;
+	}
+	
+	// sets the range of angle indices [aMin[i], aMax[i]] (possibly outside [0, nAng)) for edge orientation theta
+	private void setAngleWindow(double theta, int[] aMin, int[] aMax, int i) {
+		final double ac = (theta - Math.PI * Math.floor(theta / Math.PI)) / dAng;	// continuous angle index in [0, nAng]
+		final double da = angTolerance / dAng;
+		final int a0 = (int) Math.ceil(ac - da);
+		final int a1 = (int) Math.floor(ac + da);
+		if (a1 - a0 + 1 >= accWidth) {	// window covers all angles
+			aMin[i] = 0;
+			aMax[i] = accWidth - 1;
+		}
+		else {
+			aMin[i] = a0;
+			aMax[i] = a1;
+		}
+	}
+	
+	/**
+	 * Votes for all points (xs[i], ys[i]) (relative to the reference point). If {@code aMin} and {@code aMax} are not
+	 * {@code null}, point i only votes for the angle indices in [aMin[i], aMax[i]] (modulo nAng). For parallel
+	 * processing, the range of angle indices is split into disjoint parts, i.e., every accumulator cell is updated by a
+	 * single thread only, with points in the same order as in sequential processing.
+	 */
+	private void vote(double[] xs, double[] ys, int[] aMin, int[] aMax, float[][] acc) {
+		final int nParts = (parallel) ? Math.min(accWidth, 4 * ForkJoinPool.getCommonPoolParallelism()) : 1;
+		IntStream parts = IntStream.range(0, nParts);
+		if (nParts > 1) {
+			parts = parts.parallel();
+		}
+		parts.forEach(k -> {
+			final int a0 = k * accWidth / nParts;			// angle index range [a0, a1)
+			final int a1 = (k + 1) * accWidth / nParts;
+			for (int i = 0; i < xs.length; i++) {
+				if (aMin == null) {
+					for (int ai = a0; ai < a1; ai++) {
+						processPoint(xs[i], ys[i], ai, acc);
+					}
+				}
+				else {
+					// the window (shorter than nAng) lies within (-nAng, 2 nAng), clamp its shifted copies to [a0, a1)
+					for (int off = -accWidth; off <= accWidth; off += accWidth) {
+						final int ja = Math.max(aMin[i] + off, a0);
+						final int jb = Math.min(aMax[i] + off, a1 - 1);
+						for (int ai = ja; ai <= jb; ai++) {
+							processPoint(xs[i], ys[i], ai, acc);
+						}
+					}
+				}
+			}
+		});
+	}
+
+	// x, y are relative to the reference point
+	private void processPoint(double x, double y, int ai, float[][] acc) {
+//		double theta = dAng * ai;
+//		double r = x * Math.cos(theta) + y * Math.sin(theta);
+		double r = x * cosTable[ai] + y * sinTable[ai]; // sin/cos tables improve speed!
+		double ri = radiusToIndex(r);
+		// accumulated quantity (1.0) is distributed to 2 neighboring bins:
+		int r0 = (int) Math.floor(ri);	// lower radial bin index
+		int r1 = r0 + 1;				// upper radial bin index
+		if (r0 >= 0 && r1 < accHeight) {
+			double alpha = ri - r0;
+			acc[ai][r0] += (1.0 - alpha);
+			acc[ai][r1] += alpha;
+		}
 	}
 
 	/**
@@ -9,12 +9,28 @@
 package imagingbook.common.image;
 
 import ij.process.ByteProcessor;
+import ij.process.ColorProcessor;
+import ij.process.FloatProcessor;
+import ij.process.ImageProcessor;
+import ij.process.ShortProcessor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 
 /**
  * <p>
  * This class represents an 'integral image' or 'summed area table' as proposed in [1], See Sec. 2.8 of [2] for a
- * detailed description. Currently only implemented for images of type {@link ByteProcessor}.
+ * detailed description. It can be created from 8-bit, 16-bit and float images (see
+ * {@link #IntegralImage(ImageProcessor)}) or 2D arrays of {@code int} or {@code float} values.
+ * </p>
+ * <p>
+ * The tables of (&Sigma;<sub>1</sub>) and squared (&Sigma;<sub>2</sub>) pixel values are stored as flat arrays in
+ * row-major order, with an additional row and column of zeros at the top and left, such that block sums require no
+ * special cases. For integer input (8-bit and 16-bit images, {@code int} arrays) the tables are of type {@code long},
+ * i.e., all sums are exact. For float input they are of type {@code double}. The prefix sums are calculated in
+ * parallel, first along the rows and then along the columns. Rectangles passed to block queries are clipped to the
+ * image bounds, i.e., pixels outside the image are ignored.
  * </p>
  * <p>
  * [1] F. C. Crow. Summed-area tables for texture mapping. SIGGRAPH, Computer Graphics 18(3), 207–212 (1984).<br> [2] W.
@@ -22,12 +38,15 @@ import ij.process.ByteProcessor;
  * </p>
  *
  * @author WB
- * @version 2022/07/11
+ * @version 2026/10/16
  */
 public class IntegralImage {
-	
-	private final int M, N;	
-	private final long[][] S1, S2;
+
+	private final int M, N;			// image width and height
+	private final int W;			// row length of the tables (M + 1)
+	// flat tables of size (M + 1) x (N + 1), S(u,v) at index (v + 1) * W + (u + 1):
+	private final long[] L1, L2;	// exact tables for integer input (null for float input)
+	private final double[] S1, S2;	// tables for float input (null for integer input)
 
 	/**
 	 * Constructor, creates a new {@link IntegralImage} instance from pixel values in a 2D int-array I[x][y].
@@ -35,28 +54,29 @@ public class IntegralImage {
 	 * @param I pixel values
 	 */
 	public IntegralImage(int[][] I) {
-		M = I.length;			// image width
-		N = I[0].length;		// image height
-		S1 = new long[M][N];
-		S2 = new long[M][N];
-		
-		// initialize top-left corner (0,0)
-		S1[0][0] = I[0][0];
-		S2[0][0] = I[0][0] * I[0][0];
-		// do line v = 0:
-		for (int u = 1; u < M; u++) {
-			S1[u][0] = S1[u-1][0] + I[u][0];
-			S2[u][0] = S2[u-1][0] + I[u][0] * I[u][0];
+		this(I.length, I[0].length, true);
+		// fill in the pixel values, then calculate the prefix sums:
+		for (int v = 0; v < N; v++) {
+			for (int u = 0; u < M; u++) {
+				setValue(u, v, I[u][v]);
+			}
 		}
-		// do lines v = 1,...,h-1
-		for (int v = 1; v < N; v++) {
-			S1[0][v] = S1[0][v-1] + I[0][v];
-			S2[0][v] = S2[0][v-1] + I[0][v] * I[0][v];
-			for (int u = 1; u < M; u++) {
-				S1[u][v] = S1[u-1][v] + S1[u][v-1] - S1[u-1][v-1] + I[u][v];
-				S2[u][v] = S2[u-1][v] + S2[u][v-1] - S2[u-1][v-1] + I[u][v] * I[u][v];
+		makePrefixSums();
+	}
+
+	/**
+	 * Constructor, creates a new {@link IntegralImage} instance from pixel values in a 2D float-array I[x][y].
+	 *
+	 * @param I pixel values
+	 */
+	public IntegralImage(float[][] I) {
+		this(I.length, I[0].length, false);
+		for (int v = 0; v < N; v++) {
+			for (int u = 0; u < M; u++) {
+				setValue(u, v, I[u][v]);
 			}
 		}
+		makePrefixSums();
 	}
 
 	/**
@@ -66,34 +86,196 @@ public class IntegralImage {
 	 * @param I input image
 	 */
 	public IntegralImage(ByteProcessor I) {
-		this(I.getIntArray());
+		this((ImageProcessor) I);
+	}
+
+	/**
+	 * Constructor, creates a new {@link IntegralImage} instance from pixel values in the specified image, which may be
+	 * of type {@link ByteProcessor}, {@link ShortProcessor} or {@link FloatProcessor}. Pixel values are read directly
+	 * from the image's pixel array, no intermediate copy is made.
+	 *
+	 * @param I input image
+	 * @throws IllegalArgumentException if the image is of type {@link ColorProcessor}
+	 */
+	public IntegralImage(ImageProcessor I) {
+		this(I.getWidth(), I.getHeight(), !(I.getPixels() instanceof float[]));
+		final Object pixels = I.getPixels();
+		if (pixels instanceof byte[]) {
+			final byte[] p = (byte[]) pixels;
+			IntStream.range(0, N).parallel().forEach(v -> {
+				for (int u = 0; u < M; u++) {
+					setValue(u, v, 0xFF & p[v * M + u]);
+				}
+			});
+		}
+		else if (pixels instanceof short[]) {
+			final short[] p = (short[]) pixels;
+			IntStream.range(0, N).parallel().forEach(v -> {
+				for (int u = 0; u < M; u++) {
+					setValue(u, v, 0xFFFF & p[v * M + u]);
+				}
+			});
+		}
+		else if (pixels instanceof float[]) {
+			final float[] p = (float[]) pixels;
+			IntStream.range(0, N).parallel().forEach(v -> {
+				for (int u = 0; u < M; u++) {
+					setValue(u, v, p[v * M + u]);
+				}
+			});
+		}
+		else {
+			throw new IllegalArgumentException("unsupported image type " + I.getClass().getSimpleName());
+		}
+		makePrefixSums();
+	}
+
+	private IntegralImage(int width, int height, boolean integer) {
+		this.M = width;
+		this.N = height;
+		this.W = M + 1;
+		this.L1 = integer ? new long[W * (N + 1)] : null;
+		this.L2 = integer ? new long[W * (N + 1)] : null;
+		this.S1 = integer ? null : new double[W * (N + 1)];
+		this.S2 = integer ? null : new double[W * (N + 1)];
+	}
+
+	private void setValue(int u, int v, int a) {
+		final int i = (v + 1) * W + (u + 1);
+		L1[i] = a;
+		L2[i] = (long) a * a;
+	}
+
+	private void setValue(int u, int v, float a) {
+		final int i = (v + 1) * W + (u + 1);
+		S1[i] = a;
+		S2[i] = (double) a * a;
+	}
+
+	// replaces the pixel values stored in the tables by their prefix sums
+	private void makePrefixSums() {
+		if (L1 != null) {
+			makePrefixSums(L1);
+			makePrefixSums(L2);
+		}
+		else {
+			makePrefixSums(S1);
+			makePrefixSums(S2);
+		}
+	}
+
+	private void makePrefixSums(long[] S) {
+		// cumulative sums along each row (rows are independent):
+		IntStream.range(1, N + 1).parallel().forEach(v -> {
+			final int offset = v * W;
+			for (int u = 2; u <= M; u++) {
+				S[offset + u] += S[offset + u - 1];
+			}
+		});
+		// cumulative sums along each column, processed in vertical strips (contiguous memory access):
+		final int strips = getStripCount();
+		IntStream.range(0, strips).parallel().forEach(k -> {
+			final int u0 = 1 + (int) ((long) k * M / strips);
+			final int u1 = 1 + (int) ((long) (k + 1) * M / strips);
+			for (int v = 2; v <= N; v++) {
+				final int offset = v * W;
+				for (int u = u0; u < u1; u++) {
+					S[offset + u] += S[offset - W + u];
+				}
+			}
+		});
+	}
+
+	private void makePrefixSums(double[] S) {	// same as above for double tables
+		IntStream.range(1, N + 1).parallel().forEach(v -> {
+			final int offset = v * W;
+			for (int u = 2; u <= M; u++) {
+				S[offset + u] += S[offset + u - 1];
+			}
+		});
+		final int strips = getStripCount();
+		IntStream.range(0, strips).parallel().forEach(k -> {
+			final int u0 = 1 + (int) ((long) k * M / strips);
+			final int u1 = 1 + (int) ((long) (k + 1) * M / strips);
+			for (int v = 2; v <= N; v++) {
+				final int offset = v * W;
+				for (int u = u0; u < u1; u++) {
+					S[offset + u] += S[offset - W + u];
+				}
+			}
+		});
 	}
-	
+
+	private int getStripCount() {
+		return Math.max(1, Math.min(M / 64, ForkJoinPool.getCommonPoolParallelism()));
+	}
+
 	// -------------------------------------------------------
 
 	/**
-	 * Returns the summed area table of pixel values (&Sigma;<sub>1</sub>).
+	 * Returns the width of the underlying image.
+	 *
+	 * @return the image width
+	 */
+	public int getWidth() {
+		return M;
+	}
+
+	/**
+	 * Returns the height of the underlying image.
+	 *
+	 * @return the image height
+	 */
+	public int getHeight() {
+		return N;
+	}
+
+	/**
+	 * Returns the summed area table of pixel values (&Sigma;<sub>1</sub>) as a new 2D array S1[u][v]. Values are exact
+	 * for integer input, for float input they are rounded to the nearest integer.
 	 *
 	 * @return array of &Sigma;<sub>1</sub> values
 	 */
 	public long[][] getS1() {
-		return S1;
+		return (L1 != null) ? toLongArray(L1) : toLongArray(S1);
 	}
 
 	/**
-	 * Returns the summed area table of squared pixel values (&Sigma;<sub>2</sub>).
+	 * Returns the summed area table of squared pixel values (&Sigma;<sub>2</sub>) as a new 2D array S2[u][v]. Values
+	 * are exact for integer input, for float input they are rounded to the nearest integer.
 	 *
 	 * @return array of &Sigma;<sub>2</sub> values
 	 */
 	public long[][] getS2() {
-		return S2;
+		return (L2 != null) ? toLongArray(L2) : toLongArray(S2);
+	}
+
+	private long[][] toLongArray(long[] S) {
+		final long[][] A = new long[M][N];
+		for (int u = 0; u < M; u++) {
+			for (int v = 0; v < N; v++) {
+				A[u][v] = S[(v + 1) * W + (u + 1)];
+			}
+		}
+		return A;
+	}
+
+	private long[][] toLongArray(double[] S) {
+		final long[][] A = new long[M][N];
+		for (int u = 0; u < M; u++) {
+			for (int v = 0; v < N; v++) {
+				A[u][v] = Math.round(S[(v + 1) * W + (u + 1)]);
+			}
+		}
+		return A;
 	}
-	
+
 	// -------------------------------------------------------
 
 	/**
 	 * Calculates the sum of the pixel values in the rectangle R, specified by the corner points a = (ua, va) and b =
-	 * (ub, vb).
+	 * (ub, vb). The rectangle is clipped to the image bounds. The result is exact for integer input, for float input
+	 * it is rounded to the nearest integer (see {@link #getSum1(int, int, int, int)} for a non-rounded version).
 	 *
 	 * @param ua leftmost position in R
 	 * @param va top position in R
@@ -101,20 +283,14 @@ public class IntegralImage {
 	 * @param vb bottom position in R
 	 * @return the first-order block sum (S1(R)) inside the specified rectangle or zero if the rectangle is empty.
 	 */
-	public long getBlockSum1(int ua, int va, int ub, int vb) {	// TODO: allow coordinates outside image boundaries
-		if (ub < ua || vb < va) {
-			return 0;
-		}
-		final long saa = (ua > 0  && va > 0)  ? S1[ua - 1][va - 1] : 0;
-		final long sba = (ub >= 0 && va > 0)  ? S1[ub][va - 1] : 0;
-		final long sab = (ua > 0  && vb >= 0) ? S1[ua - 1][vb] : 0;
-		final long sbb = (ub >= 0 && vb >= 0) ? S1[ub][vb] : 0;
-		return sbb + saa - sba - sab;
+	public long getBlockSum1(int ua, int va, int ub, int vb) {
+		return (L1 != null) ? getBlockSum(L1, ua, va, ub, vb) : Math.round(getBlockSum(S1, ua, va, ub, vb));
 	}
 
 	/**
 	 * Calculates the sum of the squared pixel values in the rectangle R, specified by the corner points a = (ua, va)
-	 * and b = (ub, vb).
+	 * and b = (ub, vb). The rectangle is clipped to the image bounds. The result is exact for integer input, for float
+	 * input it is rounded to the nearest integer (see {@link #getSum2(int, int, int, int)} for a non-rounded version).
 	 *
 	 * @param ua leftmost position in R
 	 * @param va top position in R
@@ -122,32 +298,78 @@ public class IntegralImage {
 	 * @param vb bottom position in R
 	 * @return the second-order block sum (S2(R)) inside the specified rectangle or zero if the rectangle is empty.
 	 */
-	public long getBlockSum2(int ua, int va, int ub, int vb) {	// TODO: allow coordinates outside image boundaries
-		if (ub < ua || vb < va) {
+	public long getBlockSum2(int ua, int va, int ub, int vb) {
+		return (L2 != null) ? getBlockSum(L2, ua, va, ub, vb) : Math.round(getBlockSum(S2, ua, va, ub, vb));
+	}
+
+	/**
+	 * Calculates the sum of the pixel values in the rectangle R, specified by the corner points a = (ua, va) and b =
+	 * (ub, vb). The rectangle is clipped to the image bounds.
+	 *
+	 * @param ua leftmost position in R
+	 * @param va top position in R
+	 * @param ub rightmost position in R
+	 * @param vb bottom position in R
+	 * @return the first-order block sum (S1(R)) inside the specified rectangle or zero if the rectangle is empty.
+	 */
+	public double getSum1(int ua, int va, int ub, int vb) {
+		return (L1 != null) ? getBlockSum(L1, ua, va, ub, vb) : getBlockSum(S1, ua, va, ub, vb);
+	}
+
+	/**
+	 * Calculates the sum of the squared pixel values in the rectangle R, specified by the corner points a = (ua, va)
+	 * and b = (ub, vb). The rectangle is clipped to the image bounds.
+	 *
+	 * @param ua leftmost position in R
+	 * @param va top position in R
+	 * @param ub rightmost position in R
+	 * @param vb bottom position in R
+	 * @return the second-order block sum (S2(R)) inside the specified rectangle or zero if the rectangle is empty.
+	 */
+	public double getSum2(int ua, int va, int ub, int vb) {
+		return (L2 != null) ? getBlockSum(L2, ua, va, ub, vb) : getBlockSum(S2, ua, va, ub, vb);
+	}
+
+	private long getBlockSum(long[] S, int ua, int va, int ub, int vb) {
+		// clip to image bounds, table positions are shifted by 1:
+		ua = Math.max(ua, 0);
+		va = Math.max(va, 0);
+		ub = Math.min(ub, M - 1) + 1;
+		vb = Math.min(vb, N - 1) + 1;
+		if (ub <= ua || vb <= va) {
 			return 0;
 		}
-		final long saa = (ua > 0  && va > 0)  ? S2[ua - 1][va - 1] : 0;
-		final long sba = (ub >= 0 && va > 0)  ? S2[ub][va - 1] : 0;
-		final long sab = (ua > 0  && vb >= 0) ? S2[ua - 1][vb] : 0;
-		final long sbb = (ub >= 0 && vb >= 0) ? S2[ub][vb] : 0;
-		return sbb + saa - sba - sab;
+		return S[vb * W + ub] + S[va * W + ua] - S[va * W + ub] - S[vb * W + ua];
+	}
+
+	private double getBlockSum(double[] S, int ua, int va, int ub, int vb) {	// same as above for double tables
+		ua = Math.max(ua, 0);
+		va = Math.max(va, 0);
+		ub = Math.min(ub, M - 1) + 1;
+		vb = Math.min(vb, N - 1) + 1;
+		if (ub <= ua || vb <= va) {
+			return 0;
+		}
+		return S[vb * W + ub] + S[va * W + ua] - S[va * W + ub] - S[vb * W + ua];
 	}
 
 	/**
-	 * Returns the size of (number of pixels in) the specified rectangle.
+	 * Returns the size of (number of pixels in) the specified rectangle, after clipping to the image bounds.
 	 *
 	 * @param ua leftmost position in R
 	 * @param va top position in R
-	 * @param ub rightmost position in R {@literal (ub >= ua)}
-	 * @param vb bottom position in R {@literal (vb >= va)}
-	 * @return the size of the specified rectangle
+	 * @param ub rightmost position in R
+	 * @param vb bottom position in R
+	 * @return the size of the specified rectangle (zero if empty)
 	 */
 	public int getSize(int ua, int va, int ub, int vb) {
-		return (ub - ua + 1) * (vb - va + 1);
+		final int w = Math.min(ub, M - 1) - Math.max(ua, 0) + 1;
+		final int h = Math.min(vb, N - 1) - Math.max(va, 0) + 1;
+		return (w > 0 && h > 0) ? w * h : 0;
 	}
 
 	/**
-	 * Calculates the mean of the image values in the specified rectangle.
+	 * Calculates the mean of the image values in the specified rectangle (clipped to the image bounds).
 	 *
 	 * @param ua leftmost position in R
 	 * @param va top position in R
@@ -160,11 +382,11 @@ public class IntegralImage {
 		if (size <= 0) {
 			throw new IllegalArgumentException("region size must be positive");
 		}
-		return getBlockSum1(ua, va, ub, vb) / size;
+		return getSum1(ua, va, ub, vb) / size;
 	}
 
 	/**
-	 * Calculates the variance of the image values in the specified rectangle. parameters.
+	 * Calculates the variance of the image values in the specified rectangle (clipped to the image bounds).
 	 *
 	 * @param ua leftmost position in R
 	 * @param va top position in R
@@ -177,9 +399,9 @@ public class IntegralImage {
 		if (size <= 0) {
 			throw new IllegalArgumentException("region size must be positive");
 		}
-		double s1 = getBlockSum1(ua, va, ub, vb);
-		double s2 = getBlockSum2(ua, va, ub, vb);
-		return (s2 - (s1 * s1) / size) / size;
+		double s1 = getSum1(ua, va, ub, vb);
+		double s2 = getSum2(ua, va, ub, vb);
+		return Math.max(s2 - (s1 * s1) / size, 0) / size;
 	}
 
 }
@@ -6,13 +6,19 @@
  * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
  * Visit https://imagingbook.com for additional details.
  ******************************************************************************/
-
 package imagingbook.common.image.matching;
 import ij.process.ByteProcessor;
 import imagingbook.common.geometry.basic.Pnt2d.PntInt;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -20,7 +26,16 @@ import java.util.List;
  * of the "reference" image R) is linked to this {@link ChamferMatcher} instance. The associated distance transformation
  * of the search image I is pre-calculated during construction. The assumption is, that the search image I is fixed and
  * the {@link ChamferMatcher} tries to match multiple reference images R. All images are considered binary, with
- * non-zero values taken as foreground pixels. See Sec. 23.2.3 (Alg. 23.3) of [1] for additional details.
+ * non-zero values taken as foreground pixels. Any {@link DistanceTransform.DistanceType} may be used, including the exact
+ * Euclidean distance transform ({@link DistanceTransform.DistanceType#L2Exact}). See Sec. 23.2.3 (Alg. 23.3) of [1] for
+ * additional details.
+ * </p>
+ * <p>
+ * The complete match function (see {@link #getMatch(ByteProcessor)}) is calculated in parallel. If only the best
+ * matching positions are needed, {@link #getBestMatches(ByteProcessor, int)} is much more efficient, since the score
+ * calculation for a position is abandoned as soon as its partial sum exceeds the score of the current k-th best match.
+ * Optionally the search is performed on a resolution pyramid, where only the most promising positions of each level are
+ * refined on the next finer level (see {@link #getBestMatches(PntInt[], int, int, int, int)}).
  * </p>
  * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
@@ -28,12 +43,18 @@ import java.util.List;
  * </p>
  *
  * @author WB
- * @version 2022/12/14
+ * @version 2026/10/16
  */
 public class ChamferMatcher {
-	
+
+	/** Number of candidate positions retained on coarse pyramid levels for each requested match. */
+	public static final int PyramidCandidateFactor = 10;
+
 	private final int wI, hI;		// dimensions of the search image
-	private final float[][] DI;		// distance transform of I
+	private final float[] DI;		// distance transform of I (flat, row-major)
+	private final byte[] mask;		// foreground mask of I (only used to build pyramid levels)
+	private final DistanceTransform.DistanceType norm;
+	private ChamferMatcher coarser = null;	// matcher for the next pyramid level (created on demand)
 
 	/**
 	 * Constructor using the default distance norm (L2). The supplied image must be binary with zero background values.
@@ -42,7 +63,7 @@ public class ChamferMatcher {
 	public ChamferMatcher(ByteProcessor I) {
 		this(I, DistanceTransform.DistanceType.L2);
 	}
-	
+
 	/**
 	 * Constructor using the specified distance norm. The supplied image must be binary with zero background values.
 	 * @param I the binary "search" image (to be searched for matches of the "reference" image)
@@ -51,9 +72,18 @@ public class ChamferMatcher {
 	public ChamferMatcher(ByteProcessor I, DistanceTransform.DistanceType norm) {
 		this.wI = I.getWidth();
 		this.hI = I.getHeight();
-		this.DI = (new DistanceTransform(I, norm)).getDistanceMap();
+		this.DI = (new DistanceTransform(I, norm)).getDistances();
+		this.mask = new byte[wI * hI];
+		for (int v = 0; v < hI; v++) {
+			for (int u = 0; u < wI; u++) {
+				if (I.get(u, v) != 0) {
+					mask[v * wI + u] = 1;
+				}
+			}
+		}
+		this.norm = norm;
 	}
-	
+
 	/**
 	 * Calculates the match function for specified reference image R to this matcher's search image I (defined
 	 * by the constructor). The returned function Q[r][s] is the match score for reference image R positioned
@@ -86,7 +116,7 @@ public class ChamferMatcher {
 
 	/**
 	 * Matches the specified point set to the (fixed) search image I. The points represent the foreground pixels of a
-	 * virtual reference image (R) with the specified width and height.
+	 * virtual reference image (R) with the specified width and height. The match function is calculated in parallel.
 	 *
 	 * @param pR a set of foreground points representing the reference image R
 	 * @param wR the width of the reference image
@@ -95,25 +125,267 @@ public class ChamferMatcher {
 	 */
 	public float[][] getMatch(PntInt[] pR, int wR, int hR) {
 		final float[][] Q = new float[wI - wR + 1][hI - hR + 1];
-		for (int r = 0; r < Q.length; r++) {
+		final Scorer scorer = new Scorer(pR, wR, hR);
+		IntStream.range(0, Q.length).parallel().forEach(r -> {
 			for (int s = 0; s < Q[r].length; s++) {
-				Q[r][s] = getMatchScore(pR, r, s);
-			}	
-		}	
+				Q[r][s] = scorer.getScore(r, s, Float.POSITIVE_INFINITY);
+			}
+		});
 		return Q;
 	}
 
-	// Calculates the match score for a single position (r,s).
-	private float getMatchScore(PntInt[] pR, int r, int s) {
-		float q = 0.0f;
+	// ------------------------------------------------------------
+
+	/**
+	 * Finds the k best (i.e., lowest-score) match positions for the specified reference image R by exhaustive search.
+	 * The result is the same as obtained by sorting the complete match function (see {@link #getMatch(ByteProcessor)}),
+	 * but the score calculation for a position is abandoned as soon as its partial sum exceeds the current k-th best
+	 * score.
+	 *
+	 * @param R a binary reference image
+	 * @param k the maximum number of matches to return
+	 * @return an array of at most k matches, sorted by increasing score
+	 */
+	public Match[] getBestMatches(ByteProcessor R, int k) {
+		return getBestMatches(collectForegroundPoints(R), R.getWidth(), R.getHeight(), k, 0);
+	}
+
+	/**
+	 * Finds the k best (i.e., lowest-score) match positions for the specified point set, optionally using a resolution
+	 * pyramid with the specified number of (coarse) levels. On each pyramid level, the search image and the reference
+	 * points are reduced by a factor 2 and only the best {@link #PyramidCandidateFactor} &times; k positions found on the
+	 * coarser level are refined. With {@code levels = 0} the search is exhaustive, with {@code levels > 0} the returned
+	 * matches are usually but not necessarily the globally best ones. The number of levels is reduced if the reference image
+	 * gets too large for the reduced search image. The scores of the returned matches always refer to the original
+	 * resolution.
+	 *
+	 * @param pR a set of foreground points representing the reference image R
+	 * @param wR the width of the reference image
+	 * @param hR the height of the reference image
+	 * @param k the maximum number of matches to return
+	 * @param levels the number of coarse pyramid levels (0 = exhaustive search)
+	 * @return an array of at most k matches, sorted by increasing score
+	 */
+	public Match[] getBestMatches(PntInt[] pR, int wR, int hR, int k, int levels) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k must be positive: " + k);
+		}
+		final int nr = wI - wR + 1;
+		final int ns = hI - hR + 1;
+		if (nr < 1 || ns < 1) {
+			return new Match[0];
+		}
+
+		if (levels > 0 && wI > 1 && hI > 1) {
+			final int wR2 = (wR + 1) / 2;
+			final int hR2 = (hR + 1) / 2;
+			final ChamferMatcher cm = getCoarser();
+			if (cm.wI - wR2 + 1 >= 1 && cm.hI - hR2 + 1 >= 1) {
+				Match[] coarseMatches = cm.getBestMatches(reducePoints(pR), wR2, hR2, k * PyramidCandidateFactor, levels - 1);
+				return findBestMatches(pR, wR, hR, k, refinePositions(coarseMatches, nr, ns));
+			}
+		}
+		return findBestMatches(pR, wR, hR, k, null);
+	}
+
+	// collects all positions (as r * ns + s) in the neighborhood of the given coarse matches
+	private int[] refinePositions(Match[] coarseMatches, int nr, int ns) {
+		final Set<Integer> positions = new LinkedHashSet<>();
+		for (Match m : coarseMatches) {
+			// coarse position r covers fine positions 2r, 2r + 1 (plus 1 pixel margin for point rounding)
+			for (int r = Math.max(0, 2 * m.r - 1); r <= Math.min(nr - 1, 2 * m.r + 2); r++) {
+				for (int s = Math.max(0, 2 * m.s - 1); s <= Math.min(ns - 1, 2 * m.s + 2); s++) {
+					positions.add(r * ns + s);
+				}
+			}
+		}
+		return positions.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	// maps the points to the next coarser pyramid level (removing duplicates)
+	private PntInt[] reducePoints(PntInt[] pR) {
+		final Set<PntInt> pR2 = new LinkedHashSet<>();
 		for (PntInt p : pR) {
-			final int u = r + p.x;
-			final int v = s + p.y;
-			if (0 <= u && u < DI.length && 0 <= v && v < DI[u].length) {
-				q = q + DI[u][v];
+			pR2.add(PntInt.from(Math.floorDiv(p.x, 2), Math.floorDiv(p.y, 2)));
+		}
+		return pR2.toArray(new PntInt[0]);
+	}
+
+	private synchronized ChamferMatcher getCoarser() {
+		if (coarser == null) {
+			final int w2 = (wI + 1) / 2;
+			final int h2 = (hI + 1) / 2;
+			final ByteProcessor I2 = new ByteProcessor(w2, h2);
+			for (int v = 0; v < hI; v++) {
+				for (int u = 0; u < wI; u++) {
+					if (mask[v * wI + u] != 0) {
+						I2.set(u / 2, v / 2, 255);	// OR-reduction of 2x2 blocks
+					}
+				}
 			}
+			coarser = new ChamferMatcher(I2, norm);
+		}
+		return coarser;
+	}
+
+	/**
+	 * Finds the k best positions among the specified positions (encoded as r * ns + s) or all valid positions (if
+	 * {@code positions} is {@code null}). The positions are processed in parallel chunks, each keeping its own k best
+	 * matches. The smallest k-th best score of all chunks is shared as the bound for abandoning score calculations.
+	 */
+	private Match[] findBestMatches(PntInt[] pR, int wR, int hR, int k, int[] positions) {
+		final int ns = hI - hR + 1;
+		final int n = (positions == null) ? (wI - wR + 1) * ns : positions.length;
+		final Scorer scorer = new Scorer(pR, wR, hR);
+		final AtomicInteger bound = new AtomicInteger(Float.floatToIntBits(Float.POSITIVE_INFINITY));
+		final int chunks = Math.max(1, Math.min(n / 64, 4 * ForkJoinPool.getCommonPoolParallelism()));
+
+		@SuppressWarnings("unchecked")
+		final PriorityQueue<Match>[] queues = new PriorityQueue[chunks];
+		IntStream.range(0, chunks).parallel().forEach(c -> {
+			final PriorityQueue<Match> queue = new PriorityQueue<>(k + 1, Match.Order.reversed());	// head = worst match
+			for (int j = (int) ((long) c * n / chunks); j < (int) ((long) (c + 1) * n / chunks); j++) {
+				final int idx = (positions == null) ? j : positions[j];
+				final int r = idx / ns;
+				final int s = idx % ns;
+				final float b = Float.intBitsToFloat(bound.get());
+				final float q = scorer.getScore(r, s, b);
+				if (q > b) {
+					continue;	// abandoned, cannot be among the k best matches
+				}
+				if (queue.size() < k || Match.compare(q, r, s, queue.peek()) < 0) {
+					queue.add(new Match(r, s, q));
+					if (queue.size() > k) {
+						queue.poll();
+					}
+					if (queue.size() == k) {	// scores are non-negative, i.e., their bit patterns are ordered
+						bound.accumulateAndGet(Float.floatToIntBits(queue.peek().score), Math::min);
+					}
+				}
+			}
+			queues[c] = queue;
+		});
+
+		final List<Match> matches = new ArrayList<>();
+		for (PriorityQueue<Match> queue : queues) {
+			matches.addAll(queue);
+		}
+		matches.sort(Match.Order);
+		return matches.subList(0, Math.min(k, matches.size())).toArray(new Match[0]);
+	}
+
+	// ------------------------------------------------------------
+
+	/**
+	 * Calculates match scores for a fixed reference point set. If all points are inside the reference image bounds,
+	 * they are converted to index offsets into the flat distance map and no bounds checks are required.
+	 */
+	private class Scorer {
+		private final PntInt[] pR;
+		private final int[] offsets;	// null if some points are outside the reference image
+
+		Scorer(PntInt[] pR, int wR, int hR) {
+			this.pR = pR;
+			int[] offs = new int[pR.length];
+			for (int i = 0; i < pR.length; i++) {
+				final PntInt p = pR[i];
+				if (p.x < 0 || p.x >= wR || p.y < 0 || p.y >= hR) {
+					offs = null;
+					break;
+				}
+				offs[i] = p.y * wI + p.x;
+			}
+			this.offsets = offs;
+		}
+
+		// Calculates the match score for a single position (r,s). Returns early (with a partial sum) if the score
+		// exceeds the given bound.
+		float getScore(int r, int s, float bound) {
+			float q = 0.0f;
+			if (offsets != null) {
+				final int base = s * wI + r;
+				for (int offset : offsets) {
+					q = q + DI[base + offset];
+					if (q > bound) {
+						break;
+					}
+				}
+			}
+			else {
+				for (PntInt p : pR) {
+					final int u = r + p.x;
+					final int v = s + p.y;
+					if (0 <= u && u < wI && 0 <= v && v < hI) {
+						q = q + DI[v * wI + u];
+						if (q > bound) {
+							break;
+						}
+					}
+				}
+			}
+			return q;
+		}
+	}
+
+	// ------------------------------------------------------------
+
+	/**
+	 * Represents a single match position (r,s) and its chamfer score, as returned by
+	 * {@link ChamferMatcher#getBestMatches(ByteProcessor, int)}. Lower scores mean better matches.
+	 */
+	public static class Match {
+
+		static final Comparator<Match> Order = (m1, m2) -> compare(m1.score, m1.r, m1.s, m2);
+
+		private final int r, s;
+		private final float score;
+
+		Match(int r, int s, float score) {
+			this.r = r;
+			this.s = s;
+			this.score = score;
+		}
+
+		/**
+		 * Returns the horizontal position of the reference image in the search image.
+		 * @return the horizontal position
+		 */
+		public int getR() {
+			return r;
+		}
+
+		/**
+		 * Returns the vertical position of the reference image in the search image.
+		 * @return the vertical position
+		 */
+		public int getS() {
+			return s;
+		}
+
+		/**
+		 * Returns the match score at this position.
+		 * @return the match score
+		 */
+		public float getScore() {
+			return score;
+		}
+
+		// total order by score, then by position
+		static int compare(float score, int r, int s, Match m) {
+			int c = Float.compare(score, m.score);
+			if (c == 0) {
+				c = Integer.compare(r, m.r);
+			}
+			if (c == 0) {
+				c = Integer.compare(s, m.s);
+			}
+			return c;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s[r=%d, s=%d, score=%.3f]", getClass().getSimpleName(), r, s, score);
 		}
-		return q;
 	}
 
 }
@@ -10,19 +10,26 @@ package imagingbook.common.image.matching;
 
 import ij.process.ImageProcessor;
 
+import java.util.stream.IntStream;
+
 /**
  * <p>
- * Instances of this class calculate an approximate distance transform of a given image which is assumed to be binary
- * (pixel value 0 = background, non-zero = foreground). For the L2 norm, the resulting distances are only an
- * approximation. See Sec. 23.2.2 (Alg. 23.2) of [1] for additional details.
+ * Instances of this class calculate a distance transform of a given image which is assumed to be binary (pixel value 0
+ * = background, non-zero = foreground). With {@link DistanceType#L1} and {@link DistanceType#L2} the two-pass chamfer
+ * algorithm is used, i.e., for the L2 norm the resulting distances are only an approximation. See Sec. 23.2.2 (Alg.
+ * 23.2) of [1] for additional details. {@link DistanceType#L2Exact} calculates the exact Euclidean distance
+ * transform in linear time by the separable lower-envelope algorithm described in [2], with the column and row passes
+ * running in parallel. In this case the index of the closest foreground pixel may be retained as well (see
+ * {@link #DistanceTransform(ImageProcessor, DistanceType, boolean)}).
  * </p>
  * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
- * (2022).
+ * (2022). <br> [2] P. F. Felzenszwalb and D. P. Huttenlocher. Distance transforms of sampled functions. <em>Theory of
+ * Computing</em> 8, 415–428 (2012).
  * </p>
  *
  * @author WB
- * @version 2022/09/16
+ * @version 2026/10/16
  */
 public class DistanceTransform {
 
@@ -33,10 +40,14 @@ public class DistanceTransform {
 	 */
 	public enum DistanceType {
 		/** L1 distance (Manhattan distance) */ L1,
-		/** L2 distance (Euclidean distance) */ L2;
+		/** L2 distance (Euclidean distance, chamfer approximation) */ L2,
+		/** L2 distance (Euclidean distance, exact) */ L2Exact;
 	}
 	
-	private final float[][] D;
+	private final int M, N;			// image size
+	private final float[] D;		// distance map (flat, row-major)
+	private final int[] nearest;	// index of the closest foreground pixel (flat, row-major), or null
+	private float[][] A = null;		// 2D view of the distance map, created on demand
 	
 	/**
 	 * Constructor using the default distance norm ({@link DistanceType#L2}).
@@ -52,12 +63,38 @@ public class DistanceTransform {
 	 * @param norm the distance norm
 	 */
 	public DistanceTransform(ImageProcessor I, DistanceType norm) {
-		D = makeDistanceMap(I, norm);
+		this(I, norm, false);
+	}
+	
+	/**
+	 * Constructor using the specified distance norm. If {@code keepNearest} is set, the index of the closest foreground
+	 * pixel is retained for every image position (see {@link #getNearestIndices()}). This is only supported for
+	 * {@link DistanceType#L2Exact}.
+	 * 
+	 * @param I the input image
+	 * @param norm the distance norm
+	 * @param keepNearest if true, the indices of the closest foreground pixels are retained
+	 */
+	public DistanceTransform(ImageProcessor I, DistanceType norm, boolean keepNearest) {
+		this.M = I.getWidth();
+		this.N = I.getHeight();
+		this.D = new float[M * N];
+		if (norm == DistanceType.L2Exact) {
+			this.nearest = keepNearest ? new int[M * N] : null;
+			makeExactDistanceMap(I);
+		}
+		else {
+			if (keepNearest) {
+				throw new IllegalArgumentException("nearest indices are only available for " + DistanceType.L2Exact);
+			}
+			this.nearest = null;
+			makeDistanceMap(I, norm);
+		}
 	}
 	
 	// -----------------------------------------------------------------
 	
-	private float[][] makeDistanceMap(ImageProcessor I, DistanceType norm) {
+	private void makeDistanceMap(ImageProcessor I, DistanceType norm) {
 		float m1, m2;
 		switch (norm) {
 		case L1:
@@ -68,32 +105,30 @@ public class DistanceTransform {
 			throw new IllegalArgumentException("unhandled norm " + norm);
 		}
 		
-		final int M = I.getWidth();
-		final int N = I.getHeight();
-		final float[][] D = new float[M][N];
 		float d0, d1, d2, d3;
 
 		// L->R pass:
 		for (int v = 0; v < N; v++) {
 			for (int u = 0; u < M; u++) {
+				final int i = v * M + u;
 				if (I.get(u, v) != 0) {		// a foreground pixel
-					D[u][v] = 0;
+					D[i] = 0;
 				}
 				else {						// a background pixel
 					d0 = d1 = d2 = d3 = Float.POSITIVE_INFINITY;
 					if (u > 0) {
-						d0 = m1 + D[u - 1][v];
+						d0 = m1 + D[i - 1];
 						if (v > 0) 	{
-							d1 = m2 + D[u - 1][v - 1];
+							d1 = m2 + D[i - M - 1];
 						}
 					}
 					if (v > 0) {
-						d2 = m1 + D[u][v - 1];
+						d2 = m1 + D[i - M];
 						if (u < M - 1) {
-							d3 = m2 + D[u + 1][v - 1];
+							d3 = m2 + D[i - M + 1];
 						}
 					}
-					D[u][v] = min(d0, d1, d2, d3);	
+					D[i] = min(d0, d1, d2, d3);	
 				}
 			}
 		}
@@ -101,27 +136,120 @@ public class DistanceTransform {
 		// R->L pass:
 		for (int v = N - 1; v >= 0; v--) {
 			for (int u = M - 1; u >= 0; u--) {
-				if (D[u][v] > 0) { 	// a background pixel
+				final int i = v * M + u;
+				if (D[i] > 0) { 	// a background pixel
 					d0 = d1 = d2 = d3 = Float.POSITIVE_INFINITY;
 					if (u < M - 1) 	{
-						d0 = m1 + D[u + 1][v];
+						d0 = m1 + D[i + 1];
 						if (v < N - 1) {
-							d1 = m2 + D[u + 1][v + 1];
+							d1 = m2 + D[i + M + 1];
 						}
 					}
 					if (v < N - 1) {
-						d2 = m1 + D[u][v + 1];
+						d2 = m1 + D[i + M];
 						if (u > 0) {
-							d3 = m2 + D[u - 1][v + 1];
+							d3 = m2 + D[i + M - 1];
 						}
 					}
-					D[u][v] = min(D[u][v], d0, d1, d2, d3);
+					D[i] = min(D[i], d0, d1, d2, d3);
 				}
 			}
 		}
-		return D;
 	}
 	
+	// exact Euclidean distance transform ----------------------------
+	
+	private void makeExactDistanceMap(ImageProcessor I) {
+		final byte[] fg = new byte[M * N];
+		for (int v = 0; v < N; v++) {
+			for (int u = 0; u < M; u++) {
+				if (I.get(u, v) != 0) {
+					fg[v * M + u] = 1;
+				}
+			}
+		}
+		// column pass: squared distance to the closest foreground pixel in the same column
+		final long[] G = new long[M * N];		// squared column distances (-1 = no foreground pixel)
+		final int[] R = new int[M * N];			// row index of the closest foreground pixel
+		IntStream.range(0, M).parallel().forEach(u -> makeColumnDistances(fg, u, G, R));
+		// row pass: lower envelope of the parabolas y = G[q] + (u - q)^2
+		IntStream.range(0, N).parallel().forEach(v -> makeRowDistances(G, R, v));
+	}
+	
+	private void makeColumnDistances(byte[] fg, int u, long[] G, int[] R) {
+		int r = -1;		// row of the last foreground pixel above
+		for (int v = 0; v < N; v++) {
+			if (fg[v * M + u] != 0) {
+				r = v;
+			}
+			R[v * M + u] = r;
+		}
+		r = -1;			// row of the last foreground pixel below
+		for (int v = N - 1; v >= 0; v--) {
+			final int i = v * M + u;
+			if (fg[i] != 0) {
+				r = v;
+			}
+			if (r >= 0 && (R[i] < 0 || r - v < v - R[i])) {
+				R[i] = r;
+			}
+			G[i] = (R[i] < 0) ? -1 : (long) (v - R[i]) * (v - R[i]);
+		}
+	}
+	
+	private void makeRowDistances(long[] G, int[] R, int v) {
+		final int offset = v * M;
+		final int[] q = new int[M];			// positions of the parabolas in the lower envelope
+		final double[] z = new double[M];	// z[k] = left boundary of parabola k
+		int k = -1;
+		for (int p = 0; p < M; p++) {
+			if (G[offset + p] < 0) {
+				continue;		// no foreground pixel in column p
+			}
+			double s = 0;
+			while (k >= 0) {
+				s = intersect(G, offset, q[k], p);
+				if (s > z[k]) {
+					break;
+				}
+				k--;
+			}
+			k++;
+			q[k] = p;
+			z[k] = (k == 0) ? Double.NEGATIVE_INFINITY : s;
+		}
+		
+		if (k < 0) {	// no foreground pixels at all
+			for (int u = 0; u < M; u++) {
+				D[offset + u] = Float.POSITIVE_INFINITY;
+				if (nearest != null) {
+					nearest[offset + u] = -1;
+				}
+			}
+			return;
+		}
+		
+		int j = 0;
+		for (int u = 0; u < M; u++) {
+			while (j < k && z[j + 1] < u) {
+				j++;
+			}
+			final int qj = q[j];
+			final long d2 = G[offset + qj] + (long) (u - qj) * (u - qj);
+			D[offset + u] = (float) Math.sqrt(d2);
+			if (nearest != null) {
+				nearest[offset + u] = R[offset + qj] * M + qj;
+			}
+		}
+	}
+	
+	// horizontal position of the intersection of the parabolas rooted at columns q1 < q2
+	private static double intersect(long[] G, int offset, int q1, int q2) {
+		return ((G[offset + q2] + (long) q2 * q2) - (G[offset + q1] + (long) q1 * q1)) / (2.0 * (q2 - q1));
+	}
+	
+	// -----------------------------------------------------------------
+	
 	private float min(float... a) {
 		float minVal = a[0];
 		for (int i = 1; i < a.length; i++) {
@@ -132,12 +260,52 @@ public class DistanceTransform {
 	}
 
 	/**
-	 * Returns the distance map as a 2D float array with the same size as the original image.
+	 * Returns the distance map as a 2D float array with the same size as the original image, i.e., the distance for
+	 * image position (u,v) is found at {@code A[u][v]}. The 2D array is created from the flat distance map (see
+	 * {@link #getDistances()}) on the first call and the same array is returned by all subsequent calls. It is not
+	 * linked to the flat distance map, i.e., modifications of one array are not reflected in the other.
 	 *
 	 * @return the 2D distance map.
 	 */
 	public float[][] getDistanceMap() {
+		float[][] A = this.A;
+		if (A == null) {
+			A = new float[M][N];
+			for (int u = 0; u < M; u++) {
+				for (int v = 0; v < N; v++) {
+					A[u][v] = D[v * M + u];
+				}
+			}
+			this.A = A;
+		}
+		return A;
+	}
+	
+	/**
+	 * Returns the distance map as a flat {@code float} array in row-major order, i.e., the distance for image position
+	 * (u,v) is found at index {@code v * width + u}. A reference to the internal array is returned, i.e., no copy is
+	 * made.
+	 *
+	 * @return the flat distance map
+	 */
+	public float[] getDistances() {
 		return D;
 	}
+	
+	/**
+	 * Returns the indices of the closest foreground pixels as a flat {@code int} array in row-major order. For image
+	 * position (u,v), the closest foreground pixel (u',v') is encoded as {@code v' * width + u'}. The value -1 indicates
+	 * that the image contains no foreground pixels. A reference to the internal array is returned, i.e., no copy is
+	 * made.
+	 *
+	 * @return the indices of the closest foreground pixels
+	 * @throws IllegalStateException if the nearest indices were not retained during construction
+	 */
+	public int[] getNearestIndices() {
+		if (nearest == null) {
+			throw new IllegalStateException("nearest indices not available, use L2Exact with keepNearest = true");
+		}
+		return nearest;
+	}
 
 }
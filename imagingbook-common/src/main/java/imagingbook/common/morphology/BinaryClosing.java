@@ -9,6 +9,7 @@
 package imagingbook.common.morphology;
 
 import ij.process.ByteProcessor;
+import imagingbook.common.util.bits.BitVector64;
 
 /**
  * <p>
@@ -20,7 +21,7 @@ import ij.process.ByteProcessor;
  * </p>
  *
  * @author WB
- * @version 2022/09/18
+ * @version 2026/10/16
  */
 public class BinaryClosing extends BinaryMorphologyFilter {
 	
@@ -44,6 +45,16 @@ public class BinaryClosing extends BinaryMorphologyFilter {
 
 	@Override
 	public void applyTo(ByteProcessor bp) {
+		if (isDecomposable()) {
+			MinMaxFilter.max(bp, H);
+			MinMaxFilter.min(bp, H);
+			return;
+		}
+		if (BitMorphology.isBinary(bp)) {	// no conversion between the two steps
+			BitVector64[] rows = BitMorphology.toBitRows(bp);
+			BitMorphology.copyToImage(BitMorphology.erode(BitMorphology.dilate(rows, H), H), bp);
+			return;
+		}
 		new BinaryDilation(H).applyTo(bp);	//dilate(ip, H);
 		new BinaryErosion(H).applyTo(bp);	// erode(ip, H);
 	}
@@ -22,7 +22,7 @@ import ij.process.ByteProcessor;
  * </p>
  *
  * @author WB
- * @version 2022/09/18
+ * @version 2026/10/16
  */
 public class BinaryDilation extends BinaryMorphologyFilter {
 	
@@ -46,6 +46,14 @@ public class BinaryDilation extends BinaryMorphologyFilter {
 	
 	@Override
 	public void applyTo(ByteProcessor bp) {
+		if (isDecomposable()) {
+			MinMaxFilter.max(bp, H);
+			return;
+		}
+		if (BitMorphology.isBinary(bp)) {
+			BitMorphology.copyToImage(BitMorphology.dilate(BitMorphology.toBitRows(bp), H), bp);
+			return;
+		}
 		//assume that the hot spot of H is at its center (ic,jc)
 		int xc = (H[0].length - 1) / 2;
 		int yc = (H.length - 1) / 2;
@@ -22,7 +22,7 @@ import static imagingbook.common.morphology.StructuringElements.reflect;
  * </p>
  *
  * @author WB
- * @version 2022/09/18
+ * @version 2026/10/16
  */
 public class BinaryErosion extends BinaryMorphologyFilter {
 	
@@ -46,6 +46,14 @@ public class BinaryErosion extends BinaryMorphologyFilter {
 
 	@Override
 	public void applyTo(ByteProcessor bp) {
+		if (isDecomposable()) {
+			MinMaxFilter.min(bp, H);
+			return;
+		}
+		if (BitMorphology.isBinary(bp)) {
+			BitMorphology.copyToImage(BitMorphology.erode(BitMorphology.toBitRows(bp), H), bp);
+			return;
+		}
 		// dilates the background
 		bp.invert();
 		new BinaryDilation(reflect(H)).applyTo(bp); //dilate(ip, reflect(H));
@@ -14,7 +14,7 @@ import static imagingbook.common.morphology.StructuringElements.makeBoxKernel3x3
  * This is the (abstract) super-class for binary morphological filters.
  * 
  * @author WB
- * @version 2022/09/18
+ * @version 2026/10/16
  */
 public abstract class BinaryMorphologyFilter implements BinaryMorphologyOperator {
 	
@@ -43,5 +43,18 @@ public abstract class BinaryMorphologyFilter implements BinaryMorphologyOperator
 		return this.H;
 	}
 
+	/**
+	 * Returns {@code true} if the structuring element of this filter can be decomposed (exactly) into a sequence of
+	 * horizontal and vertical lines and 3x3 "plus" elements, i.e., if it is a rectangle or an octagon (see
+	 * {@link StructuringElements#makeBoxKernel(int)}, {@link StructuringElements#makeOctagonKernel(int)}). In this
+	 * case the filter is applied as a sequence of 1D running minimum/maximum operations, whose cost is largely
+	 * independent of the kernel size (see {@link MinMaxFilter}).
+	 *
+	 * @return true if the structuring element is decomposable
+	 */
+	public boolean isDecomposable() {
+		return MinMaxFilter.Decomposition.from(H) != null;
+	}
+
 }
 
@@ -9,6 +9,7 @@
 package imagingbook.common.morphology;
 
 import ij.process.ByteProcessor;
+import imagingbook.common.util.bits.BitVector64;
 
 /**
  * <p>
@@ -20,7 +21,7 @@ import ij.process.ByteProcessor;
  * </p>
  *
  * @author WB
- * @version 2022/09/18
+ * @version 2026/10/16
  */
 public class BinaryOpening extends BinaryMorphologyFilter {
 	
@@ -41,6 +42,16 @@ public class BinaryOpening extends BinaryMorphologyFilter {
 
 	@Override
 	public void applyTo(ByteProcessor bp) {
+		if (isDecomposable()) {
+			MinMaxFilter.min(bp, H);
+			MinMaxFilter.max(bp, H);
+			return;
+		}
+		if (BitMorphology.isBinary(bp)) {	// no conversion between the two steps
+			BitVector64[] rows = BitMorphology.toBitRows(bp);
+			BitMorphology.copyToImage(BitMorphology.dilate(BitMorphology.erode(rows, H), H), bp);
+			return;
+		}
 		new BinaryErosion(H).applyTo(bp);	// erode(ip, H);
 		new BinaryDilation(H).applyTo(bp);	//dilate(ip, H);
 	}
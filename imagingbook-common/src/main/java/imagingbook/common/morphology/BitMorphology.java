@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.morphology;
+
+import ij.process.ByteProcessor;
+import imagingbook.common.util.bits.BitVector64;
+
+import static imagingbook.common.morphology.StructuringElements.reflect;
+
+/**
+ * <p>
+ * Word-parallel implementation of binary dilation and erosion, used by the binary morphology filters in this package.
+ * Each image row is stored as a separate {@link BitVector64}, i.e., rows are aligned to 64-bit words and shifting a
+ * row horizontally is a word-wide operation (see {@link BitVector64#orShifted(BitVector64, int)} and
+ * {@link BitVector64#andShifted(BitVector64, int)}). Each row of the source image is shifted only once for every
+ * column of the structuring element, which is then combined with the result rows for all elements in that column.
+ * </p>
+ * <p>
+ * The results are exactly the same as those obtained by the original (pixel-wise) implementation, which shifts and
+ * combines complete images with {@link ByteProcessor#copyBits(ij.process.ImageProcessor, int, int, int)}. In
+ * particular, pixels outside the image are treated as background (0) by dilation and as foreground (1) by erosion.
+ * This only holds for images with pixel values 0 and 255, other images must be processed pixel-wise (see
+ * {@link #isBinary(ByteProcessor)}).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+class BitMorphology {
+
+	private BitMorphology() {}
+
+	/**
+	 * Returns {@code true} if the specified image contains only pixel values 0 and 255, i.e., if the word-parallel
+	 * implementation produces the same results as the pixel-wise operations.
+	 *
+	 * @param bp a {@link ByteProcessor}
+	 * @return true if the image is binary
+	 */
+	static boolean isBinary(ByteProcessor bp) {
+		for (byte b : (byte[]) bp.getPixels()) {
+			if (b != 0 && b != (byte) 255) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts the specified image to an array of bit rows, pixel values other than 0 are mapped to 1.
+	 *
+	 * @param bp a {@link ByteProcessor}
+	 * @return an array of bit vectors, one for each image row
+	 */
+	static BitVector64[] toBitRows(ByteProcessor bp) {
+		final int width = bp.getWidth();
+		final int height = bp.getHeight();
+		final byte[] pixels = (byte[]) bp.getPixels();
+		BitVector64[] rows = new BitVector64[height];
+		for (int v = 0; v < height; v++) {
+			rows[v] = new BitVector64(width);
+			for (int u = 0; u < width; u++) {
+				if (pixels[v * width + u] != 0) {
+					rows[v].set(u);
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Copies the specified bit rows to the given image, bit values 0 and 1 are mapped to pixel values 0 and 255,
+	 * respectively.
+	 *
+	 * @param rows an array of bit vectors, one for each image row
+	 * @param bp the target image (modified)
+	 */
+	static void copyToImage(BitVector64[] rows, ByteProcessor bp) {
+		final int width = bp.getWidth();
+		final byte[] pixels = (byte[]) bp.getPixels();
+		for (int v = 0; v < rows.length; v++) {
+			for (int u = 0; u < width; u++) {
+				pixels[v * width + u] = rows[v].get(u) ? (byte) 255 : 0;
+			}
+		}
+	}
+
+	/**
+	 * Dilates the binary image given by the specified bit rows with structuring element H. The hot spot of H is
+	 * assumed at its center. A new bit row array is returned, the source rows are not modified.
+	 *
+	 * @param rows the source bit rows
+	 * @param H the structuring element
+	 * @return the dilated bit rows
+	 */
+	static BitVector64[] dilate(BitVector64[] rows, byte[][] H) {
+		return combine(rows, H, false);
+	}
+
+	/**
+	 * Erodes the binary image given by the specified bit rows with structuring element H. The hot spot of H is
+	 * assumed at its center. A new bit row array is returned, the source rows are not modified.
+	 *
+	 * @param rows the source bit rows
+	 * @param H the structuring element
+	 * @return the eroded bit rows
+	 */
+	static BitVector64[] erode(BitVector64[] rows, byte[][] H) {
+		// erosion = complement of the background dilated with the reflected structuring element
+		return combine(rows, reflect(H), true);
+	}
+
+	// OR (erosion = false) or AND (erosion = true) combination of shifted source rows for all elements of H
+	private static BitVector64[] combine(BitVector64[] rows, byte[][] H, boolean erosion) {
+		final int height = rows.length;
+		final int width = rows[0].getLength();
+		final int xc = (H[0].length - 1) / 2;
+		final int yc = (H.length - 1) / 2;
+
+		final BitVector64[] result = makeRows(height, width, erosion);
+		final BitVector64[] shifted = new BitVector64[height];
+
+		for (int i = 0; i < H[0].length; i++) {
+			if (!hasElements(H, i)) {
+				continue;
+			}
+			// shift all source rows horizontally by dx:
+			final int dx = i - xc;
+			for (int v = 0; v < height; v++) {
+				shifted[v] = new BitVector64(width);
+				if (erosion) {
+					shifted[v].setAll();
+					shifted[v].andShifted(rows[v], dx);
+				}
+				else {
+					shifted[v].orShifted(rows[v], dx);
+				}
+			}
+			// combine with result rows for all elements in column i:
+			for (int j = 0; j < H.length; j++) {
+				if (H[j][i] <= 0) {
+					continue;
+				}
+				final int dy = j - yc;
+				for (int v = Math.max(0, dy); v < Math.min(height, height + dy); v++) {
+					if (erosion) {
+						result[v].andShifted(shifted[v - dy], 0);
+					}
+					else {
+						result[v].orShifted(shifted[v - dy], 0);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static BitVector64[] makeRows(int height, int width, boolean set) {
+		BitVector64[] rows = new BitVector64[height];
+		for (int v = 0; v < height; v++) {
+			rows[v] = new BitVector64(width);
+			if (set) {
+				rows[v].setAll();
+			}
+		}
+		return rows;
+	}
+
+	private static boolean hasElements(byte[][] H, int i) {
+		for (int j = 0; j < H.length; j++) {
+			if (H[j][i] > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
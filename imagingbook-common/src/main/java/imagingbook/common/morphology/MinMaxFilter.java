@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.morphology;
+
+import ij.process.ByteProcessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static imagingbook.common.morphology.StructuringElements.reflect;
+
+/**
+ * <p>
+ * This class defines static methods for (grayscale) maximum and minimum filters with flat structuring elements, i.e.,
+ * grayscale dilation and erosion. All 1D running maxima are calculated with the van Herk/Gil-Werman algorithm [1, 2],
+ * which requires a constant number of comparisons per pixel, independent of the filter size. The structuring element
+ * is processed in one of two ways:
+ * </p>
+ * <ul>
+ * <li>If the structuring element is a rectangle (see {@link StructuringElements#makeBoxKernel(int)}) or an octagon
+ * (see {@link StructuringElements#makeOctagonKernel(int)}) it is decomposed into a horizontal and a vertical line,
+ * followed by a sequence of 3x3 "plus" elements. The cost per pixel is independent of the kernel size for
+ * rectangles and proportional to the number of "plus" steps for octagons.</li>
+ * <li>Otherwise each row of the structuring element is split into contiguous horizontal runs, whose maxima are
+ * calculated in constant time per pixel (e.g., for disk kernels). The cost per pixel is proportional to the number of
+ * kernel rows.</li>
+ * </ul>
+ * <p>
+ * The results are exactly the same as those of the binary filters in this package (see {@link BinaryDilation},
+ * {@link BinaryErosion}). The hot spot of the structuring element is assumed at its center and pixels outside the
+ * image are ignored.
+ * </p>
+ * <p>
+ * [1] M. van Herk. A fast algorithm for local minimum and maximum filters on rectangular and octagonal kernels.
+ * <em>Pattern Recognition Letters</em> 13(7), 517–521 (1992). <br> [2] J. Gil, M. Werman. Computing 2-D min, median,
+ * and max filters. <em>IEEE Transactions on Pattern Analysis and Machine Intelligence</em> 15(5), 504–507 (1993).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see BinaryMorphologyFilter#isDecomposable()
+ */
+public abstract class MinMaxFilter {
+
+	private MinMaxFilter() {}
+
+	/**
+	 * Applies a maximum filter (grayscale dilation) with structuring element H to the specified image, which is
+	 * modified.
+	 *
+	 * @param bp the image to be filtered (modified)
+	 * @param H the structuring element
+	 */
+	public static void max(ByteProcessor bp, byte[][] H) {
+		final int width = bp.getWidth();
+		final int height = bp.getHeight();
+		final byte[] pixels = (byte[]) bp.getPixels();
+		final int[] f = new int[pixels.length];
+		for (int i = 0; i < pixels.length; i++) {
+			f[i] = 0xFF & pixels[i];
+		}
+
+		final int[] g;
+		final Decomposition dec = Decomposition.from(H);
+		if (dec != null) {
+			g = maxDecomposed(f, width, height, dec);
+		}
+		else {
+			g = maxRuns(f, width, height, H);
+		}
+
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = (byte) g[i];
+		}
+	}
+
+	/**
+	 * Applies a minimum filter (grayscale erosion) with structuring element H to the specified image, which is
+	 * modified.
+	 *
+	 * @param bp the image to be filtered (modified)
+	 * @param H the structuring element
+	 */
+	public static void min(ByteProcessor bp, byte[][] H) {
+		// the minimum filter is a maximum filter on the inverted image
+		bp.invert();
+		max(bp, reflect(H));
+		bp.invert();
+	}
+
+	// ---------------------------------------------------------------------------------------
+
+	/**
+	 * Describes the decomposition of a structuring element into a box of size (2 rx + 1) x (2 ry + 1), i.e., a
+	 * horizontal and a vertical line, followed by k dilations with a 3x3 "plus" element. The resulting element
+	 * contains all positions (x, y) with max(|x| - rx, 0) + max(|y| - ry, 0) &le; k.
+	 */
+	static class Decomposition {
+		final int rx, ry, k;
+
+		Decomposition(int rx, int ry, int k) {
+			this.rx = rx;
+			this.ry = ry;
+			this.k = k;
+		}
+
+		/**
+		 * Returns the decomposition of the specified structuring element or {@code null} if it cannot be decomposed
+		 * (exactly).
+		 *
+		 * @param H a structuring element
+		 * @return the decomposition or {@code null}
+		 */
+		static Decomposition from(byte[][] H) {
+			final int n = H.length;
+			final int m = H[0].length;
+			if (n % 2 == 0 || m % 2 == 0) {
+				return null;
+			}
+			final int Ry = (n - 1) / 2;
+			final int Rx = (m - 1) / 2;
+			for (int k = 0; k <= Math.min(Rx, Ry); k++) {
+				Decomposition dec = new Decomposition(Rx - k, Ry - k, k);
+				if (dec.matches(H)) {
+					return dec;
+				}
+			}
+			return null;
+		}
+
+		boolean contains(int x, int y) {
+			return Math.max(Math.abs(x) - rx, 0) + Math.max(Math.abs(y) - ry, 0) <= k;
+		}
+
+		private boolean matches(byte[][] H) {
+			final int xc = (H[0].length - 1) / 2;
+			final int yc = (H.length - 1) / 2;
+			for (int j = 0; j < H.length; j++) {
+				if (H[j].length != H[0].length) {
+					return false;
+				}
+				for (int i = 0; i < H[j].length; i++) {
+					if ((H[j][i] > 0) != contains(i - xc, j - yc)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+
+	// decomposed filter: box (horizontal + vertical line) followed by k "plus" steps ----------
+
+	private static int[] maxDecomposed(int[] f, int width, int height, Decomposition dec) {
+		// the image is padded (with 0) by the size of the complete structuring element, such that
+		// intermediate results outside the image are retained and the final result is exact
+		final int px = dec.rx + dec.k;
+		final int py = dec.ry + dec.k;
+		final int W = width + 2 * px;
+		final int H = height + 2 * py;
+		int[] a = new int[W * H];
+		for (int v = 0; v < height; v++) {
+			System.arraycopy(f, v * width, a, (v + py) * W + px, width);
+		}
+
+		if (dec.rx > 0) {
+			final int[] line = new int[W];
+			final RunningMax rm = new RunningMax(W, -dec.rx, dec.rx);
+			for (int v = 0; v < H; v++) {
+				System.arraycopy(a, v * W, line, 0, W);
+				rm.apply(line, line);
+				System.arraycopy(line, 0, a, v * W, W);
+			}
+		}
+
+		if (dec.ry > 0) {
+			final int[] line = new int[H];
+			final RunningMax rm = new RunningMax(H, -dec.ry, dec.ry);
+			for (int u = 0; u < W; u++) {
+				for (int v = 0; v < H; v++) {
+					line[v] = a[v * W + u];
+				}
+				rm.apply(line, line);
+				for (int v = 0; v < H; v++) {
+					a[v * W + u] = line[v];
+				}
+			}
+		}
+
+		int[] b = new int[W * H];
+		for (int s = 0; s < dec.k; s++) {
+			maxPlus(a, b, W, H);
+			int[] tmp = a; a = b; b = tmp;
+		}
+
+		final int[] g = new int[width * height];
+		for (int v = 0; v < height; v++) {
+			System.arraycopy(a, (v + py) * W + px, g, v * width, width);
+		}
+		return g;
+	}
+
+	// 3x3 "plus" (4-neighborhood) maximum, from a to b
+	private static void maxPlus(int[] a, int[] b, int W, int H) {
+		for (int v = 0; v < H; v++) {
+			for (int u = 0; u < W; u++) {
+				final int i = v * W + u;
+				int m = a[i];
+				if (u > 0)     m = Math.max(m, a[i - 1]);
+				if (u < W - 1) m = Math.max(m, a[i + 1]);
+				if (v > 0)     m = Math.max(m, a[i - W]);
+				if (v < H - 1) m = Math.max(m, a[i + W]);
+				b[i] = m;
+			}
+		}
+	}
+
+	// general filter: contiguous horizontal runs for each kernel row ---------------------------
+
+	private static int[] maxRuns(int[] f, int width, int height, byte[][] H) {
+		final int xc = (H[0].length - 1) / 2;
+		final int yc = (H.length - 1) / 2;
+
+		// collect the horizontal runs [x0, x1] (relative to the hot spot) of all kernel rows
+		final List<int[]> runs = new ArrayList<>();		// {dy, x0, x1}
+		for (int j = 0; j < H.length; j++) {
+			int i = 0;
+			while (i < H[j].length) {
+				if (H[j][i] > 0) {
+					int i0 = i;
+					while (i < H[j].length && H[j][i] > 0) {
+						i++;
+					}
+					runs.add(new int[] {j - yc, i0 - xc, i - 1 - xc});
+				}
+				else {
+					i++;
+				}
+			}
+		}
+
+		final RunningMax[] rms = new RunningMax[runs.size()];
+		for (int r = 0; r < rms.length; r++) {
+			rms[r] = new RunningMax(width, runs.get(r)[1], runs.get(r)[2]);
+		}
+
+		final int[] g = new int[width * height];	// initialized to 0
+		final int[] line = new int[width];
+		final int[] lineMax = new int[width];
+		for (int y = 0; y < height; y++) {
+			System.arraycopy(f, y * width, line, 0, width);
+			for (int r = 0; r < rms.length; r++) {
+				// source row y contributes to target row v = y + dy
+				final int v = y + runs.get(r)[0];
+				if (v < 0 || v >= height) {
+					continue;
+				}
+				rms[r].apply(line, lineMax);
+				final int offset = v * width;
+				for (int u = 0; u < width; u++) {
+					g[offset + u] = Math.max(g[offset + u], lineMax[u]);
+				}
+			}
+		}
+		return g;
+	}
+
+	// ---------------------------------------------------------------------------------------
+
+	/**
+	 * Running maximum over the index range [i - x1, i - x0] for a 1D signal of fixed length, using the van
+	 * Herk/Gil-Werman algorithm. With the hot spot of the structuring element at its center, [x0, x1] are the relative
+	 * positions of its elements and the signal value at i is "dilated" to positions i + x0,..., i + x1. Values outside
+	 * the signal are taken as 0.
+	 */
+	static class RunningMax {
+		private final int n, x1, L, pad;
+		private final int[] g, h;	// forward and backward block maxima
+
+		RunningMax(int n, int x0, int x1) {
+			this.n = n;
+			this.x1 = x1;
+			this.L = x1 - x0 + 1;
+			this.pad = Math.max(0, x1);		// padding on the left
+			this.g = new int[n + pad + Math.max(0, -x0)];
+			this.h = new int[g.length];
+		}
+
+		/**
+		 * Calculates the running maximum of the source signal and stores it in the target array (which may be the same
+		 * as the source array).
+		 *
+		 * @param source the source signal
+		 * @param target the target array
+		 */
+		void apply(int[] source, int[] target) {
+			final int N = g.length;
+			// padded signal (stored in g), source[i] is at position i + pad
+			Arrays.fill(g, 0);
+			System.arraycopy(source, 0, g, pad, n);
+			System.arraycopy(g, 0, h, 0, N);
+			// forward maxima within blocks of length L:
+			for (int i = 1; i < N; i++) {
+				if (i % L != 0) {
+					g[i] = Math.max(g[i], g[i - 1]);
+				}
+			}
+			// backward maxima within blocks of length L:
+			for (int i = N - 2; i >= 0; i--) {
+				if ((i + 1) % L != 0) {
+					h[i] = Math.max(h[i], h[i + 1]);
+				}
+			}
+			// target[i] is the maximum of source[i - x1],..., source[i - x0],
+			// i.e., the padded positions s,..., s + L - 1 with s = i - x1 + pad:
+			for (int i = 0; i < n; i++) {
+				final int s = i - x1 + pad;
+				target[i] = Math.max(h[s], g[s + L - 1]);
+			}
+		}
+	}
+
+}
@@ -49,6 +49,33 @@ public abstract class StructuringElements {
 		return H;
 	}
 
+	/**
+	 * Creates and returns a square binary "octagon" kernel with the specified radius, which approximates a disk kernel
+	 * of the same radius (see {@link #makeDiskKernel(double)}). The kernel size is (2 * radius + 1) x (2 * radius + 1).
+	 * It is always odd. Octagon kernels can be decomposed into a sequence of line and 3x3 "plus" elements, which makes
+	 * morphological operations with large radii very efficient (see {@link MinMaxFilter}).
+	 *
+	 * @param radius the kernel radius
+	 * @return a square binary octagon kernel
+	 */
+	public static byte[][] makeOctagonKernel(int radius) {
+		if (radius < 0) {
+			throw new IllegalArgumentException("radius must be >= 0");
+		}
+		// number of diagonal ("plus") steps, the diagonal edges cut off the corners at |u| + |v| = sqrt(2) * radius
+		int k = (int) Math.round((2 - Math.sqrt(2)) * radius);
+		int r = radius - k;		// radius of the inner box
+		int n = radius + radius + 1;
+		byte[][] kernel = new byte[n][n];
+		for (int v = -radius; v <= radius; v++) {
+			for (int u = -radius; u <= radius; u++) {
+				if (Math.max(Math.abs(u) - r, 0) + Math.max(Math.abs(v) - r, 0) <= k)
+					kernel[v + radius][u + radius] = 1;
+			}
+		}
+		return kernel;
+	}
+
 	// TODO: compare to CircularMask (filters), define BinaryKernel class?
 
 	/**
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.ransac;
+
+import imagingbook.common.geometry.basic.Pnt2d;
+import imagingbook.common.geometry.basic.Primitive2d;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A two-level uniform grid over a (fixed) set of 2D points, used to find the points close to a given primitive (curve)
+ * without visiting all points. Points are grouped into square cells, which are grouped into square blocks of
+ * {@link #CellsPerBlock} x {@link #CellsPerBlock} cells. Only non-empty cells and blocks are stored. A block (or cell)
+ * is only visited if the primitive's distance from its center is less than the max. inlier distance plus the block's
+ * (or cell's) half diagonal. This requires that {@link Primitive2d#getDistance(Pnt2d)} returns the Euclidean distance
+ * to the closest point on the primitive, which is the case for lines, circles and ellipses.
+ * </p>
+ * <p>
+ * The grid refers to points by their index in the original point array. Points which were {@code null} at construction
+ * are not included, i.e., the grid only needs to be rebuilt after points were removed.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+class PointGrid {
+
+	/** Number of cells in each direction of a block. */
+	static final int CellsPerBlock = 8;
+
+	private static final double Slack = 1e-6;	// accounts for inaccurate distance calculations
+
+	private final int n;					// number of points
+	private final double cellHalfDiag, blockHalfDiag;
+
+	private final int[] blockStart;			// cells of block b are blockStart[b],..,blockStart[b + 1] - 1
+	private final int[] blockCount;			// number of points in block b
+	private final Pnt2d[] blockCenter;
+	private final int[] cellStart;			// points of cell c are pointIdx[cellStart[c]],..,pointIdx[cellStart[c + 1] - 1]
+	private final Pnt2d[] cellCenter;
+	private final int[] pointIdx;			// indexes into the original point array, ascending within each cell
+
+	/**
+	 * Constructor, creates a new grid for the non-null elements of the specified point array.
+	 *
+	 * @param points an array of points (may contain {@code null} elements)
+	 * @param cellSize the width/height of the grid cells
+	 */
+	PointGrid(Pnt2d[] points, double cellSize) {
+		double xmin = Double.POSITIVE_INFINITY;
+		double ymin = Double.POSITIVE_INFINITY;
+		double xmax = Double.NEGATIVE_INFINITY;
+		int cnt = 0;
+		for (Pnt2d p : points) {
+			if (p != null) {
+				xmin = Math.min(xmin, p.getX());
+				ymin = Math.min(ymin, p.getY());
+				xmax = Math.max(xmax, p.getX());
+				cnt++;
+			}
+		}
+		this.n = cnt;
+		final double blockSize = CellsPerBlock * cellSize;
+		this.cellHalfDiag = cellSize / Math.sqrt(2);
+		this.blockHalfDiag = blockSize / Math.sqrt(2);
+		final long nbx = (n == 0) ? 1 : (long) ((xmax - xmin) / blockSize) + 1;	// number of blocks in x-direction
+
+		// sort the points by block, cell and original index, using combined keys:
+		final long[] keys = new long[n];
+		int k = 0;
+		for (int i = 0; i < points.length; i++) {
+			Pnt2d p = points[i];
+			if (p != null) {
+				long ix = (long) ((p.getX() - xmin) / cellSize);
+				long iy = (long) ((p.getY() - ymin) / cellSize);
+				long block = (iy / CellsPerBlock) * nbx + (ix / CellsPerBlock);
+				long cell = (iy % CellsPerBlock) * CellsPerBlock + (ix % CellsPerBlock);
+				keys[k++] = ((block * CellsPerBlock * CellsPerBlock + cell) << 31) | i;
+			}
+		}
+		Arrays.sort(keys);
+
+		// collect non-empty blocks and cells:
+		this.pointIdx = new int[n];
+		int[] cStart = new int[n + 1];
+		int[] bStart = new int[n + 1];
+		Pnt2d[] cCenter = new Pnt2d[n];
+		Pnt2d[] bCenter = new Pnt2d[n];
+		int nc = 0, nb = 0;
+		long prevCell = -1, prevBlock = -1;
+		for (int j = 0; j < n; j++) {
+			final long cellKey = keys[j] >>> 31;
+			final long blockKey = cellKey / (CellsPerBlock * CellsPerBlock);
+			pointIdx[j] = (int) (keys[j] & Integer.MAX_VALUE);
+			if (blockKey != prevBlock) {
+				bStart[nb] = nc;
+				final long bx = blockKey % nbx;
+				final long by = blockKey / nbx;
+				bCenter[nb] = Pnt2d.PntDouble.from(xmin + (bx + 0.5) * blockSize, ymin + (by + 0.5) * blockSize);
+				nb++;
+				prevBlock = blockKey;
+			}
+			if (cellKey != prevCell) {
+				cStart[nc] = j;
+				final int local = (int) (cellKey % (CellsPerBlock * CellsPerBlock));
+				final long cx = (blockKey % nbx) * CellsPerBlock + local % CellsPerBlock;
+				final long cy = (blockKey / nbx) * CellsPerBlock + local / CellsPerBlock;
+				cCenter[nc] = Pnt2d.PntDouble.from(xmin + (cx + 0.5) * cellSize, ymin + (cy + 0.5) * cellSize);
+				nc++;
+				prevCell = cellKey;
+			}
+		}
+		cStart[nc] = n;
+		bStart[nb] = nc;
+		this.cellStart = Arrays.copyOf(cStart, nc + 1);
+		this.cellCenter = Arrays.copyOf(cCenter, nc);
+		this.blockStart = Arrays.copyOf(bStart, nb + 1);
+		this.blockCenter = Arrays.copyOf(bCenter, nb);
+		this.blockCount = new int[nb];
+		for (int b = 0; b < nb; b++) {
+			blockCount[b] = cellStart[blockStart[b + 1]] - cellStart[blockStart[b]];
+		}
+	}
+
+	/**
+	 * Returns the number of points in this grid.
+	 * @return the number of points
+	 */
+	int size() {
+		return n;
+	}
+
+	/**
+	 * Counts the points with distance less than {@code maxDist} from the specified curve. Counting stops as soon as
+	 * {@code minCount} cannot be reached with the remaining points, in which case some value less than
+	 * {@code minCount} is returned.
+	 *
+	 * @param curve the curve
+	 * @param points the original point array
+	 * @param maxDist the max. inlier distance
+	 * @param minCount the min. count to be reached
+	 * @return the number of inliers (exact if not less than {@code minCount})
+	 */
+	int countInliers(Primitive2d curve, Pnt2d[] points, double maxDist, int minCount) {
+		int count = 0;
+		int remaining = n;	// number of points not checked yet
+		for (int b = 0; b < blockCenter.length; b++) {
+			if (count + remaining < minCount) {
+				break;		// minCount cannot be reached any more
+			}
+			remaining -= blockCount[b];
+			if (curve.getDistance(blockCenter[b]) >= maxDist + blockHalfDiag + Slack) {
+				continue;
+			}
+			for (int c = blockStart[b]; c < blockStart[b + 1]; c++) {
+				if (curve.getDistance(cellCenter[c]) >= maxDist + cellHalfDiag + Slack) {
+					continue;
+				}
+				for (int j = cellStart[c]; j < cellStart[c + 1]; j++) {
+					if (curve.getDistance(points[pointIdx[j]]) < maxDist) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the (ascending) indexes of all points with distance less than {@code maxDist} from the specified curve.
+	 *
+	 * @param curve the curve
+	 * @param points the original point array
+	 * @param maxDist the max. inlier distance
+	 * @return the indexes of inlier points in the original point array
+	 */
+	int[] collectInliers(Primitive2d curve, Pnt2d[] points, double maxDist) {
+		int[] inliers = new int[n];
+		int k = 0;
+		for (int b = 0; b < blockCenter.length; b++) {
+			if (curve.getDistance(blockCenter[b]) >= maxDist + blockHalfDiag + Slack) {
+				continue;
+			}
+			for (int c = blockStart[b]; c < blockStart[b + 1]; c++) {
+				if (curve.getDistance(cellCenter[c]) >= maxDist + cellHalfDiag + Slack) {
+					continue;
+				}
+				for (int j = cellStart[c]; j < cellStart[c + 1]; j++) {
+					if (curve.getDistance(points[pointIdx[j]]) < maxDist) {
+						inliers[k++] = pointIdx[j];
+					}
+				}
+			}
+		}
+		inliers = Arrays.copyOf(inliers, k);
+		Arrays.sort(inliers);
+		return inliers;
+	}
+
+}
@@ -18,6 +18,9 @@ import imagingbook.common.util.ParameterBundle;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -25,6 +28,18 @@ import java.util.Random;
  * the core RANSAC functionality used by all derived (concrete) classes.
  * </p>
  * <p>
+ * Points are held in a uniform grid (rebuilt for each detection, thus excluding previously removed inliers), such that
+ * inlier counting only visits grid cells close to the hypothetical primitive. Inlier counting for a hypothesis is
+ * abandoned as soon as it cannot reach the score of the current best hypothesis (this does not affect the results). Optionally, the number of random draws is reduced adaptively (see
+ * {@link RansacParameters#adaptive}): with the inlier ratio w of the best hypothesis found so far, the number of draws
+ * required to find an all-inlier sample of size K with probability p ({@link RansacParameters#confidence}) is
+ * log(1 - p) / log(1 - w<sup>K</sup>), never exceeding {@link RansacParameters#randomPointDraws}. Random draws may
+ * also be evaluated in parallel (see {@link RansacParameters#parallel}). In this case, draws are performed in blocks
+ * of fixed size, each using its own random generator seeded from the main random generator, and blocks are combined
+ * in a fixed order. Thus results are deterministic for a given random seed, independent of the number of threads, but
+ * differ from sequential processing.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
  * (2022).
  * </p>
@@ -32,6 +47,7 @@ import java.util.Random;
  * @param <T> generic type extending {@link Primitive2d}
  * @author WB
  * @version 2022/11/19
+ * @version 2026/10/16 added adaptive and parallel processing, spatial point index
  * @see RansacLineDetector
  * @see RansacCircleDetector
  * @see RansacEllipseDetector
@@ -63,18 +79,36 @@ public abstract class RansacDetector<T extends Primitive2d> {
 		/** Random seed used initialization (0 = no seed).*/
 		@DialogLabel("Random seed (0 = no seed)") 
 		public int randomSeed = 0;
+		
+		/** Set true to reduce the number of random draws adaptively, based on the best inlier ratio found so far.*/
+		@DialogLabel("Adaptive number of draws") 
+		public boolean adaptive = false;
+		
+		/** The required probability of drawing at least one all-inlier sample (adaptive mode only).*/
+		@DialogLabel("Confidence (adaptive mode)") 
+		public double confidence = 0.99;
+		
+		/** Set true to evaluate random draws in parallel.*/
+		@DialogLabel("Parallel processing") 
+		public boolean parallel = false;
 	}
 	
+	/**
+	 * The number of random draws performed in each block (with its own random generator) in parallel mode.
+	 */
+	public static final int DrawBlockSize = 32;
+	
 	// -----------------------------------------------------------
 	
 	private final RansacParameters params;
 	private final int K;						// number of points to draw
-	private final RandomDraw<Pnt2d> randomDraw;	// 
+	private final Random rand;					// main random generator
+	private final RandomDraw<Pnt2d> randomDraw;	// used in sequential mode
 	
 	RansacDetector(int K, RansacParameters params) {
 		this.K = K;
 		this.params = params;
-		Random rand = (params.randomSeed == 0) ? null : new Random(params.randomSeed);
+		this.rand = (params.randomSeed == 0) ? new Random() : new Random(params.randomSeed);
 		this.randomDraw = new RandomDraw<>(rand);
 	}
 	
@@ -126,86 +160,163 @@ public abstract class RansacDetector<T extends Primitive2d> {
 	 * @return the detected primitive (of generic type T) or {@code null} if unsuccessful
 	 */
 	public RansacResult<T> detectNext(Pnt2d[] points) {
-		Pnt2d[] drawInit = null;
-		double scoreInit = -1;
-		T primitiveInit = null;
-		
-		for (int i = 0; i < params.randomPointDraws; i++) {
-			Pnt2d[] draw = drawRandomPoints(points);
-			T primitive = fitInitial(draw);
-			if (primitive == null) {
-				continue;
-			}
-			double score = countInliers(primitive, points);
-			if (score >= params.minInlierCount && score > scoreInit) {
-				scoreInit = score;
-				drawInit = draw;
-				primitiveInit = primitive;
-			}
+		final PointGrid grid = new PointGrid(points, getGridCellSize());
+		final int n = grid.size();
+		if (n < Math.max(K, params.minInlierCount)) {
+			return null;	// no valid detection possible
 		}
+		Hypothesis best = (params.parallel) ? searchParallel(points, grid) : searchSequential(points, grid);
 		
-		if (primitiveInit == null) {
+		if (best == null) {
 			return null;
 		}
 		else {
 			// refit the primitive to all inliers:
-			Pnt2d[] inliers = collectInliers(primitiveInit, points);
+			Pnt2d[] inliers = collectInliers(best.primitive, points, grid);
 			T primitiveFinal = fitFinal(inliers);	
 			if (primitiveFinal != null)
-				return new RansacResult<T>(drawInit, primitiveInit, primitiveFinal, scoreInit, inliers);
+				return new RansacResult<T>(best.draw, best.primitive, primitiveFinal, best.score, inliers);
 			else
 				throw new RuntimeException("final fit failed!");
 		}
 	}
+	
+	private Hypothesis searchSequential(Pnt2d[] points, PointGrid grid) {
+		final int n = grid.size();
+		Hypothesis best = null;
+		int maxDraws = params.randomPointDraws;
+		for (int i = 0; i < maxDraws; i++) {
+			Pnt2d[] draw = drawRandomPoints(points, randomDraw);
+			T primitive = (draw == null) ? null : fitInitial(draw);
+			if (primitive == null) {
+				continue;
+			}
+			int minScore = (best == null) ? params.minInlierCount : best.score + 1;
+			int score = grid.countInliers(primitive, points, params.maxInlierDistance, minScore);
+			if (score >= minScore) {
+				best = new Hypothesis(draw, primitive, score);
+				maxDraws = getRequiredDraws(best.score, n);
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Draws are performed in blocks of {@link #DrawBlockSize}, processed in parallel in groups of fixed size. Each
+	 * block uses its own random generator. The best hypothesis is the one with the highest score, with ties resolved
+	 * by the order of blocks and draws (as in sequential processing).
+	 */
+	private Hypothesis searchParallel(Pnt2d[] points, PointGrid grid) {
+		final int n = grid.size();
+		final int blocksPerGroup = 8;
+		final AtomicInteger bestScore = new AtomicInteger(params.minInlierCount);	// shared bound for early termination
+		Hypothesis best = null;
+		int maxDraws = params.randomPointDraws;
+		int draws = 0;
+		while (draws < maxDraws) {
+			final int nBlocks = Math.min(blocksPerGroup, (maxDraws - draws + DrawBlockSize - 1) / DrawBlockSize);
+			final int[] blockSizes = new int[nBlocks];
+			final long[] seeds = new long[nBlocks];
+			for (int b = 0; b < nBlocks; b++) {
+				blockSizes[b] = Math.min(DrawBlockSize, maxDraws - draws);
+				seeds[b] = rand.nextLong();
+				draws += blockSizes[b];
+			}
+			List<Hypothesis> results = IntStream.range(0, nBlocks).parallel()
+					.mapToObj(b -> searchBlock(points, grid, blockSizes[b], seeds[b], bestScore))
+					.collect(Collectors.toList());
+			for (Hypothesis h : results) {		// combine in block order
+				if (h != null && (best == null || h.score > best.score)) {
+					best = h;
+				}
+			}
+			if (best != null) {
+				maxDraws = getRequiredDraws(best.score, n);
+			}
+		}
+		return best;
+	}
+	
+	private Hypothesis searchBlock(Pnt2d[] points, PointGrid grid, int nDraws, long seed, AtomicInteger bestScore) {
+		RandomDraw<Pnt2d> rd = new RandomDraw<>(new Random(seed));
+		Hypothesis best = null;
+		for (int i = 0; i < nDraws; i++) {
+			Pnt2d[] draw = drawRandomPoints(points, rd);
+			T primitive = (draw == null) ? null : fitInitial(draw);
+			if (primitive == null) {
+				continue;
+			}
+			// hypotheses which cannot reach the best score of all blocks are abandoned (ties must be kept):
+			int minScore = Math.max(bestScore.get(), (best == null) ? params.minInlierCount : best.score + 1);
+			int score = grid.countInliers(primitive, points, params.maxInlierDistance, minScore);
+			if (score >= minScore) {
+				best = new Hypothesis(draw, primitive, score);
+				bestScore.accumulateAndGet(score, Math::max);
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Returns the number of random draws required to find an all-inlier sample with the specified confidence, given
+	 * the inlier count of the best hypothesis and the total number of points. Returns the max. number of draws if
+	 * adaptive mode is not used or the inlier ratio is too small to yield a meaningful estimate.
+	 */
+	int getRequiredDraws(int inliers, int n) {
+		final int maxDraws = params.randomPointDraws;
+		if (!params.adaptive) {
+			return maxDraws;
+		}
+		final double pAllInliers = Math.pow((double) inliers / n, K);	// probability of an all-inlier sample
+		if (pAllInliers >= 1) {
+			return 0;
+		}
+		// log1p avoids that 1 - pAllInliers rounds to 1 for very small probabilities
+		final double required = Math.log1p(-params.confidence) / Math.log1p(-pAllInliers);
+		if (!Double.isFinite(required) || required <= 0 || required >= maxDraws) {
+			return maxDraws;
+		}
+		return (int) Math.ceil(required);
+	}
 
 	/**
 	 * Randomly selects {@link #K} unique points from the supplied {@link Pnt2d} array. Inheriting classes may override
 	 * this method to enforce specific constraints on the selected points (e.g., see {@link RansacLineDetector}).
 	 *
 	 * @param points an array of {@link Pnt2d} instances
-	 * @return an array of {@link #K} unique points
+	 * @param rd the random draw instance to be used
+	 * @return an array of {@link #K} unique points or {@code null} if no valid draw was found
 	 */
-	Pnt2d[] drawRandomPoints(Pnt2d[] points) {	
-		return randomDraw.drawFrom(points, K);
+	Pnt2d[] drawRandomPoints(Pnt2d[] points, RandomDraw<Pnt2d> rd) {	
+		return rd.drawFrom(points, K);
 	}
 	
-	private int countInliers(T curve, Pnt2d[] points) {
-		int count = 0;
-		for (Pnt2d p : points) {
-			if (p != null) {
-				double d = curve.getDistance(p);
-				if (d < params.maxInlierDistance) {
-					count++;
-				}
-			}
-		}
-		return count;
+	// grid cells are small enough to be skipped for most hypotheses, but large enough to hold multiple points
+	private double getGridCellSize() {
+		return Math.max(4, 2 * params.maxInlierDistance);
 	}
 
 	/**
 	 * Find all points that are considered inliers with respect to the specified curve and the value of
 	 * {@link RansacParameters#maxInlierDistance}. If {@link RansacParameters#removeInliers} is set true, these points
-	 * are also removed from the original point set, otherwise they remain.
+	 * are also removed from the original point set, otherwise they remain. Inliers are returned in their original
+	 * order.
 	 *
 	 * @param curve
 	 * @param points
+	 * @param grid
 	 * @return
 	 */
-	private Pnt2d[] collectInliers(Primitive2d curve, Pnt2d[] points) {
-		List<Pnt2d> pList = new ArrayList<>();
-		for (int i = 0; i < points.length; i++) {
-			Pnt2d p = points[i];
-			if (p != null) {
-				double d = curve.getDistance(p);
-				if (d < params.maxInlierDistance) {
-					pList.add(p);
-					if (params.removeInliers) {
-						points[i] = null;
-					}
-				}
+	private Pnt2d[] collectInliers(Primitive2d curve, Pnt2d[] points, PointGrid grid) {
+		int[] idx = grid.collectInliers(curve, points, params.maxInlierDistance);
+		Pnt2d[] inliers = new Pnt2d[idx.length];
+		for (int k = 0; k < idx.length; k++) {
+			inliers[k] = points[idx[k]];
+			if (params.removeInliers) {
+				points[idx[k]] = null;
 			}
 		}
-		return pList.toArray(new Pnt2d[0]);
+		return inliers;
 	}
 	
 	// abstract methods to be implemented by specific sub-classes: -----------------------
@@ -227,4 +338,18 @@ public abstract class RansacDetector<T extends Primitive2d> {
 	 */
 	abstract T fitFinal(Pnt2d[] inliers);
 	
+	// -----------------------------------------------------------------------------------
+	
+	private class Hypothesis {
+		final Pnt2d[] draw;
+		final T primitive;
+		final int score;
+		
+		Hypothesis(Pnt2d[] draw, T primitive, int score) {
+			this.draw = draw;
+			this.primitive = primitive;
+			this.score = score;
+		}
+	}
+	
 }
@@ -76,12 +76,12 @@ public class RansacLineDetector extends RansacDetector<AlgebraicLine>{
 	// ----------------------------------------------------------------
 	
 	@Override // override default method to check for min pair distance
-	Pnt2d[] drawRandomPoints(Pnt2d[] points) {
+	Pnt2d[] drawRandomPoints(Pnt2d[] points, RandomDraw<Pnt2d> rd) {
 		final int MaxTries = 20;
 		int i = 0;
-		Pnt2d[] draw = super.drawRandomPoints(points);
+		Pnt2d[] draw = super.drawRandomPoints(points, rd);
 		while (draw[0].distanceSq(draw[1]) < sqr(params.minPairDistance) && i < MaxTries) {
-			draw = super.drawRandomPoints(points);
+			draw = super.drawRandomPoints(points, rd);
 			i++;
 		}
 		return (i < MaxTries) ? draw : null;
@@ -25,9 +25,9 @@ import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
  * Performs region segmentation on a given binary image. See Ch. 8 of [1] for additional details. This class is
  * abstract, since the implementation depends on the concrete region segmentation algorithm being used. Concrete
  * implementations (subclasses of this class) are {@link BreadthFirstSegmentation}, {@link DepthFirstSegmentation},
- * {@link RecursiveSegmentation}, {@link SequentialSegmentation}, {@link RegionContourSegmentation}. Most of the work is
- * done by the constructor(s). If the segmentation has failed for some reason {@link #getRegions()} returns
- * {@code null}.
+ * {@link RecursiveSegmentation}, {@link SequentialSegmentation}, {@link ParallelSegmentation},
+ * {@link RegionContourSegmentation}. Most of the work is done by the constructor(s). If the segmentation has failed
+ * for some reason {@link #getRegions()} returns {@code null}.
  * </p>
  * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
@@ -35,10 +35,11 @@ import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
  * </p>
  *
  * @author WB
- * @version 2021/12/22
+ * @version 2026/10/16
  * @see BreadthFirstSegmentation
  * @see DepthFirstSegmentation
  * @see SequentialSegmentation
+ * @see ParallelSegmentation
  * @see RecursiveSegmentation
  * @see RegionContourSegmentation
  */
@@ -55,12 +56,13 @@ public abstract class BinaryRegionSegmentation {
 	final int height;	
 	final NeighborhoodType2D NT;
 	
-	final int[][] labelArray;
+	final int[] labelArray;		// flat label array, row-major (see makeLabelArray())
 	// label values in labelArray can be:
 	//  0 ... unlabeled
 	// -1 ... previously visited background pixel
 	// >0 ... valid label
 	
+	private SegmentationBackedRegion[] regionArray = new SegmentationBackedRegion[16];	// regions indexed by label
 	private final Map<Integer, SegmentationBackedRegion> regions;
 	private final boolean isSegmented;
 	
@@ -80,13 +82,21 @@ public abstract class BinaryRegionSegmentation {
 		this.regions = (isSegmented) ? collectRegions() : Collections.emptyMap();
 	}
 	
-	int[][] makeLabelArray(ByteProcessor ip) {
-		int[][] lA = new int[width][height];	// label array
+	/**
+	 * Creates the label array, a flat {@code int} array in row-major order, i.e., the label of pixel (u,v) is stored
+	 * at index {@code v * width + u}. All pixels are initially set to either {@link #Foreground} or
+	 * {@link #Background}. Sub-classes overriding this method must also override {@link #getLabel(int, int)} and
+	 * {@link #setLabel(int, int, int)}.
+	 *
+	 * @param ip the image to be segmented
+	 * @return the label array
+	 */
+	int[] makeLabelArray(ByteProcessor ip) {
+		final byte[] pixels = (byte[]) ip.getPixels();
+		final int[] lA = new int[width * height];	// label array
 		// set all pixels to either FOREGROUND or BACKGROUND (by thresholding)
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				lA[u][v] = (ip.get(u, v) != 0) ? Foreground : Background;
-			}
+		for (int i = 0; i < lA.length; i++) {
+			lA[i] = (pixels[i] != 0) ? Foreground : Background;
 		}
 		return lA;
 	}
@@ -174,35 +184,73 @@ public abstract class BinaryRegionSegmentation {
 	// -------------------------------------------------------------------------
 
 	/**
-	 * Creates a (map) container of {@link BinaryRegion} objects, collects the region pixels from the label image and
-	 * calls {@link SegmentationBackedRegion#update()} to compute the statistics for each region. Region label numbers
-	 * serve as map keys.
+	 * Creates a (map) container of {@link BinaryRegion} objects and calls {@link SegmentationBackedRegion#update()} to
+	 * compute the statistics for each region. Region pixels are not collected here but are added to their regions
+	 * during segmentation (see {@link #setRegionLabel(int, int, int)}). Region label numbers serve as map keys.
 	 *
 	 * @return a map of {@link BinaryRegion} instances.
 	 */
 	Map<Integer, SegmentationBackedRegion> collectRegions() {
-		SegmentationBackedRegion[] regionArray = new SegmentationBackedRegion[maxLabel + 1];
-		for (int label = minLabel; label <= maxLabel; label++) {
-			regionArray[label] = new SegmentationBackedRegion(label, this);
-		}
-		for (int v = 0; v < height; v++) {
-			for (int u = 0; u < width; u++) {
-				int label = getLabel(u, v);
-				if (label >= minLabel && label <= maxLabel && regionArray[label] != null) {
-					regionArray[label].addPixel(u, v);
-				}
-			}
-		}
 		// create a list of regions to return, collect nonempty regions
 		Map<Integer, SegmentationBackedRegion> regionMap = new LinkedHashMap<>();
-		for (SegmentationBackedRegion r: regionArray) {
+		for (int label = minLabel; label <= maxLabel && label < regionArray.length; label++) {
+			SegmentationBackedRegion r = regionArray[label];
 			if (r != null && r.getSize() > 0) {
 				r.update();	// compute the statistics for this region
-				regionMap.put(r.getLabel(), r); //add(r);
+				regionMap.put(r.getLabel(), r);
 			}
 		}
+		regionArray = null;
 		return regionMap;
 	}
+	
+	// returns the region object for the specified label, which is created if necessary
+	private SegmentationBackedRegion getRegionForLabel(int label) {
+		if (label >= regionArray.length) {
+			regionArray = Arrays.copyOf(regionArray, Math.max(2 * regionArray.length, label + 1));
+		}
+		SegmentationBackedRegion r = regionArray[label];
+		if (r == null) {
+			r = new SegmentationBackedRegion(label, this);
+			regionArray[label] = r;
+		}
+		return r;
+	}
+	
+	/**
+	 * Adds pixel (u,v) to the statistics (size, bounding box, moment sums) of the region with the specified (final)
+	 * label. Must be called exactly once for every region pixel.
+	 * 
+	 * @param label the region label
+	 * @param u the horizontal coordinate
+	 * @param v the vertical coordinate
+	 */
+	void addRegionPixel(int label, int u, int v) {
+		getRegionForLabel(label).addPixel(u, v);
+	}
+	
+	/**
+	 * Sets the (final) label of pixel (u,v) and adds the pixel to the statistics of the associated region. Must be
+	 * called exactly once for every region pixel.
+	 * 
+	 * @param u the horizontal coordinate
+	 * @param v the vertical coordinate
+	 * @param label the region label
+	 */
+	void setRegionLabel(int u, int v, int label) {
+		setLabel(u, v, label);
+		getRegionForLabel(label).addPixel(u, v);
+	}
+	
+	/**
+	 * Adds the statistics of the specified (partial) region to the region with the same label, e.g., to combine
+	 * region statistics collected in parallel.
+	 * 
+	 * @param r a partial region
+	 */
+	void addRegionStatistics(SegmentationBackedRegion r) {
+		getRegionForLabel(r.getLabel()).addStatistics(r);
+	}
 
 	/**
 	 * Returns the label number for the specified image coordinate. -1 is returned for out-of-image coordinates.
@@ -212,12 +260,12 @@ public abstract class BinaryRegionSegmentation {
 	 * @return the label number for the given position or -1 if outside the image
 	 */
 	public int getLabel(int u, int v) {
-		return (u >= 0 && u < width && v >= 0 && v < height) ? labelArray[u][v] : -1;
+		return (u >= 0 && u < width && v >= 0 && v < height) ? labelArray[v * width + u] : -1;
 	}
 	
 	void setLabel(int u, int v, int label) {
 		if (u >= 0 && u < width && v >= 0 && v < height)
-			labelArray[u][v] = label;
+			labelArray[v * width + u] = label;
 	}
 	
 	int getNextLabel() {
@@ -226,6 +274,12 @@ public abstract class BinaryRegionSegmentation {
 		return currentLabel;
 	}
 	
+	// for segmentations that assign their final labels minLabel,...,label without calling getNextLabel()
+	void setMaxLabel(int label) {
+		currentLabel = label;
+		maxLabel = label;
+	}
+	
 	boolean isRegionLabel(int i) {
 		return (i >= minLabel);
 	}
@@ -77,7 +77,7 @@ public class DepthFirstSegmentation extends BinaryRegionSegmentation {
 			int x = p.x;
 			int y = p.y;
 			if ((x >= 0) && (x < width) && (y >= 0) && (y < height)	&& getLabel(x, y) == Foreground) {
-				setLabel(x, y, label);
+				setRegionLabel(x, y, label);
 				S.push(PntInt.from(x + 1, y));
 				S.push(PntInt.from(x, y + 1));
 				S.push(PntInt.from(x, y - 1));
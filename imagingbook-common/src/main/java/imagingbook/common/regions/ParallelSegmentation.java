@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.regions;
+
+import ij.process.ByteProcessor;
+import imagingbook.common.geometry.basic.NeighborhoodType2D;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
+
+/**
+ * <p>
+ * Binary region segmentation based on sequential labeling (see {@link SequentialSegmentation}), performed in
+ * parallel on horizontal image strips. The segmentation works in three steps:
+ * </p>
+ * <ol>
+ * <li>Each strip is labeled independently (and concurrently with other strips) in raster-scan order, using
+ * consecutive provisional labels and a union-find (disjoint-set) structure of its own. The union-find structures of
+ * all strips are then concatenated into a single shared structure, whose size is the total number of provisional
+ * labels.</li>
+ * <li>Regions touching across strip boundaries are merged (concurrently for all boundaries), using lock-free
+ * union operations on the shared union-find structure.</li>
+ * <li>Final, contiguous labels are assigned to all pixels (concurrently for all strips). The final labels are stored
+ * in the shared union-find structure itself, i.e., no additional label map is required.</li>
+ * </ol>
+ * <p>
+ * Since the root of each union-find set is always its smallest provisional label, final labels are assigned in the
+ * raster-scan order of each region's first pixel. The resulting label image (and thus the set of
+ * {@link SegmentationBackedRegion} instances) is the same as produced by {@link SequentialSegmentation} or
+ * {@link BreadthFirstSegmentation}, for both 4- and 8-neighborhoods.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see SequentialSegmentation
+ */
+public class ParallelSegmentation extends BinaryRegionSegmentation {
+	
+	/** Minimum height of the image strips processed in parallel. */
+	public static final int MinStripHeight = 8;
+
+	// union-find parent of each provisional label, label a of strip k has index labelBase[k] + a - minLabel
+	private AtomicIntegerArray parent;
+
+	/**
+	 * Constructor. Creates a new region segmentation from the specified image, which is not modified. The input image
+	 * is considered binary, with 0 values for background pixels and values &ne; 0 for foreground pixels. The
+	 * 4-neighborhood is used by default ({@link BinaryRegionSegmentation#DefaultNeighborhoodT}).
+	 *
+	 * @param ip the binary input image to be segmented
+	 */
+	public ParallelSegmentation(ByteProcessor ip) {
+		this(ip, DefaultNeighborhoodT);
+	}
+
+	/**
+	 * Constructor. Creates a new region segmentation from the specified image and neighborhood type (4- or
+	 * 8-neighborhood). The input image is considered binary, with 0 values for background pixels and values &ne; 0 for
+	 * foreground pixels.
+	 *
+	 * @param ip the binary input image to be segmented
+	 * @param nh the neighborhood type (4- or 8-neighborhood)
+	 */
+	public ParallelSegmentation(ByteProcessor ip, NeighborhoodType2D nh) {
+		super(ip, nh);
+	}
+
+	@Override
+	boolean applySegmentation(ByteProcessor ip) {
+		final int minLabel = getMinLabel();
+		final int nStrips = Math.max(1, 
+				Math.min(height / MinStripHeight, 4 * ForkJoinPool.getCommonPoolParallelism()));
+		final int[] v0 = new int[nStrips + 1];				// strip k covers rows v0[k],...,v0[k+1]-1
+		for (int k = 0; k <= nStrips; k++) {
+			v0[k] = (int) ((long) k * height / nStrips);
+		}
+		
+		// Step 1: label each strip independently, with strip-local labels and union-find structures:
+		final int[][] stripParent = new int[nStrips][];
+		IntStream.range(0, nStrips).parallel().forEach(k -> stripParent[k] = labelStrip(v0[k], v0[k + 1]));
+		
+		// concatenate the union-find structures of all strips:
+		final int[] labelBase = new int[nStrips + 1];		// strip k uses label indexes labelBase[k],...,labelBase[k+1]-1
+		for (int k = 0; k < nStrips; k++) {
+			labelBase[k + 1] = labelBase[k] + stripParent[k].length;
+		}
+		parent = new AtomicIntegerArray(labelBase[nStrips]);
+		IntStream.range(0, nStrips).parallel().forEach(k -> {
+			for (int i = 0; i < stripParent[k].length; i++) {
+				parent.set(labelBase[k] + i, labelBase[k] + stripParent[k][i]);
+			}
+			stripParent[k] = null;
+		});
+		
+		// Step 2: merge regions across strip boundaries:
+		IntStream.range(1, nStrips).parallel().forEach(k -> mergeBoundary(v0[k], labelBase[k - 1], labelBase[k]));
+		
+		// Step 3: assign final labels, in raster-scan order of the regions' first pixels, and collect region statistics:
+		final int[] rootCount = new int[nStrips];	// number of roots (regions) starting in each strip
+		IntStream.range(0, nStrips).parallel().forEach(k -> rootCount[k] = countRoots(labelBase[k], labelBase[k + 1]));
+		final int[] firstLabel = new int[nStrips];
+		int label = minLabel;
+		for (int k = 0; k < nStrips; k++) {
+			firstLabel[k] = label;
+			label = label + rootCount[k];
+		}
+		final int maxLabel = label - 1;
+		IntStream.range(0, nStrips).parallel().forEach(k -> 
+			assignRootLabels(labelBase[k], labelBase[k + 1], firstLabel[k]));
+		final List<Collection<SegmentationBackedRegion>> stripRegions = IntStream.range(0, nStrips).parallel()
+				.mapToObj(k -> relabelStrip(v0[k], v0[k + 1], labelBase[k]))
+				.collect(Collectors.toList());
+		
+		// combine the region statistics collected for each strip:
+		for (Collection<SegmentationBackedRegion> regions : stripRegions) {
+			for (SegmentationBackedRegion r : regions) {
+				addRegionStatistics(r);
+			}
+		}
+		if (maxLabel >= minLabel) {
+			setMaxLabel(maxLabel);
+		}
+		parent = null;
+		return true;
+	}
+	
+	// sequential labeling of rows vStart,...,vEnd-1, ignoring pixels outside the strip, with provisional labels
+	// minLabel, minLabel + 1,...; returns the strip's union-find structure (parent index of each label index)
+	private int[] labelStrip(int vStart, int vEnd) {
+		final int minLabel = getMinLabel();
+		final int[] nh = new int[(NT == N4) ? 2 : 4];
+		int[] localParent = new int[64];
+		int n = 0;		// number of provisional labels used
+		for (int v = vStart; v < vEnd; v++) {
+			for (int u = 0; u < width; u++) {
+				if (getLabel(u, v) == Foreground) {
+					getNeighborhood(nh, u, v, vStart);
+					int a = -1;
+					for (int b : nh) {
+						if (isRegionLabel(b)) {
+							if (a < 0) {
+								a = b;
+							}
+							else if (a != b) {
+								union(localParent, a - minLabel, b - minLabel);
+							}
+						}
+					}
+					if (a < 0) {	// (u,v) is not connected to any labeled pixel
+						if (n == localParent.length) {
+							localParent = Arrays.copyOf(localParent, 2 * n);
+						}
+						localParent[n] = n;
+						a = minLabel + n;
+						n++;
+					}
+					setLabel(u, v, a);
+				}
+			}
+		}
+		return Arrays.copyOf(localParent, n);
+	}
+	
+	// collects the labels of the neighbors of (u,v) in the current or previous row, if the latter is inside the strip
+	private void getNeighborhood(int[] nh, int u, int v, int vStart) {
+		nh[0] = getLabel(u - 1, v);
+		if (NT == N4) {
+			nh[1] = (v > vStart) ? getLabel(u, v - 1) : Background;
+		}
+		else {
+			nh[1] = (v > vStart) ? getLabel(u - 1, v - 1) : Background;
+			nh[2] = (v > vStart) ? getLabel(u,     v - 1) : Background;
+			nh[3] = (v > vStart) ? getLabel(u + 1, v - 1) : Background;
+		}
+	}
+	
+	// merges regions in row v with connected regions in row v-1 (i.e., across a strip boundary),
+	// given the label index bases of the strips above and below the boundary
+	private void mergeBoundary(int v, int baseAbove, int baseBelow) {
+		final int minLabel = getMinLabel();
+		for (int u = 0; u < width; u++) {
+			final int a = getLabel(u, v);
+			if (isRegionLabel(a)) {
+				final int i = baseBelow + a - minLabel;
+				if (NT == N4) {
+					unionIfRegion(i, getLabel(u, v - 1), baseAbove);
+				}
+				else {
+					unionIfRegion(i, getLabel(u - 1, v - 1), baseAbove);
+					unionIfRegion(i, getLabel(u,     v - 1), baseAbove);
+					unionIfRegion(i, getLabel(u + 1, v - 1), baseAbove);
+				}
+			}
+		}
+	}
+	
+	private void unionIfRegion(int i, int b, int baseB) {
+		if (isRegionLabel(b)) {
+			union(i, baseB + b - getMinLabel());
+		}
+	}
+	
+	// counts the union-find roots among the label indexes iStart,...,iEnd-1
+	private int countRoots(int iStart, int iEnd) {
+		int n = 0;
+		for (int i = iStart; i < iEnd; i++) {
+			if (parent.get(i) == i) {
+				n++;
+			}
+		}
+		return n;
+	}
+	
+	// replaces the union-find roots among the label indexes iStart,...,iEnd-1 by their negated final labels
+	// (consecutive, starting at firstLabel)
+	private void assignRootLabels(int iStart, int iEnd, int firstLabel) {
+		int label = firstLabel;
+		for (int i = iStart; i < iEnd; i++) {
+			if (parent.get(i) == i) {
+				parent.set(i, -label);
+				label++;
+			}
+		}
+	}
+	
+	// assigns the final labels in rows vStart,...,vEnd-1, returns the (partial) regions contained in the strip
+	private Collection<SegmentationBackedRegion> relabelStrip(int vStart, int vEnd, int base) {
+		final int minLabel = getMinLabel();
+		final Map<Integer, SegmentationBackedRegion> regions = new HashMap<>();
+		SegmentationBackedRegion r = null;		// region of the previous pixel
+		for (int v = vStart; v < vEnd; v++) {
+			for (int u = 0; u < width; u++) {
+				final int a = getLabel(u, v);
+				if (isRegionLabel(a)) {
+					final int label = getFinalLabel(base + a - minLabel);
+					setLabel(u, v, label);
+					if (r == null || r.getLabel() != label) {
+						r = regions.computeIfAbsent(label, lb -> new SegmentationBackedRegion(lb, this));
+					}
+					r.addPixel(u, v);
+				}
+			}
+		}
+		return regions.values();
+	}
+	
+	// returns the final label of label index i, after all roots have been replaced by their negated final labels
+	private int getFinalLabel(int i) {
+		int j = i;
+		int p = parent.get(j);
+		while (p >= 0) {	// p is a parent index
+			j = p;
+			p = parent.get(j);
+		}
+		if (j != i) {
+			parent.set(i, p);	// shortcut for subsequent queries (p is the negated final label)
+		}
+		return -p;
+	}
+	
+	//---------------------------------------------------------------------------
+	// strip-local union-find operations, the root of each set is its smallest index
+	
+	private static int find(int[] parent, int a) {
+		while (parent[a] != a) {
+			parent[a] = parent[parent[a]];	// path halving
+			a = parent[a];
+		}
+		return a;
+	}
+	
+	private static void union(int[] parent, int a, int b) {
+		a = find(parent, a);
+		b = find(parent, b);
+		if (a < b) {
+			parent[b] = a;
+		}
+		else if (b < a) {
+			parent[a] = b;
+		}
+	}
+	
+	//---------------------------------------------------------------------------
+	// lock-free union-find operations on the shared structure, the root of each set is its smallest index
+	
+	private int find(int a) {
+		int p = parent.get(a);
+		while (p != a) {
+			final int gp = parent.get(p);
+			parent.compareAndSet(a, p, gp);		// path halving, gp is also an ancestor of a
+			a = gp;
+			p = parent.get(a);
+		}
+		return a;
+	}
+	
+	private void union(int a, int b) {
+		while (true) {
+			a = find(a);
+			b = find(b);
+			if (a == b) {
+				return;
+			}
+			if (a < b) {	// make a the larger root, to be attached to b
+				int t = a;
+				a = b;
+				b = t;
+			}
+			if (parent.compareAndSet(a, a, b)) {
+				return;
+			}
+			// otherwise a is no longer a root (concurrent modification), retry
+		}
+	}
+
+}
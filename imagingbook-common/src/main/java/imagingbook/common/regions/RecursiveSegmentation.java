@@ -71,7 +71,7 @@ public class RecursiveSegmentation extends BinaryRegionSegmentation {
 
 	private void floodFill(int x, int y, int label) {
 		if ((x >= 0) && (x < width) && (y >= 0) && (y < height) && getLabel(x, y) == Foreground) {
-			setLabel(x, y, label);
+			setRegionLabel(x, y, label);
 			floodFill(x + 1, y, label);
 			floodFill(x, y + 1, label);
 			floodFill(x, y - 1, label);
@@ -100,10 +100,10 @@ public class RegionContourSegmentation extends BinaryRegionSegmentation implemen
 	// non-public methods ------------------------------------------------------------------
 	
 	@Override
-	int[][] makeLabelArray(ByteProcessor ip) {
+	int[] makeLabelArray(ByteProcessor ip) {
 		// Create a label array which is "padded" by 1 pixel, i.e., 
 		// 2 rows and 2 columns larger than the image:
-		return new int[width + 2][height + 2];	// label array, initialized to zero
+		return new int[(width + 2) * (height + 2)];	// label array, initialized to zero
 	}
 	
 	@Override
@@ -129,6 +129,7 @@ public class RegionContourSegmentation extends BinaryRegionSegmentation implemen
 							setLabel(u, v, label);
 						}
 					}
+					addRegionPixel(label, u, v);	// every foreground pixel is visited exactly once
 				} 
 				else {	// hit a BACKGROUND pixel
 					if (label != 0) { // exiting a region
@@ -238,7 +239,7 @@ public class RegionContourSegmentation extends BinaryRegionSegmentation implemen
 	@Override
 	public int getLabel(int u, int v) {	// (u,v) are image coordinates
 		if (u >= -1 && u <= width && v >= -1 && v <= height)
-			return labelArray[u + 1][v + 1]; 	// label array is padded (offset = 1)
+			return labelArray[(v + 1) * (width + 2) + u + 1]; 	// label array is padded (offset = 1)
 		else
 			return Background;
 	}
@@ -246,7 +247,7 @@ public class RegionContourSegmentation extends BinaryRegionSegmentation implemen
 	@Override
 	void setLabel(int u, int v, int label) { // (u,v) are image coordinates
 		if (u >= -1 && u <= width && v >= -1 && v <= height) {
-			labelArray[u + 1][v + 1] = label;
+			labelArray[(v + 1) * (width + 2) + u + 1] = label;
 		}
 	}
 	
@@ -132,6 +132,25 @@ public class SegmentationBackedRegion extends BinaryRegion {
 		if (v > bottom)	bottom = v;
 	}
 
+	/**
+	 * Adds the pixel statistics (summation and boundary variables) of another region, e.g., a part of the same region
+	 * collected separately.
+	 *
+	 * @param r another region
+	 */
+	void addStatistics(SegmentationBackedRegion r) {
+		size = size + r.size;
+		x1Sum = x1Sum + r.x1Sum;
+		y1Sum = y1Sum + r.y1Sum;
+		x2Sum = x2Sum + r.x2Sum;
+		y2Sum = y2Sum + r.y2Sum;
+		xySum = xySum + r.xySum;
+		left = Math.min(left, r.left);
+		top = Math.min(top, r.top);
+		right = Math.max(right, r.right);
+		bottom = Math.max(bottom, r.bottom);
+	}
+
 	/**
 	 * Updates the region's statistics. Does nothing but may be overridden by inheriting classes.
 	 */
@@ -12,7 +12,7 @@ package imagingbook.common.regions;
 import ij.process.ByteProcessor;
 import imagingbook.common.geometry.basic.NeighborhoodType2D;
 
-import java.util.HashSet;
+import java.util.Arrays;
 
 import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
 
@@ -22,16 +22,23 @@ import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
  * additional details.
  * </p>
  * <p>
+ * Label collisions are recorded immediately during the first pass in an array-based union-find (disjoint-set)
+ * structure with path compression and union by rank, such that resolving the label equivalences takes practically
+ * linear time in the number of provisional labels. Final region labels are sequential (starting at
+ * {@link #getMinLabel()}) and are assigned in the raster-scan order of each region's first pixel.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
  * (2022).
  * </p>
  *
  * @author WB
- * @version 2022/09/28 revised
+ * @version 2026/10/16
  */
 public class SequentialSegmentation extends BinaryRegionSegmentation {
 
-	private HashSet<LabelCollision> collisions;
+	private int[] parent;	// union-find parent of each provisional label
+	private int[] rank;		// union-find rank (upper bound of tree height) of each provisional label
 
 	/**
 	 * Constructor. Creates a new region segmentation from the specified image, which is not modified. The input image
@@ -58,7 +65,8 @@ public class SequentialSegmentation extends BinaryRegionSegmentation {
 
 	@Override
 	boolean applySegmentation(ByteProcessor ip) {
-		collisions = new HashSet<>();
+		parent = new int[64];
+		rank = new int[64];
 		int[] nh = null;
 		
 		// Step 1: assign initial labels:
@@ -68,13 +76,13 @@ public class SequentialSegmentation extends BinaryRegionSegmentation {
 					nh = getNeighborhood(nh, u, v);
 					int a = max(nh);
 					if (!isRegionLabel(a)) { // a = 0 or 1,  i.e., (u,v) is isolated and not connected to any labeled pixel
-						setLabel(u, v, getNextLabel()); // new region with a new label
+						setLabel(u, v, makeSet(getNextLabel())); // new region with a new label
 					}
 					else {					// at least one label in nh[] is an assigned label		
 						setLabel(u, v, a);	// connect to the existing region with the largest label among neighbors
 						for (int b : nh) {	// register label collisions between a and all b
 							if (isRegionLabel(b) && a != b) {
-								registerCollision(a, b);	// we know that a <= b
+								union(a, b);	// a and b belong to the same region
 							}
 						}
 					}
@@ -121,147 +129,96 @@ public class SequentialSegmentation extends BinaryRegionSegmentation {
 		return nMax;
 	}
 
-	private void registerCollision(int a, int b) {
-		if (a != b) {
-			LabelCollision c = (a < b) ? new LabelCollision(a, b) : new LabelCollision(b, a);
-			//if (!collisionMap.contains(c))	// not needed, add() does check for existing instance
-			collisions.add(c);
+	//---------------------------------------------------------------------------
+	// union-find (disjoint-set) operations on provisional labels
+	
+	private int makeSet(int label) {
+		if (label >= parent.length) {
+			int n = Math.max(2 * parent.length, label + 1);
+			parent = Arrays.copyOf(parent, n);
+			rank = Arrays.copyOf(rank, n);
+		}
+		parent[label] = label;
+		rank[label] = 0;
+		return label;
+	}
+	
+	private int find(int label) {
+		int root = label;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		// path compression:
+		while (parent[label] != root) {
+			int next = parent[label];
+			parent[label] = root;
+			label = next;
+		}
+		return root;
+	}
+	
+	private void union(int a, int b) {
+		int ra = find(a);
+		int rb = find(b);
+		if (ra == rb) {
+			return;		// a, b are already known to be equivalent
+		}
+		// union by rank, attach the smaller tree to the root of the larger tree:
+		if (rank[ra] < rank[rb]) {
+			parent[ra] = rb;
+		}
+		else if (rank[ra] > rank[rb]) {
+			parent[rb] = ra;
+		}
+		else {
+			parent[rb] = ra;
+			rank[ra]++;
 		}
 	}
 	
 	//---------------------------------------------------------------------------
 
 	/**
-	 * This is the core of the algorithm: The set of collisions (stored in map) is used to merge connected regions.
-	 * Transitivity of collisions makes this a nontrivial task. The algorithm used here is a basic "Connected-Components
-	 * Algorithm" as used for finding connected parts in undirected graphs (e.g. see Corman, Leiserson, Rivest:
-	 * "Introduction to Algorithms", MIT Press, 1995, p. 441). Here, the regions represent the nodes of the graph and
-	 * the collisions are equivalent to the edges of the graph. The implementation is not particularly efficient, since
-	 * the merging of sets is done by relabeling the entire replacement table for each pair of nodes. Still fast enough
-	 * even for large and complex images.
+	 * Creates the replacement table which maps every provisional label to its final region label. All labels of the
+	 * same union-find set receive the same label. Final labels are contiguous, starting at {@link #getMinLabel()}, and
+	 * are assigned in the order of each set's smallest provisional label (i.e., in raster-scan order of the regions'
+	 * first pixels). Labels below {@link #getMinLabel()} are not modified.
 	 *
 	 * @return replacement table
 	 */
 	private int[] resolveCollisions() {
-		final int N = getMaxLabel() + 1;
-		// R[k] is the index of the set in which element k is contained:
-		int[] R = new int[N];
-
-		// Initially, each element i is in its own (one-element) set:
+		final int N = Math.max(getMaxLabel() + 1, getMinLabel());
+		final int[] table = new int[N];
+		final int[] rootLabel = new int[N];		// new label assigned to each set (root), 0 = none yet
+		int newLabel = getMinLabel();
 		for (int i = 0; i < N; i++) {
-			R[i] = i;
-		}
-
-		// Inspect all collisions <a,b> one by one (note that a < b):
-		for (LabelCollision c : collisions) {
-			int A = R[c.a];	// set Ra contains label a
-			int B = R[c.b]; 	// set Rb contains label b
-			// Merge sets Ra and Rb (unless they are the same) by
-			// moving all elements of set Rb into set Ra:
-			if (A != B) {	// a,b are in different sets
-				for (int i = 0; i < N; i++) {
-					if (R[i] == B) {
-						R[i] = A;
-					}
-				}
-			}
-			// otherwise a,b are already in the same set (i.e., known to be equivalent)
-		}
-		
-		cleanup(R);
-		return R;
-	}
-
-	private void cleanup(int[] table) {
-		if (table.length <= getMinLabel()) {	// case of empty image, nothing to clean
-			//return table; 
-			return; 
-		}
-		// Assume the replacement table looks the following:
-		// table = [0 1 4 4 4 6 6 8 3 3 ]
-		//     i =  0 1 2 3 4 5 6 7 8 9
-		// meaning that label 2 should be replaced by 4 etc.
-		
-		// First, we figure out which of the original labels
-		// are still used. For this we use an intermediate array "mark":
-		int[] mark = new int[table.length];	// initialized to 0
-		for (int i = 0; i < table.length; i++) {
-			int k = table[i];
-			if (k < 0 || k >= table.length) {
-				throw new RuntimeException("illegal segmentation label: " + k);
+			if (i < getMinLabel()) {
+				table[i] = i;	// keep labels 0,..., minLabel-1
 			}
-			mark[k] = 1;	// mark label k as being used
-		}
-		// Result:
-		// mark = [1 1 0 1 1 0 1 0 1 0 ]
-		//    i =  0 1 2 3 4 5 6 7 8 9
-		
-		// Now we assign new, contiguous labels in mark array:
-		int newLabel = getMinLabel();
-		for (int i = 0; i < getMinLabel(); i++) {
-			mark[i] = i;	// keep labels 0,..., minLabel-1
-		}
-		for (int i = getMinLabel(); i < table.length; i++) {
-			if (mark[i] > 0) {	// this one's marked
-				mark[i] = newLabel;
-				newLabel = newLabel + 1;
+			else {
+				int r = find(i);
+				if (rootLabel[r] == 0) {
+					rootLabel[r] = newLabel;
+					newLabel = newLabel + 1;
+				}
+				table[i] = rootLabel[r];
 			}
 		}
-		// Result:
-		// mark = [0 1 0 2 3 0 4 0 5 0 ]
-		//    i =  0 1 2 3 4 5 6 7 8 9
-		
-		// Update the actual replacement table to reflect the new labels:
-		for (int i = 0; i < table.length; i++) {
-			table[i] = mark[table[i]];
-		}
-        // table = [0 1 4 4 4 6 6 8 3 3 ]
-        //              |             |
-        //              V             V
-		// table = [0 1 3 3 3 4 4 5 2 2 ]
-		//     i =  0 1 2 3 4 5 6 7 8 9
-		
-		//return table;
+		parent = null;
+		rank = null;
+		return table;
 	}
 
-	// Replace image labels in labelArray
+	// Replace image labels in labelArray, collect region statistics
 	private void relabelImage(int[] replacementTable){
 		for (int v = 0; v < height; v++) {
 			for (int u = 0; u < width; u++) {
 				int oldLb = getLabel(u, v);
-				setLabel(u, v, replacementTable[oldLb]);
-			}
-		}
-	}
-	
-	/**
-	 * This class represents a collision between two pixel labels a, b
-	 */
-	private class LabelCollision { 
-		private final int a, b;
-
-		LabelCollision(int a, int b) {
-			this.a = a;
-			this.b = b;
-		}
-
-		@Override
-		public int hashCode() {
-			return (17 + a) * 37 + b;	
-		}
-
-		@Override
-		public boolean equals(Object other) {
-			if (other instanceof LabelCollision) {
-				LabelCollision coll = (LabelCollision) other;
-				return (this.a == coll.a && this.b == coll.b);
-			} 
-			else {
-				return false;
+				if (isRegionLabel(oldLb)) {
+					setRegionLabel(u, v, replacementTable[oldLb]);
+				}
 			}
 		}
 	}
 
 }
-
-
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.sift;
+
+import imagingbook.common.math.VectorNorm.NormType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * <p>
+ * A forest of k-d trees over a fixed set of integer feature vectors, used for finding the two nearest neighbors of a
+ * query vector (see {@link SiftMatcher}). Supports two kinds of search:
+ * </p>
+ * <ul>
+ * <li>Exact search (see {@link #findExact(int[])}): depth-first search in the first tree, pruned with the incremental
+ * distance bound of Arya and Mount [1]. The result is the same as with brute-force search.</li>
+ * <li>Approximate search (see {@link #findApproximate(int[], int)}): best-bin-first search [2] in all trees
+ * simultaneously, using a single priority queue, stopped after a given number of feature vectors have been checked.
+ * The trees are randomized by selecting the split dimension at random among the dimensions of highest variance
+ * [3].</li>
+ * </ul>
+ * <p>
+ * Distances are calculated with the specified norm type ({@link NormType}). Results are returned as instances of
+ * {@link Neighbors}. Instances of this class are immutable and searches may be performed concurrently.
+ * </p>
+ * <p>
+ * [1] S. Arya, D. M. Mount. Algorithms for fast vector quantization. Data Compression Conference, 381–390 (1993).<br>
+ * [2] J. S. Beis, D. G. Lowe. Shape indexing using approximate nearest-neighbour search in high-dimensional spaces.
+ * CVPR, 1000–1006 (1997).<br>
+ * [3] C. Silpa-Anan, R. Hartley. Optimised KD-trees for fast image descriptor matching. CVPR (2008).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+class KdForest {
+
+	private static final int LeafSize = 8;			// max. number of vectors in a leaf
+	private static final int VarianceSamples = 128;	// max. number of vectors used for estimating variances
+	private static final int RandomDims = 5;		// number of high-variance dimensions to choose from (randomized trees)
+	private static final long RandomSeed = 17;
+
+	private final NormType normType;
+	private final int n;			// number of vectors
+	private final int dim;			// vector length
+	private final int[] data;		// all vectors, vector i starts at i * dim
+	private final Tree[] trees;
+
+	/**
+	 * Constructor, creates a new k-d forest for the specified feature vectors. The first tree is not randomized (split
+	 * dimensions are chosen by max. variance), since it is also used for exact search.
+	 *
+	 * @param features the feature vectors (all of the same length)
+	 * @param nTrees the number of trees (at least 1)
+	 * @param normType the norm for measuring distances
+	 */
+	KdForest(List<int[]> features, int nTrees, NormType normType) {
+		this.normType = normType;
+		this.n = features.size();
+		this.dim = (n > 0) ? features.get(0).length : 0;
+		this.data = new int[n * dim];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(features.get(i), 0, data, i * dim, dim);
+		}
+		Random rnd = new Random(RandomSeed);
+		this.trees = new Tree[Math.max(1, nTrees)];
+		for (int t = 0; t < trees.length; t++) {
+			trees[t] = new Tree((t == 0) ? null : rnd);
+		}
+	}
+
+	/**
+	 * Holds the best two matches found for a query vector, with distances measured by the associated norm. If
+	 * multiple vectors have the same min. distance, the one with the lowest index is taken as the best match.
+	 */
+	static class Neighbors {
+		/** Index of the best matching vector (-1 if none) */
+		int index1 = -1;
+		/** Distance to the best matching vector */
+		double dist1 = Double.POSITIVE_INFINITY;
+		/** Distance to the second-best matching vector */
+		double dist2 = Double.POSITIVE_INFINITY;
+
+		private long rd1 = Long.MAX_VALUE;		// reduced distances (see reducedDistance())
+		private long rd2 = Long.MAX_VALUE;
+
+		private void add(int i, long rd) {
+			if (rd < rd1 || (rd == rd1 && i < index1)) {
+				rd2 = rd1;
+				rd1 = rd;
+				index1 = i;
+			}
+			else if (rd < rd2) {
+				rd2 = rd;
+			}
+		}
+	}
+
+	/**
+	 * Finds the two nearest neighbors of the query vector exactly.
+	 *
+	 * @param q the query vector
+	 * @return the two nearest neighbors
+	 */
+	Neighbors findExact(int[] q) {
+		Neighbors nb = new Neighbors();
+		if (n > 0) {
+			trees[0].searchExact(0, 0, new long[dim], q, nb);
+		}
+		return finish(nb);
+	}
+
+	/**
+	 * Finds the (approximate) two nearest neighbors of the query vector, checking no more than the specified number
+	 * of feature vectors (not counting the vectors in the first leaf of each tree).
+	 *
+	 * @param q the query vector
+	 * @param maxChecks max. number of feature vectors to be compared
+	 * @return the two (approximate) nearest neighbors
+	 */
+	Neighbors findApproximate(int[] q, int maxChecks) {
+		Neighbors nb = new Neighbors();
+		if (n > 0) {
+			BitSet checked = new BitSet(n);
+			PriorityQueue<Branch> queue = new PriorityQueue<>();
+			int checks = 0;
+			for (Tree tree : trees) {
+				checks += tree.descend(0, 0, null, q, nb, queue, checked);
+			}
+			while (checks < maxChecks && !queue.isEmpty()) {
+				Branch b = queue.poll();
+				if (b.bound > nb.rd2) {
+					break;	// no closer vectors to be expected
+				}
+				checks += b.tree.descend(b.node, b.bound, b.offsets, q, nb, queue, checked);
+			}
+		}
+		return finish(nb);
+	}
+
+	private Neighbors finish(Neighbors nb) {
+		nb.dist1 = toDistance(nb.rd1);
+		nb.dist2 = toDistance(nb.rd2);
+		return nb;
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	// monotonic function of the distance, calculated with integer arithmetic
+	private long reducedDistance(int i, int[] q) {
+		final int offset = i * dim;
+		long sum = 0;
+		switch (normType) {
+		case L1:
+			for (int k = 0; k < dim; k++) {
+				sum += Math.abs(data[offset + k] - q[k]);
+			}
+			return sum;
+		case L2:
+			for (int k = 0; k < dim; k++) {
+				final long d = data[offset + k] - q[k];
+				sum += d * d;
+			}
+			return sum;
+		default:	// Linf
+			for (int k = 0; k < dim; k++) {
+				sum = Math.max(sum, Math.abs(data[offset + k] - q[k]));
+			}
+			return sum;
+		}
+	}
+
+	private double toDistance(long rd) {
+		if (rd == Long.MAX_VALUE) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return (normType == NormType.L2) ? Math.sqrt(rd) : rd;
+	}
+
+	// contribution of a single coordinate difference to the reduced distance
+	private long reducedOffset(long diff) {
+		return (normType == NormType.L2) ? diff * diff : Math.abs(diff);
+	}
+
+	// reduced distance bound after replacing coordinate offset 'oldDiff' by 'newDiff' (|newDiff| >= |oldDiff|)
+	private long updateBound(long bound, long oldDiff, long newDiff) {
+		if (normType == NormType.Linf) {
+			return Math.max(bound, Math.abs(newDiff));
+		}
+		return bound - reducedOffset(oldDiff) + reducedOffset(newDiff);
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	// coordinate offset of a tree cell from the query vector in a single dimension, linked to the offsets set on the
+	// path further up (shared between branches, only the latest offset for a dimension is valid)
+	private static class Offset {
+		final int dim;
+		final long diff;
+		final Offset next;
+
+		Offset(int dim, long diff, Offset next) {
+			this.dim = dim;
+			this.diff = diff;
+			this.next = next;
+		}
+
+		// returns the current offset in dimension d (0 if not set)
+		static long get(Offset offsets, int d) {
+			for (Offset o = offsets; o != null; o = o.next) {
+				if (o.dim == d) {
+					return o.diff;
+				}
+			}
+			return 0;
+		}
+	}
+
+	// unexplored tree branch, ordered by its distance bound
+	private static class Branch implements Comparable<Branch> {
+		final Tree tree;
+		final int node;
+		final long bound;		// lower bound of the reduced distance to any vector in this branch
+		final Offset offsets;	// coordinate offsets of the branch's cell
+
+		Branch(Tree tree, int node, long bound, Offset offsets) {
+			this.tree = tree;
+			this.node = node;
+			this.bound = bound;
+			this.offsets = offsets;
+		}
+
+		@Override
+		public int compareTo(Branch other) {
+			return Long.compare(this.bound, other.bound);
+		}
+	}
+
+	/**
+	 * A single k-d tree. Node arrays are indexed by node number, the root node is 0. Inner nodes have a split
+	 * dimension (splitDim >= 0) and split value; vectors with values less than the split value are in the left subtree.
+	 * Leaf nodes (splitDim < 0) hold the vectors idx[left],...,idx[right - 1].
+	 */
+	private class Tree {
+		private final int[] idx;			// permutation of vector indexes
+		private final int[] splitDim, splitVal, left, right;
+
+		Tree(Random rnd) {
+			this.idx = new int[n];
+			for (int i = 0; i < n; i++) {
+				idx[i] = i;
+			}
+			final List<int[]> nodes = new ArrayList<>();	// {splitDim, splitVal, left, right}
+			if (n > 0) {
+				build(0, n, rnd, nodes);
+			}
+			final int m = nodes.size();
+			this.splitDim = new int[m];
+			this.splitVal = new int[m];
+			this.left = new int[m];
+			this.right = new int[m];
+			for (int k = 0; k < m; k++) {
+				int[] node = nodes.get(k);
+				splitDim[k] = node[0];
+				splitVal[k] = node[1];
+				left[k] = node[2];
+				right[k] = node[3];
+			}
+		}
+
+		// builds the subtree for idx[lo],...,idx[hi - 1] and returns its node number
+		private int build(int lo, int hi, Random rnd, List<int[]> nodes) {
+			final int k = nodes.size();
+			final int[] node = {-1, 0, lo, hi};	// leaf by default
+			nodes.add(node);
+			if (hi - lo <= LeafSize) {
+				return k;
+			}
+			// estimate mean and variance in each dimension from (up to) VarianceSamples vectors:
+			final int step = Math.max(1, (hi - lo) / VarianceSamples);
+			final double[] sum = new double[dim];
+			final double[] sum2 = new double[dim];
+			int cnt = 0;
+			for (int j = lo; j < hi; j += step) {
+				final int offset = idx[j] * dim;
+				for (int d = 0; d < dim; d++) {
+					final double a = data[offset + d];
+					sum[d] += a;
+					sum2[d] += a * a;
+				}
+				cnt++;
+			}
+			final int sd = selectDimension(sum, sum2, cnt, rnd);
+			final int sv = (int) Math.ceil(sum[sd] / cnt);	// split value (integer, vector values are integers)
+			// partition idx[lo..hi) into values < sv and >= sv:
+			int i = lo, j = hi - 1;
+			while (i <= j) {
+				if (data[idx[i] * dim + sd] < sv) {
+					i++;
+				}
+				else {
+					final int tmp = idx[i];
+					idx[i] = idx[j];
+					idx[j] = tmp;
+					j--;
+				}
+			}
+			if (i == lo || i == hi) {
+				return k;		// degenerate split, keep as leaf
+			}
+			node[0] = sd;
+			node[1] = sv;
+			node[2] = build(lo, i, rnd, nodes);
+			node[3] = build(i, hi, rnd, nodes);
+			return k;
+		}
+
+		// returns the dimension with max. variance or (if rnd != null) a random one of the RandomDims largest
+		private int selectDimension(double[] sum, double[] sum2, int cnt, Random rnd) {
+			final double[] var = new double[dim];
+			for (int d = 0; d < dim; d++) {
+				var[d] = sum2[d] - sum[d] * sum[d] / cnt;
+			}
+			final int m = (rnd == null) ? 1 : Math.min(RandomDims, dim);
+			final int[] top = new int[m];		// indexes of the m largest variances (descending)
+			int found = 0;
+			for (int d = 0; d < dim; d++) {
+				int pos = found;
+				while (pos > 0 && var[top[pos - 1]] < var[d]) {
+					pos--;
+				}
+				if (pos < m) {
+					final int last = Math.min(found, m - 1);
+					System.arraycopy(top, pos, top, pos + 1, last - pos);
+					top[pos] = d;
+					found = Math.min(found + 1, m);
+				}
+			}
+			return (rnd == null) ? top[0] : top[rnd.nextInt(found)];
+		}
+
+		// depth-first search with exact (incremental) distance bounds, off holds the current coordinate offsets
+		void searchExact(int node, long bound, long[] off, int[] q, Neighbors nb) {
+			final int sd = splitDim[node];
+			if (sd < 0) {
+				for (int j = left[node]; j < right[node]; j++) {
+					nb.add(idx[j], reducedDistance(idx[j], q));
+				}
+				return;
+			}
+			final long diff = q[sd] - splitVal[node];
+			final int near = (diff < 0) ? left[node] : right[node];
+			final int far  = (diff < 0) ? right[node] : left[node];
+			searchExact(near, bound, off, q, nb);
+			final long old = off[sd];
+			final long farBound = updateBound(bound, old, diff);
+			if (farBound <= nb.rd2) {
+				off[sd] = diff;
+				searchExact(far, farBound, off, q, nb);
+				off[sd] = old;
+			}
+		}
+
+		// descends to the nearest leaf, queuing the branches not taken (with incremental distance bounds as in
+		// searchExact()); returns the number of vectors checked
+		int descend(int node, long bound, Offset offsets, int[] q, Neighbors nb, PriorityQueue<Branch> queue,
+				BitSet checked) {
+			while (splitDim[node] >= 0) {
+				final int sd = splitDim[node];
+				final long diff = q[sd] - splitVal[node];
+				final int far = (diff < 0) ? right[node] : left[node];
+				final long farBound = updateBound(bound, Offset.get(offsets, sd), diff);
+				if (farBound <= nb.rd2) {
+					queue.add(new Branch(this, far, farBound, new Offset(sd, diff, offsets)));
+				}
+				node = (diff < 0) ? left[node] : right[node];
+			}
+			int checks = 0;
+			for (int j = left[node]; j < right[node]; j++) {
+				final int i = idx[j];
+				if (!checked.get(i)) {
+					checked.set(i);
+					nb.add(i, reducedDistance(i, q));
+					checks++;
+				}
+			}
+			return checks;
+		}
+	}
+
+}
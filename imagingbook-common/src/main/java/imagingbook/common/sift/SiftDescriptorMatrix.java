@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.sift;
+
+import imagingbook.common.math.VectorNorm.NormType;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The feature vectors of a list of {@link SiftDescriptor} instances, packed into a single contiguous {@code int[]}
+ * array (one row per descriptor). This is used by {@link SiftMatcher} for brute-force search
+ * ({@link SiftMatcher.SearchMode#Packed}). Distances are calculated with simple integer loops over consecutive array
+ * elements, which the JIT compiler can vectorize, and for the L2 norm only squared distances are calculated (no square
+ * roots).
+ * </p>
+ * <p>
+ * Packing requires that all feature vectors have the same length and that the squared L2 distance between any two
+ * vectors cannot overflow an {@code int} (see {@link #canPack(List)}). Under these conditions all distances are the
+ * same as those calculated with {@link imagingbook.common.math.VectorNorm} on the original feature vectors. This is
+ * always the case for feature vectors produced with the default {@link SiftParameters}.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+class SiftDescriptorMatrix {
+
+	private final int n;			// number of rows (descriptors)
+	private final int dim;			// row length (feature vector length)
+	private final int[] data;		// row i starts at i * dim
+
+	/**
+	 * Constructor, creates a new descriptor matrix.
+	 *
+	 * @param descriptors a list of SIFT descriptors (see {@link #canPack(List)})
+	 */
+	SiftDescriptorMatrix(List<SiftDescriptor> descriptors) {
+		if (!canPack(descriptors)) {
+			throw new IllegalArgumentException("feature vectors cannot be packed");
+		}
+		this.n = descriptors.size();
+		this.dim = (n > 0) ? descriptors.get(0).getFeatures().length : 0;
+		this.data = new int[n * dim];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(descriptors.get(i).getFeatures(), 0, data, i * dim, dim);
+		}
+	}
+
+	/**
+	 * Checks if the feature vectors of the specified descriptors can be packed into a {@link SiftDescriptorMatrix},
+	 * i.e., if all vectors have the same length and all squared L2 distances are less than {@link Integer#MAX_VALUE}.
+	 *
+	 * @param descriptors a list of SIFT descriptors
+	 * @return true if the descriptors can be packed
+	 */
+	static boolean canPack(List<SiftDescriptor> descriptors) {
+		if (descriptors.isEmpty()) {
+			return true;
+		}
+		final int dim = descriptors.get(0).getFeatures().length;
+		long fmin = 0, fmax = 0;
+		for (SiftDescriptor sd : descriptors) {
+			final int[] f = sd.getFeatures();
+			if (f.length != dim) {
+				return false;
+			}
+			for (int a : f) {
+				fmin = Math.min(fmin, a);
+				fmax = Math.max(fmax, a);
+			}
+		}
+		final long range = fmax - fmin;
+		return dim * range * range < Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the number of rows (descriptors) in this matrix.
+	 * @return the number of rows
+	 */
+	int size() {
+		return n;
+	}
+
+	/**
+	 * Finds the rows of this matrix with the smallest and second-smallest distance from the specified query vector.
+	 * If multiple rows have the same min. distance, the one with the lowest index is taken. The distances (squared for
+	 * {@link NormType#L2}) are stored in {@code dist[0]} and {@code dist[1]}, with {@link Integer#MAX_VALUE} meaning
+	 * that there is no such row. The query vector must have the same length as the rows of this matrix and satisfy the
+	 * conditions of {@link #canPack(List)} together with them.
+	 *
+	 * @param q the query vector
+	 * @param normType the distance norm
+	 * @param dist a 2-element array receiving the best and second-best distance
+	 * @return the index of the best matching row or -1 if this matrix is empty
+	 */
+	int findNearest(int[] q, NormType normType, int[] dist) {
+		int j1 = -1;				// index of the best matching row
+		int d1 = Integer.MAX_VALUE;	// best match distance
+		int d2 = Integer.MAX_VALUE;	// second-best match distance
+		for (int j = 0, offset = 0; j < n; j++, offset += dim) {
+			final int d;
+			switch (normType) {
+			case L1:	d = distanceL1(q, data, offset); break;
+			case L2:	d = distanceL2sq(q, data, offset); break;
+			default:	d = distanceLinf(q, data, offset);
+			}
+			if (d < d1) {
+				d2 = d1;
+				j1 = j;
+				d1 = d;
+			}
+			else if (d < d2) {
+				d2 = d;
+			}
+		}
+		dist[0] = d1;
+		dist[1] = d2;
+		return j1;
+	}
+
+	// distance kernels --------------------------------------------------------------------------
+
+	private static int distanceL1(int[] q, int[] b, int offset) {
+		int sum = 0;
+		for (int k = 0; k < q.length; k++) {
+			sum += Math.abs(q[k] - b[offset + k]);
+		}
+		return sum;
+	}
+
+	private static int distanceL2sq(int[] q, int[] b, int offset) {
+		int sum = 0;
+		for (int k = 0; k < q.length; k++) {
+			final int d = q[k] - b[offset + k];
+			sum += d * d;
+		}
+		return sum;
+	}
+
+	private static int distanceLinf(int[] q, int[] b, int offset) {
+		int dmax = 0;
+		for (int k = 0; k < q.length; k++) {
+			dmax = Math.max(dmax, Math.abs(q[k] - b[offset + k]));
+		}
+		return dmax;
+	}
+
+}
@@ -20,6 +20,9 @@ import imagingbook.common.sift.scalespace.ScaleLevel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static imagingbook.common.math.Arithmetic.mod;
 import static imagingbook.common.math.Arithmetic.sqr;
@@ -34,13 +37,18 @@ import static imagingbook.common.math.Arithmetic.sqr;
  * before SIFT detection starts. A large set of parameters can be specified (see {@link SiftParameters}).
  * </p>
  * <p>
+ * If {@link SiftParameters#parallel} is set, the scale space levels are filtered in parallel, extrema are detected
+ * concurrently for all scale levels and descriptors are created concurrently for all key points. Results are collected
+ * in a fixed order, i.e., the resulting list of descriptors is the same as with sequential processing.
+ * </p>
+ * <p>
  * [1] D. G. Lowe. Distinctive image features from scale-invariant keypoints. International Journal of Computer Vision
  * 60, 91–110 (2004). <br> [2] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic
  * Introduction</em>, 3rd ed, Springer (2022).
  * </p>
  *
  * @author WB
- * @version 2022/11/20
+ * @version 2026/10/16 added parallel processing
  * @see SiftParameters
  */
 public class SiftDetector {
@@ -92,7 +100,8 @@ public class SiftDetector {
 		this.nhSize = params.nhType.size;
 		if (!normalizeTo01(fp))
 			throw new IllegalArgumentException("could not normalize input image");
-		this.G = new GaussianScaleSpace(fp, params.P, params.Q, params.sigmaS, params.sigma0, -1, params.Q + 1);
+		this.G = new GaussianScaleSpace(fp, params.P, params.Q, params.sigmaS, params.sigma0, -1, params.Q + 1,
+				params.parallel);
 		this.D = new DogScaleSpace(G);
 	}
 	
@@ -120,13 +129,17 @@ public class SiftDetector {
 	 */
 	public List<SiftDescriptor> getSiftFeatures() {
 		List<KeyPoint> keyPoints = getKeyPoints();
+		Stream<KeyPoint> kpStream = params.parallel ? keyPoints.parallelStream() : keyPoints.stream();
+		// the (ordered) stream keeps descriptors in the order of key points and orientations:
+		return kpStream.flatMap(kp -> makeSiftDescriptors(kp).stream()).collect(Collectors.toList());
+	}
+	
+	private List<SiftDescriptor> makeSiftDescriptors(KeyPoint kp) {
 		List<SiftDescriptor> siftDescriptors = new ArrayList<SiftDescriptor>();
-		for (KeyPoint kp : keyPoints) {
-			for (double phi_d : getDominantOrientations(kp)) {
-				SiftDescriptor sd = makeSiftDescriptor(kp, phi_d);
-				if (sd != null) {
-					siftDescriptors.add(sd);
-				}
+		for (double phi_d : getDominantOrientations(kp)) {
+			SiftDescriptor sd = makeSiftDescriptor(kp, phi_d);
+			if (sd != null) {
+				siftDescriptors.add(sd);
 			}
 		}
 		return siftDescriptors;
@@ -220,21 +233,33 @@ public class SiftDetector {
 	}
 
 	private List<KeyPoint> getKeyPoints() {
-		List<KeyPoint> keyPts = new ArrayList<KeyPoint>();
 		final int P = params.P;
 		final int K = params.Q;
-		for (int p = 0; p <= P-1; p++) {	// for every octave p
-			for (int q = 0; q <= K-1; q++) {	// for every scale level q
-				List<KeyPoint> extrema = findExtrema(p, q);
-				for (KeyPoint e : extrema) {
-					KeyPoint c = refineKeyPosition(D, e);
-					if (c != null) {
-						keyPts.add(c);
-					}
-				}
+		// key points for every octave p and scale level q, at index p * K + q:
+		@SuppressWarnings("unchecked")
+		final List<KeyPoint>[] levelKeyPts = new List[P * K];
+		IntStream pqStream = IntStream.range(0, P * K);
+		(params.parallel ? pqStream.parallel() : pqStream).forEach(pq -> 
+			levelKeyPts[pq] = getKeyPoints(pq / K, pq % K));
+		
+		List<KeyPoint> keyPts = new ArrayList<KeyPoint>();
+		for (List<KeyPoint> kps : levelKeyPts) {	// collect in fixed (p, q) order
+			keyPts.addAll(kps);
+		}
+		Collections.sort(keyPts);	// always sort (by decreasing score), stable
+		return keyPts;
+	}
+	
+	// refined key points for octave p and scale level q
+	private List<KeyPoint> getKeyPoints(int p, int q) {
+		List<KeyPoint> keyPts = new ArrayList<KeyPoint>();
+		List<KeyPoint> extrema = findExtrema(p, q);
+		for (KeyPoint e : extrema) {
+			KeyPoint c = refineKeyPosition(D, e);
+			if (c != null) {
+				keyPts.add(c);
 			}
 		}
-		Collections.sort(keyPts);	// always sort (by decreasing score)
 		return keyPts;
 	}
 
@@ -13,39 +13,99 @@ import imagingbook.common.math.VectorNorm;
 import imagingbook.common.math.VectorNorm.NormType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * <p>
  * Instances of this class perform matching between SIFT features. See Secs. 25.5 of [1] for more details.
  * </p>
  * <p>
+ * The best and second-best matching features may be found by brute-force search ({@link SearchMode#BruteForce} or
+ * {@link SearchMode#Packed}) or with a k-d forest built over the feature vectors of the second descriptor set, either exactly
+ * ({@link SearchMode#Exact}, with the same results as brute-force search) or approximately
+ * ({@link SearchMode#Approximate}, checking a limited number of feature vectors per query). Queries are performed in
+ * parallel in all modes.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic Introduction</em>, 3rd ed, Springer
  * (2022).
  * </p>
  *
  * @author WB
- * @version 2022/11/20 removed inner Parameters class, changed constructor
+ * @version 2026/10/16 added k-d forest search modes, parallel queries
  */
 public class SiftMatcher {
 	
+	/**
+	 * Search modes for finding the best and second-best matching features.
+	 */
+	public enum SearchMode {
+		/** Compares each feature with all features of the other set. */
+		BruteForce,
+		/** Same as {@link #BruteForce} but using packed feature vectors and squared L2 distances (with identical
+		 * results). Falls back to {@link #BruteForce} if the feature vectors cannot be packed together. */
+		Packed,
+		/** Exact k-d tree search, same results as {@link #BruteForce} (mainly for validation, since with
+		 * high-dimensional feature vectors most of the tree is usually visited). */
+		Exact,
+		/** Approximate best-bin-first search in a forest of randomized k-d trees. */
+		Approximate
+	}
+	
 	public static final NormType DefaultNormType = NormType.L2;
 	public static final double DefaultRMax = 0.8;
+	public static final SearchMode DefaultSearchMode = SearchMode.BruteForce;
+	/** Default max. number of feature vectors checked per query (approximate search only). */
+	public static final int DefaultMaxChecks = 200;
+	/** Number of randomized k-d trees used for approximate search. */
+	public static final int ForestSize = 4;
 	
+	private final NormType normType;
 	private final VectorNorm norm;
 	private final double rMax;
+	private final SearchMode mode;
+	private final int maxChecks;
 
 	/**
 	 * Constructor using specific parameters.
 	 * 
 	 * @param normType the distance norm for comparing feature vectors
 	 * @param rMax the max. distance ratio between best and second-best match
+	 * @param mode the search mode
+	 * @param maxChecks the max. number of feature vectors checked per query (only used with
+	 * 		{@link SearchMode#Approximate})
 	 */
-	public SiftMatcher(NormType normType, double rMax) {
+	public SiftMatcher(NormType normType, double rMax, SearchMode mode, int maxChecks) {
+		this.normType = normType;
 		this.norm = normType.getInstance();
 		this.rMax = rMax;
+		this.mode = mode;
+		this.maxChecks = maxChecks;
+	}
+	
+	/**
+	 * Constructor using specific parameters and {@link #DefaultMaxChecks}.
+	 * 
+	 * @param normType the distance norm for comparing feature vectors
+	 * @param rMax the max. distance ratio between best and second-best match
+	 * @param mode the search mode
+	 */
+	public SiftMatcher(NormType normType, double rMax, SearchMode mode) {
+		this(normType, rMax, mode, DefaultMaxChecks);
+	}
+	
+	/**
+	 * Constructor using specific parameters and {@link #DefaultSearchMode}.
+	 * 
+	 * @param normType the distance norm for comparing feature vectors
+	 * @param rMax the max. distance ratio between best and second-best match
+	 */
+	public SiftMatcher(NormType normType, double rMax) {
+		this(normType, rMax, DefaultSearchMode);
 	}
 	
 	/**
@@ -68,33 +128,113 @@ public class SiftMatcher {
 	 * @return a (possibly empty) list of {@link SiftMatch} instances
 	 */
 	public List<SiftMatch> match(Collection<SiftDescriptor> setA, Collection<SiftDescriptor> setB) {
-		List<SiftMatch> matches = new ArrayList<SiftMatch>(setA.size());
-				
-		for (SiftDescriptor si : setA) {
-			SiftDescriptor s1 = null;				// best-matching feature
-			double d1 = Double.POSITIVE_INFINITY;	// best match distance
-			double d2 = Double.POSITIVE_INFINITY;	// second-best match distance
-			
-			for (SiftDescriptor sj : setB) {
-				double d = si.getDistance(sj, norm); // dist(si, sj);
-				if (d < d1) {	// new best match
-					d2 = d1;	// demote current best match to second-best (keep distance only)
-					s1 = sj;	// new best matching feature
-					d1 = d;		// new best match distance
-				}
-				else // not a new absolute min., but possible second-best
-					if (d < d2) { // new second-best distance
-						d2 = d;
-					}
+		final SiftDescriptor[] descA = setA.toArray(new SiftDescriptor[0]);
+		final SiftDescriptor[] descB = setB.toArray(new SiftDescriptor[0]);
+		
+		// queries are independent, results are collected in the order of setA:
+		final SiftMatch[] results = new SiftMatch[descA.length];
+		switch (mode) {
+		case Exact:
+		case Approximate:
+			final KdForest forest = makeForest(descB);
+			IntStream.range(0, descA.length).parallel().forEach(i -> 
+				results[i] = matchForest(descA[i], descB, forest));
+			break;
+		case Packed:
+			if (canPack(descA, descB)) {
+				final SiftDescriptorMatrix matB = new SiftDescriptorMatrix(Arrays.asList(descB));
+				IntStream.range(0, descA.length).parallel().forEach(i -> 
+					results[i] = matchPacked(descA[i], matB, descB));
+				break;
 			}
-			if (Double.isFinite(d2) && d2 > 0.001 && d1/d2 < this.rMax) {
-				SiftMatch m = new SiftMatch(si, s1, d1);
+			// otherwise fall through to brute-force search
+		default:
+			IntStream.range(0, descA.length).parallel().forEach(i -> 
+				results[i] = matchBruteForce(descA[i], descB));
+		}
+		
+		List<SiftMatch> matches = new ArrayList<SiftMatch>(setA.size());
+		for (SiftMatch m : results) {
+			if (m != null) {
 				matches.add(m);
 			}
 		}
-
 		Collections.sort(matches);  // sort matches by ascending descriptor distance
 		return matches;
 	}
+	
+	private SiftMatch matchBruteForce(SiftDescriptor si, SiftDescriptor[] descB) {
+		final boolean squared = (normType == NormType.L2);	// compare squared L2 distances (no square roots)
+		SiftDescriptor s1 = null;				// best-matching feature
+		double d1 = Double.POSITIVE_INFINITY;	// best match distance
+		double d2 = Double.POSITIVE_INFINITY;	// second-best match distance
+		
+		for (SiftDescriptor sj : descB) {
+			double d = squared ? 
+					norm.distance2(si.getFeatures(), sj.getFeatures()) : 
+					si.getDistance(sj, norm); // dist(si, sj);
+			if (d < d1) {	// new best match
+				d2 = d1;	// demote current best match to second-best (keep distance only)
+				s1 = sj;	// new best matching feature
+				d1 = d;		// new best match distance
+			}
+			else // not a new absolute min., but possible second-best
+				if (d < d2) { // new second-best distance
+					d2 = d;
+				}
+		}
+		if (squared) {
+			d1 = Math.sqrt(d1);
+			d2 = Math.sqrt(d2);
+		}
+		return makeMatch(si, s1, d1, d2);
+	}
+	
+	private SiftMatch matchPacked(SiftDescriptor si, SiftDescriptorMatrix matB, SiftDescriptor[] descB) {
+		int[] dist = new int[2];
+		int j1 = matB.findNearest(si.getFeatures(), normType, dist);
+		return (j1 < 0) ? null : makeMatch(si, descB[j1], toDistance(dist[0]), toDistance(dist[1]));
+	}
+	
+	// converts packed distances to actual distances (Integer.MAX_VALUE means undefined)
+	private double toDistance(int d) {
+		if (d == Integer.MAX_VALUE) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return (normType == NormType.L2) ? Math.sqrt(d) : d;
+	}
+	
+	// checks if both descriptor sets can be packed together
+	private boolean canPack(SiftDescriptor[] descA, SiftDescriptor[] descB) {
+		List<SiftDescriptor> all = new ArrayList<>(descA.length + descB.length);
+		all.addAll(Arrays.asList(descA));
+		all.addAll(Arrays.asList(descB));
+		return SiftDescriptorMatrix.canPack(all);
+	}
+	
+	private SiftMatch matchForest(SiftDescriptor si, SiftDescriptor[] descB, KdForest forest) {
+		KdForest.Neighbors nb = (mode == SearchMode.Exact) ?
+				forest.findExact(si.getFeatures()) :
+				forest.findApproximate(si.getFeatures(), maxChecks);
+		SiftDescriptor s1 = (nb.index1 < 0) ? null : descB[nb.index1];
+		return makeMatch(si, s1, nb.dist1, nb.dist2);
+	}
+	
+	// applies the distance ratio test, returns null if the match is not accepted
+	private SiftMatch makeMatch(SiftDescriptor si, SiftDescriptor s1, double d1, double d2) {
+		if (Double.isFinite(d2) && d2 > 0.001 && d1/d2 < this.rMax) {
+			return new SiftMatch(si, s1, d1);
+		}
+		return null;
+	}
+	
+	private KdForest makeForest(SiftDescriptor[] descB) {
+		List<int[]> features = new ArrayList<>(descB.length);
+		for (SiftDescriptor sd : descB) {
+			features.add(sd.getFeatures());
+		}
+		int nTrees = (mode == SearchMode.Exact) ? 1 : ForestSize;
+		return new KdForest(features, nTrees, normType);
+	}
 
 }
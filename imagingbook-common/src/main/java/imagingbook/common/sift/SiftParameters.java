@@ -96,6 +96,10 @@ public class SiftParameters implements ParameterBundle<SiftDetector> {
 	@DialogLabel("Descriptor display size factor (sDesc)")
 	public double sDesc = 10.0;
 	
+	/** Build scale space levels, detect extrema and create descriptors in parallel (same results). */
+	@DialogLabel("Parallel processing")
+	public boolean parallel = true;
+	
 //	/** Set true to sort detected keypoints by response magnitude. */
 //	@DialogLabel("Sort keypoints by score magnitude")
 //	public boolean sortKeyPoints = true;
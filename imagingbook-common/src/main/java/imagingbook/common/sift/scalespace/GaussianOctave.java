@@ -23,7 +23,7 @@ import static java.lang.Math.sqrt;
  * </p>
  *
  * @author WB
- * @version 2022/11/20
+ * @version 2026/10/16 added parallel filtering
  */
 public class GaussianOctave extends ScaleOctave<ScaleLevel> {
 	
@@ -35,8 +35,9 @@ public class GaussianOctave extends ScaleOctave<ScaleLevel> {
 	 * @param botIndex the bottom scale level index
 	 * @param topIndex the top scale level index
 	 * @param sigma_0 the scale at scale level with index 0
+	 * @param parallel set true to filter the scale levels in parallel
 	 */
-	GaussianOctave(int p, int Q, ScaleLevel Gbot, int botIndex, int topIndex, double sigma_0) {
+	GaussianOctave(int p, int Q, ScaleLevel Gbot, int botIndex, int topIndex, double sigma_0, boolean parallel) {
 		// initialize generic octave structures (no scale levels yet):
 		super(p, Q, Gbot.getWidth(), Gbot.getHeight(), botIndex, topIndex, sigma_0);
 		
@@ -54,7 +55,7 @@ public class GaussianOctave extends ScaleOctave<ScaleLevel> {
 			// duplicate the botton scale level with the new absolute scale:
 			ScaleLevel G_pq = new ScaleLevel(Gbot, sigmaA);
 			// filter the new scale level (destructively):
-			G_pq.filterGaussian(sigmaR);
+			G_pq.filterGaussian(sigmaR, parallel);
 			// insert the new scale level into this scale octave
 			this.setLevel(q, G_pq);
 		}
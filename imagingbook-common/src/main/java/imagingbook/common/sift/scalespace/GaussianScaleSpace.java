@@ -23,7 +23,7 @@ import static imagingbook.common.math.Arithmetic.sqr;
  * </p>
  *
  * @author WB
- * @version 2022/11/20
+ * @version 2026/10/16 added parallel filtering
  */
 public class GaussianScaleSpace extends HierarchicalScaleSpace<GaussianOctave> {
 
@@ -39,27 +39,45 @@ public class GaussianScaleSpace extends HierarchicalScaleSpace<GaussianOctave> {
 	 * @param topLevel the index of the to level in each octave
 	 */
 	public GaussianScaleSpace(FloatProcessor fp, int P, int Q, double sigma_s, double sigma_0, int botLevel, int topLevel) {
+		this(fp, P, Q, sigma_s, sigma_0, botLevel, topLevel, false);
+	}
+	
+	/**
+	 * Constructor, builds a {@link GaussianScaleSpace} from a {@link FloatProcessor}, optionally filtering the scale
+	 * levels in parallel. The resulting scale space is the same in both cases.
+	 * 
+	 * @param fp a {@link FloatProcessor}
+	 * @param P the number of scale space octaves
+	 * @param Q the number of scale steps (levels) per octave
+	 * @param sigma_s the assumed sampling scale (typ. 0.5)
+	 * @param sigma_0 the base scale of level 0 
+	 * @param botLevel the index of the bottom level in each octave
+	 * @param topLevel the index of the to level in each octave
+	 * @param parallel set true to filter scale levels in parallel
+	 */
+	public GaussianScaleSpace(FloatProcessor fp, int P, int Q, double sigma_s, double sigma_0, int botLevel, int topLevel,
+			boolean parallel) {
 		super(P, Q, sigma_s, sigma_0, botLevel, topLevel);	
-		build(fp);
+		build(fp, parallel);
 	}
 	
 	// -------------------------------------------------------------
 	
-	private final void build(FloatProcessor fp) {
+	private final void build(FloatProcessor fp, boolean parallel) {
 		double scaleA = getAbsoluteScale(0, botLevel) ;			// absolute scale of level(0,-1) = bottom
 		double scaleR = Math.sqrt(sqr(scaleA) - sqr(sigma_s));	// relative scale from sampling scale
 		
 		float[] data = ((float[])fp.getPixels()).clone();
 		ScaleLevel Ginit = new ScaleLevel(fp.getWidth(), fp.getHeight(), data, scaleR);
-		Ginit.filterGaussian(scaleR);
+		Ginit.filterGaussian(scaleR, parallel);
 		
 		// create the bottom octave
-		setOctave(0, new GaussianOctave(0, Q, Ginit, botLevel, topLevel, sigma_0));
+		setOctave(0, new GaussianOctave(0, Q, Ginit, botLevel, topLevel, sigma_0, parallel));
 		// build the remaining Q-1 octaves:
 		for (int p = 1; p < P; p++) {
 			// get the top level of the previous octave and decimate it:
 			ScaleLevel Gbase = getOctave(p-1).getLevel(Q-1).decimate();
-			setOctave(p, new GaussianOctave(p, Q, Gbase, botLevel, topLevel, sigma_0));
+			setOctave(p, new GaussianOctave(p, Q, Gbase, botLevel, topLevel, sigma_0, parallel));
 		}
 	}
 	
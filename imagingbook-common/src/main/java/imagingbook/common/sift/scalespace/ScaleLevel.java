@@ -192,8 +192,23 @@ public class ScaleLevel {
 	 * @param sigma the width of the Gaussian
 	 */
 	void filterGaussian(double sigma) {
+		filterGaussian(sigma, false);
+	}
+
+	/**
+	 * Applies a Gaussian filter to this scale level, which is modified. If {@code parallel} is set, image rows are
+	 * filtered concurrently (with the same result).
+	 *
+	 * @param sigma the width of the Gaussian
+	 * @param parallel set true to filter in parallel
+	 */
+	void filterGaussian(double sigma, boolean parallel) {
 		FloatProcessor fp = this.toFloatProcessor();
-		new GaussianFilterSeparable(sigma).applyTo(fp);
+		GaussianFilterSeparable filter = new GaussianFilterSeparable(sigma);
+		if (parallel) {
+			filter.setParallelism(0);	// use all available processors
+		}
+		filter.applyTo(fp);
 	}
 	
 	// ---------------------------------------
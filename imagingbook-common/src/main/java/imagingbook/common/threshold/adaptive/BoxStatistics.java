@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+
+package imagingbook.common.threshold.adaptive;
+
+import ij.process.ByteProcessor;
+import ij.process.FloatProcessor;
+import imagingbook.common.image.IntegralImage;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates the local mean and standard deviation over square (box-shaped) regions of size (2r+1) x (2r+1), with
+ * image borders extended by replicating the edge pixels. The block sums are taken from an {@link IntegralImage} of the
+ * padded image, i.e., the cost per pixel is independent of the region size. Results are identical to summing over
+ * each region explicitly. Used by {@link NiblackThresholder.Box} and {@link SauvolaThresholder}.
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+class BoxStatistics {
+
+	final FloatProcessor Imean;
+	final FloatProcessor Isigma;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param I the input image
+	 * @param radius the region radius r
+	 * @param parallel if true, image rows are processed in parallel
+	 */
+	BoxStatistics(ByteProcessor I, int radius, boolean parallel) {
+		final int W = I.getWidth();
+		final int H = I.getHeight();
+		final int d = 2 * radius;
+		final int n = (d + 1) * (d + 1);
+		final IntegralImage iI = new IntegralImage(makePaddedImage(I, radius));
+		final FloatProcessor mean = new FloatProcessor(W, H);
+		final FloatProcessor sigma = new FloatProcessor(W, H);
+		final float[] mp = (float[]) mean.getPixels();
+		final float[] sp = (float[]) sigma.getPixels();
+
+		IntStream rows = IntStream.range(0, H);
+		if (parallel) {
+			rows = rows.parallel();
+		}
+		rows.forEach(v -> {
+			for (int u = 0; u < W; u++) {
+				// region centered at (u, v) starts at (u, v) in the padded image
+				final long A = iI.getBlockSum1(u, v, u + d, v + d);	// sum of image values in support region
+				final long B = iI.getBlockSum2(u, v, u + d, v + d);	// sum of squared image values in support region
+				mp[v * W + u] = (float) A / n;
+				sp[v * W + u] = (float) Math.sqrt((B - (double) (A * A) / n) / n);
+			}
+		});
+		this.Imean = mean;
+		this.Isigma = sigma;
+	}
+
+	// returns a copy of I with borders of width r, filled by replicating the edge pixels
+	private static ByteProcessor makePaddedImage(ByteProcessor I, int r) {
+		final int W = I.getWidth();
+		final int H = I.getHeight();
+		final int Wp = W + 2 * r;
+		final byte[] src = (byte[]) I.getPixels();
+		final byte[] dst = new byte[Wp * (H + 2 * r)];
+		IntStream.range(0, H + 2 * r).parallel().forEach(vp -> {
+			final int v = Math.min(Math.max(vp - r, 0), H - 1);
+			final int offset = vp * Wp;
+			System.arraycopy(src, v * W, dst, offset + r, W);
+			Arrays.fill(dst, offset, offset + r, src[v * W]);
+			Arrays.fill(dst, offset + r + W, offset + Wp, src[v * W + W - 1]);
+		});
+		return new ByteProcessor(Wp, H + 2 * r, dst);
+	}
+
+}
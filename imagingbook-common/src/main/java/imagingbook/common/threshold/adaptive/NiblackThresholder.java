@@ -17,6 +17,8 @@ import imagingbook.common.filter.linear.GaussianFilterSeparable;
 import imagingbook.common.ij.DialogUtils.DialogLabel;
 import imagingbook.common.util.ParameterBundle;
 
+import java.util.stream.IntStream;
+
 /**
  * <p>
  * This is an implementation of the adaptive thresholder proposed by Niblack in [1]. See Sec. 9.2.2 of [2] for a
@@ -39,7 +41,7 @@ import imagingbook.common.util.ParameterBundle;
  * </p>
  *
  * @author WB
- * @version 2022/08/01
+ * @version 2026/10/16
  */
 public abstract class NiblackThresholder implements AdaptiveThresholder {
 	
@@ -57,9 +59,12 @@ public abstract class NiblackThresholder implements AdaptiveThresholder {
 		public double dMin = 5;
 		@DialogLabel("Background mode")
 		public BackgroundMode bgMode = BackgroundMode.DARK;
+		/** Process image rows in parallel */
+		@DialogLabel("Parallel processing")
+		public boolean parallel = true;
 	}
 	
-	private final Parameters params;
+	final Parameters params;
 	FloatProcessor Imean;
 	FloatProcessor Isigma;
 
@@ -84,7 +89,11 @@ public abstract class NiblackThresholder implements AdaptiveThresholder {
 		final float dMin = (float) params.dMin;
 		final boolean darkBg = (params.bgMode == BackgroundMode.DARK);
 		
-		for (int v = 0; v < H; v++) {
+		IntStream rows = IntStream.range(0, H);
+		if (params.parallel) {
+			rows = rows.parallel();
+		}
+		rows.forEach(v -> {
 			for (int u = 0; u < W; u++) {
 				float sigma = Isigma.getf(u, v);
 				float mu = Imean.getf(u, v);
@@ -94,7 +103,7 @@ public abstract class NiblackThresholder implements AdaptiveThresholder {
 				// if (q > 255) q = 255;
 				Q.setf(u, v, q);
 			}
-		}
+		});
 		return Q;
 	}
 	
@@ -125,6 +134,8 @@ public abstract class NiblackThresholder implements AdaptiveThresholder {
 	 * Implementation of Niblack's adaptive thresholder using a
 	 * rectangular (box-shaped) support region 
 	 * (concrete implementation of abstract class {@link NiblackThresholder}).
+	 * Local means and variances are calculated from an integral image,
+	 * i.e., the cost per pixel is independent of the region size.
 	 */
 	public static class Box extends NiblackThresholder {
 
@@ -145,42 +156,9 @@ public abstract class NiblackThresholder implements AdaptiveThresholder {
 
 		@Override
 		void makeMeanAndVariance(ByteProcessor I, int radius) {
-			final int W = I.getWidth();
-			final int H = I.getHeight();
-			this.Imean =  new FloatProcessor(W, H);
-			this.Isigma =  new FloatProcessor(W, H);
-			final int n = (radius + 1 + radius) * (radius + 1 + radius);
-
-			for (int v = 0; v < H; v++) {
-				for (int u = 0; u < W; u++) {
-					long A = 0;	// sum of image values in support region
-					long B = 0;	// sum of squared image values in support region
-					for (int j = -radius; j <= radius; j++) {
-						for (int i = -radius; i <= radius; i++) {
-							int p = getPaddedPixel(I, u + i, v + j); // this is slow!
-							A = A + p;
-							B = B + p * p;
-						}
-					}
-					Imean.setf(u, v, (float) A / n);
-					Isigma.setf(u, v, (float) Math.sqrt((B - (double) (A * A) / n) / n));
-				}
-			}
-		}
-		
-		// TODO: change to use an ImageAccessor!
-		private int getPaddedPixel(ByteProcessor bp, int u, int v) {
-			final int w = bp.getWidth();
-			final int h = bp.getHeight();
-			if (u < 0)
-				u = 0;
-			else if (u >= w)
-				u = w - 1;
-			if (v < 0)
-				v = 0;
-			else if (v >= h)
-				v = h - 1;
-			return bp.get(u, v);
+			BoxStatistics stats = new BoxStatistics(I, radius, params.parallel);
+			this.Imean = stats.Imean;
+			this.Isigma = stats.Isigma;
 		}
 		
 	}
@@ -16,9 +16,13 @@ import ij.process.FloatProcessor;
 import imagingbook.common.ij.DialogUtils;
 import imagingbook.common.util.ParameterBundle;
 
+import java.util.stream.IntStream;
+
 /**
  * <p>
- * This is an implementation of the adaptive thresholder proposed in [1]. See also Sec. 9.2 (Eq. 9.74) of [2].
+ * This is an implementation of the adaptive thresholder proposed in [1]. See also Sec. 9.2 (Eq. 9.74) of [2]. Local
+ * means and variances are calculated over a circular support region (using ImageJ's {@link RankFilters}) or,
+ * optionally, over a square region from an integral image, whose cost per pixel is independent of the region size.
  * </p>
  * <p>
  * [1] Adaptive thresholder as proposed in J. Sauvola and M. Pietikäinen, "Adaptive document image binarization",
@@ -27,7 +31,7 @@ import imagingbook.common.util.ParameterBundle;
  * </p>
  *
  * @author WB
- * @version 2022/08/01
+ * @version 2026/10/16
  */
 public class SauvolaThresholder implements AdaptiveThresholder {
 	
@@ -43,6 +47,12 @@ public class SauvolaThresholder implements AdaptiveThresholder {
 		public double sigmaMax = 128;
 		@DialogUtils.DialogLabel("Background mode")
 		public BackgroundMode bgMode = BackgroundMode.DARK;
+		/** Use a square (box-shaped) instead of a circular support region */
+		@DialogUtils.DialogLabel("Box-shaped support region")
+		public boolean box = false;
+		/** Process image rows in parallel */
+		@DialogUtils.DialogLabel("Parallel processing")
+		public boolean parallel = true;
 	}
 
 	private final Parameters params;
@@ -57,16 +67,22 @@ public class SauvolaThresholder implements AdaptiveThresholder {
 	
 	@Override
 	public FloatProcessor getThreshold(ByteProcessor I) {
-		FloatProcessor Imean = I.convertToFloatProcessor();
-		FloatProcessor Isigma = (FloatProcessor) Imean.duplicate();
-		
-		RankFilters rf = new RankFilters();
-		rf.rank(Imean, params.radius, RankFilters.MEAN);
-		// new ImagePlus("Imean", Imean). show();
-		
-		rf.rank(Isigma, params.radius, RankFilters.VARIANCE);
-		Isigma.sqrt();
-		// new ImagePlus("Isigma", Isigma). show();
+		final FloatProcessor Imean, Isigma;
+		if (params.box) {
+			BoxStatistics stats = new BoxStatistics(I, params.radius, params.parallel);
+			Imean = stats.Imean;
+			Isigma = stats.Isigma;
+		}
+		else {
+			Imean = I.convertToFloatProcessor();
+			Isigma = (FloatProcessor) Imean.duplicate();
+			RankFilters rf = new RankFilters();
+			rf.rank(Imean, params.radius, RankFilters.MEAN);
+			// new ImagePlus("Imean", Imean). show();
+			rf.rank(Isigma, params.radius, RankFilters.VARIANCE);
+			Isigma.sqrt();
+			// new ImagePlus("Isigma", Isigma). show();
+		}
 		
 		final int W = I.getWidth();
 		final int H = I.getHeight();
@@ -76,7 +92,11 @@ public class SauvolaThresholder implements AdaptiveThresholder {
 
 		FloatProcessor DIFF = new FloatProcessor(W, H);
 		FloatProcessor Q = new FloatProcessor(W, H);
-		for (int v = 0; v < H; v++) {
+		IntStream rows = IntStream.range(0, H);
+		if (params.parallel) {
+			rows = rows.parallel();
+		}
+		rows.forEach(v -> {
 			for (int u = 0; u < W; u++) {
 				final float sigmaR = Isigma.getf(u, v);
 				final float meanR = Imean.getf(u, v);
@@ -87,7 +107,7 @@ public class SauvolaThresholder implements AdaptiveThresholder {
 				// if (q > 255) q = 255;
 				Q.setf(u, v, q);
 			}
-		}
+		});
 
 		// new ImagePlus("DIFF", DIFF). show();
 		return Q;
@@ -96,6 +96,70 @@ public class BitVector64 implements BitVector {
 	}
 		
 	
+	// word-parallel (shifted) logical operations ---------------------------
+	
+	/**
+	 * Combines this bit vector with a shifted copy of the specified bit vector by a bit-wise OR operation, processing
+	 * 64 bits at a time. Element i of this bit vector is set to {@code this[i] | source[i - shift]}, where elements of
+	 * {@code source} outside its index range are taken as 0. Both bit vectors must be of the same length.
+	 *
+	 * @param source the bit vector to be combined with this bit vector (may be the same object)
+	 * @param shift the shift applied to the source elements (positive or negative)
+	 */
+	public void orShifted(BitVector64 source, int shift) {
+		checkLength(source);
+		final long[] src = (source == this) ? data.clone() : source.data;
+		final int q = Math.floorDiv(shift, WL);		// word shift
+		final int r = Math.floorMod(shift, WL);		// bit shift (0,...,63)
+		for (int j = 0; j < data.length; j++) {
+			data[j] = data[j] | getShiftedWord(src, j, q, r, false);
+		}
+	}
+	
+	/**
+	 * Combines this bit vector with a shifted copy of the specified bit vector by a bit-wise AND operation, processing
+	 * 64 bits at a time. Element i of this bit vector is set to {@code this[i] & source[i - shift]}, where elements of
+	 * {@code source} outside its index range are taken as 1. Both bit vectors must be of the same length.
+	 *
+	 * @param source the bit vector to be combined with this bit vector (may be the same object)
+	 * @param shift the shift applied to the source elements (positive or negative)
+	 */
+	public void andShifted(BitVector64 source, int shift) {
+		checkLength(source);
+		final long[] src = (source == this) ? data.clone() : source.data;
+		final int q = Math.floorDiv(shift, WL);
+		final int r = Math.floorMod(shift, WL);
+		for (int j = 0; j < data.length; j++) {
+			data[j] = data[j] & getShiftedWord(src, j, q, r, true);
+		}
+	}
+	
+	private void checkLength(BitVector64 other) {
+		if (other.length != this.length) {
+			throw new IllegalArgumentException("bit vectors must be of same length: " + other.length + " vs. " + this.length);
+		}
+	}
+	
+	// returns word j of the source data shifted by (q * WL + r) bits, i.e., bit i of the result is bit (i - shift)
+	// of the source, or 'fill' if (i - shift) is outside the index range
+	private long getShiftedWord(long[] src, int j, int q, int r, boolean fill) {
+		final long w0 = getWord(src, j - q, fill);
+		return (r == 0) ? w0 : (w0 << r) | (getWord(src, j - q - 1, fill) >>> (WL - r));
+	}
+	
+	// returns source word j, with bits outside the index range set to 'fill'
+	private long getWord(long[] src, int j, boolean fill) {
+		final long fillWord = fill ? ~0L : 0L;
+		if (j < 0 || j >= src.length) {
+			return fillWord;
+		}
+		if (j < src.length - 1 || length % WL == 0) {
+			return src[j];
+		}
+		final long validMask = (1L << (length % WL)) - 1;		// valid bits of the last word
+		return (src[j] & validMask) | (fillWord & ~validMask);
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder buf = new StringBuilder();
@@ -73,5 +73,27 @@ public class KuwaharaFilterTest {
 		assertTrue(ipB instanceof ColorProcessor);
 		assertTrue(ImageTestUtils.match(ipA, ipB, TOL));
 	}
+	
+	// -----------------------------------------------------------------------
+	
+	@Test
+	public void testColorScalarParallel() {
+		ImageProcessor ipA = clown.duplicate();
+		GenericFilter filter = new KuwaharaFilterScalar(params);
+		filter.setParallelism(4);
+		filter.applyTo(ipA, OBS);
+		ImageProcessor ipB = FilterTestImage.ClownKuwaharaScalar.getImagePlus().getProcessor();
+		assertTrue(ImageTestUtils.match(ipA, ipB, TOL));
+	}
+	
+	@Test
+	public void testColorVectorParallel() {
+		ImageProcessor ipA = clown.duplicate();
+		GenericFilter filter = new KuwaharaFilterVector(params);
+		filter.setParallelism(4);
+		filter.applyTo(ipA, OBS);
+		ImageProcessor ipB = FilterTestImage.ClownKuwaharaVector.getImagePlus().getProcessor();
+		assertTrue(ImageTestUtils.match(ipA, ipB, TOL));
+	}
 
 }
@@ -13,7 +13,9 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
 import ij.process.ImageProcessor;
+import imagingbook.common.filter.generic.GenericFilterScalar;
 import imagingbook.common.image.OutOfBoundsStrategy;
+import imagingbook.common.image.PixelPack.PixelSlice;
 import imagingbook.core.resource.ImageResource;
 import imagingbook.testimages.FilterTestImage;
 import imagingbook.testutils.ImageTestUtils;
@@ -77,5 +79,51 @@ public class LinearFilterTest {
 		new LinearFilter(new Kernel2D(H)).applyTo(ipAf, OBS);
 		assertTrue(ImageTestUtils.match(ipAf, ipB, 1E-6));
 	}
+	
+	@Test
+	public void testLinearFilterInteriorPath() {
+		// asymmetric kernel with off-center hot spot
+		float[][] H = {
+				{1, 2, 0, -1, 3},
+				{0, 5, 2,  1, 1},
+				{2, -3, 1, 4, 0}};
+		Kernel2D kernel = new Kernel2D(H, 1, 2, false);
+		OutOfBoundsStrategy[] strategies = {
+				OutOfBoundsStrategy.DefaultValue, OutOfBoundsStrategy.NearestBorder, 
+				OutOfBoundsStrategy.MirrorImage, OutOfBoundsStrategy.PeriodicImage};
+		for (OutOfBoundsStrategy obs : strategies) {
+			ImageProcessor ipA = res2A.getImagePlus().getProcessor().convertToFloatProcessor();
+			ImageProcessor ipB = ipA.duplicate();
+			new LinearFilter(kernel).applyTo(ipA, obs);
+			// same filter without fast path (all pixels checked)
+			new LinearFilter(kernel) {
+				@Override
+				protected int getSupportRadius() {
+					return -1;
+				}
+			}.applyTo(ipB, obs);
+			assertTrue(ImageTestUtils.match(ipA, ipB, 0));
+		}
+	}
+	
+	@Test
+	public void testLinearFilterInteriorDefault() {
+		// filter with a support radius but without its own doPixelInterior() method
+		final LinearFilter lf = new LinearFilter(new Kernel2D(H2));
+		ImageProcessor ipA = res2A.getImagePlus().getProcessor().convertToFloatProcessor();
+		ImageProcessor ipB = ipA.duplicate();
+		lf.applyTo(ipA, OBS);
+		new GenericFilterScalar() {
+			@Override
+			protected float doPixel(PixelSlice plane, int u, int v) {
+				return lf.doPixel(plane, u, v);
+			}
+			@Override
+			protected int getSupportRadius() {
+				return 1;
+			}
+		}.applyTo(ipB, OBS);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 0));
+	}
 
 }
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.filter.nonlinear;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.ByteProcessor;
+import ij.process.FloatProcessor;
+import ij.process.ImageProcessor;
+import ij.process.ShortProcessor;
+import imagingbook.common.image.OutOfBoundsStrategy;
+import imagingbook.common.image.PixelPack;
+import imagingbook.core.resource.ImageResource;
+import imagingbook.testimages.FilterTestImage;
+import imagingbook.testutils.ImageTestUtils;
+
+public class ScalarMedianFilterHistogramTest {
+
+	private static final OutOfBoundsStrategy[] STRATEGIES = {
+			OutOfBoundsStrategy.DefaultValue, OutOfBoundsStrategy.NearestBorder, 
+			OutOfBoundsStrategy.MirrorImage, OutOfBoundsStrategy.PeriodicImage};
+	
+	private static final double[] RADII = {1.0, 2.5, 3.0, 7.0};
+	
+	ImageResource resA = FilterTestImage.Clown;
+	
+	@Test
+	public void testClown() {
+		ImageResource resB = FilterTestImage.ClownMedianScalar3;
+		
+		ImageProcessor ipA = resA.getImagePlus().getProcessor();
+		ImageProcessor ipB = resB.getImagePlus().getProcessor();
+		
+		ScalarMedianFilter.Parameters params = new ScalarMedianFilter.Parameters();
+		params.radius = 3.0;
+		
+		ScalarMedianFilter filter = new ScalarMedianFilterHistogram(params);
+		filter.applyTo(ipA, OutOfBoundsStrategy.NearestBorder);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 1E-6));
+	}
+	
+	@Test
+	public void testByteImage() {
+		Random rg = new Random(17);
+		ByteProcessor ip = new ByteProcessor(53, 41);
+		for (int i = 0; i < ip.getPixelCount(); i++) {
+			ip.set(i, rg.nextInt(256));
+		}
+		runTest(ip);
+	}
+	
+	@Test
+	public void testShortImage() {
+		Random rg = new Random(19);
+		ShortProcessor ip = new ShortProcessor(37, 48);
+		for (int i = 0; i < ip.getPixelCount(); i++) {
+			ip.set(i, rg.nextInt(65536));
+		}
+		runTest(ip);
+	}
+	
+	@Test
+	public void testFloatImage() {	// histogram method not applicable
+		Random rg = new Random(23);
+		FloatProcessor ip = new FloatProcessor(30, 25);
+		for (int i = 0; i < ip.getPixelCount(); i++) {
+			ip.setf(i, (float) rg.nextGaussian());
+		}
+		runTest(ip);
+	}
+	
+	@Test
+	public void testParallel() {
+		Random rg = new Random(29);
+		ByteProcessor ip = new ByteProcessor(64, 80);
+		for (int i = 0; i < ip.getPixelCount(); i++) {
+			ip.set(i, rg.nextInt(256));
+		}
+		ScalarMedianFilter.Parameters params = new ScalarMedianFilter.Parameters();
+		params.radius = 4.0;
+		ImageProcessor ipA = ip.duplicate();
+		ImageProcessor ipB = ip.duplicate();
+		new ScalarMedianFilter(params).applyTo(ipA);
+		ScalarMedianFilter filter = new ScalarMedianFilterHistogram(params);
+		filter.setParallelism(3);
+		filter.applyTo(ipB);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 0));
+	}
+	
+	@Test
+	public void testHistogramSize() {
+		assertEquals(256, ScalarMedianFilterHistogram.getHistogramSize(new PixelPack(new ByteProcessor(10, 10))));
+		ShortProcessor sp = new ShortProcessor(10, 10);
+		sp.set(3, 3, 256);
+		assertEquals(65536, ScalarMedianFilterHistogram.getHistogramSize(new PixelPack(sp)));
+		FloatProcessor fp = new FloatProcessor(10, 10);
+		fp.setf(3, 3, 0.5f);
+		assertEquals(0, ScalarMedianFilterHistogram.getHistogramSize(new PixelPack(fp)));
+		fp.setf(3, 3, -1);
+		assertEquals(0, ScalarMedianFilterHistogram.getHistogramSize(new PixelPack(fp)));
+	}
+	
+	// ------------------------------------------------------------------
+	
+	private void runTest(ImageProcessor ip) {
+		for (double radius : RADII) {
+			ScalarMedianFilter.Parameters params = new ScalarMedianFilter.Parameters();
+			params.radius = radius;
+			for (OutOfBoundsStrategy obs : STRATEGIES) {
+				ImageProcessor ipA = ip.duplicate();
+				ImageProcessor ipB = ip.duplicate();
+				new ScalarMedianFilter(params).applyTo(ipA, obs);
+				new ScalarMedianFilterHistogram(params).applyTo(ipB, obs);
+				assertTrue("failed for radius " + radius + ", " + obs, ImageTestUtils.match(ipA, ipB, 0));
+			}
+		}
+	}
+
+}
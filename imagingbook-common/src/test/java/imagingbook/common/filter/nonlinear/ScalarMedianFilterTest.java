@@ -37,5 +37,21 @@ public class ScalarMedianFilterTest {
 		filter.applyTo(ipA, OBS);
 		assertTrue(ImageTestUtils.match(ipA, ipB, 1E-6));
 	}
+	
+	@Test
+	public void testScalarMedianFilterParallel() {
+		ImageResource resB = FilterTestImage.ClownMedianScalar3;
+		
+		ImageProcessor ipA = resA.getImagePlus().getProcessor();
+		ImageProcessor ipB = resB.getImagePlus().getProcessor();
+		
+		ScalarMedianFilter.Parameters params = new ScalarMedianFilter.Parameters();
+		params.radius = 3.0;
+		
+		ScalarMedianFilter filter = new ScalarMedianFilter(params);
+		filter.setParallelism(4);
+		filter.applyTo(ipA, OBS);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 1E-6));
+	}
 
 }
@@ -39,5 +39,21 @@ public class VectorMedianFilterTest {
 		filter.applyTo(ipA, OBS);
 		assertTrue(ImageTestUtils.match(ipA, ipB, 1E-6));
 	}
+	
+	@Test
+	public void testVectorMedianFilterParallel() {
+		ImageResource resB = FilterTestImage.ClownMedianVector3L1;
+		ImageProcessor ipA = resA.getImagePlus().getProcessor();
+		ImageProcessor ipB = resB.getImagePlus().getProcessor();
+		
+		VectorMedianFilter.Parameters params = new VectorMedianFilter.Parameters();
+		params.radius = 3.0;
+		params.distanceNorm = NormType.L1;
+		
+		VectorMedianFilter filter = new VectorMedianFilter(params);
+		filter.setParallelism(4);
+		filter.applyTo(ipA, OBS);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 1E-6));
+	}
 
 }
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.hough;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.ByteProcessor;
+import ij.process.FloatProcessor;
+import imagingbook.common.geometry.basic.Pnt2d;
+import imagingbook.common.geometry.circle.GeometricCircle;
+
+public class HoughTransformCirclesTest {
+
+	private static final int W = 200, H = 150;
+
+	private static final GeometricCircle[] Circles = {
+			new GeometricCircle(60, 50, 25),
+			new GeometricCircle(140, 85, 40),
+			new GeometricCircle(45, 115, 18)
+	};
+
+	@Test
+	public void testDetection() {
+		ByteProcessor bp = new ByteProcessor(W, H);
+		FloatProcessor E_theta = new FloatProcessor(W, H);
+		makeImage(bp, E_theta, 300);
+		HoughTransformCircles.Parameters params = new HoughTransformCircles.Parameters();
+
+		checkCircles(new HoughTransformCircles(bp, params).getCircles(50, 5));
+		checkCircles(new HoughTransformCircles(bp, E_theta, params).getCircles(50, 5));
+	}
+
+	@Test
+	public void testParallel() {
+		ByteProcessor bp = new ByteProcessor(W, H);
+		FloatProcessor E_theta = new FloatProcessor(W, H);
+		makeImage(bp, E_theta, 500);
+		HoughTransformCircles.Parameters params = new HoughTransformCircles.Parameters();
+		params.parallel = true;
+		HoughCircle[] circles1 = new HoughTransformCircles(bp, E_theta, params).getCircles(10, 10);
+		params.parallel = false;
+		HoughCircle[] circles2 = new HoughTransformCircles(bp, E_theta, params).getCircles(10, 10);
+		assertEquals(circles1.length, circles2.length);
+		for (int i = 0; i < circles1.length; i++) {
+			assertEquals(circles1[i], circles2[i]);
+			assertEquals(circles1[i].getCount(), circles2[i].getCount());
+		}
+	}
+
+	@Test
+	public void testPoints() {
+		ByteProcessor bp = new ByteProcessor(W, H);
+		makeImage(bp, new FloatProcessor(W, H), 100);
+		List<Pnt2d> points = new ArrayList<>();
+		for (int v = 0; v < H; v++) {
+			for (int u = 0; u < W; u++) {
+				if (bp.get(u, v) != 0) {
+					points.add(Pnt2d.PntInt.from(u, v));
+				}
+			}
+		}
+		HoughTransformCircles.Parameters params = new HoughTransformCircles.Parameters();
+		HoughTransformCircles ht1 = new HoughTransformCircles(bp, params);
+		HoughTransformCircles ht2 = new HoughTransformCircles(points.toArray(new Pnt2d[0]), W, H, params);
+		assertEquals(points.size(), ht2.getPointCount());
+		HoughCircle[] circles1 = ht1.getCircles(50, 5);
+		HoughCircle[] circles2 = ht2.getCircles(50, 5);
+		assertEquals(circles1.length, circles2.length);
+		for (int i = 0; i < circles1.length; i++) {
+			assertEquals(circles1[i], circles2[i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRadius() {
+		HoughTransformCircles.Parameters params = new HoughTransformCircles.Parameters();
+		params.rMin = 20;
+		params.rMax = 10;
+		new HoughTransformCircles(new ByteProcessor(W, H), params);
+	}
+
+	// ---------------------------------------------------------------
+
+	private void checkCircles(HoughCircle[] detected) {
+		assertEquals(Circles.length, detected.length);
+		for (GeometricCircle gc : Circles) {
+			boolean found = false;
+			for (HoughCircle hc : detected) {
+				found = found || hc.equals(gc, 1.0, 1.0, 1.0);
+			}
+			assertTrue("circle not found: " + gc, found);
+		}
+		for (int i = 1; i < detected.length; i++) {
+			assertTrue(detected[i - 1].getCount() >= detected[i].getCount());
+		}
+	}
+
+	// draws the circles and random noise points, with the associated edge orientations
+	private void makeImage(ByteProcessor bp, FloatProcessor E_theta, int noisePoints) {
+		for (GeometricCircle gc : Circles) {
+			int m = (int) Math.ceil(4 * Math.PI * gc.r);
+			for (int j = 0; j < m; j++) {
+				double phi = 2 * Math.PI * j / m;
+				int u = (int) Math.round(gc.xc + gc.r * Math.cos(phi));
+				int v = (int) Math.round(gc.yc + gc.r * Math.sin(phi));
+				bp.set(u, v, 255);
+				E_theta.setf(u, v, (float) Math.atan2(v - gc.yc, u - gc.xc));
+			}
+		}
+		Random rg = new Random(11);
+		for (int i = 0; i < noisePoints; i++) {
+			int u = rg.nextInt(W);
+			int v = rg.nextInt(H);
+			bp.set(u, v, 255);
+			E_theta.setf(u, v, (float) (2 * Math.PI * rg.nextDouble()));
+		}
+	}
+
+}
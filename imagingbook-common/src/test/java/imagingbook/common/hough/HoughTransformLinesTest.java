@@ -10,10 +10,14 @@ package imagingbook.common.hough;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
 
 import org.junit.Test;
 
 import ij.process.ByteProcessor;
+import ij.process.FloatProcessor;
 import ij.process.ImageProcessor;
 import imagingbook.core.resource.ImageResource;
 import imagingbook.sampleimages.GeneralSampleImage;
@@ -43,5 +47,70 @@ public class HoughTransformLinesTest {
 		assertEquals(188, lines[3].getCount());
 		assertEquals(128, lines[4].getCount());
 	}
+	
+	@Test
+	public void testParallel() {
+		ByteProcessor bp = (ByteProcessor) resource.getImagePlus().getProcessor();
+		HoughTransformLines.Parameters params = new HoughTransformLines.Parameters();
+		params.parallel = false;
+		float[][] acc1 = new HoughTransformLines(bp, params).getAccumulator();
+		params.parallel = true;
+		float[][] acc2 = new HoughTransformLines(bp, params).getAccumulator();
+		for (int i = 0; i < acc1.length; i++) {
+			assertArrayEquals(acc1[i], acc2[i], 0);
+		}
+	}
+	
+	@Test
+	public void testOrientationGuided() {
+		// synthetic image with a single line of slope 1/2 and some noise points
+		int width = 200, height = 150;
+		ByteProcessor bp = new ByteProcessor(width, height);
+		FloatProcessor E_theta = new FloatProcessor(width, height);
+		float theta = (float) Math.atan2(-2, 1);	// normal direction of the line (pointing upwards)
+		for (int u = 10; u < 190; u++) {
+			bp.set(u, 20 + u / 2, 255);
+			E_theta.setf(u, 20 + u / 2, theta);
+		}
+		Random rg = new Random(17);
+		for (int i = 0; i < 100; i++) {
+			int u = rg.nextInt(width);
+			int v = rg.nextInt(height);
+			bp.set(u, v, 255);
+			E_theta.setf(u, v, (float) (2 * Math.PI * rg.nextDouble()));
+		}
+		
+		HoughTransformLines.Parameters params = new HoughTransformLines.Parameters();
+		HoughTransformLines ht1 = new HoughTransformLines(bp, params);
+		HoughTransformLines ht2 = new HoughTransformLines(bp, E_theta, params);
+		HoughLine line1 = ht1.getLines(50, 1)[0];
+		HoughLine line2 = ht2.getLines(50, 1)[0];
+		assertEquals(line1.getAngle(), line2.getAngle(), 1e-9);
+		assertEquals(line1.getRadius(), line2.getRadius(), 1e-9);
+		assertEquals(line1.getCount(), line2.getCount(), 5);
+		
+		// the accumulator of orientation-guided voting is much sparser
+		assertTrue(countNonZero(ht2.getAccumulator()) < countNonZero(ht1.getAccumulator()) / 5);
+		
+		// with the max. angular tolerance, all angles are voted for
+		params.angTolerance = Math.PI;
+		float[][] acc1 = ht1.getAccumulator();
+		float[][] acc3 = new HoughTransformLines(bp, E_theta, params).getAccumulator();
+		for (int i = 0; i < acc1.length; i++) {
+			assertArrayEquals(acc1[i], acc3[i], 0);
+		}
+	}
+	
+	private static int countNonZero(float[][] acc) {
+		int n = 0;
+		for (float[] col : acc) {
+			for (float a : col) {
+				if (a != 0) {
+					n++;
+				}
+			}
+		}
+		return n;
+	}
 
 }
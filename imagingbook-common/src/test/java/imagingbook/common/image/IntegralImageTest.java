@@ -11,14 +11,19 @@ package imagingbook.common.image;
 import static imagingbook.common.math.Arithmetic.sqr;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
 
 import org.junit.Test;
 
 import ij.process.ByteProcessor;
+import ij.process.ColorProcessor;
+import ij.process.FloatProcessor;
+import ij.process.ShortProcessor;
 import imagingbook.core.resource.ImageResource;
 import imagingbook.sampleimages.GeneralSampleImage;
 
-// TODO: Complete tests!
 public class IntegralImageTest {
 	
 	private static ImageResource ir = GeneralSampleImage.Boats;
@@ -53,9 +58,9 @@ public class IntegralImageTest {
 				assertEquals(iim.getBlockSum1(0, 0, u, v), iim.getBlockSum1(-10, -99, u, v));
 				assertEquals(iim.getBlockSum2(0, 0, u, v), iim.getBlockSum2(-10, -99, u, v));
 				
-				// TODO: index problem, check!
-//				assertEquals(iim.getBlockSum1(u, v, width + 33, height + 17), iim.getBlockSum1(u, v, width - 1, height - 1));
-//				assertEquals(iim.getBlockSum2(u, v, width + 33, height + 17), iim.getBlockSum2(u, v, width - 1, height - 1));
+				// rectangles are clipped to the image bounds
+				assertEquals(iim.getBlockSum1(u, v, width - 1, height - 1), iim.getBlockSum1(u, v, width + 33, height + 17));
+				assertEquals(iim.getBlockSum2(u, v, width - 1, height - 1), iim.getBlockSum2(u, v, width + 33, height + 17));
 
 			}
 		}
@@ -71,6 +76,98 @@ public class IntegralImageTest {
 		assertEquals(38818717, iim.getBlockSum2(10, 7, 66, 41));
 		
 	}
-	
+
+	@Test
+	public void testMeanVariance() {
+		ByteProcessor bp = (ByteProcessor) ir.getImagePlus().getProcessor();
+		IntegralImage iim = new IntegralImage(bp);
+		checkMeanVariance(bp, iim, 10, 7, 66, 41);
+		checkMeanVariance(bp, iim, 0, 0, 0, 0);
+		checkMeanVariance(bp, iim, 0, 0, bp.getWidth() - 1, bp.getHeight() - 1);
+		assertEquals(57 * 35, iim.getSize(10, 7, 66, 41));
+		assertEquals(0, iim.getSize(10, 7, 9, 41));
+		assertEquals(bp.getWidth() * 3, iim.getSize(-5, -2, bp.getWidth() + 5, 2));
+	}
+
+	@Test
+	public void testFloatShort() {
+		Random rg = new Random(11);
+		int width = 37, height = 23;
+		FloatProcessor fp = new FloatProcessor(width, height);
+		ShortProcessor sp = new ShortProcessor(width, height);
+		for (int u = 0; u < width; u++) {
+			for (int v = 0; v < height; v++) {
+				fp.setf(u, v, (float) rg.nextGaussian());
+				sp.set(u, v, rg.nextInt(65536));
+			}
+		}
+		IntegralImage iimF = new IntegralImage(fp);
+		IntegralImage iimA = new IntegralImage(fp.getFloatArray());
+		IntegralImage iimS = new IntegralImage(sp);
+		for (int ua = 0; ua < width; ua += 3) {
+			for (int va = 0; va < height; va += 2) {
+				int ub = ua + rg.nextInt(width - ua);
+				int vb = va + rg.nextInt(height - va);
+				double s1f = 0, s2f = 0, s1s = 0, s2s = 0;
+				for (int u = ua; u <= ub; u++) {
+					for (int v = va; v <= vb; v++) {
+						double a = fp.getf(u, v);
+						s1f += a;
+						s2f += a * a;
+						double b = sp.get(u, v);
+						s1s += b;
+						s2s += b * b;
+					}
+				}
+				assertEquals(s1f, iimF.getSum1(ua, va, ub, vb), 1e-9);
+				assertEquals(s2f, iimF.getSum2(ua, va, ub, vb), 1e-9);
+				assertEquals(s1f, iimA.getSum1(ua, va, ub, vb), 1e-9);
+				assertEquals(s1s, iimS.getSum1(ua, va, ub, vb), 0);
+				assertEquals(s2s, iimS.getSum2(ua, va, ub, vb), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testShortExact() {
+		// sum of squares exceeds 2^53, i.e., cannot be represented exactly as a double
+		int width = 1500, height = 1500;
+		ShortProcessor sp = new ShortProcessor(width, height);
+		sp.setValue(65535);
+		sp.fill();
+		sp.set(width - 1, height - 1, 65533);
+		IntegralImage iim = new IntegralImage(sp);
+		long n = (long) width * height;
+		long s1 = n * 65535 - 2;
+		long s2 = n * 65535 * 65535 - (65535L * 65535 - 65533L * 65533);
+		assertTrue(s2 > (1L << 53));
+		assertEquals(s1, iim.getBlockSum1(0, 0, width - 1, height - 1));
+		assertEquals(s2, iim.getBlockSum2(0, 0, width - 1, height - 1));
+		assertEquals(s2, iim.getS2()[width - 1][height - 1]);
+		assertEquals(65533L * 65533, iim.getBlockSum2(width - 1, height - 1, width - 1, height - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testColor() {
+		new IntegralImage(new ColorProcessor(10, 10));
+	}
+
+	// ---------------------------------------------------------------
+
+	private void checkMeanVariance(ByteProcessor bp, IntegralImage iim, int ua, int va, int ub, int vb) {
+		int n = 0;
+		double s1 = 0, s2 = 0;
+		for (int u = ua; u <= ub; u++) {
+			for (int v = va; v <= vb; v++) {
+				double a = bp.get(u, v);
+				s1 += a;
+				s2 += a * a;
+				n++;
+			}
+		}
+		double mean = s1 / n;
+		assertEquals(mean, iim.getMean(ua, va, ub, vb), 1e-9);
+		assertEquals(s2 / n - mean * mean, iim.getVariance(ua, va, ub, vb), 1e-6);
+	}
 
 }
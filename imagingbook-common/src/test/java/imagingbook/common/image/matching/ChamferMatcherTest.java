@@ -10,11 +10,17 @@ package imagingbook.common.image.matching;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import ij.process.ByteProcessor;
+import imagingbook.common.geometry.basic.Pnt2d.PntInt;
 import imagingbook.common.ij.IjUtils;
+import imagingbook.common.image.matching.ChamferMatcher.Match;
 import imagingbook.testimages.BinaryTestImage;
 
 public class ChamferMatcherTest {
@@ -85,5 +91,66 @@ public class ChamferMatcherTest {
 		assertEquals(664.33527f, Q[0][NI - NR], TOL);
 		assertEquals(356.92395f, Q[MI - MR][NI - NR], TOL);
 	}
+	
+	@Test
+	public void testBestMatches() {
+		for (DistanceTransform.DistanceType norm : DistanceTransform.DistanceType.values()) {
+			ChamferMatcher matcher = new ChamferMatcher(I, norm);
+			ByteProcessor R = IjUtils.crop(I, 23, 20, 14, 16);
+			float[][] Q = matcher.getMatch(R);
+			
+			int k = 25;
+			Match[] matches = matcher.getBestMatches(R, k);
+			assertEquals(k, matches.length);
+			assertEquals(23, matches[0].getR());
+			assertEquals(20, matches[0].getS());
+			
+			// the k-th best score must not be exceeded by more than k-1 entries of Q:
+			float qk = matches[k - 1].getScore();
+			int better = 0;
+			for (int r = 0; r < Q.length; r++) {
+				for (int s = 0; s < Q[r].length; s++) {
+					if (Q[r][s] < qk) {
+						better++;
+					}
+				}
+			}
+			assertTrue(better < k);
+			
+			for (int i = 0; i < k; i++) {
+				Match m = matches[i];
+				assertEquals(Q[m.getR()][m.getS()], m.getScore(), 0);
+				if (i > 0) {
+					assertTrue(matches[i - 1].getScore() <= m.getScore());
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testBestMatchesPyramid() {
+		ChamferMatcher matcher = new ChamferMatcher(I, DistanceTransform.DistanceType.L2Exact);
+		ByteProcessor R = IjUtils.crop(I, 23, 20, 14, 16);
+		float[][] Q = matcher.getMatch(R);
+		
+		PntInt[] pR = collectPoints(R);
+		Match[] matches = matcher.getBestMatches(pR, R.getWidth(), R.getHeight(), 5, 2);
+		assertEquals(5, matches.length);
+		for (Match m : matches) {	// scores refer to the original resolution
+			assertEquals(Q[m.getR()][m.getS()], m.getScore(), 0);
+		}
+	}
+	
+	private static PntInt[] collectPoints(ByteProcessor R) {
+		List<PntInt> points = new ArrayList<>();
+		for (int v = 0; v < R.getHeight(); v++) {
+			for (int u = 0; u < R.getWidth(); u++) {
+				if (R.get(u, v) != 0) {
+					points.add(PntInt.from(u, v));
+				}
+			}
+		}
+		return points.toArray(new PntInt[0]);
+	}
 
 }
@@ -8,6 +8,9 @@
  ******************************************************************************/
 package imagingbook.common.image.matching;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
 import org.junit.Test;
 
 import ij.process.ByteProcessor;
@@ -76,4 +79,42 @@ public class DistanceTransformTest {
 		NumericTestUtils.assert2dArrayEquals(distL2, dmap, 1e-3);
 	}
 	
+	@Test
+	public void testL2Exact() {
+		ImageProcessor ip = new ByteProcessor(W, H, pixels);
+		DistanceTransform dt = new DistanceTransform(ip, DistanceTransform.DistanceType.L2Exact, true);
+		float[] dist = dt.getDistances();
+		int[] nearest = dt.getNearestIndices();
+		for (int v = 0; v < H; v++) {
+			for (int u = 0; u < W; u++) {
+				// brute-force distance to the closest foreground pixel:
+				double dmin = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < pixels.length; i++) {
+					if (pixels[i] != 0) {
+						dmin = Math.min(dmin, Math.hypot(i % W - u, i / W - v));
+					}
+				}
+				int k = nearest[v * W + u];
+				assertNotEquals(0, pixels[k]);
+				assertEquals(dmin, Math.hypot(k % W - u, k / W - v), 1e-6);
+				assertEquals(dmin, dist[v * W + u], 1e-6);
+				assertEquals(dmin, dt.getDistanceMap()[u][v], 1e-6);
+			}
+		}
+	}
+	
+	@Test
+	public void testL2ExactEmpty() {
+		ImageProcessor ip = new ByteProcessor(W, H);
+		DistanceTransform dt = new DistanceTransform(ip, DistanceTransform.DistanceType.L2Exact, true);
+		assertEquals(Float.POSITIVE_INFINITY, dt.getDistances()[0], 0);
+		assertEquals(-1, dt.getNearestIndices()[0]);
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testNearestNotAvailable() {
+		ImageProcessor ip = new ByteProcessor(W, H, pixels);
+		new DistanceTransform(ip, DistanceTransform.DistanceType.L2Exact).getNearestIndices();
+	}
+	
 }
@@ -46,6 +46,22 @@ public class BinaryThinningTest {
 		ByteProcessor bp2 = (ByteProcessor) BinaryTestImage.BinaryTestThinning.getImagePlus().getProcessor();
 		assertTrue(ImageTestUtils.match(bp2, bp));
 	}
-
+	
+	@Test
+	public void test3() {	// incremental thinning vs. repeated full iterations
+		ByteProcessor bp1 = (ByteProcessor) BinaryTestImage.Cat.getImagePlus().getProcessor();
+		ByteProcessor bp2 = (ByteProcessor) bp1.duplicate();
+		
+		BinaryThinning thin = new BinaryThinning();
+		thin.applyTo(bp1);
+		
+		int iterations = 0;
+		while (thin.thinOnce(bp2) > 0) {
+			iterations++;
+		}
+		
+		assertEquals(thin.getIterations(), iterations + 1);
+		assertTrue(ImageTestUtils.match(bp1, bp2));
+	}
 
 }
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.morphology;
+
+import static imagingbook.common.morphology.StructuringElements.reflect;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.Blitter;
+import ij.process.ByteProcessor;
+
+public class BitMorphologyTest {
+
+	// widths are not multiples of 64, except for 64 and 128
+	static int[] Widths = {1, 5, 31, 63, 64, 65, 100, 127, 128, 129, 200};
+
+	static byte[][] H3 = {		// asymmetric, hot spot not covered
+			{1, 1, 0},
+			{0, 0, 0},
+			{0, 0, 1},
+			{0, 1, 1}};
+
+	static byte[][] H4 = {		// single row with even length
+			{1, 0, 0, 1, 1, 0}};
+
+	@Test
+	public void testDilation() {
+		Random rg = new Random(11);
+		for (int width : Widths) {
+			for (byte[][] H : makeKernels(rg)) {
+				ByteProcessor bp = makeImage(rg, width, 1 + rg.nextInt(40));
+				ByteProcessor expected = (ByteProcessor) bp.duplicate();
+				dilateCopyBits(expected, H);
+				BitMorphology.copyToImage(BitMorphology.dilate(BitMorphology.toBitRows(bp), H), bp);
+				assertArrayEquals((byte[]) expected.getPixels(), (byte[]) bp.getPixels());
+			}
+		}
+	}
+
+	@Test
+	public void testErosion() {
+		Random rg = new Random(12);
+		for (int width : Widths) {
+			for (byte[][] H : makeKernels(rg)) {
+				ByteProcessor bp = makeImage(rg, width, 1 + rg.nextInt(40));
+				ByteProcessor expected = (ByteProcessor) bp.duplicate();
+				erodeCopyBits(expected, H);
+				BitMorphology.copyToImage(BitMorphology.erode(BitMorphology.toBitRows(bp), H), bp);
+				assertArrayEquals((byte[]) expected.getPixels(), (byte[]) bp.getPixels());
+			}
+		}
+	}
+
+	@Test
+	public void testOpeningClosing() {
+		Random rg = new Random(13);
+		for (int width : Widths) {
+			for (byte[][] H : new byte[][][] {TestKernels.H2, H3, H4}) {
+				assertFalse(new BinaryOpening(H).isDecomposable());
+				ByteProcessor bp = makeImage(rg, width, 1 + rg.nextInt(40));
+
+				ByteProcessor opened = (ByteProcessor) bp.duplicate();
+				new BinaryOpening(H).applyTo(opened);
+				ByteProcessor expected = (ByteProcessor) bp.duplicate();
+				erodeCopyBits(expected, H);
+				dilateCopyBits(expected, H);
+				assertArrayEquals((byte[]) expected.getPixels(), (byte[]) opened.getPixels());
+
+				ByteProcessor closed = (ByteProcessor) bp.duplicate();
+				new BinaryClosing(H).applyTo(closed);
+				expected = (ByteProcessor) bp.duplicate();
+				dilateCopyBits(expected, H);
+				erodeCopyBits(expected, H);
+				assertArrayEquals((byte[]) expected.getPixels(), (byte[]) closed.getPixels());
+			}
+		}
+	}
+
+	@Test
+	public void testIsBinary() {
+		ByteProcessor bp = new ByteProcessor(70, 3);
+		assertTrue(BitMorphology.isBinary(bp));
+		bp.set(69, 2, 255);
+		assertTrue(BitMorphology.isBinary(bp));
+		bp.set(0, 0, 1);
+		assertFalse(BitMorphology.isBinary(bp));
+	}
+
+	// ---------------------------------------------------------------------
+
+	// fixed asymmetric and non-decomposable kernels plus random kernels of various sizes
+	private static byte[][][] makeKernels(Random rg) {
+		byte[][][] kernels = new byte[6][][];
+		kernels[0] = TestKernels.H2;
+		kernels[1] = H3;
+		kernels[2] = H4;
+		for (int k = 3; k < kernels.length; k++) {
+			byte[][] H = new byte[1 + rg.nextInt(7)][1 + rg.nextInt(9)];
+			for (byte[] row : H) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] = (byte) (rg.nextInt(3) == 0 ? 1 : 0);
+				}
+			}
+			H[rg.nextInt(H.length)][rg.nextInt(H[0].length)] = 1;	// at least one element
+			kernels[k] = H;
+		}
+		return kernels;
+	}
+
+	// random binary image (0/255) with foreground pixels on all four borders
+	private static ByteProcessor makeImage(Random rg, int width, int height) {
+		ByteProcessor bp = new ByteProcessor(width, height);
+		double p = 0.1 + 0.8 * rg.nextDouble();
+		for (int v = 0; v < height; v++) {
+			for (int u = 0; u < width; u++) {
+				boolean border = u == 0 || v == 0 || u == width - 1 || v == height - 1;
+				if (rg.nextDouble() < (border ? 0.5 : p)) {
+					bp.set(u, v, 255);
+				}
+			}
+		}
+		bp.set(0, 0, 255);
+		bp.set(width - 1, height - 1, 255);
+		return bp;
+	}
+
+	// reference implementation of dilation, shifts and combines complete images with copyBits()
+	private static void dilateCopyBits(ByteProcessor bp, byte[][] H) {
+		combineCopyBits(bp, H, Blitter.MAX);
+	}
+
+	// reference implementation of erosion, pixels outside the image are taken as foreground
+	private static void erodeCopyBits(ByteProcessor bp, byte[][] H) {
+		combineCopyBits(bp, reflect(H), Blitter.MIN);
+	}
+
+	private static void combineCopyBits(ByteProcessor bp, byte[][] H, int mode) {
+		int xc = (H[0].length - 1) / 2;
+		int yc = (H.length - 1) / 2;
+		ByteProcessor tmp = (ByteProcessor) bp.createProcessor(bp.getWidth(), bp.getHeight());
+		if (mode == Blitter.MIN) {
+			tmp.setValue(255);
+			tmp.fill();
+		}
+		for (int j = 0; j < H.length; j++) {
+			for (int i = 0; i < H[j].length; i++) {
+				if (H[j][i] > 0) {
+					tmp.copyBits(bp, i - xc, j - yc, mode);
+				}
+			}
+		}
+		bp.copyBits(tmp, 0, 0, Blitter.COPY);
+	}
+
+}
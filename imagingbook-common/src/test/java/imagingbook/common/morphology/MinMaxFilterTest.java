@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.morphology;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.Blitter;
+import ij.process.ByteProcessor;
+
+public class MinMaxFilterTest {
+
+	@Test
+	public void testDecomposable() {
+		for (int r = 0; r < 12; r++) {
+			assertTrue(new BinaryDilation(StructuringElements.makeBoxKernel(r)).isDecomposable());
+			assertTrue(new BinaryDilation(StructuringElements.makeOctagonKernel(r)).isDecomposable());
+		}
+		assertFalse(new BinaryDilation(StructuringElements.makeDiskKernel(5)).isDecomposable());
+		assertFalse(new BinaryDilation(TestKernels.H2).isDecomposable());
+	}
+
+	@Test
+	public void testMaxBinary() {
+		for (int r = 0; r < 8; r++) {
+			checkMax(makeImage(61, 47, true, r), StructuringElements.makeBoxKernel(r));
+			checkMax(makeImage(61, 47, true, r), StructuringElements.makeOctagonKernel(r));
+			checkMax(makeImage(61, 47, true, r), StructuringElements.makeDiskKernel(r));
+		}
+		checkMax(makeImage(61, 47, true, 0), TestKernels.H2);
+	}
+
+	@Test
+	public void testMaxGray() {
+		for (int r = 0; r < 8; r++) {
+			checkMax(makeImage(33, 58, false, r), StructuringElements.makeBoxKernel(r));
+			checkMax(makeImage(33, 58, false, r), StructuringElements.makeOctagonKernel(r));
+			checkMax(makeImage(33, 58, false, r), StructuringElements.makeDiskKernel(r));
+		}
+		checkMax(makeImage(7, 5, false, 0), StructuringElements.makeOctagonKernel(9));	// kernel larger than image
+	}
+
+	@Test
+	public void testMin() {
+		for (int r = 0; r < 8; r++) {
+			byte[][] H = StructuringElements.makeOctagonKernel(r);
+			ByteProcessor bp1 = makeImage(40, 30, false, r);
+			ByteProcessor bp2 = (ByteProcessor) bp1.duplicate();
+			bp1.invert();
+			dilatePixelwise(bp1, H);
+			bp1.invert();
+			MinMaxFilter.min(bp2, H);
+			assertArrayEquals((byte[]) bp1.getPixels(), (byte[]) bp2.getPixels());
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void checkMax(ByteProcessor bp, byte[][] H) {
+		ByteProcessor bp2 = (ByteProcessor) bp.duplicate();
+		dilatePixelwise(bp, H);
+		MinMaxFilter.max(bp2, H);
+		assertArrayEquals((byte[]) bp.getPixels(), (byte[]) bp2.getPixels());
+	}
+
+	// original (pixel-wise) implementation of BinaryDilation
+	private void dilatePixelwise(ByteProcessor bp, byte[][] H) {
+		int xc = (H[0].length - 1) / 2;
+		int yc = (H.length - 1) / 2;
+		ByteProcessor tmp = (ByteProcessor) bp.createProcessor(bp.getWidth(), bp.getHeight());
+		for (int j = 0; j < H.length; j++) {
+			for (int i = 0; i < H[j].length; i++) {
+				if (H[j][i] > 0) {
+					tmp.copyBits(bp, i - xc, j - yc, Blitter.MAX);
+				}
+			}
+		}
+		bp.copyBits(tmp, 0, 0, Blitter.COPY);
+	}
+
+	private ByteProcessor makeImage(int width, int height, boolean binary, int seed) {
+		Random rg = new Random(seed);
+		ByteProcessor bp = new ByteProcessor(width, height);
+		for (int v = 0; v < height; v++) {
+			for (int u = 0; u < width; u++) {
+				if (rg.nextInt(5) == 0) {
+					bp.set(u, v, binary ? 255 : rg.nextInt(256));
+				}
+			}
+		}
+		return bp;
+	}
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.ransac;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import imagingbook.common.geometry.basic.Pnt2d;
+import imagingbook.common.geometry.basic.Primitive2d;
+import imagingbook.common.geometry.circle.GeometricCircle;
+import imagingbook.common.geometry.line.AlgebraicLine;
+
+public class PointGridTest {
+
+	@Test
+	public void testRandomPrimitives() {
+		Random rg = new Random(7);
+		Pnt2d[] points = makePoints(rg);
+		for (double cellSize : new double[] {1, 4, 7.5, 50}) {
+			PointGrid grid = new PointGrid(points, cellSize);
+			assertEquals(countNonNull(points), grid.size());
+			for (int k = 0; k < 50; k++) {
+				double maxDist = 0.5 + 3 * rg.nextDouble();
+				Primitive2d curve = (k % 2 == 0) ?
+						new GeometricCircle(300 * rg.nextDouble(), 200 * rg.nextDouble(), 5 + 100 * rg.nextDouble()) :
+						AlgebraicLine.from(makePoint(rg), makePoint(rg));
+				int[] expected = collectInliers(curve, points, maxDist);
+				assertArrayEquals(expected, grid.collectInliers(curve, points, maxDist));
+				assertEquals(expected.length, grid.countInliers(curve, points, maxDist, 0));
+				assertEquals(expected.length, grid.countInliers(curve, points, maxDist, expected.length));
+				assertTrue(grid.countInliers(curve, points, maxDist, expected.length + 1) <= expected.length);
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private Pnt2d[] makePoints(Random rg) {
+		List<Pnt2d> points = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			points.add((i % 10 == 0) ? null : makePoint(rg));
+		}
+		for (int i = 0; i < 500; i++) {	// points on a circle
+			double phi = 2 * Math.PI * rg.nextDouble();
+			points.add(Pnt2d.PntDouble.from(150 + 60 * Math.cos(phi), 100 + 60 * Math.sin(phi)));
+		}
+		return points.toArray(new Pnt2d[0]);
+	}
+
+	private Pnt2d makePoint(Random rg) {
+		return Pnt2d.PntInt.from(rg.nextInt(300) - 20, rg.nextInt(200) - 10);
+	}
+
+	private int[] collectInliers(Primitive2d curve, Pnt2d[] points, double maxDist) {
+		List<Integer> inliers = new ArrayList<>();
+		for (int i = 0; i < points.length; i++) {
+			if (points[i] != null && curve.getDistance(points[i]) < maxDist) {
+				inliers.add(i);
+			}
+		}
+		return inliers.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private int countNonNull(Pnt2d[] points) {
+		int n = 0;
+		for (Pnt2d p : points) {
+			if (p != null) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+}
@@ -9,12 +9,16 @@
 package imagingbook.common.ransac;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import ij.process.ByteProcessor;
+import imagingbook.common.geometry.basic.Pnt2d;
 import imagingbook.common.geometry.circle.GeometricCircle;
 import imagingbook.testimages.RansacTestImage;
 
@@ -43,5 +47,92 @@ public class RansacCircleDetectorTest {
 		assertEquals(181, circles.get(1).getScore(), TOL);
 		assertEquals(100, circles.get(2).getScore(), TOL);
 	}
+	
+	@Test
+	public void testParallelAdaptive() {
+		ByteProcessor bp = (ByteProcessor) RansacTestImage.NoisyCircles.getImagePlus().getProcessor();
+		
+		RansacCircleDetector.Parameters params = new RansacCircleDetector.Parameters();
+		params.randomPointDraws = 1000;
+		params.maxInlierDistance = 2.0;
+		params.minInlierCount = 70;
+		params.removeInliers = true;
+		params.randomSeed = 17;
+		params.parallel = true;
+		params.adaptive = true;
+		
+		int maxCount = 3;
+		
+		List<RansacResult<GeometricCircle>> circles1 = new RansacCircleDetector(params).detectAll(bp, maxCount);
+		List<RansacResult<GeometricCircle>> circles2 = new RansacCircleDetector(params).detectAll(bp, maxCount);
+		
+		// results must be reproducible for a given random seed
+		assertEquals(maxCount, circles1.size());
+		assertEquals(circles1.size(), circles2.size());
+		for (int i = 0; i < circles1.size(); i++) {
+			assertEquals(circles1.get(i).getScore(), circles2.get(i).getScore(), 0);
+			assertEquals(circles1.get(i).getPrimitiveFinal(), circles2.get(i).getPrimitiveFinal());
+			assertTrue(circles1.get(i).getScore() >= params.minInlierCount);
+		}
+	}
+
+	@Test
+	public void testAdaptiveDrawCount() {
+		// 200 points on a circle plus 50 random points, inlier ratio is 0.8
+		Random rnd = new Random(11);
+		Pnt2d[] points = new Pnt2d[250];
+		for (int i = 0; i < 200; i++) {
+			double phi = 2 * Math.PI * i / 200;
+			points[i] = Pnt2d.from(100 + 50 * Math.cos(phi), 100 + 50 * Math.sin(phi));
+		}
+		for (int i = 200; i < points.length; i++) {
+			points[i] = Pnt2d.from(200 * rnd.nextDouble(), 200 * rnd.nextDouble());
+		}
+		
+		RansacCircleDetector.Parameters params = new RansacCircleDetector.Parameters();
+		params.randomPointDraws = 1000;
+		params.maxInlierDistance = 2.0;
+		params.minInlierCount = 70;
+		params.randomSeed = 17;
+		
+		params.adaptive = false;
+		assertEquals(params.randomPointDraws, countDraws(params, points.clone()));
+		
+		params.adaptive = true;
+		int draws = countDraws(params, points.clone());
+		assertTrue(draws > 0);
+		assertTrue(draws < params.randomPointDraws);
+	}
+	
+	@Test
+	public void testAdaptiveTinyInlierRatio() {
+		RansacCircleDetector.Parameters params = new RansacCircleDetector.Parameters();
+		params.randomPointDraws = 1000;
+		params.adaptive = true;
+		RansacCircleDetector detector = new RansacCircleDetector(params);
+		
+		// probability of an all-inlier sample is far below 1e-16, search must not stop early
+		assertEquals(params.randomPointDraws, detector.getRequiredDraws(1, 1000000));
+		assertEquals(params.randomPointDraws, detector.getRequiredDraws(100, 10000000));
+		assertEquals(params.randomPointDraws, detector.getRequiredDraws(0, 1000));
+		
+		int required = detector.getRequiredDraws(800, 1000);
+		assertTrue(required > 0);
+		assertTrue(required < params.randomPointDraws);
+	}
+	
+	// counts the random draws performed in a single (sequential) detection step
+	private static int countDraws(RansacCircleDetector.Parameters params, Pnt2d[] points) {
+		final AtomicInteger count = new AtomicInteger();
+		RansacCircleDetector detector = new RansacCircleDetector(params) {
+			@Override
+			Pnt2d[] drawRandomPoints(Pnt2d[] pts, RandomDraw<Pnt2d> rd) {
+				count.incrementAndGet();
+				return super.drawRandomPoints(pts, rd);
+			}
+		};
+		assertTrue(detector.detectNext(points) != null);
+		return count.get();
+	}
 
 }
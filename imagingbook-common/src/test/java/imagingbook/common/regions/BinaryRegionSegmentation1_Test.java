@@ -53,6 +53,12 @@ public class BinaryRegionSegmentation1_Test {
 		run(new SequentialSegmentation(bp, N8), RegionCount_N8);
 	}
 	
+	@Test
+	public void testSegmentationParallel() {
+		run(new ParallelSegmentation(bp, N4), RegionCount_N4);
+		run(new ParallelSegmentation(bp, N8), RegionCount_N8);
+	}
+	
 	@Test
 	public void testSegmentationRegionContour() {
 		run(new RegionContourSegmentation(bp, N4), RegionCount_N4);
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.regions;
+
+import ij.process.ByteProcessor;
+import imagingbook.common.geometry.basic.NeighborhoodType2D;
+import imagingbook.testimages.BinaryTestImage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static imagingbook.common.geometry.basic.NeighborhoodType2D.N4;
+import static imagingbook.common.geometry.basic.NeighborhoodType2D.N8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link ParallelSegmentation} produces the same label image as {@link BreadthFirstSegmentation}, i.e.,
+ * sequential labels assigned in raster-scan order of each region's first pixel.
+ * 
+ * @author WB
+ */
+public class ParallelSegmentationTest {
+	
+	@Test
+	public void testTestImages() {
+		for (BinaryTestImage img : new BinaryTestImage[] {BinaryTestImage.SegmentationSmall, BinaryTestImage.SegmentationMed}) {
+			ByteProcessor bp = (ByteProcessor) img.getImagePlus().getProcessor();
+			runTest(bp, N4);
+			runTest(bp, N8);
+		}
+	}
+	
+	@Test
+	public void testRandomNoise() {
+		Random rg = new Random(17);
+		for (double p : new double[] {0.1, 0.5, 0.9}) {
+			ByteProcessor bp = new ByteProcessor(317, 211);
+			for (int i = 0; i < bp.getPixelCount(); i++) {
+				bp.set(i, (rg.nextDouble() < p) ? 255 : 0);
+			}
+			runTest(bp, N4);
+			runTest(bp, N8);
+		}
+	}
+	
+	@Test
+	public void testComb() {
+		// vertical bars spanning all strips, connected only at the bottom row
+		ByteProcessor bp = new ByteProcessor(101, 173);
+		for (int u = 0; u < bp.getWidth(); u += 2) {
+			for (int v = 0; v < bp.getHeight(); v++) {
+				bp.set(u, v, 255);
+			}
+		}
+		for (int u = 0; u < bp.getWidth(); u++) {
+			bp.set(u, bp.getHeight() - 1, 255);
+		}
+		runTest(bp, N4);
+		runTest(bp, N8);
+		assertEquals(1, new ParallelSegmentation(bp, N4).getRegions().size());
+	}
+	
+	@Test
+	public void testEmptyImage() {
+		ByteProcessor bp = new ByteProcessor(50, 30);
+		ParallelSegmentation seg = new ParallelSegmentation(bp, N8);
+		assertTrue(seg.isSegmented());
+		assertEquals(0, seg.getRegions().size());
+	}
+	
+	// ---------------------------------------------------------------
+
+	private void runTest(ByteProcessor bp, NeighborhoodType2D nh) {
+		RegionTestUtils.checkSegmentation(bp, new ParallelSegmentation(bp, nh));
+	}
+
+}
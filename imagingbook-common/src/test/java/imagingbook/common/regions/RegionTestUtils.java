@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.regions;
+
+import ij.process.ByteProcessor;
+import imagingbook.common.geometry.basic.Pnt2d;
+
+import java.awt.Rectangle;
+
+import static org.junit.Assert.assertEquals;
+
+public abstract class RegionTestUtils {
+	
+	/**
+	 * Checks that the given segmentation of image {@code bp} produces the same label image as
+	 * {@link BreadthFirstSegmentation} (with the same neighborhood type) and that the region statistics collected during
+	 * segmentation are correct.
+	 * 
+	 * @param bp the segmented binary image
+	 * @param seg the segmentation to be checked
+	 */
+	public static void checkSegmentation(ByteProcessor bp, BinaryRegionSegmentation seg) {
+		BinaryRegionSegmentation expected = new BreadthFirstSegmentation(bp, seg.NT);
+		assertEquals(expected.getRegions().size(), seg.getRegions().size());
+		for (int v = 0; v < bp.getHeight(); v++) {
+			for (int u = 0; u < bp.getWidth(); u++) {
+				assertEquals(expected.getLabel(u, v), seg.getLabel(u, v));
+			}
+		}
+		for (BinaryRegion r : seg.getRegions()) {
+			checkStatistics(r);
+		}
+	}
+	
+	/**
+	 * Checks the region statistics collected during segmentation against the region's pixels.
+	 * 
+	 * @param r the region to be checked
+	 */
+	public static void checkStatistics(BinaryRegion r) {
+		int n = 0;
+		long x1 = 0, y1 = 0, x2 = 0, y2 = 0, xy = 0;
+		int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = -1, bottom = -1;
+		for (Pnt2d p : r) {
+			int u = (int) p.getX();
+			int v = (int) p.getY();
+			n++;
+			x1 += u; y1 += v; x2 += u * u; y2 += v * v; xy += u * v;
+			left = Math.min(left, u); top = Math.min(top, v);
+			right = Math.max(right, u); bottom = Math.max(bottom, v);
+		}
+		assertEquals(n, r.getSize());
+		assertEquals(x1, r.getX1Sum());
+		assertEquals(y1, r.getY1Sum());
+		assertEquals(x2, r.getX2Sum());
+		assertEquals(y2, r.getY2Sum());
+		assertEquals(xy, r.getXYSum());
+		assertEquals(new Rectangle(left, top, right - left + 1, bottom - top + 1), r.getBoundingBox());
+	}
+
+}
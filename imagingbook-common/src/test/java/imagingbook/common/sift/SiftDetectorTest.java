@@ -8,6 +8,7 @@
  ******************************************************************************/
 package imagingbook.common.sift;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -125,6 +126,27 @@ public class SiftDetectorTest {
 	}
 	
 	
+	@Test
+	public void testParallel() {
+		ImageProcessor ip = GeneralSampleImage.MonasterySmall.getImagePlus().getProcessor();
+		SiftParameters params2 = new SiftParameters();
+		params2.parallel = true;
+		List<SiftDescriptor> features1 = new SiftDetector(ip.convertToFloatProcessor(), params2).getSiftFeatures();
+		params2.parallel = false;
+		List<SiftDescriptor> features2 = new SiftDetector(ip.convertToFloatProcessor(), params2).getSiftFeatures();
+		
+		assertEquals(features2.size(), features1.size());
+		for (int i = 0; i < features1.size(); i++) {
+			SiftDescriptor sd1 = features1.get(i);
+			SiftDescriptor sd2 = features2.get(i);
+			assertEquals(sd2.getX(), sd1.getX(), 0);
+			assertEquals(sd2.getY(), sd1.getY(), 0);
+			assertEquals(sd2.getScale(), sd1.getScale(), 0);
+			assertEquals(sd2.getOrientation(), sd1.getOrientation(), 0);
+			assertArrayEquals(sd2.getFeatures(), sd1.getFeatures());
+		}
+	}
+	
 	@Test(expected = IllegalArgumentException.class)
 	public void testSiftDetectorFlatImage() {
 		ByteProcessor bp = new ByteProcessor(50, 30);	// flat image
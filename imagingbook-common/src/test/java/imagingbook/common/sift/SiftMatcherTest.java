@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.sift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import imagingbook.common.math.VectorNorm.NormType;
+import imagingbook.common.sift.SiftMatcher.SearchMode;
+
+public class SiftMatcherTest {
+
+	private static final int Dim = 128;
+
+	@Test
+	public void testExact() {
+		Random rg = new Random(3);
+		List<SiftDescriptor> setB = makeDescriptors(rg, 600);
+		List<SiftDescriptor> setA = makeQueries(rg, setB);
+		for (NormType nt : NormType.values()) {
+			List<SiftMatch> expected = new SiftMatcher(nt, 0.8, SearchMode.BruteForce).match(setA, setB);
+			assertTrue(expected.size() > 100);
+			checkEqual(expected, new SiftMatcher(nt, 0.8, SearchMode.Exact).match(setA, setB));
+			// approximate search without a limit on the number of checks must be exact too:
+			checkEqual(expected, new SiftMatcher(nt, 0.8, SearchMode.Approximate, Integer.MAX_VALUE).match(setA, setB));
+		}
+	}
+
+	@Test
+	public void testApproximateUnlimited() {
+		// low-dimensional vectors, i.e., the same dimension is split many times on each tree path:
+		for (int seed = 0; seed < 5; seed++) {
+			Random rg = new Random(seed);
+			List<SiftDescriptor> setB = makeDescriptors(rg, 2000, 4);
+			List<SiftDescriptor> setA = makeDescriptors(rg, 500, 4);
+			for (NormType nt : NormType.values()) {
+				List<SiftMatch> expected = new SiftMatcher(nt, 0.95, SearchMode.BruteForce).match(setA, setB);
+				checkEqual(expected, new SiftMatcher(nt, 0.95, SearchMode.Exact).match(setA, setB));
+				checkEqual(expected, new SiftMatcher(nt, 0.95, SearchMode.Packed).match(setA, setB));
+				checkEqual(expected, new SiftMatcher(nt, 0.95, SearchMode.Approximate, Integer.MAX_VALUE).match(setA, setB));
+			}
+		}
+	}
+
+	@Test
+	public void testPacked() {
+		Random rg = new Random(4);
+		List<SiftDescriptor> setB = makeDescriptors(rg, 500);
+		List<SiftDescriptor> setA = makeQueries(rg, setB);
+		assertTrue(SiftDescriptorMatrix.canPack(setB));
+		for (NormType nt : NormType.values()) {
+			List<SiftMatch> expected = new SiftMatcher(nt, 0.8, SearchMode.BruteForce).match(setA, setB);
+			checkEqual(expected, new SiftMatcher(nt, 0.8, SearchMode.Packed).match(setA, setB));
+		}
+		// feature values too large for packing, falls back to brute-force search:
+		int[] features = setB.get(0).getFeatures().clone();
+		features[0] = 100000;
+		setB.add(new SiftDescriptor(0, 0, 1, 0, 1, 0, features));
+		assertFalse(SiftDescriptorMatrix.canPack(setB));
+		checkEqual(new SiftMatcher(NormType.L2, 0.8, SearchMode.BruteForce).match(setA, setB),
+				new SiftMatcher(NormType.L2, 0.8, SearchMode.Packed).match(setA, setB));
+	}
+
+	@Test
+	public void testApproximate() {
+		Random rg = new Random(5);
+		List<SiftDescriptor> setB = makeDescriptors(rg, 1000);
+		List<SiftDescriptor> setA = makeQueries(rg, setB);
+		List<SiftMatch> expected = new SiftMatcher().match(setA, setB);
+		List<SiftMatch> matches = new SiftMatcher(NormType.L2, 0.8, SearchMode.Approximate).match(setA, setB);
+		int agree = 0;
+		for (SiftMatch m : matches) {
+			for (SiftMatch e : expected) {
+				if (m.getDescriptor1() == e.getDescriptor1() && m.getDescriptor2() == e.getDescriptor2()) {
+					agree++;
+					break;
+				}
+			}
+		}
+		assertTrue("too few matches found: " + agree + "/" + expected.size(), agree >= 0.9 * expected.size());
+	}
+
+	@Test
+	public void testEmpty() {
+		Random rg = new Random(7);
+		List<SiftDescriptor> setA = makeDescriptors(rg, 10);
+		for (SearchMode mode : SearchMode.values()) {
+			SiftMatcher matcher = new SiftMatcher(NormType.L2, 0.8, mode);
+			assertEquals(0, matcher.match(setA, new ArrayList<>()).size());
+			assertEquals(0, matcher.match(setA, makeDescriptors(rg, 1)).size());
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void checkEqual(List<SiftMatch> expected, List<SiftMatch> matches) {
+		assertEquals(expected.size(), matches.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i).getDescriptor1(), matches.get(i).getDescriptor1());
+			assertSame(expected.get(i).getDescriptor2(), matches.get(i).getDescriptor2());
+			assertEquals(expected.get(i).getDistance(), matches.get(i).getDistance(), 0);
+		}
+	}
+
+	// random descriptors with sparse, clustered feature values (similar to real SIFT features)
+	private List<SiftDescriptor> makeDescriptors(Random rg, int n) {
+		return makeDescriptors(rg, n, Dim);
+	}
+
+	private List<SiftDescriptor> makeDescriptors(Random rg, int n, int dim) {
+		List<SiftDescriptor> descriptors = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			int[] features = new int[dim];
+			for (int k = 0; k < dim; k++) {
+				features[k] = (rg.nextInt(3) == 0) ? rg.nextInt(256) : rg.nextInt(16);
+			}
+			descriptors.add(new SiftDescriptor(rg.nextDouble() * 100, rg.nextDouble() * 100, 1, 0, 1, 0, features));
+		}
+		return descriptors;
+	}
+
+	// perturbed copies of some descriptors in setB, plus random descriptors
+	private List<SiftDescriptor> makeQueries(Random rg, List<SiftDescriptor> setB) {
+		List<SiftDescriptor> queries = makeDescriptors(rg, setB.size() / 4);
+		for (int i = 0; i < setB.size(); i += 2) {
+			int[] features = setB.get(i).getFeatures().clone();
+			for (int k = 0; k < Dim; k++) {
+				features[k] = Math.max(0, Math.min(255, features[k] + rg.nextInt(21) - 10));
+			}
+			queries.add(new SiftDescriptor(0, 0, 1, 0, 1, 0, features));
+		}
+		return queries;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.common.threshold.adaptive;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.ByteProcessor;
+
+public class BoxStatisticsTest {
+
+	@Test
+	public void testRandomImages() {
+		Random rg = new Random(13);
+		for (int radius : new int[] {0, 1, 2, 5, 15, 40}) {
+			ByteProcessor bp = new ByteProcessor(31 + rg.nextInt(40), 17 + rg.nextInt(40));
+			for (int v = 0; v < bp.getHeight(); v++) {
+				for (int u = 0; u < bp.getWidth(); u++) {
+					bp.set(u, v, rg.nextInt(256));
+				}
+			}
+			BoxStatistics stats1 = new BoxStatistics(bp, radius, false);
+			BoxStatistics stats2 = new BoxStatistics(bp, radius, true);
+			float[][] ms = makeMeanAndSigma(bp, radius);
+			assertArrayEquals(ms[0], (float[]) stats1.Imean.getPixels(), 0);
+			assertArrayEquals(ms[1], (float[]) stats1.Isigma.getPixels(), 0);
+			assertArrayEquals(ms[0], (float[]) stats2.Imean.getPixels(), 0);
+			assertArrayEquals(ms[1], (float[]) stats2.Isigma.getPixels(), 0);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	// original (brute-force) implementation of NiblackThresholder.Box
+	private float[][] makeMeanAndSigma(ByteProcessor I, int radius) {
+		final int W = I.getWidth();
+		final int H = I.getHeight();
+		final int n = (radius + 1 + radius) * (radius + 1 + radius);
+		float[] mean = new float[W * H];
+		float[] sigma = new float[W * H];
+		for (int v = 0; v < H; v++) {
+			for (int u = 0; u < W; u++) {
+				long A = 0;
+				long B = 0;
+				for (int j = -radius; j <= radius; j++) {
+					for (int i = -radius; i <= radius; i++) {
+						int p = I.get(Math.min(Math.max(u + i, 0), W - 1), Math.min(Math.max(v + j, 0), H - 1));
+						A = A + p;
+						B = B + p * p;
+					}
+				}
+				mean[v * W + u] = (float) A / n;
+				sigma[v * W + u] = (float) Math.sqrt((B - (double) (A * A) / n) / n);
+			}
+		}
+		return new float[][] {mean, sigma};
+	}
+
+}
@@ -53,6 +53,49 @@ public class BitVector64Test {
 		
 	}
 	
+	@Test
+	public void testShifted() {
+		for (int K : new int[] {1, 23, 64, 79, 128, 251, 6703}) {
+			byte[] ba = makerandomBits(K);
+			BitVector64 bv = new BitVector64(ba);
+			for (int shift : new int[] {0, 1, -1, 5, -17, 63, -64, 64, 65, -130, K - 1, 1 - K, K, -K, K + 3}) {
+				for (boolean fill : new boolean[] {false, true}) {
+					BitVector64 bv2 = new BitVector64(K);
+					byte[] expected = new byte[K];
+					if (fill) {
+						bv2.setAll();
+						bv2.andShifted(bv, shift);
+					}
+					else {
+						bv2.orShifted(bv, shift);
+					}
+					for (int i = 0; i < K; i++) {
+						int i2 = i - shift;
+						expected[i] = (i2 >= 0 && i2 < K) ? ba[i2] : (byte) (fill ? 1 : 0);
+					}
+					assertArrayEquals("K=" + K + " shift=" + shift, expected, bv2.toByteArray());
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testShiftedSelf() {
+		int K = 251;
+		byte[] ba = makerandomBits(K);
+		BitVector64 bv = new BitVector64(ba);
+		bv.orShifted(bv, 3);
+		for (int i = 0; i < K; i++) {
+			boolean expected = ba[i] != 0 || (i >= 3 && ba[i - 3] != 0);
+			assertEquals(expected, bv.get(i));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testShiftedLengthMismatch() {
+		new BitVector64(10).orShifted(new BitVector64(11), 0);
+	}
+	
 	private byte[] makerandomBits(int n) {
 		byte[] ba = new byte[n];
 		Random rg = new Random(17);
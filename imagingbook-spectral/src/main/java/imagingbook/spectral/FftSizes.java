@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral;
+
+/**
+ * <p>
+ * Static helper methods for choosing the sizes of zero-padded FFT arrays, as used by the FFT-based filter and matching
+ * implementations.
+ * </p>
+ * <p>
+ * This class is used internally by the spectral module and is not part of the public API.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+public abstract class FftSizes {
+
+	private FftSizes() {}
+
+	/**
+	 * Returns the smallest FFT size &ge; n whose only prime factors are 2, 3 or 5, for which the underlying FFT
+	 * implementation is particularly efficient.
+	 *
+	 * @param n the minimum size
+	 * @return a suitable FFT size
+	 */
+	public static int getFftSize(int n) {
+		for (int m = Math.max(n, 1); ; m++) {
+			int r = m;
+			for (int p : new int[] {2, 3, 5}) {
+				while (r % p == 0) {
+					r = r / p;
+				}
+			}
+			if (r == 1) {
+				return m;
+			}
+		}
+	}
+
+}
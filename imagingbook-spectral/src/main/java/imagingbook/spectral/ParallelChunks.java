@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Splits the rows or columns of a 2D data array (of fixed size) into contiguous chunks, which are processed in
+ * parallel if parallel processing is enabled and the data size is sufficiently large (see {@link #MinParallelSize}).
+ * Used by the 2D DFT and DCT implementations to transform rows and columns concurrently.
+ * </p>
+ * <p>
+ * This class is used internally by the spectral module and is not part of the public API.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ */
+public class ParallelChunks {
+
+	/**
+	 * Minimum number of data elements (width x height) for processing in parallel.
+	 */
+	public static final int MinParallelSize = 1 << 15;
+
+	/**
+	 * Range operation used by {@link ParallelChunks#forEachChunk(int, RangeOp)}.
+	 */
+	public interface RangeOp {
+		/**
+		 * Processes the indices from,...,to-1.
+		 *
+		 * @param from the first index (inclusive)
+		 * @param to the last index (exclusive)
+		 */
+		void apply(int from, int to);
+	}
+
+	private final int width, height;
+	private boolean parallel = true;
+
+	/**
+	 * Constructor, parallel processing is enabled by default.
+	 *
+	 * @param width width of the data array
+	 * @param height height of the data array
+	 */
+	public ParallelChunks(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Enables or disables parallel processing.
+	 *
+	 * @param parallel {@code true} to enable parallel processing
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Checks the length of a flat (row-major) data array, throws an {@link IllegalArgumentException} if it does not
+	 * match the data size.
+	 *
+	 * @param length the length of the data array
+	 */
+	public void checkLength(int length) {
+		if (length != width * height)
+			throw new IllegalArgumentException(
+					String.format("wrong data array length %d (expected %d)", length, width * height));
+	}
+
+	/**
+	 * Splits the index range 0,...,n-1 into contiguous chunks which are processed in parallel,
+	 * if parallel processing is enabled and the data size is sufficiently large. Each chunk is
+	 * processed by a single thread.
+	 *
+	 * @param n the number of indices
+	 * @param op the operation applied to each chunk
+	 */
+	public void forEachChunk(int n, RangeOp op) {
+		final int chunks = (parallel && width * height >= MinParallelSize) ?
+				Math.min(n, ForkJoinPool.getCommonPoolParallelism()) : 1;
+		if (chunks <= 1) {
+			op.apply(0, n);
+		}
+		else {
+			IntStream.range(0, chunks).parallel().forEach(k ->
+				op.apply((int) ((long) k * n / chunks), (int) ((long) (k + 1) * n / chunks)));
+		}
+	}
+
+}
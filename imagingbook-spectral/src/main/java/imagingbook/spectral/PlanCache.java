@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Thread-safe, bounded cache for transformation "plans" (typically 1D DFT or DCT instances, which hold precomputed
+ * twiddle tables), keyed by data size, precision and (optional) scaling mode. When the number of cached plans exceeds
+ * the cache's capacity, the least recently used plan is evicted. Cached plans are shared between threads, thus they
+ * must be safe for concurrent use. New plans are built outside the cache's lock, i.e., threads requesting plans for
+ * different keys do not wait for each other, while threads requesting the same (missing) plan wait for the first one
+ * to build it.
+ * </p>
+ * <p>
+ * This class is used internally by the spectral module and is not part of the public API.
+ * </p>
+ *
+ * @param <P> the plan type
+ * @author WB
+ * @version 2026/10/16
+ */
+public class PlanCache<P> {
+
+	/** Default maximum number of plans held by a cache. */
+	public static final int DefaultCapacity = 32;
+
+	private final int capacity;
+	private final Map<Key, CompletableFuture<P>> map;	// LRU map, guarded by this
+
+	/**
+	 * Constructor, creates a cache with the default capacity ({@link #DefaultCapacity}).
+	 */
+	public PlanCache() {
+		this(DefaultCapacity);
+	}
+
+	/**
+	 * Constructor, creates a cache with the specified capacity.
+	 *
+	 * @param capacity the maximum number of cached plans (&gt; 0)
+	 */
+	public PlanCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("cache capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.map = new LinkedHashMap<Key, CompletableFuture<P>>(16, 0.75f, true) {	// access-ordered
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<P>> eldest) {
+				return size() > PlanCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached plan for the specified key values. If no such plan exists, a new plan is obtained from the
+	 * supplied factory and inserted into the cache. The factory is called without holding the cache's lock. If it
+	 * throws an exception, no plan is cached and the exception is passed on to all threads waiting for this plan.
+	 *
+	 * @param size the data size
+	 * @param precision the data precision (e.g., {@code float.class} or {@code double.class})
+	 * @param mode the scaling mode (may be {@code null})
+	 * @param factory supplies a new plan if none is cached
+	 * @return the (possibly new) plan
+	 */
+	public P get(int size, Class<?> precision, Object mode, Supplier<? extends P> factory) {
+		final Key key = new Key(size, precision, mode);
+		final CompletableFuture<P> future;
+		final boolean isNew;
+		synchronized (this) {	// lock only for LRU map operations
+			CompletableFuture<P> f = map.get(key);
+			isNew = (f == null);
+			if (isNew) {
+				f = new CompletableFuture<>();
+				map.put(key, f);
+			}
+			future = f;
+		}
+		if (isNew) {	// build the new plan outside the lock
+			try {
+				future.complete(factory.get());
+			}
+			catch (RuntimeException | Error e) {
+				synchronized (this) {
+					map.remove(key, future);
+				}
+				future.completeExceptionally(e);
+				throw e;
+			}
+		}
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {	// plan construction failed in another thread
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of plans currently held by this cache.
+	 *
+	 * @return the number of cached plans
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * Returns the maximum number of plans held by this cache.
+	 *
+	 * @return the cache capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Removes all plans from this cache.
+	 */
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	// ---------------------------------------------------------------------
+
+	private static class Key {
+		private final int size;
+		private final Class<?> precision;
+		private final Object mode;
+
+		Key(int size, Class<?> precision, Object mode) {
+			this.size = size;
+			this.precision = precision;
+			this.mode = mode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) other;
+			return size == k.size && precision == k.precision && Objects.equals(mode, k.mode);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(size, precision, mode);
+		}
+	}
+
+}
@@ -9,7 +9,7 @@
 
 package imagingbook.spectral.dct;
 
-
+import imagingbook.spectral.PlanCache;
 import org.jtransforms.dct.DoubleDCT_1D;
 import org.jtransforms.dct.FloatDCT_1D;
 
@@ -33,11 +33,19 @@ import org.jtransforms.dct.FloatDCT_1D;
  * ...
  * </pre>
  * <p>
+ * Instances of this class are safe for concurrent use, since the DCT is performed in place and the (immutable) DCT
+ * plan is not modified. Use the static methods {@link Dct1dFast.Float#getInstance(int)} and
+ * {@link Dct1dFast.Double#getInstance(int)} to obtain shared instances from a bounded LRU cache (keyed by size and
+ * precision), which avoids repeated plan setup when many transforms of the same size are performed.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic
  * Introduction</em>, 3rd ed, Springer (2022).
  * </p>
  */
 public abstract class Dct1dFast extends Dct1dImp {
+	
+	private static final PlanCache<Dct1dFast> Cache = new PlanCache<>();
 
 	final double s; 			// common scale factor
 
@@ -63,6 +71,17 @@ public abstract class Dct1dFast extends Dct1dImp {
 			super(M);
 			this.fct = new FloatDCT_1D(M);
 		}
+		
+		/**
+		 * Returns a shared instance for the specified size, taken from a bounded LRU cache.
+		 * A new instance is created (and cached) only if no matching instance is found.
+		 * 
+		 * @param M the data size
+		 * @return a (possibly shared) instance
+		 */
+		public static Dct1dFast.Float getInstance(int M) {
+			return (Dct1dFast.Float) Cache.get(M, float.class, null, () -> new Dct1dFast.Float(M));
+		}
 
 		@Override
 		public void forward(float[] g) {
@@ -95,6 +114,17 @@ public abstract class Dct1dFast extends Dct1dImp {
 			super(M);
 			this.fct = new DoubleDCT_1D(M);
 		}
+		
+		/**
+		 * Returns a shared instance for the specified size, taken from a bounded LRU cache.
+		 * A new instance is created (and cached) only if no matching instance is found.
+		 * 
+		 * @param M the data size
+		 * @return a (possibly shared) instance
+		 */
+		public static Dct1dFast.Double getInstance(int M) {
+			return (Dct1dFast.Double) Cache.get(M, double.class, null, () -> new Dct1dFast.Double(M));
+		}
 
 		@Override
 		public void forward(double[] g) {
@@ -8,6 +8,10 @@
  ******************************************************************************/
 package imagingbook.spectral.dct;
 
+import imagingbook.spectral.ParallelChunks;
+import org.jtransforms.dct.DoubleDCT_2D;
+import org.jtransforms.dct.FloatDCT_2D;
+
 /**
  * <p>
  * Fast implementation of the 2-dimensional DCT. 
@@ -27,17 +31,64 @@ package imagingbook.spectral.dct;
  * dct.inverse(data);  // data now is the original 2D signal 
  * ...</pre>
  * <p>
+ * The rows and columns of sufficiently large data arrays (see {@link #MinParallelSize}) are
+ * transformed in parallel. The underlying 1D DCTs are taken from a shared plan cache (see
+ * {@link Dct1dFast.Float#getInstance(int)}). In addition to the
+ * {@code [x][y]}-indexed 2D arrays used by {@link Dct2d}, data may be supplied as a flat 1D array in
+ * row-major order (i.e., element (x,y) is at index {@code y * width + x}), see
+ * {@link Float#transform(float[], boolean)}. Alternatively (see {@link #setUseDCT2D(boolean)}), the
+ * complete 2D transform may be delegated to the 2D DCT of the underlying JTransforms library, which
+ * does its own multi-threading.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic
  * Introduction</em>, 3rd ed, Springer (2022).
  * </p>
  * 
  * @author WB
+ * @version 2026/10/16
  * @see Dct1dFast
  */
 public class Dct2dFast extends Dct2dImp {
 	
+	/**
+	 * Minimum number of data elements (width x height) for transforming rows and columns in parallel.
+	 */
+	public static final int MinParallelSize = ParallelChunks.MinParallelSize;
+	
+	final ParallelChunks chunks;	// splits rows/columns for parallel processing
+	private boolean useDCT2D = false;
+	
 	private Dct2dFast(int width, int height) {
 		super(width, height);
+		this.chunks = new ParallelChunks(width, height);
+	}
+	
+	/**
+	 * Enables or disables parallel processing of rows and columns (enabled by default).
+	 * 
+	 * @param parallel {@code true} to enable parallel processing
+	 */
+	public void setParallel(boolean parallel) {
+		chunks.setParallel(parallel);
+	}
+	
+	/**
+	 * Selects whether the 2D transform is delegated to JTransforms' 2D DCT ({@code FloatDCT_2D} or
+	 * {@code DoubleDCT_2D}, multi-threaded internally) instead of being composed of 1D DCTs
+	 * (disabled by default). Results are the same up to numerical precision.
+	 * Delegation is not possible if the width or height of the data is 1, in which case this setting
+	 * is ignored.
+	 * 
+	 * @param useDCT2D {@code true} to use JTransforms' 2D DCT
+	 */
+	public void setUseDCT2D(boolean useDCT2D) {
+		this.useDCT2D = useDCT2D;
+	}
+	
+	// delegation to JTransforms' 2D DCT requires both dimensions to be > 1
+	boolean delegate2D() {
+		return useDCT2D && M > 1 && N > 1;
 	}
 	
 	// -------------------------------------------------------------------------
@@ -47,6 +98,8 @@ public class Dct2dFast extends Dct2dImp {
 	 */
 	public static class Float extends Dct2dFast implements Dct2d.Float {
 		
+		private FloatDCT_2D dct2 = null;	// created on demand
+		
 		/**
 		 * Constructor.
 		 * 
@@ -61,16 +114,144 @@ public class Dct2dFast extends Dct2dImp {
 
 		@Override
 		public Dct1d.Float get1dDct(int size) {
-			return new Dct1dFast.Float(size);
+			return Dct1dFast.Float.getInstance(size);
+		}
+		
+		@Override
+		public void transform(final float[][] data, boolean forward) {
+			checkSize(data);
+			if (delegate2D()) {
+				final float[] A = new float[M * N];
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						A[v * M + u] = data[u][v];
+					}
+				}
+				transform2D(A, forward);
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						data[u][v] = A[v * M + u];
+					}
+				}
+				return;
+			}
+			
+			// do the rows:
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final float[] row = new float[M];
+				final Dct1d.Float dct1R = get1dDct(M);
+				for (int v = v0; v < v1; v++) {
+					extractRow(data, v, row);
+					if (forward)
+						dct1R.forward(row);
+					else
+						dct1R.inverse(row);
+					insertRow(data, v, row);
+				}
+			});
+			
+			// do the columns (columns are contiguous):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final Dct1d.Float dct1C = get1dDct(N);
+				for (int u = u0; u < u1; u++) {
+					if (forward)
+						dct1C.forward(data[u]);
+					else
+						dct1C.inverse(data[u]);
+				}
+			});
+		}
+		
+		/**
+		 * Transforms the given flat data array 'in-place'. Data are arranged in row-major order,
+		 * i.e., element (x,y) is located at index {@code y * width + x}. The array length must
+		 * be width x height.
+		 * 
+		 * @param data the input signal or spectrum (modified)
+		 * @param forward forward transformation if {@code true}, inverse transformation if {@code false}
+		 */
+		public void transform(final float[] data, boolean forward) {
+			chunks.checkLength(data.length);
+			if (delegate2D()) {
+				transform2D(data, forward);
+				return;
+			}
+			
+			// do the rows (rows are contiguous):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final float[] row = new float[M];
+				final Dct1d.Float dct1R = get1dDct(M);
+				for (int v = v0; v < v1; v++) {
+					System.arraycopy(data, v * M, row, 0, M);
+					if (forward)
+						dct1R.forward(row);
+					else
+						dct1R.inverse(row);
+					System.arraycopy(row, 0, data, v * M, M);
+				}
+			});
+			
+			// do the columns:
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final float[] col = new float[N];
+				final Dct1d.Float dct1C = get1dDct(N);
+				for (int u = u0; u < u1; u++) {
+					for (int v = 0; v < N; v++) {
+						col[v] = data[v * M + u];
+					}
+					if (forward)
+						dct1C.forward(col);
+					else
+						dct1C.inverse(col);
+					for (int v = 0; v < N; v++) {
+						data[v * M + u] = col[v];
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Performs an "in-place" 2D DCT forward transformation on the supplied flat (row-major) data.
+		 * 
+		 * @param g the signal to be transformed (modified)
+		 * @see #transform(float[], boolean)
+		 */
+		public void forward(float[] g) {
+			transform(g, true);
+		}
+		
+		/**
+		 * Performs an "in-place" 2D DCT inverse transformation on the supplied flat (row-major) spectrum.
+		 * 
+		 * @param G the spectrum to be transformed (modified)
+		 * @see #transform(float[], boolean)
+		 */
+		public void inverse(float[] G) {
+			transform(G, false);
+		}
+		
+		// transforms the row-major array A with JTransforms' 2D DCT
+		private void transform2D(float[] A, boolean forward) {
+			if (dct2 == null) {
+				dct2 = new FloatDCT_2D(N, M);
+			}
+			if (forward)
+				dct2.forward(A, true);
+			else
+				dct2.inverse(A, true);
 		}
 
 	}
-	
+
+	// -------------------------------------------------------------------------
+
 	/**
 	 * Two-dimensional DCT implementation using {@code double} data. 
 	 */
 	public static class Double extends Dct2dFast implements Dct2d.Double {
 		
+		private DoubleDCT_2D dct2 = null;	// created on demand
+		
 		/**
 		 * Constructor.
 		 * 
@@ -85,7 +266,131 @@ public class Dct2dFast extends Dct2dImp {
 
 		@Override
 		public Dct1d.Double get1dDct(int size) {
-			return new Dct1dFast.Double(size);
+			return Dct1dFast.Double.getInstance(size);
+		}
+		
+		@Override
+		public void transform(final double[][] data, boolean forward) {
+			checkSize(data);
+			if (delegate2D()) {
+				final double[] A = new double[M * N];
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						A[v * M + u] = data[u][v];
+					}
+				}
+				transform2D(A, forward);
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						data[u][v] = A[v * M + u];
+					}
+				}
+				return;
+			}
+			
+			// do the rows:
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final double[] row = new double[M];
+				final Dct1d.Double dct1R = get1dDct(M);
+				for (int v = v0; v < v1; v++) {
+					extractRow(data, v, row);
+					if (forward)
+						dct1R.forward(row);
+					else
+						dct1R.inverse(row);
+					insertRow(data, v, row);
+				}
+			});
+			
+			// do the columns (columns are contiguous):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final Dct1d.Double dct1C = get1dDct(N);
+				for (int u = u0; u < u1; u++) {
+					if (forward)
+						dct1C.forward(data[u]);
+					else
+						dct1C.inverse(data[u]);
+				}
+			});
+		}
+		
+		/**
+		 * Transforms the given flat data array 'in-place'. Data are arranged in row-major order,
+		 * i.e., element (x,y) is located at index {@code y * width + x}. The array length must
+		 * be width x height.
+		 * 
+		 * @param data the input signal or spectrum (modified)
+		 * @param forward forward transformation if {@code true}, inverse transformation if {@code false}
+		 */
+		public void transform(final double[] data, boolean forward) {
+			chunks.checkLength(data.length);
+			if (delegate2D()) {
+				transform2D(data, forward);
+				return;
+			}
+			
+			// do the rows (rows are contiguous):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final double[] row = new double[M];
+				final Dct1d.Double dct1R = get1dDct(M);
+				for (int v = v0; v < v1; v++) {
+					System.arraycopy(data, v * M, row, 0, M);
+					if (forward)
+						dct1R.forward(row);
+					else
+						dct1R.inverse(row);
+					System.arraycopy(row, 0, data, v * M, M);
+				}
+			});
+			
+			// do the columns:
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final double[] col = new double[N];
+				final Dct1d.Double dct1C = get1dDct(N);
+				for (int u = u0; u < u1; u++) {
+					for (int v = 0; v < N; v++) {
+						col[v] = data[v * M + u];
+					}
+					if (forward)
+						dct1C.forward(col);
+					else
+						dct1C.inverse(col);
+					for (int v = 0; v < N; v++) {
+						data[v * M + u] = col[v];
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Performs an "in-place" 2D DCT forward transformation on the supplied flat (row-major) data.
+		 * 
+		 * @param g the signal to be transformed (modified)
+		 * @see #transform(double[], boolean)
+		 */
+		public void forward(double[] g) {
+			transform(g, true);
+		}
+		
+		/**
+		 * Performs an "in-place" 2D DCT inverse transformation on the supplied flat (row-major) spectrum.
+		 * 
+		 * @param G the spectrum to be transformed (modified)
+		 * @see #transform(double[], boolean)
+		 */
+		public void inverse(double[] G) {
+			transform(G, false);
+		}
+		
+		// transforms the row-major array A with JTransforms' 2D DCT
+		private void transform2D(double[] A, boolean forward) {
+			if (dct2 == null) {
+				dct2 = new DoubleDCT_2D(N, M);
+			}
+			if (forward)
+				dct2.forward(A, true);
+			else
+				dct2.inverse(A, true);
 		}
 
 	}
@@ -34,6 +34,15 @@ public interface Dft1d {
 	 */
 	public ScalingMode getScalingMode();
 	
+	/**
+	 * Returns the size of the non-redundant half spectrum of a real-valued signal, i.e., M/2 + 1 for signal length M
+	 * (see {@link Dft1d.Float#forwardReal(float[], float[], float[])}).
+	 * @return the size of the half spectrum
+	 */
+	public default int getHalfSize() {
+		return getSize() / 2 + 1;
+	}
+	
 	// ---------------------------------------------------------------------------------
 	
 	/**
@@ -68,6 +77,102 @@ public interface Dft1d {
 		 */
 		public void transform(float[] inRe, float[] inIm, boolean forward);
 		
+		/**
+		 * Calculates the DFT spectrum of the supplied real-valued signal. Since the spectrum of a real signal is
+		 * conjugate symmetric (i.e., G(M-k) = G*(k)), only its non-redundant part with M/2 + 1 elements (see
+		 * {@link #getHalfSize()}) is returned. Use {@link #expandHalfSpectrum(float[], float[], float[], float[])}
+		 * to obtain the full spectrum. The input signal is not modified.
+		 * 
+		 * @param g the real-valued signal (length M)
+		 * @param HRe real part of the half spectrum (length M/2 + 1, modified)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1, modified)
+		 */
+		public default void forwardReal(float[] g, float[] HRe, float[] HIm) {
+			checkSizeReal(g);
+			checkSizeHalf(HRe, HIm);
+			final float[] re = g.clone();
+			final float[] im = new float[g.length];
+			forward(re, im);
+			System.arraycopy(re, 0, HRe, 0, HRe.length);
+			System.arraycopy(im, 0, HIm, 0, HIm.length);
+		}
+		
+		/**
+		 * Calculates the real-valued signal for the supplied half spectrum, as obtained by
+		 * {@link #forwardReal(float[], float[], float[])}. The imaginary parts of the DC element and (for even M) the
+		 * element at M/2 are ignored. The input spectrum is not modified.
+		 * 
+		 * @param HRe real part of the half spectrum (length M/2 + 1)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1)
+		 * @param g the real-valued signal (length M, modified)
+		 */
+		public default void inverseReal(float[] HRe, float[] HIm, float[] g) {
+			checkSizeHalf(HRe, HIm);
+			checkSizeReal(g);
+			final float[] re = new float[g.length];
+			final float[] im = new float[g.length];
+			expandHalfSpectrum(HRe, HIm, re, im);
+			inverse(re, im);
+			System.arraycopy(re, 0, g, 0, g.length);
+		}
+		
+		/**
+		 * Expands the half spectrum of a real-valued signal (see {@link #forwardReal(float[], float[], float[])}) to
+		 * the full (conjugate symmetric) spectrum.
+		 * 
+		 * @param HRe real part of the half spectrum (length M/2 + 1)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1)
+		 * @param GRe real part of the full spectrum (length M, modified)
+		 * @param GIm imaginary part of the full spectrum (length M, modified)
+		 */
+		public default void expandHalfSpectrum(float[] HRe, float[] HIm, float[] GRe, float[] GIm) {
+			checkSizeHalf(HRe, HIm);
+			checkSize(GRe, GIm);
+			final int M = GRe.length;
+			for (int k = 0; k < M; k++) {
+				if (k < HRe.length) {
+					GRe[k] = HRe[k];
+					GIm[k] = HIm[k];
+				}
+				else {
+					GRe[k] =  HRe[M - k];
+					GIm[k] = -HIm[M - k];
+				}
+			}
+		}
+		
+		/**
+		 * Calculates and returns the magnitude of the supplied complex-valued 1D data, which may be a full spectrum or a
+		 * half spectrum (see {@link #forwardReal(float[], float[], float[])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return an array of magnitude values
+		 */
+		public default float[] getMagnitude(float[] re, float[] im) {
+			final float[] mag = new float[re.length];
+			for (int k = 0; k < re.length; k++) {
+				mag[k] = (float) Math.hypot(re[k], im[k]);
+			}
+			return mag;
+		}
+		
+		/**
+		 * Calculates and returns the power (squared magnitude) of the supplied complex-valued 1D data, which may be a
+		 * full spectrum or a half spectrum (see {@link #forwardReal(float[], float[], float[])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return an array of power values
+		 */
+		public default float[] getPower(float[] re, float[] im) {
+			final float[] pwr = new float[re.length];
+			for (int k = 0; k < re.length; k++) {
+				pwr[k] = re[k] * re[k] + im[k] * im[k];
+			}
+			return pwr;
+		}
+		
 		default void checkSize(float[] re, float[] im) {
 			if (re.length != this.getSize())
 				throw new IllegalArgumentException(
@@ -78,6 +183,22 @@ public interface Dft1d {
 					String.format("im: wrong 1D array size %d (expected %d)", im.length, this.getSize()));
 		}
 		
+		default void checkSizeReal(float[] g) {
+			if (g.length != this.getSize())
+				throw new IllegalArgumentException(
+					String.format("g: wrong 1D array size %d (expected %d)", g.length, this.getSize()));
+		}
+		
+		default void checkSizeHalf(float[] re, float[] im) {
+			if (re.length != this.getHalfSize())
+				throw new IllegalArgumentException(
+					String.format("re: wrong 1D half spectrum size %d (expected %d)", re.length, this.getHalfSize()));
+			
+			if (im.length != this.getHalfSize())
+				throw new IllegalArgumentException(
+					String.format("im: wrong 1D half spectrum size %d (expected %d)", im.length, this.getHalfSize()));
+		}
+		
 	}
 	
 	// -------------------------------------------------------------------
@@ -116,6 +237,102 @@ public interface Dft1d {
 		 */
 		public void transform(double[] inRe, double[] inIm, boolean forward);
 		
+		/**
+		 * Calculates the DFT spectrum of the supplied real-valued signal. Since the spectrum of a real signal is
+		 * conjugate symmetric (i.e., G(M-k) = G*(k)), only its non-redundant part with M/2 + 1 elements (see
+		 * {@link #getHalfSize()}) is returned. Use {@link #expandHalfSpectrum(double[], double[], double[], double[])}
+		 * to obtain the full spectrum. The input signal is not modified.
+		 * 
+		 * @param g the real-valued signal (length M)
+		 * @param HRe real part of the half spectrum (length M/2 + 1, modified)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1, modified)
+		 */
+		public default void forwardReal(double[] g, double[] HRe, double[] HIm) {
+			checkSizeReal(g);
+			checkSizeHalf(HRe, HIm);
+			final double[] re = g.clone();
+			final double[] im = new double[g.length];
+			forward(re, im);
+			System.arraycopy(re, 0, HRe, 0, HRe.length);
+			System.arraycopy(im, 0, HIm, 0, HIm.length);
+		}
+		
+		/**
+		 * Calculates the real-valued signal for the supplied half spectrum, as obtained by
+		 * {@link #forwardReal(double[], double[], double[])}. The imaginary parts of the DC element and (for even M) the
+		 * element at M/2 are ignored. The input spectrum is not modified.
+		 * 
+		 * @param HRe real part of the half spectrum (length M/2 + 1)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1)
+		 * @param g the real-valued signal (length M, modified)
+		 */
+		public default void inverseReal(double[] HRe, double[] HIm, double[] g) {
+			checkSizeHalf(HRe, HIm);
+			checkSizeReal(g);
+			final double[] re = new double[g.length];
+			final double[] im = new double[g.length];
+			expandHalfSpectrum(HRe, HIm, re, im);
+			inverse(re, im);
+			System.arraycopy(re, 0, g, 0, g.length);
+		}
+		
+		/**
+		 * Expands the half spectrum of a real-valued signal (see {@link #forwardReal(double[], double[], double[])}) to
+		 * the full (conjugate symmetric) spectrum.
+		 * 
+		 * @param HRe real part of the half spectrum (length M/2 + 1)
+		 * @param HIm imaginary part of the half spectrum (length M/2 + 1)
+		 * @param GRe real part of the full spectrum (length M, modified)
+		 * @param GIm imaginary part of the full spectrum (length M, modified)
+		 */
+		public default void expandHalfSpectrum(double[] HRe, double[] HIm, double[] GRe, double[] GIm) {
+			checkSizeHalf(HRe, HIm);
+			checkSize(GRe, GIm);
+			final int M = GRe.length;
+			for (int k = 0; k < M; k++) {
+				if (k < HRe.length) {
+					GRe[k] = HRe[k];
+					GIm[k] = HIm[k];
+				}
+				else {
+					GRe[k] =  HRe[M - k];
+					GIm[k] = -HIm[M - k];
+				}
+			}
+		}
+		
+		/**
+		 * Calculates and returns the magnitude of the supplied complex-valued 1D data, which may be a full spectrum or a
+		 * half spectrum (see {@link #forwardReal(double[], double[], double[])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return an array of magnitude values
+		 */
+		public default double[] getMagnitude(double[] re, double[] im) {
+			final double[] mag = new double[re.length];
+			for (int k = 0; k < re.length; k++) {
+				mag[k] = Math.hypot(re[k], im[k]);
+			}
+			return mag;
+		}
+		
+		/**
+		 * Calculates and returns the power (squared magnitude) of the supplied complex-valued 1D data, which may be a
+		 * full spectrum or a half spectrum (see {@link #forwardReal(double[], double[], double[])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return an array of power values
+		 */
+		public default double[] getPower(double[] re, double[] im) {
+			final double[] pwr = new double[re.length];
+			for (int k = 0; k < re.length; k++) {
+				pwr[k] = re[k] * re[k] + im[k] * im[k];
+			}
+			return pwr;
+		}
+		
 		default void checkSize(double[] re, double[] im) {
 			if (re.length != this.getSize())
 				throw new IllegalArgumentException(
@@ -126,6 +343,22 @@ public interface Dft1d {
 					String.format("im: wrong 1D array size %d (expected %d)", im.length, this.getSize()));
 		}
 		
+		default void checkSizeReal(double[] g) {
+			if (g.length != this.getSize())
+				throw new IllegalArgumentException(
+					String.format("g: wrong 1D array size %d (expected %d)", g.length, this.getSize()));
+		}
+		
+		default void checkSizeHalf(double[] re, double[] im) {
+			if (re.length != this.getHalfSize())
+				throw new IllegalArgumentException(
+					String.format("re: wrong 1D half spectrum size %d (expected %d)", re.length, this.getHalfSize()));
+			
+			if (im.length != this.getHalfSize())
+				throw new IllegalArgumentException(
+					String.format("im: wrong 1D half spectrum size %d (expected %d)", im.length, this.getHalfSize()));
+		}
+		
 	}
 	
 }
@@ -8,6 +8,7 @@
  ******************************************************************************/
 package imagingbook.spectral.dft;
 
+import imagingbook.spectral.PlanCache;
 import org.jtransforms.fft.DoubleFFT_1D;
 import org.jtransforms.fft.FloatFFT_1D;
 
@@ -32,12 +33,26 @@ import org.jtransforms.fft.FloatFFT_1D;
  * ...
  * </pre>
  * <p>
+ * For real-valued signals, methods {@code forwardReal()} and {@code inverseReal()} use JTransforms' real-input FFT,
+ * which requires only half the memory and work of the complex transform and yields the non-redundant half spectrum
+ * (see {@link Dft1d.Float#forwardReal(float[], float[], float[])}).
+ * </p>
+ * <p>
+ * Instances of this class are safe for concurrent use, since the (immutable) FFT plan is shared and temporary work
+ * arrays are allocated per thread and reused. Use the static methods {@link Dft1dFast.Float#getInstance(int, ScalingMode)}
+ * and {@link Dft1dFast.Double#getInstance(int, ScalingMode)} to obtain shared instances from a bounded LRU cache
+ * (keyed by size, precision and scaling mode), which avoids repeated plan setup when many transforms of the same size
+ * are performed.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic
  * Introduction</em>, 3rd ed, Springer (2022).
  * </p>
  */
 public abstract class Dft1dFast extends Dft1dImp {
 	
+	private static final PlanCache<Dft1dFast> Cache = new PlanCache<>();
+	
 	private Dft1dFast(int size, ScalingMode sm) {
 		super(size, sm);
 	}
@@ -49,7 +64,9 @@ public abstract class Dft1dFast extends Dft1dImp {
 	 */
 	public static class Float extends Dft1dFast implements Dft1d.Float {
 	
-		private final float[] A;		// temporary array for FFT composed of re/im values
+		// per-thread work array for FFT composed of re/im values (grows as needed)
+		private static final ThreadLocal<float[]> WorkArray = ThreadLocal.withInitial(() -> new float[0]);
+		
 		private final FloatFFT_1D fft;
 		
 		/**
@@ -59,7 +76,6 @@ public abstract class Dft1dFast extends Dft1dImp {
 		 */
 		public Float(int M, ScalingMode sm) {
 			super(M, sm);
-			this.A = new float[2 * M];
 			this.fft = new FloatFFT_1D(M);
 		}
 		
@@ -71,6 +87,28 @@ public abstract class Dft1dFast extends Dft1dImp {
 			this(M, ScalingMode.DEFAULT);
 		}
 		
+		/**
+		 * Returns a shared instance for the specified size and scaling mode, taken from a bounded LRU cache.
+		 * A new instance is created (and cached) only if no matching instance is found.
+		 * 
+		 * @param M the size of the data vectors
+		 * @param sm the scaling mode
+		 * @return a (possibly shared) instance
+		 */
+		public static Dft1dFast.Float getInstance(int M, ScalingMode sm) {
+			return (Dft1dFast.Float) Cache.get(M, float.class, sm, () -> new Dft1dFast.Float(M, sm));
+		}
+		
+		// returns the current thread's work array, with at least the specified length
+		private static float[] getWorkArray(int length) {
+			float[] A = WorkArray.get();
+			if (A.length < length) {
+				A = new float[length];
+				WorkArray.set(A);
+			}
+			return A;
+		}
+		
 		@Override
 		public void forward(float[] gRe, float[] gIm) {
 			transform(gRe, gIm, true);
@@ -85,6 +123,7 @@ public abstract class Dft1dFast extends Dft1dImp {
 		public void transform(float[] inRe, float[] inIm, boolean forward) {
 			checkSize(inRe, inIm);
 			final float scale = (float) sm.getScale(M, forward);
+			final float[] A = getWorkArray(2 * M);
 			composeA(inRe, inIm, A);	
 			if (forward)
 				fft.complexForward(A);
@@ -93,6 +132,71 @@ public abstract class Dft1dFast extends Dft1dImp {
 			decomposeA(A, inRe, inIm, scale);
 		}
 		
+		@Override
+		public void forwardReal(float[] g, float[] HRe, float[] HIm) {
+			checkSizeReal(g);
+			checkSizeHalf(HRe, HIm);
+			final float scale = (float) sm.getScale(M, true);
+			final float[] A = getWorkArray(M);
+			System.arraycopy(g, 0, A, 0, M);
+			if (M > 1)
+				fft.realForward(A);
+			unpackHalf(A, HRe, HIm, scale);
+		}
+		
+		@Override
+		public void inverseReal(float[] HRe, float[] HIm, float[] g) {
+			checkSizeHalf(HRe, HIm);
+			checkSizeReal(g);
+			// realInverse() is used with 1/M scaling, since its unscaled result is inconsistent for M = 2
+			final float scale = (float) (M * sm.getScale(M, false));
+			final float[] A = getWorkArray(M);
+			packHalf(HRe, HIm, A);
+			if (M > 1)
+				fft.realInverse(A, true);
+			for (int i = 0; i < M; i++) {
+				g[i] = A[i] * scale;
+			}
+		}
+		
+		// packed real spectrum (JTransforms format, first M elements of A) -> (HRe, HIm)
+		private void unpackHalf(float[] A, float[] HRe, float[] HIm, float scale) {
+			HRe[0] = A[0] * scale;
+			HIm[0] = 0;
+			for (int k = 1; k < HRe.length; k++) {
+				if (2*k + 1 < M) {
+					HRe[k] = A[2*k] * scale;
+					HIm[k] = A[2*k + 1] * scale;
+				}
+				else if (2*k == M) {	// M even, element M/2 is real
+					HRe[k] = A[1] * scale;
+					HIm[k] = 0;
+				}
+				else {					// M odd, element (M-1)/2
+					HRe[k] = A[2*k] * scale;
+					HIm[k] = A[1] * scale;
+				}
+			}
+		}
+		
+		// (HRe, HIm) -> packed real spectrum (JTransforms format, first M elements of A)
+		private void packHalf(float[] HRe, float[] HIm, float[] A) {
+			A[0] = HRe[0];
+			for (int k = 1; k < HRe.length; k++) {
+				if (2*k + 1 < M) {
+					A[2*k] = HRe[k];
+					A[2*k + 1] = HIm[k];
+				}
+				else if (2*k == M) {	// M even, element M/2 is real
+					A[1] = HRe[k];
+				}
+				else {					// M odd, element (M-1)/2
+					A[2*k] = HRe[k];
+					A[1] = HIm[k];
+				}
+			}
+		}
+		
 		// (re, im) -> A
 		private void composeA(float[] re, float[] im, float[] A) {
 			for (int i = 0; i < M; i++) {
@@ -117,7 +221,9 @@ public abstract class Dft1dFast extends Dft1dImp {
 	 */
 	public static class Double extends Dft1dFast implements Dft1d.Double {
 	
-		private final double[] A;		// temporary array for FFT composed of re/im values
+		// per-thread work array for FFT composed of re/im values (grows as needed)
+		private static final ThreadLocal<double[]> WorkArray = ThreadLocal.withInitial(() -> new double[0]);
+		
 		private final DoubleFFT_1D fft;
 		
 		/**
@@ -127,7 +233,6 @@ public abstract class Dft1dFast extends Dft1dImp {
 		 */
 		public Double(int M, ScalingMode sm) {
 			super(M, sm);
-			this.A = new double[2 * M];
 			this.fft = new DoubleFFT_1D(M);
 		}
 		
@@ -139,6 +244,28 @@ public abstract class Dft1dFast extends Dft1dImp {
 			this(M, ScalingMode.DEFAULT);
 		}
 		
+		/**
+		 * Returns a shared instance for the specified size and scaling mode, taken from a bounded LRU cache.
+		 * A new instance is created (and cached) only if no matching instance is found.
+		 * 
+		 * @param M the size of the data vectors
+		 * @param sm the scaling mode
+		 * @return a (possibly shared) instance
+		 */
+		public static Dft1dFast.Double getInstance(int M, ScalingMode sm) {
+			return (Dft1dFast.Double) Cache.get(M, double.class, sm, () -> new Dft1dFast.Double(M, sm));
+		}
+		
+		// returns the current thread's work array, with at least the specified length
+		private static double[] getWorkArray(int length) {
+			double[] A = WorkArray.get();
+			if (A.length < length) {
+				A = new double[length];
+				WorkArray.set(A);
+			}
+			return A;
+		}
+		
 		@Override
 		public void forward(double[] gRe, double[] gIm) {
 			transform(gRe, gIm, true);
@@ -153,6 +280,7 @@ public abstract class Dft1dFast extends Dft1dImp {
 		public void transform(double[] inRe, double[] inIm, boolean forward) {
 			checkSize(inRe, inIm);
 			final double scale = sm.getScale(M, forward);
+			final double[] A = getWorkArray(2 * M);
 			composeA(inRe, inIm, A);	
 			if (forward)
 				fft.complexForward(A);
@@ -161,6 +289,71 @@ public abstract class Dft1dFast extends Dft1dImp {
 			decomposeA(A, inRe, inIm, scale);
 		}
 		
+		@Override
+		public void forwardReal(double[] g, double[] HRe, double[] HIm) {
+			checkSizeReal(g);
+			checkSizeHalf(HRe, HIm);
+			final double scale = sm.getScale(M, true);
+			final double[] A = getWorkArray(M);
+			System.arraycopy(g, 0, A, 0, M);
+			if (M > 1)
+				fft.realForward(A);
+			unpackHalf(A, HRe, HIm, scale);
+		}
+		
+		@Override
+		public void inverseReal(double[] HRe, double[] HIm, double[] g) {
+			checkSizeHalf(HRe, HIm);
+			checkSizeReal(g);
+			// realInverse() is used with 1/M scaling, since its unscaled result is inconsistent for M = 2
+			final double scale = (M * sm.getScale(M, false));
+			final double[] A = getWorkArray(M);
+			packHalf(HRe, HIm, A);
+			if (M > 1)
+				fft.realInverse(A, true);
+			for (int i = 0; i < M; i++) {
+				g[i] = A[i] * scale;
+			}
+		}
+		
+		// packed real spectrum (JTransforms format, first M elements of A) -> (HRe, HIm)
+		private void unpackHalf(double[] A, double[] HRe, double[] HIm, double scale) {
+			HRe[0] = A[0] * scale;
+			HIm[0] = 0;
+			for (int k = 1; k < HRe.length; k++) {
+				if (2*k + 1 < M) {
+					HRe[k] = A[2*k] * scale;
+					HIm[k] = A[2*k + 1] * scale;
+				}
+				else if (2*k == M) {	// M even, element M/2 is real
+					HRe[k] = A[1] * scale;
+					HIm[k] = 0;
+				}
+				else {					// M odd, element (M-1)/2
+					HRe[k] = A[2*k] * scale;
+					HIm[k] = A[1] * scale;
+				}
+			}
+		}
+		
+		// (HRe, HIm) -> packed real spectrum (JTransforms format, first M elements of A)
+		private void packHalf(double[] HRe, double[] HIm, double[] A) {
+			A[0] = HRe[0];
+			for (int k = 1; k < HRe.length; k++) {
+				if (2*k + 1 < M) {
+					A[2*k] = HRe[k];
+					A[2*k + 1] = HIm[k];
+				}
+				else if (2*k == M) {	// M even, element M/2 is real
+					A[1] = HRe[k];
+				}
+				else {					// M odd, element (M-1)/2
+					A[2*k] = HRe[k];
+					A[1] = HIm[k];
+				}
+			}
+		}
+		
 		// (re, im) -> A
 		private void composeA(double[] re, double[] im, double[] A) {
 			for (int i = 0; i < M; i++) {
@@ -23,7 +23,7 @@ import java.util.Arrays;
  * </p>
  * 
  * @author WB
- * @version 2022/10/21
+ * @version 2026/10/16
  * @see Dft1d
  */
 public interface Dft2d {
@@ -50,6 +50,16 @@ public interface Dft2d {
 	 */
 	public ScalingMode getScalingMode();
 	
+	/**
+	 * Returns the width of the non-redundant half spectrum of a real-valued 2D signal, i.e., M/2 + 1 for signal width
+	 * M (see {@link Dft2d.Float#forwardReal(float[][], float[][], float[][])}). The height of the half spectrum is the
+	 * same as the height of the signal.
+	 * @return the width of the half spectrum
+	 */
+	public default int getHalfWidth() {
+		return getWidth() / 2 + 1;
+	}
+	
 	// -------------------------------------------------------------
 	
 	/**
@@ -152,6 +162,116 @@ public interface Dft2d {
 			transform(GRe, GIm, false);
 		}
 		
+		/**
+		 * Calculates the 2D DFT spectrum of the supplied real-valued signal. Since the spectrum of a real signal is
+		 * conjugate symmetric (i.e., G(M-u, N-v) = G*(u, v)), only its non-redundant part of size (M/2 + 1) x N (see
+		 * {@link #getHalfWidth()}) is returned. The rows are transformed with the real-input 1D DFT
+		 * ({@link Dft1d.Float#forwardReal(float[], float[], float[])}), thus only M/2 + 1 columns must be transformed
+		 * subsequently. Use {@link #expandHalfSpectrum(float[][], float[][], float[][], float[][])} to obtain the full
+		 * spectrum. The input signal is not modified.
+		 * 
+		 * @param g the real-valued signal (size M x N)
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N, modified)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N, modified)
+		 */
+		public default void forwardReal(float[][] g, float[][] HRe, float[][] HIm) {
+			checkSize(g);
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+
+			// transform each (real-valued) row:
+			final float[] row = new float[width];
+			final float[] rowRe = new float[halfWidth];
+			final float[] rowIm = new float[halfWidth];
+			Dft1d.Float dftRow = get1dDft(width);
+			for (int v = 0; v < height; v++) {
+				extractRow(g, v, row);
+				dftRow.forwardReal(row, rowRe, rowIm);
+				insertRow(HRe, v, rowRe);
+				insertRow(HIm, v, rowIm);
+			}
+
+			// transform each of the remaining columns (in place):
+			Dft1d.Float dftCol = get1dDft(height);
+			for (int u = 0; u < halfWidth; u++) {
+				dftCol.forward(HRe[u], HIm[u]);
+			}
+		}
+		
+		/**
+		 * Calculates the real-valued 2D signal for the supplied half spectrum, as obtained by
+		 * {@link #forwardReal(float[][], float[][], float[][])}. The input spectrum is not modified.
+		 * 
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N)
+		 * @param g the real-valued signal (size M x N, modified)
+		 */
+		public default void inverseReal(float[][] HRe, float[][] HIm, float[][] g) {
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			checkSize(g);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+
+			// transform each column:
+			final float[][] colRe = new float[halfWidth][];
+			final float[][] colIm = new float[halfWidth][];
+			Dft1d.Float dftCol = get1dDft(height);
+			for (int u = 0; u < halfWidth; u++) {
+				colRe[u] = HRe[u].clone();
+				colIm[u] = HIm[u].clone();
+				dftCol.inverse(colRe[u], colIm[u]);
+			}
+
+			// transform each row to a real-valued signal:
+			final float[] row = new float[width];
+			final float[] rowRe = new float[halfWidth];
+			final float[] rowIm = new float[halfWidth];
+			Dft1d.Float dftRow = get1dDft(width);
+			for (int v = 0; v < height; v++) {
+				extractRow(colRe, v, rowRe);
+				extractRow(colIm, v, rowIm);
+				dftRow.inverseReal(rowRe, rowIm, row);
+				insertRow(g, v, row);
+			}
+		}
+		
+		/**
+		 * Expands the half spectrum of a real-valued 2D signal (see
+		 * {@link #forwardReal(float[][], float[][], float[][])}) to the full (conjugate symmetric) spectrum.
+		 * 
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N)
+		 * @param GRe real part of the full spectrum (size M x N, modified)
+		 * @param GIm imaginary part of the full spectrum (size M x N, modified)
+		 */
+		public default void expandHalfSpectrum(float[][] HRe, float[][] HIm, float[][] GRe, float[][] GIm) {
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			checkSize(GRe);
+			checkSize(GIm);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+			for (int u = 0; u < width; u++) {
+				for (int v = 0; v < height; v++) {
+					if (u < halfWidth) {
+						GRe[u][v] = HRe[u][v];
+						GIm[u][v] = HIm[u][v];
+					}
+					else {
+						final int vv = (height - v) % height;
+						GRe[u][v] =  HRe[width - u][vv];
+						GIm[u][v] = -HIm[width - u][vv];
+					}
+				}
+			}
+		}
+		
 		public default void checkSize(float[][] A) {
 			if (A.length != this.getWidth()) 
 				throw new IllegalArgumentException(
@@ -162,14 +282,15 @@ public interface Dft2d {
 		}
 		
 		/**
-		 * Calculates and returns the magnitude of the supplied complex-valued 2D data.
+		 * Calculates and returns the magnitude of the supplied complex-valued 2D data, which may be a full spectrum or a
+		 * half spectrum (see {@code forwardReal()}).
 		 * @param re the real part of the data
 		 * @param im the imaginary part of the data
 		 * @return a 2D array of magnitude values
 		 */
 		public default float[][] getMagnitude(float[][] re, float[][] im) {
-			checkSize(re);
-			checkSize(im);
+			checkSizeFullOrHalf(re);
+			checkSizeFullOrHalf(im);
 			final int width = re.length;
 			final int height = re[0].length;
 			float[][] mag = new float[width][height];
@@ -182,6 +303,46 @@ public interface Dft2d {
 			}
 			return mag;
 		}
+		
+		/**
+		 * Calculates and returns the power (squared magnitude) of the supplied complex-valued 2D data, which may be a
+		 * full spectrum or a half spectrum (see {@link #forwardReal(float[][], float[][], float[][])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return a 2D array of power values
+		 */
+		public default float[][] getPower(float[][] re, float[][] im) {
+			checkSizeFullOrHalf(re);
+			checkSizeFullOrHalf(im);
+			final int width = re.length;
+			final int height = re[0].length;
+			float[][] pwr = new float[width][height];
+			for (int u = 0; u < width; u++) {
+				for (int v = 0; v < height; v++) {
+					float a = re[u][v];
+					float b = im[u][v];
+					pwr[u][v] = a * a + b * b;
+				}
+			}
+			return pwr;
+		}
+		
+		public default void checkSizeHalf(float[][] A) {
+			if (A.length != this.getHalfWidth()) 
+				throw new IllegalArgumentException(
+						String.format("wrong 2D half spectrum width %d (expected %d)", A.length, this.getHalfWidth()));
+			if (A[0].length != this.getHeight()) 
+				throw new IllegalArgumentException(
+						String.format("wrong 2D array height %d (expected %d)", A[0].length, this.getHeight()));
+		}
+		
+		public default void checkSizeFullOrHalf(float[][] A) {
+			if (A.length == this.getHalfWidth())
+				checkSizeHalf(A);
+			else
+				checkSize(A);
+		}
 	}
 	
 	// -------------------------------------------------------------
@@ -297,15 +458,126 @@ public interface Dft2d {
 		}
 		
 		/**
-		 * Calculates and returns the magnitude of the supplied complex-valued 2D data.
+		 * Calculates the 2D DFT spectrum of the supplied real-valued signal. Since the spectrum of a real signal is
+		 * conjugate symmetric (i.e., G(M-u, N-v) = G*(u, v)), only its non-redundant part of size (M/2 + 1) x N (see
+		 * {@link #getHalfWidth()}) is returned. The rows are transformed with the real-input 1D DFT
+		 * ({@link Dft1d.Double#forwardReal(double[], double[], double[])}), thus only M/2 + 1 columns must be transformed
+		 * subsequently. Use {@link #expandHalfSpectrum(double[][], double[][], double[][], double[][])} to obtain the full
+		 * spectrum. The input signal is not modified.
+		 * 
+		 * @param g the real-valued signal (size M x N)
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N, modified)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N, modified)
+		 */
+		public default void forwardReal(double[][] g, double[][] HRe, double[][] HIm) {
+			checkSize(g);
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+
+			// transform each (real-valued) row:
+			final double[] row = new double[width];
+			final double[] rowRe = new double[halfWidth];
+			final double[] rowIm = new double[halfWidth];
+			Dft1d.Double dftRow = get1dDft(width);
+			for (int v = 0; v < height; v++) {
+				extractRow(g, v, row);
+				dftRow.forwardReal(row, rowRe, rowIm);
+				insertRow(HRe, v, rowRe);
+				insertRow(HIm, v, rowIm);
+			}
+
+			// transform each of the remaining columns (in place):
+			Dft1d.Double dftCol = get1dDft(height);
+			for (int u = 0; u < halfWidth; u++) {
+				dftCol.forward(HRe[u], HIm[u]);
+			}
+		}
+		
+		/**
+		 * Calculates the real-valued 2D signal for the supplied half spectrum, as obtained by
+		 * {@link #forwardReal(double[][], double[][], double[][])}. The input spectrum is not modified.
+		 * 
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N)
+		 * @param g the real-valued signal (size M x N, modified)
+		 */
+		public default void inverseReal(double[][] HRe, double[][] HIm, double[][] g) {
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			checkSize(g);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+
+			// transform each column:
+			final double[][] colRe = new double[halfWidth][];
+			final double[][] colIm = new double[halfWidth][];
+			Dft1d.Double dftCol = get1dDft(height);
+			for (int u = 0; u < halfWidth; u++) {
+				colRe[u] = HRe[u].clone();
+				colIm[u] = HIm[u].clone();
+				dftCol.inverse(colRe[u], colIm[u]);
+			}
+
+			// transform each row to a real-valued signal:
+			final double[] row = new double[width];
+			final double[] rowRe = new double[halfWidth];
+			final double[] rowIm = new double[halfWidth];
+			Dft1d.Double dftRow = get1dDft(width);
+			for (int v = 0; v < height; v++) {
+				extractRow(colRe, v, rowRe);
+				extractRow(colIm, v, rowIm);
+				dftRow.inverseReal(rowRe, rowIm, row);
+				insertRow(g, v, row);
+			}
+		}
+		
+		/**
+		 * Expands the half spectrum of a real-valued 2D signal (see
+		 * {@link #forwardReal(double[][], double[][], double[][])}) to the full (conjugate symmetric) spectrum.
+		 * 
+		 * @param HRe real part of the half spectrum (size (M/2 + 1) x N)
+		 * @param HIm imaginary part of the half spectrum (size (M/2 + 1) x N)
+		 * @param GRe real part of the full spectrum (size M x N, modified)
+		 * @param GIm imaginary part of the full spectrum (size M x N, modified)
+		 */
+		public default void expandHalfSpectrum(double[][] HRe, double[][] HIm, double[][] GRe, double[][] GIm) {
+			checkSizeHalf(HRe);
+			checkSizeHalf(HIm);
+			checkSize(GRe);
+			checkSize(GIm);
+			final int width = this.getWidth();
+			final int height = this.getHeight();
+			final int halfWidth = this.getHalfWidth();
+			for (int u = 0; u < width; u++) {
+				for (int v = 0; v < height; v++) {
+					if (u < halfWidth) {
+						GRe[u][v] = HRe[u][v];
+						GIm[u][v] = HIm[u][v];
+					}
+					else {
+						final int vv = (height - v) % height;
+						GRe[u][v] =  HRe[width - u][vv];
+						GIm[u][v] = -HIm[width - u][vv];
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Calculates and returns the magnitude of the supplied complex-valued 2D data, which may be a full spectrum or a
+		 * half spectrum (see {@code forwardReal()}).
 		 * 
 		 * @param re the real part of the data
 		 * @param im the imaginary part of the data
 		 * @return a 2D array of magnitude values
 		 */
 		public default double[][] getMagnitude(double[][] re, double[][] im) {
-			checkSize(re);
-			checkSize(im);
+			checkSizeFullOrHalf(re);
+			checkSizeFullOrHalf(im);
 			final int width = re.length;
 			final int height = re[0].length;
 			double[][] mag = new double[width][height];
@@ -319,6 +591,46 @@ public interface Dft2d {
 			return mag;
 		}
 		
+		/**
+		 * Calculates and returns the power (squared magnitude) of the supplied complex-valued 2D data, which may be a
+		 * full spectrum or a half spectrum (see {@link #forwardReal(double[][], double[][], double[][])}).
+		 * 
+		 * @param re the real part of the data
+		 * @param im the imaginary part of the data
+		 * @return a 2D array of power values
+		 */
+		public default double[][] getPower(double[][] re, double[][] im) {
+			checkSizeFullOrHalf(re);
+			checkSizeFullOrHalf(im);
+			final int width = re.length;
+			final int height = re[0].length;
+			double[][] pwr = new double[width][height];
+			for (int u = 0; u < width; u++) {
+				for (int v = 0; v < height; v++) {
+					double a = re[u][v];
+					double b = im[u][v];
+					pwr[u][v] = a * a + b * b;
+				}
+			}
+			return pwr;
+		}
+		
+		public default void checkSizeHalf(double[][] A) {
+			if (A.length != this.getHalfWidth()) 
+				throw new IllegalArgumentException(
+						String.format("wrong 2D half spectrum width %d (expected %d)", A.length, this.getHalfWidth()));
+			if (A[0].length != this.getHeight()) 
+				throw new IllegalArgumentException(
+						String.format("wrong 2D array height %d (expected %d)", A[0].length, this.getHeight()));
+		}
+		
+		public default void checkSizeFullOrHalf(double[][] A) {
+			if (A.length == this.getHalfWidth())
+				checkSizeHalf(A);
+			else
+				checkSize(A);
+		}
+		
 		public default void checkSize(double[][] A) {
 			if (A.length != this.getWidth()) 
 				throw new IllegalArgumentException(
@@ -8,11 +8,15 @@
  ******************************************************************************/
 package imagingbook.spectral.dft;
 
+import imagingbook.spectral.ParallelChunks;
+import org.jtransforms.fft.DoubleFFT_2D;
+import org.jtransforms.fft.FloatFFT_2D;
+
 /**
  * <p>
  * Fast implementation of the 2-dimensional DFT using 1D FFTs. Note that this
  * class has no public constructor - instantiate sub-class
- * {@link Dft2dDirect.Float} or {@link Dft2dDirect.Double} instead, as shown
+ * {@link Dft2dFast.Float} or {@link Dft2dFast.Double} instead, as shown
  * below. See Ch. 19 of [1] for additional details.
  * </p>
  * <p>
@@ -28,17 +32,69 @@ package imagingbook.spectral.dft;
  * dct.inverse(re, im);  // re/im now is the original 2D signal 
  * ...</pre>
  * <p>
+ * The rows and columns of sufficiently large data arrays (see {@link #MinParallelSize}) are
+ * transformed in parallel. The underlying 1D FFTs are taken from a shared plan cache (see
+ * {@link Dft1dFast.Float#getInstance(int, ScalingMode)}) and use per-thread work arrays. In addition to the
+ * {@code [x][y]}-indexed 2D arrays used by {@link Dft2d}, data may be supplied as flat 1D arrays in
+ * row-major order (i.e., element (x,y) is at index {@code y * width + x}), which avoids strided access
+ * in the row pass (see {@link Float#transform(float[], float[], boolean)}).
+ * Alternatively (see {@link #setUseFFT2D(boolean)}), the complete 2D transform may be delegated
+ * to the 2D FFT of the underlying JTransforms library, which does its own multi-threading.
+ * </p>
+ * <p>
  * [1] W. Burger, M.J. Burge, <em>Digital Image Processing &ndash; An Algorithmic
  * Introduction</em>, 3rd ed, Springer (2022).
  * </p>
  * 
  * @author WB
+ * @version 2026/10/16
  * @see Dft1dFast
  */
 public abstract class Dft2dFast extends Dft2dImp {
 	
+	/**
+	 * Minimum number of data elements (width x height) for transforming rows and columns in parallel.
+	 */
+	public static final int MinParallelSize = ParallelChunks.MinParallelSize;
+	
+	final ParallelChunks chunks;	// splits rows/columns for parallel processing
+	private boolean useFFT2D = false;
+	
 	private Dft2dFast(int width, int height, ScalingMode sm) {
 		super(width, height, sm);
+		this.chunks = new ParallelChunks(width, height);
+	}
+	
+	/**
+	 * Enables or disables parallel processing of rows and columns (enabled by default).
+	 * 
+	 * @param parallel {@code true} to enable parallel processing
+	 */
+	public void setParallel(boolean parallel) {
+		chunks.setParallel(parallel);
+	}
+	
+	/**
+	 * Selects whether the 2D transform is delegated to JTransforms' 2D FFT ({@code FloatFFT_2D} or
+	 * {@code DoubleFFT_2D}, multi-threaded internally) instead of being composed of 1D FFTs
+	 * (disabled by default). Results are the same up to numerical precision.
+	 * Delegation is not possible if the width or height of the data is 1, in which case this setting
+	 * is ignored.
+	 * 
+	 * @param useFFT2D {@code true} to use JTransforms' 2D FFT
+	 */
+	public void setUseFFT2D(boolean useFFT2D) {
+		this.useFFT2D = useFFT2D;
+	}
+	
+	// delegation to JTransforms' 2D FFT requires both dimensions to be > 1
+	boolean delegate2D() {
+		return useFFT2D && M > 1 && N > 1;
+	}
+	
+	// returns the scale factor applied to the 2D transform
+	double getScale2D(boolean forward) {
+		return sm.getScale(M, forward) * sm.getScale(N, forward);
 	}
 	
 	// -------------------------------------------------------------------------
@@ -48,6 +104,8 @@ public abstract class Dft2dFast extends Dft2dImp {
 	 */
 	public static class Float extends Dft2dFast implements Dft2d.Float {
 		
+		private FloatFFT_2D fft2 = null;	// created on demand
+		
 		/**
 		 * Constructor using a specific scaling mode.
 		 * 
@@ -73,11 +131,153 @@ public abstract class Dft2dFast extends Dft2dImp {
 
 		@Override
 		public Dft1d.Float get1dDft(int size) {
-			return new Dft1dFast.Float(size, this.sm);
+			return Dft1dFast.Float.getInstance(size, this.sm);
+		}
+		
+		@Override
+		public void transform(float[][] inRe, float[][] inIm, boolean forward) {
+			checkSize(inRe);
+			checkSize(inIm);
+			if (delegate2D()) {
+				final float[] A = new float[2 * M * N];
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						A[2 * (v * M + u)] = inRe[u][v];
+						A[2 * (v * M + u) + 1] = inIm[u][v];
+					}
+				}
+				transform2D(A, forward);
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						inRe[u][v] = A[2 * (v * M + u)];
+						inIm[u][v] = A[2 * (v * M + u) + 1];
+					}
+				}
+				return;
+			}
+			
+			// transform each row (in place):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final float[] rowRe = new float[M];
+				final float[] rowIm = new float[M];
+				final Dft1d.Float dftRow = get1dDft(M);
+				for (int v = v0; v < v1; v++) {
+					extractRow(inRe, v, rowRe);
+					extractRow(inIm, v, rowIm);
+					dftRow.transform(rowRe, rowIm, forward);
+					insertRow(inRe, v, rowRe);
+					insertRow(inIm, v, rowIm);
+				}
+			});
+			
+			// transform each column (in place, columns are contiguous):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final Dft1d.Float dftCol = get1dDft(N);
+				for (int u = u0; u < u1; u++) {
+					dftCol.transform(inRe[u], inIm[u], forward);
+				}
+			});
+		}
+		
+		/**
+		 * Transforms the given flat data arrays 'in-place'. Data are arranged in row-major order,
+		 * i.e., element (x,y) is located at index {@code y * width + x}. Separate arrays of length
+		 * width x height must be supplied for the real and imaginary parts of the signal (forward) or
+		 * spectrum (inverse), neither of which may be null.
+		 * 
+		 * @param inRe real part of the input signal or spectrum (modified)
+		 * @param inIm imaginary part of the input signal or spectrum (modified)
+		 * @param forward forward transformation if {@code true}, inverse transformation if {@code false}
+		 */
+		public void transform(float[] inRe, float[] inIm, boolean forward) {
+			chunks.checkLength(inRe.length);
+			chunks.checkLength(inIm.length);
+			if (delegate2D()) {
+				final float[] A = new float[2 * M * N];
+				for (int i = 0; i < M * N; i++) {
+					A[2 * i] = inRe[i];
+					A[2 * i + 1] = inIm[i];
+				}
+				transform2D(A, forward);
+				for (int i = 0; i < M * N; i++) {
+					inRe[i] = A[2 * i];
+					inIm[i] = A[2 * i + 1];
+				}
+				return;
+			}
+			
+			// transform each row (in place, rows are contiguous):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final float[] rowRe = new float[M];
+				final float[] rowIm = new float[M];
+				final Dft1d.Float dftRow = get1dDft(M);
+				for (int v = v0; v < v1; v++) {
+					System.arraycopy(inRe, v * M, rowRe, 0, M);
+					System.arraycopy(inIm, v * M, rowIm, 0, M);
+					dftRow.transform(rowRe, rowIm, forward);
+					System.arraycopy(rowRe, 0, inRe, v * M, M);
+					System.arraycopy(rowIm, 0, inIm, v * M, M);
+				}
+			});
+			
+			// transform each column (in place):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final float[] colRe = new float[N];
+				final float[] colIm = new float[N];
+				final Dft1d.Float dftCol = get1dDft(N);
+				for (int u = u0; u < u1; u++) {
+					for (int v = 0; v < N; v++) {
+						colRe[v] = inRe[v * M + u];
+						colIm[v] = inIm[v * M + u];
+					}
+					dftCol.transform(colRe, colIm, forward);
+					for (int v = 0; v < N; v++) {
+						inRe[v * M + u] = colRe[v];
+						inIm[v * M + u] = colIm[v];
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Performs an "in-place" forward DFT on the supplied flat (row-major) data.
+		 * 
+		 * @param gRe real part of the signal (modified)
+		 * @param gIm imaginary part of the signal (modified)
+		 * @see #transform(float[], float[], boolean)
+		 */
+		public void forward(float[] gRe, float[] gIm) {
+			transform(gRe, gIm, true);
+		}
+		
+		/**
+		 * Performs an "in-place" inverse DFT on the supplied flat (row-major) spectrum.
+		 * 
+		 * @param GRe real part of the spectrum (modified)
+		 * @param GIm imaginary part of the spectrum (modified)
+		 * @see #transform(float[], float[], boolean)
+		 */
+		public void inverse(float[] GRe, float[] GIm) {
+			transform(GRe, GIm, false);
+		}
+		
+		// transforms the interleaved, row-major array A with JTransforms' 2D FFT
+		private void transform2D(float[] A, boolean forward) {
+			if (fft2 == null) {
+				fft2 = new FloatFFT_2D(N, M);
+			}
+			if (forward)
+				fft2.complexForward(A);
+			else
+				fft2.complexInverse(A, false);
+			final float scale = (float) getScale2D(forward);
+			for (int i = 0; i < A.length; i++) {
+				A[i] = A[i] * scale;
+			}
 		}
 
 	}
-	
+
 	// -------------------------------------------------------------------------
 
 	/**
@@ -85,6 +285,8 @@ public abstract class Dft2dFast extends Dft2dImp {
 	 */
 	public static class Double extends Dft2dFast implements Dft2d.Double {
 		
+		private DoubleFFT_2D fft2 = null;	// created on demand
+		
 		/**
 		 * Constructor using a specific scaling mode.
 		 * 
@@ -110,8 +312,150 @@ public abstract class Dft2dFast extends Dft2dImp {
 
 		@Override
 		public Dft1d.Double get1dDft(int size) {
-			return new Dft1dFast.Double(size, this.sm);
+			return Dft1dFast.Double.getInstance(size, this.sm);
 		}
-	
+		
+		@Override
+		public void transform(double[][] inRe, double[][] inIm, boolean forward) {
+			checkSize(inRe);
+			checkSize(inIm);
+			if (delegate2D()) {
+				final double[] A = new double[2 * M * N];
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						A[2 * (v * M + u)] = inRe[u][v];
+						A[2 * (v * M + u) + 1] = inIm[u][v];
+					}
+				}
+				transform2D(A, forward);
+				for (int u = 0; u < M; u++) {
+					for (int v = 0; v < N; v++) {
+						inRe[u][v] = A[2 * (v * M + u)];
+						inIm[u][v] = A[2 * (v * M + u) + 1];
+					}
+				}
+				return;
+			}
+			
+			// transform each row (in place):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final double[] rowRe = new double[M];
+				final double[] rowIm = new double[M];
+				final Dft1d.Double dftRow = get1dDft(M);
+				for (int v = v0; v < v1; v++) {
+					extractRow(inRe, v, rowRe);
+					extractRow(inIm, v, rowIm);
+					dftRow.transform(rowRe, rowIm, forward);
+					insertRow(inRe, v, rowRe);
+					insertRow(inIm, v, rowIm);
+				}
+			});
+			
+			// transform each column (in place, columns are contiguous):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final Dft1d.Double dftCol = get1dDft(N);
+				for (int u = u0; u < u1; u++) {
+					dftCol.transform(inRe[u], inIm[u], forward);
+				}
+			});
+		}
+		
+		/**
+		 * Transforms the given flat data arrays 'in-place'. Data are arranged in row-major order,
+		 * i.e., element (x,y) is located at index {@code y * width + x}. Separate arrays of length
+		 * width x height must be supplied for the real and imaginary parts of the signal (forward) or
+		 * spectrum (inverse), neither of which may be null.
+		 * 
+		 * @param inRe real part of the input signal or spectrum (modified)
+		 * @param inIm imaginary part of the input signal or spectrum (modified)
+		 * @param forward forward transformation if {@code true}, inverse transformation if {@code false}
+		 */
+		public void transform(double[] inRe, double[] inIm, boolean forward) {
+			chunks.checkLength(inRe.length);
+			chunks.checkLength(inIm.length);
+			if (delegate2D()) {
+				final double[] A = new double[2 * M * N];
+				for (int i = 0; i < M * N; i++) {
+					A[2 * i] = inRe[i];
+					A[2 * i + 1] = inIm[i];
+				}
+				transform2D(A, forward);
+				for (int i = 0; i < M * N; i++) {
+					inRe[i] = A[2 * i];
+					inIm[i] = A[2 * i + 1];
+				}
+				return;
+			}
+			
+			// transform each row (in place, rows are contiguous):
+			chunks.forEachChunk(N, (v0, v1) -> {
+				final double[] rowRe = new double[M];
+				final double[] rowIm = new double[M];
+				final Dft1d.Double dftRow = get1dDft(M);
+				for (int v = v0; v < v1; v++) {
+					System.arraycopy(inRe, v * M, rowRe, 0, M);
+					System.arraycopy(inIm, v * M, rowIm, 0, M);
+					dftRow.transform(rowRe, rowIm, forward);
+					System.arraycopy(rowRe, 0, inRe, v * M, M);
+					System.arraycopy(rowIm, 0, inIm, v * M, M);
+				}
+			});
+			
+			// transform each column (in place):
+			chunks.forEachChunk(M, (u0, u1) -> {
+				final double[] colRe = new double[N];
+				final double[] colIm = new double[N];
+				final Dft1d.Double dftCol = get1dDft(N);
+				for (int u = u0; u < u1; u++) {
+					for (int v = 0; v < N; v++) {
+						colRe[v] = inRe[v * M + u];
+						colIm[v] = inIm[v * M + u];
+					}
+					dftCol.transform(colRe, colIm, forward);
+					for (int v = 0; v < N; v++) {
+						inRe[v * M + u] = colRe[v];
+						inIm[v * M + u] = colIm[v];
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Performs an "in-place" forward DFT on the supplied flat (row-major) data.
+		 * 
+		 * @param gRe real part of the signal (modified)
+		 * @param gIm imaginary part of the signal (modified)
+		 * @see #transform(double[], double[], boolean)
+		 */
+		public void forward(double[] gRe, double[] gIm) {
+			transform(gRe, gIm, true);
+		}
+		
+		/**
+		 * Performs an "in-place" inverse DFT on the supplied flat (row-major) spectrum.
+		 * 
+		 * @param GRe real part of the spectrum (modified)
+		 * @param GIm imaginary part of the spectrum (modified)
+		 * @see #transform(double[], double[], boolean)
+		 */
+		public void inverse(double[] GRe, double[] GIm) {
+			transform(GRe, GIm, false);
+		}
+		
+		// transforms the interleaved, row-major array A with JTransforms' 2D FFT
+		private void transform2D(double[] A, boolean forward) {
+			if (fft2 == null) {
+				fft2 = new DoubleFFT_2D(N, M);
+			}
+			if (forward)
+				fft2.complexForward(A);
+			else
+				fft2.complexInverse(A, false);
+			final double scale = getScale2D(forward);
+			for (int i = 0; i < A.length; i++) {
+				A[i] = A[i] * scale;
+			}
+		}
+
 	}
 }
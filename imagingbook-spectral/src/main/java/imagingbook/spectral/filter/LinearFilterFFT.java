@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.filter;
+
+import imagingbook.common.filter.generic.GenericFilter;
+import imagingbook.common.filter.linear.Kernel2D;
+import imagingbook.common.filter.linear.LinearFilter;
+import imagingbook.common.image.OutOfBoundsStrategy;
+import imagingbook.common.image.PixelPack;
+import imagingbook.common.image.PixelPack.PixelSlice;
+import imagingbook.spectral.FftSizes;
+import imagingbook.spectral.dft.Dft2d;
+import imagingbook.spectral.dft.Dft2dFast;
+import imagingbook.spectral.dft.ScalingMode;
+
+/**
+ * <p>
+ * This class represents a 2D linear filter specified by an arbitrary 2D convolution kernel, implemented in the
+ * frequency domain. It produces the same results as {@link LinearFilter} (up to numerical precision), but the
+ * filter's cost is practically independent of the kernel size, which makes it the preferred choice for large kernels.
+ * Each image component is extended by the kernel's extent, using the image's {@link OutOfBoundsStrategy}, such that
+ * border pixels are treated exactly as in the direct (spatial) implementation. The extended image and the kernel are
+ * transformed by a 2D FFT (see {@link Dft2dFast}), multiplied and transformed back. All calculations are performed in
+ * {@code double} precision. The kernel spectrum is calculated only once for each image size.
+ * </p>
+ * <p>
+ * Use the static factory method {@link #create(Kernel2D)} to obtain either a {@link LinearFilter} or a
+ * {@link LinearFilterFFT} instance, depending on the kernel size.
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see LinearFilter
+ */
+public class LinearFilterFFT extends GenericFilter {
+
+	/**
+	 * Kernel size (number of kernel elements) above which {@link #create(Kernel2D)} selects the FFT-based
+	 * implementation. Measured with {@code LinearFilterFFTBenchmark} (in the test folder of this module), the direct
+	 * implementation is faster for kernels up to approx. 9x9 elements.
+	 */
+	public static final int CrossoverKernelSize = 81;
+
+	/**
+	 * Returns a linear filter for the specified kernel, choosing the direct (spatial) implementation
+	 * ({@link LinearFilter}) for small kernels and the FFT-based implementation ({@link LinearFilterFFT}) for large
+	 * kernels (see {@link #CrossoverKernelSize}). Both produce the same results up to numerical precision.
+	 *
+	 * @param kernel the 2D filter kernel
+	 * @return a new linear filter
+	 */
+	public static GenericFilter create(Kernel2D kernel) {
+		if (kernel.getWidth() * kernel.getHeight() <= CrossoverKernelSize) {
+			return new LinearFilter(kernel);
+		}
+		else {
+			return new LinearFilterFFT(kernel);
+		}
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	private final float[][] H;			// the kernel matrix, note H[y][x]!
+	private final int xc, yc;			// 'hot spot' coordinates
+	private final int kw, kh;			// kernel width/height
+
+	private int M = -1, N = -1;			// size of the extended (padded) image
+	private double[][] HRe, HIm;		// kernel spectrum for size M x N
+
+	// for progress reporting only
+	private int slice;
+	private int sliceMax = 1;
+
+	/**
+	 * Constructor, only the 2D filter kernel needs to be specified.
+	 *
+	 * @param kernel the 2D filter kernel
+	 */
+	public LinearFilterFFT(Kernel2D kernel) {
+		this.H = kernel.getH();
+		this.xc = kernel.getXc();
+		this.yc = kernel.getYc();
+		this.kw = kernel.getWidth();
+		this.kh = kernel.getHeight();
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	@Override
+	protected void runPass(PixelPack source, PixelPack target) {
+		final int M = FftSizes.getFftSize(source.getWidth() + kw - 1);
+		final int N = FftSizes.getFftSize(source.getHeight() + kh - 1);
+		if (M != this.M || N != this.N) {
+			makeKernelSpectrum(M, N);
+		}
+		sliceMax = source.getDepth();
+		for (int k = 0; k < sliceMax; k++) {
+			this.slice = k;
+			runSlice(source.getSlice(k), target.getSlice(k));
+		}
+	}
+
+	private void runSlice(PixelSlice source, PixelSlice target) {
+		final int width = source.getWidth();
+		final int height = source.getHeight();
+
+		// extended image, position (x,y) corresponds to source position (x - xc, y - yc):
+		final double[][] gRe = new double[M][N];
+		final double[][] gIm = new double[M][N];
+		for (int x = 0; x < M; x++) {
+			for (int y = 0; y < N; y++) {
+				gRe[x][y] = source.getVal(x - xc, y - yc);
+			}
+		}
+
+		Dft2d.Double dft = new Dft2dFast.Double(M, N, ScalingMode.INVERSE_ONLY);
+		dft.forward(gRe, gIm);
+
+		// multiply with the complex conjugate of the kernel spectrum (= correlation):
+		for (int x = 0; x < M; x++) {
+			for (int y = 0; y < N; y++) {
+				final double a = gRe[x][y];
+				final double b = gIm[x][y];
+				final double c = HRe[x][y];
+				final double d = HIm[x][y];
+				gRe[x][y] = a * c + b * d;
+				gIm[x][y] = b * c - a * d;
+			}
+		}
+
+		dft.inverse(gRe, gIm);
+
+		final float[] data = target.getArray();
+		for (int v = 0; v < height; v++) {
+			for (int u = 0; u < width; u++) {
+				data[v * width + u] = (float) gRe[u][v];
+			}
+		}
+	}
+
+	private void makeKernelSpectrum(int M, int N) {
+		this.M = M;
+		this.N = N;
+		this.HRe = new double[M][N];
+		this.HIm = new double[M][N];
+		for (int j = 0; j < kh; j++) {
+			for (int i = 0; i < kw; i++) {
+				HRe[i][j] = H[j][i];
+			}
+		}
+		new Dft2dFast.Double(M, N, ScalingMode.INVERSE_ONLY).forward(HRe, HIm);
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	@Override
+	protected final double reportProgress(double subProgress) {
+		double sliceProgress = (this.slice + subProgress) / this.sliceMax;
+		return super.reportProgress(sliceProgress);
+	}
+
+}
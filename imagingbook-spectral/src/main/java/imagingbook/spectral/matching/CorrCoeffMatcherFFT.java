@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.matching;
+
+import ij.process.ImageProcessor;
+import imagingbook.common.image.IntegralImage;
+import imagingbook.common.image.matching.CorrCoeffMatcher;
+import imagingbook.spectral.FftSizes;
+import imagingbook.spectral.dft.Dft2dFast;
+import imagingbook.spectral.dft.ScalingMode;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Instances of this class perform matching on scalar-valued images based on the correlation coefficient, producing the
+ * same results as {@link CorrCoeffMatcher} (up to numerical precision), but much faster for larger reference images.
+ * The local sums of the search image values and their squares are taken from an {@link IntegralImage},
+ * the cross-correlation term is calculated in the frequency domain (see {@link Dft2dFast}). All calculations are
+ * performed in {@code double} precision. The spectrum of the search image is calculated only once during
+ * construction, i.e., the cost per reference image is one forward and one inverse FFT, independent of the reference
+ * image size. Multiple reference images can be matched in parallel (see {@link #getMatches(List)}).
+ * </p>
+ *
+ * @author WB
+ * @version 2026/10/16
+ * @see CorrCoeffMatcher
+ */
+public class CorrCoeffMatcherFFT {
+
+	private final int wI, hI; 		// width/height of the search image
+	private final int M, N;			// size of the (padded) FFT arrays
+	private final IntegralImage iI;	// summed-area tables of I and I^2
+	private final double[] IRe, IIm;	// spectrum of the (padded) search image
+
+	/**
+	 * Constructor, accepts an {@link ImageProcessor} instance. Color images are converted to grayscale.
+	 * @param I the search image (to be matched to)
+	 */
+	public CorrCoeffMatcherFFT(ImageProcessor I) {
+		this(I.getFloatArray());
+	}
+
+	/**
+	 * Constructor, accepts a 2D float array.
+	 * @param fI the search image (to be matched to)
+	 */
+	public CorrCoeffMatcherFFT(float[][] fI) {
+		this.wI = fI.length;
+		this.hI = fI[0].length;
+		// no circular wrap-around occurs for valid positions, since reference images are not larger than I
+		this.M = FftSizes.getFftSize(wI);
+		this.N = FftSizes.getFftSize(hI);
+
+		this.iI = new IntegralImage(fI);
+
+		this.IRe = new double[M * N];
+		this.IIm = new double[M * N];
+		for (int v = 0; v < hI; v++) {
+			for (int u = 0; u < wI; u++) {
+				IRe[v * M + u] = fI[u][v];
+			}
+		}
+		makeDft().forward(IRe, IIm);
+	}
+
+	/**
+	 * Matches the specified reference image R to the (fixed) search image I. Resulting score values are in [-1, 1], the
+	 * score for the optimal match is +1. The returned score matrix has the size of the search image I reduced by the
+	 * size of the reference image R.
+	 *
+	 * @param R a scalar-valued reference image
+	 * @return a 2D array Q[r][s] of match scores in [-1,1]
+	 */
+	public float[][] getMatch(ImageProcessor R) {
+		return getMatch(R.getFloatArray());
+	}
+
+	/**
+	 * Matches the specified reference image R to the (fixed) search image I. Resulting score values are in [-1, 1], the
+	 * score for the optimal match is +1. The returned score matrix has the size of the search image I reduced by the
+	 * size of the reference image R. This method may be called concurrently from multiple threads.
+	 *
+	 * @param fR a scalar-valued reference image
+	 * @return a 2D array Q[r][s] of match scores in [-1,1]
+	 */
+	public float[][] getMatch(float[][] fR) {
+		final int wR = fR.length;
+		final int hR = fR[0].length;
+		if (wR > wI || hR > hI) {
+			throw new IllegalArgumentException("reference image must not be larger than search image");
+		}
+		final int K = wR * hR;
+
+		// calculate the mean and variance of R
+		double sumR = 0;
+		double sumR2 = 0;
+		final double[] GRe = new double[M * N];
+		final double[] GIm = new double[M * N];
+		for (int j = 0; j < hR; j++) {
+			for (int i = 0; i < wR; i++) {
+				final double b = fR[i][j];
+				sumR  += b;
+				sumR2 += b * b;
+				GRe[j * M + i] = b;
+			}
+		}
+		final double meanR = sumR / K;
+		final double varR = Math.sqrt(Math.max(sumR2 - K * meanR * meanR, 0));
+
+		// cross-correlation sum_{i,j} I(r+i, s+j) * R(i,j) = IDFT(DFT(I) * conj(DFT(R))):
+		final Dft2dFast.Double dft = makeDft();
+		dft.forward(GRe, GIm);
+		for (int k = 0; k < GRe.length; k++) {
+			final double a = IRe[k];
+			final double b = IIm[k];
+			final double c = GRe[k];
+			final double d = GIm[k];
+			GRe[k] = a * c + b * d;
+			GIm[k] = b * c - a * d;
+		}
+		dft.inverse(GRe, GIm);
+
+		final float[][] C = new float[wI - wR + 1][hI - hR + 1];
+		for (int r = 0; r < C.length; r++) {
+			for (int s = 0; s < C[r].length; s++) {
+				final double sumI  = iI.getSum1(r, s, r + wR - 1, s + hR - 1);
+				final double sumI2 = iI.getSum2(r, s, r + wR - 1, s + hR - 1);
+				final double sumIR = GRe[s * M + r];
+				final double meanI = sumI / K;
+				C[r][s] = (float) ((sumIR - K * meanI * meanR) /
+						(1 + Math.sqrt(Math.max(sumI2 - K * meanI * meanI, 0)) * varR));
+					// added 1 in denominator to handle flat image regions (w. zero variance)
+			}
+		}
+		return C;
+	}
+
+	/**
+	 * Matches multiple reference images to the (fixed) search image I in parallel. The result is the same as calling
+	 * {@link #getMatch(float[][])} for each reference image.
+	 *
+	 * @param fRs a list of scalar-valued reference images
+	 * @return a list of 2D score arrays, in the same order as the reference images
+	 */
+	public List<float[][]> getMatches(List<float[][]> fRs) {
+		return fRs.parallelStream().map(this::getMatch).collect(Collectors.toList());
+	}
+
+	// -----------------------------------------------------------------------------------
+
+	private Dft2dFast.Double makeDft() {
+		return new Dft2dFast.Double(M, N, ScalingMode.INVERSE_ONLY);
+	}
+
+}
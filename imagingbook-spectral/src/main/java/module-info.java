@@ -6,6 +6,8 @@
 module imagingbook.spectral {
 	exports imagingbook.spectral.dft;
 	exports imagingbook.spectral.dct;
+	exports imagingbook.spectral.filter;
+	exports imagingbook.spectral.matching;
 
 	requires JTransforms;
 	requires imagingbook.common;
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FftSizesTest {
+
+	@Test
+	public void testFftSize() {
+		assertEquals(1, FftSizes.getFftSize(1));
+		assertEquals(8, FftSizes.getFftSize(7));
+		assertEquals(12, FftSizes.getFftSize(11));
+		assertEquals(100, FftSizes.getFftSize(98));
+		assertEquals(1024, FftSizes.getFftSize(1024));
+		assertEquals(1080, FftSizes.getFftSize(1063));
+	}
+
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PlanCacheTest {
+
+	@Test
+	public void testSameKey() {
+		PlanCache<Object> cache = new PlanCache<>();
+		Object p1 = cache.get(64, float.class, "A", Object::new);
+		Object p2 = cache.get(64, float.class, "A", Object::new);
+		assertSame(p1, p2);
+		assertEquals(1, cache.size());
+	}
+	
+	@Test
+	public void testDifferentKeys() {
+		PlanCache<Object> cache = new PlanCache<>();
+		Object p1 = cache.get(64, float.class, "A", Object::new);
+		assertNotSame(p1, cache.get(65, float.class, "A", Object::new));
+		assertNotSame(p1, cache.get(64, double.class, "A", Object::new));
+		assertNotSame(p1, cache.get(64, float.class, "B", Object::new));
+		assertNotSame(p1, cache.get(64, float.class, null, Object::new));
+		assertEquals(5, cache.size());
+	}
+	
+	@Test
+	public void testLruEviction() {
+		PlanCache<Object> cache = new PlanCache<>(3);
+		Object p1 = cache.get(1, float.class, null, Object::new);
+		Object p2 = cache.get(2, float.class, null, Object::new);
+		cache.get(3, float.class, null, Object::new);
+		assertSame(p1, cache.get(1, float.class, null, Object::new));	// 1 is now most recently used
+		cache.get(4, float.class, null, Object::new);						// evicts 2
+		assertEquals(3, cache.size());
+		assertSame(p1, cache.get(1, float.class, null, Object::new));
+		assertNotSame(p2, cache.get(2, float.class, null, Object::new));
+		
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+	
+	@Test(timeout = 10000)
+	public void testConcurrentBuild() throws InterruptedException {
+		PlanCache<Object> cache = new PlanCache<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread t = new Thread(() -> cache.get(1, float.class, null, () -> {
+			started.countDown();
+			await(release);		// blocks until the plan for key 2 is built
+			return new Object();
+		}));
+		t.start();
+		await(started);
+		// a different key must not wait for the plan being built by thread t:
+		cache.get(2, float.class, null, () -> {
+			release.countDown();
+			return new Object();
+		});
+		t.join();
+		assertEquals(2, cache.size());
+	}
+	
+	@Test(timeout = 10000)
+	public void testConcurrentSameKey() throws InterruptedException {
+		PlanCache<Object> cache = new PlanCache<>();
+		AtomicInteger builds = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Object> p1 = new AtomicReference<>();
+		Thread t = new Thread(() -> p1.set(cache.get(1, float.class, null, () -> {
+			builds.incrementAndGet();
+			started.countDown();
+			await(release);
+			return new Object();
+		})));
+		t.start();
+		await(started);
+		AtomicReference<Object> p2 = new AtomicReference<>();
+		Thread t2 = new Thread(() -> p2.set(cache.get(1, float.class, null, () -> {
+			builds.incrementAndGet();
+			return new Object();
+		})));
+		t2.start();
+		release.countDown();
+		t.join();
+		t2.join();
+		assertEquals(1, builds.get());
+		assertSame(p1.get(), p2.get());
+	}
+	
+	@Test
+	public void testFactoryException() {
+		PlanCache<Object> cache = new PlanCache<>();
+		try {
+			cache.get(1, float.class, null, () -> {
+				throw new IllegalStateException();
+			});
+			fail("exception expected");
+		}
+		catch (IllegalStateException e) { }
+		assertEquals(0, cache.size());	// nothing cached
+		Object p = cache.get(1, float.class, null, Object::new);
+		assertSame(p, cache.get(1, float.class, null, Object::new));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalCapacity() {
+		new PlanCache<Object>(0);
+	}
+	
+	// ---------------------------------------------------------------------
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -14,6 +14,8 @@ import org.junit.Test;
 import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class Dct1dFastTest {
 
@@ -110,5 +112,12 @@ public class Dct1dFastTest {
 		dct.inverse(data);
 		assertArrayEquals(dataOrig, data, TOL);
 	}
+	
+	@Test
+	public void testSharedInstance() {
+		assertSame(Dct1dFast.Float.getInstance(100), Dct1dFast.Float.getInstance(100));
+		assertSame(Dct1dFast.Double.getInstance(100), Dct1dFast.Double.getInstance(100));
+		assertNotSame(Dct1dFast.Double.getInstance(100), Dct1dFast.Double.getInstance(101));
+	}
 
 }
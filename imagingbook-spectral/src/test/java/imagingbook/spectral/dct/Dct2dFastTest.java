@@ -15,6 +15,8 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
+
 public class Dct2dFastTest {
 
 	@Test
@@ -63,6 +65,22 @@ public class Dct2dFastTest {
 		}
 	}
 	
+	// ---------------------------------------------------------
+	
+	@Test
+	public void testFloatParallelFlat() {
+		Random rg = new Random(17);
+		runTestFloatVariants(TestUtils.makeRandomArrayFloat(256, 150, rg), 1E-4f);
+		runTestFloatVariants(TestUtils.makeRandomArrayFloat(1, 37, rg), 1E-5f);
+	}
+	
+	@Test
+	public void testDoubleParallelFlat() {
+		Random rg = new Random(17);
+		runTestDoubleVariants(TestUtils.makeRandomArrayDouble(256, 150, rg), 1E-9);
+		runTestDoubleVariants(TestUtils.makeRandomArrayDouble(37, 1, rg), 1E-9);
+	}
+	
 	// --------------------------------------------------------------
 	
 	private void runTestFloat(float[][] reOrig, float TOL) {
@@ -84,5 +102,82 @@ public class Dct2dFastTest {
 		dct.inverse(re);		
 		NumericTestUtils.assert2dArrayEquals(reOrig, re, TOL);
 	}
+	
+	// checks serial, parallel, flat and JTransforms-2D variants against the direct 2D DCT
+	private void runTestFloatVariants(float[][] dataOrig, float TOL) {
+		int w = dataOrig.length;
+		int h = dataOrig[0].length;
+		float[][] dataD = Matrix.duplicate(dataOrig);
+		new Dct2dDirect.Float(w, h).forward(dataD);
+		
+		for (boolean dct2d : new boolean[] {false, true}) {
+			for (boolean parallel : new boolean[] {false, true}) {
+				Dct2dFast.Float dct = new Dct2dFast.Float(w, h);
+				dct.setParallel(parallel);
+				dct.setUseDCT2D(dct2d);
+				
+				float[][] data = Matrix.duplicate(dataOrig);
+				dct.forward(data);
+				NumericTestUtils.assert2dArrayEquals(dataD, data, TOL);
+				
+				float[] dataF = new float[w * h];
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						dataF[v * w + u] = dataOrig[u][v];
+					}
+				}
+				dct.forward(dataF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(dataD[u][v], dataF[v * w + u], TOL);
+					}
+				}
+				dct.inverse(dataF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(dataOrig[u][v], dataF[v * w + u], TOL);
+					}
+				}
+			}
+		}
+	}
+	
+	private void runTestDoubleVariants(double[][] dataOrig, double TOL) {
+		int w = dataOrig.length;
+		int h = dataOrig[0].length;
+		double[][] dataD = Matrix.duplicate(dataOrig);
+		new Dct2dDirect.Double(w, h).forward(dataD);
+		
+		for (boolean dct2d : new boolean[] {false, true}) {
+			for (boolean parallel : new boolean[] {false, true}) {
+				Dct2dFast.Double dct = new Dct2dFast.Double(w, h);
+				dct.setParallel(parallel);
+				dct.setUseDCT2D(dct2d);
+				
+				double[][] data = Matrix.duplicate(dataOrig);
+				dct.forward(data);
+				NumericTestUtils.assert2dArrayEquals(dataD, data, TOL);
+				
+				double[] dataF = new double[w * h];
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						dataF[v * w + u] = dataOrig[u][v];
+					}
+				}
+				dct.forward(dataF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(dataD[u][v], dataF[v * w + u], TOL);
+					}
+				}
+				dct.inverse(dataF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(dataOrig[u][v], dataF[v * w + u], TOL);
+					}
+				}
+			}
+		}
+	}
 
 }
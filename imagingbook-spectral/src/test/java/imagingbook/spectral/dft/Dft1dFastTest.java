@@ -11,9 +11,13 @@ package imagingbook.spectral.dft;
 import imagingbook.spectral.TestUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class Dft1dFastTest {
 
@@ -85,6 +89,64 @@ public class Dft1dFastTest {
 	
 	// ---------------------------------------------------------
 	
+	@Test
+	public void testSharedInstance() {
+		assertSame(Dft1dFast.Float.getInstance(100, ScalingMode.DEFAULT), Dft1dFast.Float.getInstance(100, ScalingMode.DEFAULT));
+		assertNotSame(Dft1dFast.Float.getInstance(100, ScalingMode.DEFAULT), Dft1dFast.Float.getInstance(100, ScalingMode.FORWARD_ONLY));
+		assertSame(Dft1dFast.Double.getInstance(100, ScalingMode.DEFAULT), Dft1dFast.Double.getInstance(100, ScalingMode.DEFAULT));
+	}
+	
+	@Test
+	public void testSharedInstanceConcurrent() {
+		Random rg = new Random(17);
+		int[] sizes = {16, 100, 1000, 1023};
+		double[][] signals = new double[sizes.length][];
+		double[][] spectraRe = new double[sizes.length][];
+		double[][] spectraIm = new double[sizes.length][];
+		for (int i = 0; i < sizes.length; i++) {
+			signals[i] = TestUtils.makeRandomVectorDouble(sizes[i], rg);
+			spectraRe[i] = signals[i].clone();
+			spectraIm[i] = new double[sizes[i]];
+			new Dft1dFast.Double(sizes[i]).forward(spectraRe[i], spectraIm[i]);
+		}
+		// many threads using the same (cached) instances concurrently:
+		IntStream.range(0, 400).parallel().forEach(j -> {
+			int i = j % sizes.length;
+			Dft1d.Double dft = Dft1dFast.Double.getInstance(sizes[i], ScalingMode.DEFAULT);
+			double[] re = signals[i].clone();
+			double[] im = new double[sizes[i]];
+			dft.forward(re, im);
+			assertArrayEquals(spectraRe[i], re, 1E-12);
+			assertArrayEquals(spectraIm[i], im, 1E-12);
+		});
+	}
+	
+	// ---------------------------------------------------------
+	
+	@Test
+	public void testFloatReal() {
+		Random rg = new Random(17);
+		for (ScalingMode sm : ScalingMode.values()) {
+			for (int n = 1; n <= 64; n++) {
+				runTestFloatReal(TestUtils.makeRandomVectorFloat(n, rg), sm, 1E-4f);
+			}
+			runTestFloatReal(TestUtils.makeRandomVectorFloat(10177, rg), sm, 1E-2f);
+		}
+	}
+	
+	@Test
+	public void testDoubleReal() {
+		Random rg = new Random(17);
+		for (ScalingMode sm : ScalingMode.values()) {
+			for (int n = 1; n <= 64; n++) {
+				runTestDoubleReal(TestUtils.makeRandomVectorDouble(n, rg), sm, 1E-10);
+			}
+			runTestDoubleReal(TestUtils.makeRandomVectorDouble(10177, rg), sm, 1E-6);
+		}
+	}
+	
+	// ---------------------------------------------------------
+	
 	private void runTestFloat(float[] reOrig, float[] imOrig, float TOL) {
 		float[] re = reOrig.clone();
 		float[] im = imOrig.clone();
@@ -104,5 +166,72 @@ public class Dft1dFastTest {
 		assertArrayEquals(reOrig, re, TOL);
 		assertArrayEquals(imOrig, im, TOL);
 	}
+	
+	// compares the real-input FFT (and its default implementation in Dft1dDirect) with the complex FFT
+	private void runTestFloatReal(float[] g, ScalingMode sm, float TOL) {
+		int n = g.length;
+		float[] re = g.clone();
+		float[] im = new float[n];
+		Dft1d.Float dft = new Dft1dFast.Float(n, sm);
+		dft.forward(re, im);
+		
+		float[] HRe = new float[dft.getHalfSize()];
+		float[] HIm = new float[dft.getHalfSize()];
+		dft.forwardReal(g, HRe, HIm);
+		float[] GRe = new float[n];
+		float[] GIm = new float[n];
+		dft.expandHalfSpectrum(HRe, HIm, GRe, GIm);
+		assertArrayEquals(re, GRe, TOL);
+		assertArrayEquals(im, GIm, TOL);
+		assertArrayEquals(Arrays.copyOf(dft.getMagnitude(re, im), HRe.length), dft.getMagnitude(HRe, HIm), TOL);
+		
+		float[] g2 = new float[n];
+		dft.inverseReal(HRe, HIm, g2);
+		assertArrayEquals(g, g2, TOL);
+		
+		if (n <= 64) {
+			Dft1d.Float dftD = new Dft1dDirect.Float(n, sm);
+			float[] HReD = new float[n / 2 + 1];
+			float[] HImD = new float[n / 2 + 1];
+			dftD.forwardReal(g, HReD, HImD);
+			assertArrayEquals(HRe, HReD, TOL);
+			assertArrayEquals(HIm, HImD, TOL);
+			dftD.inverseReal(HReD, HImD, g2);
+			assertArrayEquals(g, g2, TOL);
+		}
+	}
+	
+	private void runTestDoubleReal(double[] g, ScalingMode sm, double TOL) {
+		int n = g.length;
+		double[] re = g.clone();
+		double[] im = new double[n];
+		Dft1d.Double dft = new Dft1dFast.Double(n, sm);
+		dft.forward(re, im);
+		
+		double[] HRe = new double[dft.getHalfSize()];
+		double[] HIm = new double[dft.getHalfSize()];
+		dft.forwardReal(g, HRe, HIm);
+		double[] GRe = new double[n];
+		double[] GIm = new double[n];
+		dft.expandHalfSpectrum(HRe, HIm, GRe, GIm);
+		assertArrayEquals(re, GRe, TOL);
+		assertArrayEquals(im, GIm, TOL);
+		assertArrayEquals(Arrays.copyOf(dft.getPower(re, im), HRe.length), dft.getPower(HRe, HIm), TOL);
+		
+		double[] g2 = new double[n];
+		dft.inverseReal(HRe, HIm, g2);
+		assertArrayEquals(g, g2, TOL);
+		
+		if (n <= 64) {
+			Dft1d.Double dftD = new Dft1dDirect.Double(n, sm);
+			double[] HReD = new double[n / 2 + 1];
+			double[] HImD = new double[n / 2 + 1];
+			dftD.forwardReal(g, HReD, HImD);
+			assertArrayEquals(HRe, HReD, TOL);
+			assertArrayEquals(HIm, HImD, TOL);
+			dftD.inverseReal(HReD, HImD, g2);
+			assertArrayEquals(g, g2, TOL);
+		}
+	}
 
 }
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.dft;
+
+import java.util.Random;
+
+/**
+ * Simple (non-JUnit) timing comparison of 2D DFT variants for square {@code float} data of size 256 to 8192: the
+ * serial row/column implementation of {@link Dft2d.Float#transform(float[][], float[][], boolean)}, {@link Dft2dFast}
+ * applied to {@code [x][y]} arrays and to flat (row-major) arrays, and {@link Dft2dFast} delegating to JTransforms'
+ * 2D FFT. Run as a Java application, the largest size requires approx. 4 GB of heap space (e.g., -Xmx6g). An optional
+ * argument specifies the maximum size.
+ */
+public class Dft2dFastBenchmark {
+	
+	static final int Repetitions = 3;
+
+	public static void main(String[] args) {
+		int maxSize = (args.length > 0) ? Integer.parseInt(args[0]) : 8192;
+		Random rg = new Random(11);
+		System.out.format("threads: %d%n", Runtime.getRuntime().availableProcessors());
+		System.out.format("%6s %12s %12s %12s %12s%n", "size", "serial [ms]", "[x][y] [ms]", "flat [ms]", "FFT2D [ms]");
+		for (int n = 256; n <= maxSize; n = 2 * n) {
+			float[][] re = new float[n][n];
+			float[][] im = new float[n][n];
+			for (int u = 0; u < n; u++) {
+				for (int v = 0; v < n; v++) {
+					re[u][v] = rg.nextFloat();
+				}
+			}
+			
+			double tSerial = time(new SerialDft(n, n), re, im);
+			
+			Dft2dFast.Float dft = new Dft2dFast.Float(n, n);
+			double tFast = time(dft, re, im);
+			
+			float[] reF = new float[n * n];
+			float[] imF = new float[n * n];
+			double tFlat = Double.POSITIVE_INFINITY;
+			for (int r = 0; r < Repetitions; r++) {
+				long t0 = System.nanoTime();
+				dft.forward(reF, imF);
+				long t1 = System.nanoTime();
+				tFlat = Math.min(tFlat, (t1 - t0) * 1E-6);
+			}
+			
+			dft.setUseFFT2D(true);
+			double tFFT2D = time(dft, re, im);
+			
+			System.out.format("%6d %12.1f %12.1f %12.1f %12.1f%n", n, tSerial, tFast, tFlat, tFFT2D);
+		}
+	}
+	
+	// returns the minimum run time (in ms)
+	private static double time(Dft2d.Float dft, float[][] re, float[][] im) {
+		double tMin = Double.POSITIVE_INFINITY;
+		for (int r = 0; r < Repetitions; r++) {
+			long t0 = System.nanoTime();
+			dft.forward(re, im);
+			long t1 = System.nanoTime();
+			tMin = Math.min(tMin, (t1 - t0) * 1E-6);
+		}
+		return tMin;
+	}
+	
+	// uses the default (serial) implementation of Dft2d.Float#transform()
+	private static class SerialDft extends Dft2dImp implements Dft2d.Float {
+		SerialDft(int width, int height) {
+			super(width, height, ScalingMode.DEFAULT);
+		}
+		
+		@Override
+		public Dft1d.Float get1dDft(int size) {
+			return new Dft1dFast.Float(size, this.sm);
+		}
+	}
+
+}
@@ -14,8 +14,11 @@ import imagingbook.spectral.TestUtils;
 import imagingbook.testutils.NumericTestUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
+
 public class Dft2dFastTest {
 
 	@Test
@@ -70,6 +73,52 @@ public class Dft2dFastTest {
 		}
 	}
 	
+	// ---------------------------------------------------------
+	
+	@Test
+	public void testFloatParallelFlat() {
+		Random rg = new Random(17);
+		for (ScalingMode sm : ScalingMode.values()) {
+			runTestFloatVariants(TestUtils.makeRandomArrayFloat(256, 150, rg), 
+					TestUtils.makeRandomArrayFloat(256, 150, rg), sm, 5E-3f);
+			runTestFloatVariants(TestUtils.makeRandomArrayFloat(1, 37, rg), 
+					TestUtils.makeRandomArrayFloat(1, 37, rg), sm, 1E-5f);
+		}
+	}
+	
+	@Test
+	public void testDoubleParallelFlat() {
+		Random rg = new Random(17);
+		for (ScalingMode sm : ScalingMode.values()) {
+			runTestDoubleVariants(TestUtils.makeRandomArrayDouble(256, 150, rg), 
+					TestUtils.makeRandomArrayDouble(256, 150, rg), sm, 1E-9);
+			runTestDoubleVariants(TestUtils.makeRandomArrayDouble(37, 1, rg), 
+					TestUtils.makeRandomArrayDouble(37, 1, rg), sm, 1E-9);
+		}
+	}
+	
+	@Test
+	public void testFloatReal() {
+		Random rg = new Random(17);
+		int[][] sizes = {{1, 1}, {1, 7}, {6, 1}, {4, 3}, {5, 8}, {33, 20}, {64, 31}};
+		for (ScalingMode sm : ScalingMode.values()) {
+			for (int[] size : sizes) {
+				runTestFloatReal(TestUtils.makeRandomArrayFloat(size[0], size[1], rg), sm, 1E-4f);
+			}
+		}
+	}
+	
+	@Test
+	public void testDoubleReal() {
+		Random rg = new Random(17);
+		int[][] sizes = {{1, 1}, {1, 7}, {6, 1}, {4, 3}, {5, 8}, {33, 20}, {64, 31}};
+		for (ScalingMode sm : ScalingMode.values()) {
+			for (int[] size : sizes) {
+				runTestDoubleReal(TestUtils.makeRandomArrayDouble(size[0], size[1], rg), sm, 1E-10);
+			}
+		}
+	}
+	
 	// --------------------------------------------------------------
 	
 	private void runTestFloat(float[][] reOrig, float[][] imOrig, float TOL) {
@@ -95,5 +144,145 @@ public class Dft2dFastTest {
 		NumericTestUtils.assert2dArrayEquals(reOrig, re, TOL);
 		NumericTestUtils.assert2dArrayEquals(imOrig, im, TOL);
 	}
+	
+	// checks serial, parallel, flat and JTransforms-2D variants against the direct 2D DFT
+	private void runTestFloatVariants(float[][] reOrig, float[][] imOrig, ScalingMode sm, float TOL) {
+		int w = reOrig.length;
+		int h = reOrig[0].length;
+		float[][] reD = Matrix.duplicate(reOrig);
+		float[][] imD = Matrix.duplicate(imOrig);
+		new Dft2dDirect.Float(w, h, sm).forward(reD, imD);
+		
+		for (boolean fft2d : new boolean[] {false, true}) {
+			for (boolean parallel : new boolean[] {false, true}) {
+				Dft2dFast.Float dft = new Dft2dFast.Float(w, h, sm);
+				dft.setParallel(parallel);
+				dft.setUseFFT2D(fft2d);
+				
+				float[][] re = Matrix.duplicate(reOrig);
+				float[][] im = Matrix.duplicate(imOrig);
+				dft.forward(re, im);
+				NumericTestUtils.assert2dArrayEquals(reD, re, TOL);
+				NumericTestUtils.assert2dArrayEquals(imD, im, TOL);
+				
+				float[] reF = new float[w * h];
+				float[] imF = new float[w * h];
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						reF[v * w + u] = reOrig[u][v];
+						imF[v * w + u] = imOrig[u][v];
+					}
+				}
+				dft.forward(reF, imF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(reD[u][v], reF[v * w + u], TOL);
+						assertEquals(imD[u][v], imF[v * w + u], TOL);
+					}
+				}
+				dft.inverse(reF, imF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(reOrig[u][v], reF[v * w + u], TOL);
+						assertEquals(imOrig[u][v], imF[v * w + u], TOL);
+					}
+				}
+			}
+		}
+	}
+	
+	private void runTestDoubleVariants(double[][] reOrig, double[][] imOrig, ScalingMode sm, double TOL) {
+		int w = reOrig.length;
+		int h = reOrig[0].length;
+		double[][] reD = Matrix.duplicate(reOrig);
+		double[][] imD = Matrix.duplicate(imOrig);
+		new Dft2dDirect.Double(w, h, sm).forward(reD, imD);
+		
+		for (boolean fft2d : new boolean[] {false, true}) {
+			for (boolean parallel : new boolean[] {false, true}) {
+				Dft2dFast.Double dft = new Dft2dFast.Double(w, h, sm);
+				dft.setParallel(parallel);
+				dft.setUseFFT2D(fft2d);
+				
+				double[][] re = Matrix.duplicate(reOrig);
+				double[][] im = Matrix.duplicate(imOrig);
+				dft.forward(re, im);
+				NumericTestUtils.assert2dArrayEquals(reD, re, TOL);
+				NumericTestUtils.assert2dArrayEquals(imD, im, TOL);
+				
+				double[] reF = new double[w * h];
+				double[] imF = new double[w * h];
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						reF[v * w + u] = reOrig[u][v];
+						imF[v * w + u] = imOrig[u][v];
+					}
+				}
+				dft.forward(reF, imF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(reD[u][v], reF[v * w + u], TOL);
+						assertEquals(imD[u][v], imF[v * w + u], TOL);
+					}
+				}
+				dft.inverse(reF, imF);
+				for (int u = 0; u < w; u++) {
+					for (int v = 0; v < h; v++) {
+						assertEquals(reOrig[u][v], reF[v * w + u], TOL);
+						assertEquals(imOrig[u][v], imF[v * w + u], TOL);
+					}
+				}
+			}
+		}
+	}
+	
+	// compares the real-input 2D FFT with the complex 2D FFT
+	private void runTestFloatReal(float[][] g, ScalingMode sm, float TOL) {
+		int w = g.length;
+		int h = g[0].length;
+		float[][] re = Matrix.duplicate(g);
+		float[][] im = new float[w][h];
+		Dft2d.Float dft = new Dft2dFast.Float(w, h, sm);
+		dft.forward(re, im);
+		
+		int wh = dft.getHalfWidth();
+		float[][] HRe = new float[wh][h];
+		float[][] HIm = new float[wh][h];
+		dft.forwardReal(g, HRe, HIm);
+		float[][] GRe = new float[w][h];
+		float[][] GIm = new float[w][h];
+		dft.expandHalfSpectrum(HRe, HIm, GRe, GIm);
+		NumericTestUtils.assert2dArrayEquals(re, GRe, TOL);
+		NumericTestUtils.assert2dArrayEquals(im, GIm, TOL);
+		NumericTestUtils.assert2dArrayEquals(Arrays.copyOf(dft.getMagnitude(re, im), wh), dft.getMagnitude(HRe, HIm), TOL);
+		
+		float[][] g2 = new float[w][h];
+		dft.inverseReal(HRe, HIm, g2);
+		NumericTestUtils.assert2dArrayEquals(g, g2, TOL);
+	}
+	
+	private void runTestDoubleReal(double[][] g, ScalingMode sm, double TOL) {
+		int w = g.length;
+		int h = g[0].length;
+		double[][] re = Matrix.duplicate(g);
+		double[][] im = new double[w][h];
+		Dft2d.Double dft = new Dft2dFast.Double(w, h, sm);
+		dft.forward(re, im);
+		
+		int wh = dft.getHalfWidth();
+		double[][] HRe = new double[wh][h];
+		double[][] HIm = new double[wh][h];
+		dft.forwardReal(g, HRe, HIm);
+		double[][] GRe = new double[w][h];
+		double[][] GIm = new double[w][h];
+		dft.expandHalfSpectrum(HRe, HIm, GRe, GIm);
+		NumericTestUtils.assert2dArrayEquals(re, GRe, TOL);
+		NumericTestUtils.assert2dArrayEquals(im, GIm, TOL);
+		NumericTestUtils.assert2dArrayEquals(Arrays.copyOf(dft.getPower(re, im), wh), dft.getPower(HRe, HIm), TOL);
+		
+		double[][] g2 = new double[w][h];
+		dft.inverseReal(HRe, HIm, g2);
+		NumericTestUtils.assert2dArrayEquals(g, g2, TOL);
+	}
 
 }
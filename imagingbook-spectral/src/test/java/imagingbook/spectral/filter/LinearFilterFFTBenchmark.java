@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.filter;
+
+import java.util.Random;
+
+import ij.process.FloatProcessor;
+import imagingbook.common.filter.generic.GenericFilter;
+import imagingbook.common.filter.linear.Kernel2D;
+import imagingbook.common.filter.linear.LinearFilter;
+
+/**
+ * Simple (non-JUnit) timing comparison of {@link LinearFilter} and {@link LinearFilterFFT} for increasing kernel
+ * sizes, used to determine {@link LinearFilterFFT#CrossoverKernelSize}. Run as a Java application.
+ */
+public class LinearFilterFFTBenchmark {
+	
+	static final int Width = 1024;
+	static final int Height = 768;
+	static final int Repetitions = 3;
+
+	public static void main(String[] args) {
+		Random rg = new Random(11);
+		FloatProcessor fp = new FloatProcessor(Width, Height);
+		for (int i = 0; i < fp.getPixelCount(); i++) {
+			fp.setf(i, 255 * rg.nextFloat());
+		}
+		
+		System.out.format("image size: %d x %d%n", Width, Height);
+		System.out.format("%8s %12s %12s%n", "kernel", "direct [ms]", "FFT [ms]");
+		for (int k = 1; k <= 31; k = k + 2) {
+			float[][] H = new float[k][k];
+			for (int j = 0; j < k; j++) {
+				for (int i = 0; i < k; i++) {
+					H[j][i] = rg.nextFloat();
+				}
+			}
+			Kernel2D kernel = new Kernel2D(H);
+			double tDirect = time(new LinearFilter(kernel), fp);
+			double tFFT = time(new LinearFilterFFT(kernel), fp);
+			System.out.format("%3d x %-3d %12.1f %12.1f%n", k, k, tDirect, tFFT);
+		}
+	}
+	
+	// returns the minimum run time (in ms)
+	private static double time(GenericFilter filter, FloatProcessor fp) {
+		double tMin = Double.POSITIVE_INFINITY;
+		for (int r = 0; r < Repetitions; r++) {
+			FloatProcessor ip = (FloatProcessor) fp.duplicate();
+			long t0 = System.nanoTime();
+			filter.applyTo(ip);
+			long t1 = System.nanoTime();
+			tMin = Math.min(tMin, (t1 - t0) * 1E-6);
+		}
+		return tMin;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.filter;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import ij.process.ColorProcessor;
+import ij.process.FloatProcessor;
+import ij.process.ImageProcessor;
+import imagingbook.common.filter.linear.GaussianKernel2D;
+import imagingbook.common.filter.linear.Kernel2D;
+import imagingbook.common.filter.linear.LinearFilter;
+import imagingbook.common.image.OutOfBoundsStrategy;
+import imagingbook.testutils.ImageTestUtils;
+
+public class LinearFilterFFTTest {
+	
+	private static final double TOL = 1E-3;
+	
+	private static final OutOfBoundsStrategy[] STRATEGIES = {
+			OutOfBoundsStrategy.DefaultValue, OutOfBoundsStrategy.NearestBorder, 
+			OutOfBoundsStrategy.MirrorImage, OutOfBoundsStrategy.PeriodicImage};
+	
+	@Test
+	public void testGaussianKernel() {
+		Random rg = new Random(17);
+		runTest(makeRandomImage(67, 45, rg), new GaussianKernel2D(3.0));
+	}
+	
+	@Test
+	public void testAsymmetricKernel() {
+		Random rg = new Random(19);
+		float[][] H = new float[5][9];		// H[y][x]
+		for (int j = 0; j < H.length; j++) {
+			for (int i = 0; i < H[0].length; i++) {
+				H[j][i] = 2 * rg.nextFloat() - 1;
+			}
+		}
+		runTest(makeRandomImage(40, 61, rg), new Kernel2D(H, 2, 4, false));
+	}
+	
+	@Test
+	public void testKernelLargerThanImage() {
+		Random rg = new Random(23);
+		runTest(makeRandomImage(12, 7, rg), new GaussianKernel2D(5.0));
+	}
+	
+	@Test
+	public void testColorImage() {
+		Random rg = new Random(29);
+		ColorProcessor cp = new ColorProcessor(50, 30);
+		for (int i = 0; i < cp.getPixelCount(); i++) {
+			cp.set(i, rg.nextInt(0x1000000));
+		}
+		ImageProcessor ipA = cp.duplicate();
+		ImageProcessor ipB = cp.duplicate();
+		Kernel2D kernel = new GaussianKernel2D(2.5);
+		new LinearFilter(kernel).applyTo(ipA);
+		new LinearFilterFFT(kernel).applyTo(ipB);
+		assertTrue(ImageTestUtils.match(ipA, ipB, 1));	// due to rounding
+	}
+	
+	@Test
+	public void testCreate() {
+		assertTrue(LinearFilterFFT.create(new GaussianKernel2D(1.0)) instanceof LinearFilter);
+		assertTrue(LinearFilterFFT.create(new GaussianKernel2D(10.0)) instanceof LinearFilterFFT);
+	}
+	
+	// ------------------------------------------------------------------
+	
+	private void runTest(FloatProcessor fp, Kernel2D kernel) {
+		for (OutOfBoundsStrategy obs : STRATEGIES) {
+			ImageProcessor ipA = fp.duplicate();
+			ImageProcessor ipB = fp.duplicate();
+			new LinearFilter(kernel).applyTo(ipA, obs);
+			new LinearFilterFFT(kernel).applyTo(ipB, obs);
+			assertTrue("failed for " + obs, ImageTestUtils.match(ipA, ipB, TOL));
+		}
+	}
+	
+	private static FloatProcessor makeRandomImage(int width, int height, Random rg) {
+		FloatProcessor fp = new FloatProcessor(width, height);
+		for (int i = 0; i < fp.getPixelCount(); i++) {
+			fp.setf(i, 255 * rg.nextFloat());
+		}
+		return fp;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * This software is provided as a supplement to the authors' textbooks on digital
+ * image processing published by Springer-Verlag in various languages and editions.
+ * Permission to use and distribute this software is granted under the BSD 2-Clause
+ * "Simplified" License (see http://opensource.org/licenses/BSD-2-Clause).
+ * Copyright (c) 2006-2025 Wilhelm Burger, Mark J. Burge. All rights reserved.
+ * Visit https://imagingbook.com for additional details.
+ ******************************************************************************/
+package imagingbook.spectral.matching;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import imagingbook.common.image.matching.CorrCoeffMatcher;
+
+public class CorrCoeffMatcherFFTTest {
+
+	private static final double TOL = 1E-3;
+
+	@Test
+	public void testRandomImage() {
+		Random rg = new Random(17);
+		float[][] fI = makeRandomImage(73, 51, rg);
+		runTest(fI, extract(fI, 20, 11, 15, 12));
+		runTest(fI, makeRandomImage(9, 23, rg));
+		runTest(fI, makeRandomImage(1, 1, rg));
+		runTest(fI, makeRandomImage(73, 51, rg));	// same size as search image
+	}
+
+	@Test
+	public void testOptimalMatch() {
+		Random rg = new Random(19);
+		float[][] fI = makeRandomImage(64, 48, rg);
+		float[][] C = new CorrCoeffMatcherFFT(fI).getMatch(extract(fI, 31, 7, 16, 16));
+		// the correlation coefficient is slightly less than 1 due to the added 1 in the denominator
+		assertEquals(1.0, C[31][7], 1e-4);
+	}
+
+	@Test
+	public void testMultipleReferences() {
+		Random rg = new Random(23);
+		float[][] fI = makeRandomImage(50, 40, rg);
+		List<float[][]> fRs = new ArrayList<>();
+		for (int k = 0; k < 8; k++) {
+			fRs.add(makeRandomImage(5 + k, 12 - k, rg));
+		}
+		CorrCoeffMatcherFFT matcher = new CorrCoeffMatcherFFT(fI);
+		List<float[][]> Cs = matcher.getMatches(fRs);
+		assertEquals(fRs.size(), Cs.size());
+		for (int k = 0; k < fRs.size(); k++) {
+			assertEquals(fI.length - fRs.get(k).length + 1, Cs.get(k).length);
+			assertArrayEquals(matcher.getMatch(fRs.get(k)), Cs.get(k), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReferenceTooLarge() {
+		Random rg = new Random(29);
+		new CorrCoeffMatcherFFT(makeRandomImage(20, 20, rg)).getMatch(makeRandomImage(21, 5, rg));
+	}
+
+	// ---------------------------------------------------------------
+
+	private void runTest(float[][] fI, float[][] fR) {
+		float[][] C1 = new CorrCoeffMatcher(fI).getMatch(fR);
+		float[][] C2 = new CorrCoeffMatcherFFT(fI).getMatch(fR);
+		assertArrayEquals(C1, C2, TOL);
+	}
+
+	private static void assertArrayEquals(float[][] A, float[][] B, double tol) {
+		assertEquals(A.length, B.length);
+		for (int i = 0; i < A.length; i++) {
+			assertEquals(A[i].length, B[i].length);
+			for (int j = 0; j < A[i].length; j++) {
+				assertEquals(A[i][j], B[i][j], tol);
+			}
+		}
+	}
+
+	private static float[][] makeRandomImage(int width, int height, Random rg) {
+		float[][] f = new float[width][height];
+		for (int u = 0; u < width; u++) {
+			for (int v = 0; v < height; v++) {
+				f[u][v] = 255 * rg.nextFloat();
+			}
+		}
+		return f;
+	}
+
+	private static float[][] extract(float[][] f, int u0, int v0, int width, int height) {
+		float[][] g = new float[width][height];
+		for (int u = 0; u < width; u++) {
+			for (int v = 0; v < height; v++) {
+				g[u][v] = f[u0 + u][v0 + v];
+			}
+		}
+		return g;
+	}
+
+}